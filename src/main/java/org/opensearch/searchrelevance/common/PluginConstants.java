@@ -32,6 +32,9 @@ public class PluginConstants {
     /** The URI PARAMS placeholders */
     public static final String DOCUMENT_ID = "id";
     public static final String QUERY_TEXT = "query_text";
+    /** Number of queries whose results are returned with an experiment, and the cursor of the next page of results */
+    public static final String RESULTS_SIZE = "results_size";
+    public static final String RESULTS_AFTER = "results_after";
 
     /** Use %SearchText% to represent wildcard in queryBody and also refer to the text in the search bar */
     public static final String WILDCARD_QUERY_TEXT = "%SearchText%";
@@ -45,14 +48,24 @@ public class PluginConstants {
     public static final String SEARCH_CONFIGURATION_INDEX_MAPPING = "mappings/search_configuration.json";
     public static final String EXPERIMENT_INDEX = ".plugins-search-relevance-experiment";
     public static final String EXPERIMENT_INDEX_MAPPING = "mappings/experiment.json";
+    public static final String EXPERIMENT_RESULT_INDEX = "search-relevance-experiment-result";
+    public static final String EXPERIMENT_RESULT_INDEX_MAPPING = "mappings/experiment_result.json";
     public static final String JUDGMENT_INDEX = "search-relevance-judgment";
     public static final String JUDGMENT_INDEX_MAPPING = "mappings/judgment.json";
+    public static final String JUDGMENT_RATING_INDEX = "search-relevance-judgment-rating";
+    public static final String JUDGMENT_RATING_INDEX_MAPPING = "mappings/judgment_rating.json";
     public static final String EVALUATION_RESULT_INDEX = "search-relevance-evaluation-result";
     public static final String EVALUATION_RESULT_INDEX_MAPPING = "mappings/evaluation_result.json";
+    public static final String EVALUATION_RESULT_BLOCK_INDEX = "search-relevance-evaluation-result-block";
+    public static final String EVALUATION_RESULT_BLOCK_INDEX_MAPPING = "mappings/evaluation_result_block.json";
     public static final String JUDGMENT_CACHE_INDEX = ".plugins-search-relevance-judgment-cache";
     public static final String JUDGMENT_CACHE_INDEX_MAPPING = "mappings/judgment_cache.json";
     public static final String EXPERIMENT_VARIANT_INDEX = "search-relevance-experiment-variant";
     public static final String EXPERIMENT_VARIANT_INDEX_MAPPING = "mappings/experiment_variant.json";
+    public static final String CLICK_STATISTICS_INDEX = ".plugins-search-relevance-click-statistics";
+    public static final String CLICK_STATISTICS_INDEX_MAPPING = "mappings/click_statistics.json";
+    public static final String UBI_ROLLUP_INDEX = ".plugins-search-relevance-ubi-rollup";
+    public static final String UBI_ROLLUP_INDEX_MAPPING = "mappings/ubi_rollup.json";
 
     /**
      * UBI
@@ -65,6 +78,7 @@ public class PluginConstants {
     public static final String NAX_RANK = "maxRank";
     public static final String START_DATE = "startDate";
     public static final String END_DATE = "endDate";
+    public static final String APPLICATION = "application";
 
     /**
      * Rest Input Field Names
@@ -0,0 +1,183 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.dao;
+
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.CLICK_STATISTICS;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ResourceNotFoundException;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.judgments.clickmodel.coec.CoecClickStatistics;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+
+/**
+ * Stores the click model statistics of UBI judgments: a document keyed by the judgment id with the counts per rank
+ * and the watermark, and a document per user query with the counts of its pairs.
+ */
+public class ClickStatisticsDao {
+    private static final Logger LOGGER = LogManager.getLogger(ClickStatisticsDao.class);
+    private static final int QUERY_DOCUMENTS_PAGE_SIZE = 1000;
+    private final SearchRelevanceIndicesManager searchRelevanceIndicesManager;
+    private final SearchRelevanceSettingsAccessor settingsAccessor;
+
+    @Inject
+    public ClickStatisticsDao(
+        SearchRelevanceIndicesManager searchRelevanceIndicesManager,
+        SearchRelevanceSettingsAccessor settingsAccessor
+    ) {
+        this.searchRelevanceIndicesManager = searchRelevanceIndicesManager;
+        this.settingsAccessor = settingsAccessor;
+    }
+
+    /**
+     * Creates or replaces the click statistics of a judgment. Only the documents of the given user queries are
+     * rewritten, the documents of other queries are kept as stored.
+     * @param judgmentId - id of the judgment the statistics belong to
+     * @param statistics - click statistics to be stored, replacing the stored version they were read from
+     * @param changedQueries - user queries whose pairs changed since the statistics were stored
+     * @param listener - action lister for async operation, fails with CONFLICT if the statistics were changed concurrently
+     */
+    public void upsertClickStatistics(
+        final String judgmentId,
+        final CoecClickStatistics statistics,
+        final Set<String> changedQueries,
+        final ActionListener<BulkResponse> listener
+    ) {
+        if (statistics == null) {
+            listener.onFailure(new SearchRelevanceException("click statistics cannot be null", RestStatus.BAD_REQUEST));
+            return;
+        }
+        Map<String, XContentBuilder> queryDocuments;
+        XContentBuilder statisticsDocument;
+        try {
+            queryDocuments = statistics.toQueryDocuments(judgmentId, changedQueries);
+            statisticsDocument = statistics.toXContent(judgmentId, XContentFactory.jsonBuilder());
+        } catch (IOException e) {
+            listener.onFailure(new SearchRelevanceException("Failed to store click statistics", e, RestStatus.INTERNAL_SERVER_ERROR));
+            return;
+        }
+        // the statistics document is written first and only if unchanged since it was read, so of concurrent updates of
+        // a judgment all but one fail before they rewrite any query document
+        searchRelevanceIndicesManager.updateDocIfUnchanged(
+            judgmentId,
+            statisticsDocument,
+            CLICK_STATISTICS,
+            statistics.getSeqNo(),
+            statistics.getPrimaryTerm(),
+            ActionListener.wrap(response -> {
+                if (queryDocuments.isEmpty()) {
+                    listener.onResponse(null);
+                    return;
+                }
+                searchRelevanceIndicesManager.bulkPutDocs(
+                    queryDocuments,
+                    CLICK_STATISTICS,
+                    settingsAccessor.getRefreshPolicy(CLICK_STATISTICS.getWriteTier()),
+                    listener
+                );
+            }, listener::onFailure)
+        );
+    }
+
+    /**
+     * Gets the click statistics of a judgment
+     * @param judgmentId - id of the judgment the statistics belong to
+     * @param listener - receives the statistics, or null if the judgment has no stored statistics
+     */
+    public void getClickStatistics(final String judgmentId, final ActionListener<CoecClickStatistics> listener) {
+        searchRelevanceIndicesManager.getDocByDocId(judgmentId, CLICK_STATISTICS, ActionListener.<SearchResponse>wrap(response -> {
+            CoecClickStatistics statistics;
+            try {
+                SearchHit hit = response.getHits().getHits()[0];
+                statistics = CoecClickStatistics.fromSource(hit.getSourceAsMap());
+                statistics.setStoredVersion(hit.getSeqNo(), hit.getPrimaryTerm());
+            } catch (Exception e) {
+                listener.onFailure(new SearchRelevanceException("Failed to read click statistics", e, RestStatus.INTERNAL_SERVER_ERROR));
+                return;
+            }
+            // query documents written without an immediate refresh are not searchable yet
+            searchRelevanceIndicesManager.refreshIndices(
+                List.of(CLICK_STATISTICS),
+                ActionListener.wrap(refreshed -> readQueryDocuments(judgmentId, statistics, null, listener), listener::onFailure)
+            );
+        }, e -> {
+            if (e instanceof ResourceNotFoundException) {
+                LOGGER.debug("No click statistics stored for judgment [{}]", judgmentId);
+                listener.onResponse(null);
+            } else {
+                listener.onFailure(e);
+            }
+        }));
+    }
+
+    /**
+     * Deletes the click statistics of a judgment
+     * @param judgmentId - id of the judgment the statistics belong to
+     * @param listener - action lister for async operation
+     */
+    public void deleteClickStatistics(final String judgmentId, final ActionListener<DeleteResponse> listener) {
+        searchRelevanceIndicesManager.deleteDocByDocId(judgmentId, CLICK_STATISTICS, ActionListener.wrap(response -> {
+            searchRelevanceIndicesManager.deleteDocsByQuery(
+                QueryBuilders.termQuery(CoecClickStatistics.JUDGMENT_ID, judgmentId),
+                CLICK_STATISTICS,
+                ActionListener.wrap(deleted -> listener.onResponse(response), listener::onFailure)
+            );
+        }, listener::onFailure));
+    }
+
+    private void readQueryDocuments(
+        final String judgmentId,
+        final CoecClickStatistics statistics,
+        final Object[] searchAfter,
+        final ActionListener<CoecClickStatistics> listener
+    ) {
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(
+            QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termQuery(CoecClickStatistics.JUDGMENT_ID, judgmentId))
+                .filter(QueryBuilders.existsQuery(CoecClickStatistics.QUERY))
+        ).size(QUERY_DOCUMENTS_PAGE_SIZE).sort(CoecClickStatistics.QUERY, SortOrder.ASC);
+        if (searchAfter != null) {
+            sourceBuilder.searchAfter(searchAfter);
+        }
+        searchRelevanceIndicesManager.listDocsBySearchRequest(sourceBuilder, CLICK_STATISTICS, ActionListener.wrap(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            try {
+                for (SearchHit hit : hits) {
+                    statistics.addQueryDocument(hit.getSourceAsMap());
+                }
+            } catch (Exception e) {
+                listener.onFailure(new SearchRelevanceException("Failed to read click statistics", e, RestStatus.INTERNAL_SERVER_ERROR));
+                return;
+            }
+            if (hits.length < QUERY_DOCUMENTS_PAGE_SIZE) {
+                listener.onResponse(statistics);
+            } else {
+                readQueryDocuments(judgmentId, statistics, hits[hits.length - 1].getSortValues(), listener);
+            }
+        }, listener::onFailure));
+    }
+}
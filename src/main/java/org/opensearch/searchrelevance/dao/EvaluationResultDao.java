@@ -8,30 +8,64 @@
 package org.opensearch.searchrelevance.dao;
 
 import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EVALUATION_RESULT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EVALUATION_RESULT_BLOCK;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.ResourceNotFoundException;
 import org.opensearch.action.StepListener;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
 import org.opensearch.searchrelevance.model.EvaluationResult;
+import org.opensearch.searchrelevance.model.EvaluationResultBlock;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
 
 public class EvaluationResultDao {
     private static final Logger LOGGER = LogManager.getLogger(EvaluationResultDao.class);
+    // rows of an experiment and search configuration packed into a single block document
+    static final int BLOCK_SIZE = 500;
+
     private final SearchRelevanceIndicesManager searchRelevanceIndicesManager;
+    private final SearchRelevanceSettingsAccessor settingsAccessor;
+    private final Map<String, PendingBlocks> pendingBlocksByExperiment = new ConcurrentHashMap<>();
 
-    public EvaluationResultDao(SearchRelevanceIndicesManager searchRelevanceIndicesManager) {
+    public EvaluationResultDao(
+        SearchRelevanceIndicesManager searchRelevanceIndicesManager,
+        SearchRelevanceSettingsAccessor settingsAccessor
+    ) {
         this.searchRelevanceIndicesManager = searchRelevanceIndicesManager;
+        this.settingsAccessor = settingsAccessor;
+    }
+
+    /**
+     * Evaluation results of an experiment buffered by search configuration, and the writes of its full blocks
+     */
+    private static final class PendingBlocks {
+        private final Map<String, List<EvaluationResult>> rowsBySearchConfiguration = new HashMap<>();
+        private final List<StepListener<BulkResponse>> writes = new ArrayList<>();
+        private int sequence;
+        // set once the buffer is flushed or discarded, results arriving afterwards are rejected
+        private boolean closed;
     }
 
     /**
@@ -65,7 +99,11 @@ public class EvaluationResultDao {
     }
 
     /**
-     * Stores evaluation result to in the system index with efficient refresh policy (recommended for experiments)
+     * Stores evaluation result to in the system index with efficient refresh policy (recommended for experiments).
+     * With the compact layout the evaluation result of an experiment is buffered into a block instead, the listener is
+     * responded once it is buffered and the block is written when it is full or by {@link #flushEvaluationResults}.
+     * Results of an experiment whose buffer was not started by {@link #startEvaluationResults}, or was already flushed
+     * or discarded, are rejected.
      * @param evaluationResult - EvaluationResult content to be stored
      * @param listener - action lister for async operation
      */
@@ -74,8 +112,21 @@ public class EvaluationResultDao {
             listener.onFailure(new SearchRelevanceException("EvaluationResult cannot be null", RestStatus.BAD_REQUEST));
             return;
         }
+        if (settingsAccessor.isEvaluationResultCompactLayout() && evaluationResult.experimentId() != null) {
+            if (bufferEvaluationResult(evaluationResult) == false) {
+                listener.onFailure(
+                    new SearchRelevanceException(
+                        "Evaluation results of experiment [" + evaluationResult.experimentId() + "] are no longer accepted",
+                        RestStatus.CONFLICT
+                    )
+                );
+                return;
+            }
+            listener.onResponse(null);
+            return;
+        }
         try {
-            searchRelevanceIndicesManager.putDocEfficient(
+            searchRelevanceIndicesManager.putDoc(
                 evaluationResult.id(),
                 evaluationResult.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS),
                 EVALUATION_RESULT,
@@ -86,6 +137,130 @@ public class EvaluationResultDao {
         }
     }
 
+    /**
+     * Starts buffering the evaluation results of an experiment with the compact layout, the buffer lives until
+     * {@link #flushEvaluationResults} or {@link #discardEvaluationResults}
+     * @param experimentId - id of the experiment whose evaluation starts
+     */
+    public void startEvaluationResults(final String experimentId) {
+        pendingBlocksByExperiment.putIfAbsent(experimentId, new PendingBlocks());
+    }
+
+    /**
+     * @return false if the experiment has no open buffer, e.g. because it was already flushed or discarded
+     */
+    private boolean bufferEvaluationResult(final EvaluationResult evaluationResult) {
+        String experimentId = evaluationResult.experimentId();
+        String searchConfigurationId = evaluationResult.searchConfigurationId();
+        PendingBlocks pendingBlocks = pendingBlocksByExperiment.get(experimentId);
+        if (pendingBlocks == null) {
+            LOGGER.warn("Rejected evaluation result [{}] of experiment [{}] without buffer", evaluationResult.id(), experimentId);
+            return false;
+        }
+        EvaluationResultBlock fullBlock = null;
+        StepListener<BulkResponse> write = null;
+        synchronized (pendingBlocks) {
+            if (pendingBlocks.closed) {
+                LOGGER.warn("Rejected evaluation result [{}] of experiment [{}] after flush", evaluationResult.id(), experimentId);
+                return false;
+            }
+            List<EvaluationResult> rows = pendingBlocks.rowsBySearchConfiguration.computeIfAbsent(
+                searchConfigurationId,
+                id -> new ArrayList<>()
+            );
+            rows.add(evaluationResult);
+            if (rows.size() >= BLOCK_SIZE) {
+                pendingBlocks.rowsBySearchConfiguration.remove(searchConfigurationId);
+                fullBlock = EvaluationResultBlock.of(
+                    EvaluationResultBlock.id(experimentId, searchConfigurationId, pendingBlocks.sequence++),
+                    rows
+                );
+                write = new StepListener<>();
+                pendingBlocks.writes.add(write);
+            }
+        }
+        if (fullBlock != null) {
+            putEvaluationResultBlocks(List.of(fullBlock), write);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the evaluation results of an experiment buffered with the compact layout and waits for the blocks
+     * written before, so the listener fails if any evaluation result of the experiment was not stored
+     * @param experimentId - id of the experiment whose evaluation results are complete
+     * @param listener - action lister for async operation
+     */
+    public void flushEvaluationResults(final String experimentId, final ActionListener<Void> listener) {
+        PendingBlocks pendingBlocks = pendingBlocksByExperiment.remove(experimentId);
+        if (pendingBlocks == null) {
+            listener.onResponse(null);
+            return;
+        }
+        List<EvaluationResultBlock> remainingBlocks = new ArrayList<>();
+        StepListener<BulkResponse> remainingWrite = new StepListener<>();
+        List<StepListener<BulkResponse>> writes;
+        synchronized (pendingBlocks) {
+            pendingBlocks.closed = true;
+            pendingBlocks.rowsBySearchConfiguration.forEach(
+                (searchConfigurationId, rows) -> remainingBlocks.add(
+                    EvaluationResultBlock.of(EvaluationResultBlock.id(experimentId, searchConfigurationId, pendingBlocks.sequence++), rows)
+                )
+            );
+            pendingBlocks.rowsBySearchConfiguration.clear();
+            if (remainingBlocks.isEmpty() == false) {
+                pendingBlocks.writes.add(remainingWrite);
+            }
+            writes = new ArrayList<>(pendingBlocks.writes);
+        }
+        if (remainingBlocks.isEmpty() == false) {
+            putEvaluationResultBlocks(remainingBlocks, remainingWrite);
+        }
+        if (writes.isEmpty()) {
+            listener.onResponse(null);
+            return;
+        }
+        GroupedActionListener<BulkResponse> allWrites = new GroupedActionListener<>(
+            ActionListener.wrap(responses -> listener.onResponse(null), listener::onFailure),
+            writes.size()
+        );
+        writes.forEach(write -> write.whenComplete(allWrites::onResponse, allWrites::onFailure));
+    }
+
+    /**
+     * Drops the evaluation results of an experiment buffered with the compact layout, e.g. after the experiment failed
+     * @param experimentId - id of the experiment
+     */
+    public void discardEvaluationResults(final String experimentId) {
+        PendingBlocks pendingBlocks = pendingBlocksByExperiment.remove(experimentId);
+        if (pendingBlocks != null) {
+            synchronized (pendingBlocks) {
+                pendingBlocks.closed = true;
+                pendingBlocks.rowsBySearchConfiguration.clear();
+            }
+            LOGGER.debug("Discarded buffered evaluation results of experiment [{}]", experimentId);
+        }
+    }
+
+    private void putEvaluationResultBlocks(final List<EvaluationResultBlock> blocks, final ActionListener<BulkResponse> listener) {
+        try {
+            Map<String, XContentBuilder> docs = new HashMap<>();
+            for (EvaluationResultBlock block : blocks) {
+                docs.put(block.getId(), block.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+            }
+            searchRelevanceIndicesManager.bulkPutDocs(
+                docs,
+                EVALUATION_RESULT_BLOCK,
+                settingsAccessor.getRefreshPolicy(EVALUATION_RESULT_BLOCK.getWriteTier()),
+                listener
+            );
+        } catch (IOException e) {
+            listener.onFailure(
+                new SearchRelevanceException("Failed to store evaluationResult blocks", e, RestStatus.INTERNAL_SERVER_ERROR)
+            );
+        }
+    }
+
     /**
      * Delete evaluationResult by evaluationResultId
      * @param evaluationResultId - id to be deleted
@@ -96,7 +271,7 @@ public class EvaluationResultDao {
     }
 
     /**
-     * Get evaluationResult by evaluationResultId
+     * Get evaluationResult by evaluationResultId, an evaluation result stored in a block is read from its row
      * @param evaluationResultId - id to be deleted
      * @param listener - action lister for async operation
      */
@@ -105,7 +280,33 @@ public class EvaluationResultDao {
             listener.onFailure(new SearchRelevanceException("evaluationResultId must not be null or empty", RestStatus.BAD_REQUEST));
             return null;
         }
-        return searchRelevanceIndicesManager.getDocByDocId(evaluationResultId, EVALUATION_RESULT, listener);
+        ActionListener<SearchResponse> viewListener = ActionListener.wrap(listener::onResponse, e -> {
+            if (e instanceof ResourceNotFoundException) {
+                getEvaluationResultFromBlock(evaluationResultId, e, listener);
+                return;
+            }
+            listener.onFailure(e);
+        });
+        return searchRelevanceIndicesManager.getDocByDocId(evaluationResultId, EVALUATION_RESULT, viewListener);
+    }
+
+    private void getEvaluationResultFromBlock(String evaluationResultId, Exception notFound, ActionListener<SearchResponse> listener) {
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(
+            QueryBuilders.termQuery(EvaluationResultBlock.EVALUATION_IDS, evaluationResultId)
+        ).size(1);
+        searchRelevanceIndicesManager.listDocsBySearchRequest(sourceBuilder, EVALUATION_RESULT_BLOCK, ActionListener.wrap(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            if (hits.length == 0) {
+                listener.onFailure(notFound);
+                return;
+            }
+            EvaluationResultBlock block = EvaluationResultBlock.fromSource(hits[0].getSourceAsMap());
+            EvaluationResult evaluationResult = block.row(block.indexOf(evaluationResultId));
+            BytesReference source = BytesReference.bytes(
+                evaluationResult.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)
+            );
+            listener.onResponse(SearchRelevanceIndicesManager.toSearchResponse(Map.of(evaluationResultId, source)));
+        }, listener::onFailure));
     }
 
     /**
@@ -7,9 +7,17 @@
  */
 package org.opensearch.searchrelevance.dao;
 
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EVALUATION_RESULT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EVALUATION_RESULT_BLOCK;
 import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EXPERIMENT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EXPERIMENT_RESULT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EXPERIMENT_VARIANT;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -18,21 +26,45 @@ import org.apache.logging.log4j.Logger;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.regex.Regex;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.support.XContentMapValues;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndices;
 import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
 import org.opensearch.searchrelevance.model.Experiment;
+import org.opensearch.searchrelevance.model.ExperimentQueryResults;
 import org.opensearch.searchrelevance.model.ExperimentType;
 import org.opensearch.searchrelevance.stats.events.EventStatName;
 import org.opensearch.searchrelevance.stats.events.EventStatsManager;
 
 public class ExperimentDao {
     private static final Logger LOGGER = LogManager.getLogger(ExperimentDao.class);
+    /**
+     * Field of the experiment id in the documents an experiment leaves in other indices
+     */
+    public static final String EXPERIMENT_ID = "experimentId";
+    /**
+     * Indices holding the results and variants of experiments, deleted with their experiment
+     */
+    public static final List<SearchRelevanceIndices> EXPERIMENT_CHILD_INDICES = List.of(
+        EXPERIMENT_RESULT,
+        EVALUATION_RESULT,
+        EVALUATION_RESULT_BLOCK,
+        EXPERIMENT_VARIANT
+    );
+    // queries whose results are returned with an experiment unless a page size is requested
+    public static final int RESULTS_PAGE_SIZE = 1000;
+    public static final int MAX_RESULTS_PAGE_SIZE = 10000;
     private final SearchRelevanceIndicesManager searchRelevanceIndicesManager;
     private static Map<ExperimentType, Runnable> experimentTypeIncrementers = Map.of(
         ExperimentType.PAIRWISE_COMPARISON,
@@ -55,6 +87,37 @@ public class ExperimentDao {
         searchRelevanceIndicesManager.createIndexIfAbsent(EXPERIMENT, stepListener);
     }
 
+    /**
+     * Refresh the evaluation results, variants and query results of experiments, which are written without refresh by default,
+     * so that they are visible to searches once the experiment is completed
+     * @param listener - action lister for async operation
+     */
+    public void refreshExperimentResults(final ActionListener<Void> listener) {
+        searchRelevanceIndicesManager.refreshIndices(
+            List.of(EVALUATION_RESULT, EVALUATION_RESULT_BLOCK, EXPERIMENT_VARIANT, EXPERIMENT_RESULT),
+            listener
+        );
+    }
+
+    /**
+     * Stores the results of a single query of an experiment with the refresh policy of the bulk write tier, the results
+     * are visible once the experiment results are refreshed
+     * @param queryResults - results of the query to be stored
+     * @param listener - action lister for async operation
+     */
+    public void putExperimentQueryResults(final ExperimentQueryResults queryResults, final ActionListener listener) {
+        try {
+            searchRelevanceIndicesManager.putDoc(
+                ExperimentQueryResults.id(queryResults.getExperimentId(), queryResults.getOrdinal()),
+                queryResults.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS),
+                EXPERIMENT_RESULT,
+                listener
+            );
+        } catch (IOException e) {
+            listener.onFailure(new SearchRelevanceException("Failed to store experiment results", e, RestStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
     /**
      * Stores experiment to in the system index
      * @param experiment - Experiment content to be stored
@@ -97,12 +160,38 @@ public class ExperimentDao {
     }
 
     /**
-     * Delete experiment by experimentId
+     * Delete experiment by experimentId, its results and variants are deleted in the background afterwards
      * @param experimentId - id to be deleted
      * @param listener - action lister for async operation
      */
     public void deleteExperiment(final String experimentId, final ActionListener<DeleteResponse> listener) {
-        searchRelevanceIndicesManager.deleteDocByDocId(experimentId, EXPERIMENT, listener);
+        searchRelevanceIndicesManager.deleteDocByDocId(experimentId, EXPERIMENT, ActionListener.wrap(deleteResponse -> {
+            listener.onResponse(deleteResponse);
+            // documents left behind if this fails or is cancelled are removed by the orphan sweeper
+            deleteExperimentChildren(experimentId, 0);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Deletes the results and variants of a deleted experiment in the background, one index after the other with a
+     * throttled delete by query each
+     */
+    private void deleteExperimentChildren(final String experimentId, final int from) {
+        if (from >= EXPERIMENT_CHILD_INDICES.size()) {
+            return;
+        }
+        SearchRelevanceIndices index = EXPERIMENT_CHILD_INDICES.get(from);
+        searchRelevanceIndicesManager.deleteDocsByQueryThrottled(
+            QueryBuilders.termQuery(EXPERIMENT_ID, experimentId),
+            index,
+            ActionListener.wrap(deleted -> {
+                LOGGER.debug("Deleted {} documents of experiment [{}] from [{}]", deleted, experimentId, index.getIndexName());
+                deleteExperimentChildren(experimentId, from + 1);
+            }, e -> {
+                LOGGER.warn("Failed to delete documents of experiment [{}] from [{}]", experimentId, index.getIndexName(), e);
+                deleteExperimentChildren(experimentId, from + 1);
+            })
+        );
     }
 
     /**
@@ -118,6 +207,84 @@ public class ExperimentDao {
         return searchRelevanceIndicesManager.getDocByDocId(experimentId, EXPERIMENT, listener);
     }
 
+    /**
+     * Get experiment by experimentId with a page of its results. The results stored per query are put back into the
+     * experiment document in the order of their queries, experiments stored before results were kept per query are
+     * returned with their inline results. If there may be more results, the experiment gets the cursor to pass as
+     * search after of the next page.
+     * @param experimentId - id to be retrieved
+     * @param resultsPage - size and search after of the page of results, and the fields of the experiment to return
+     * @param listener - action lister for async operation
+     */
+    public void getExperimentWithResults(String experimentId, SearchSourceBuilder resultsPage, ActionListener<SearchResponse> listener) {
+        getExperiment(experimentId, ActionListener.wrap(response -> {
+            SearchHit hit = response.getHits().getHits()[0];
+            Map<String, Object> source = new LinkedHashMap<>(hit.getSourceAsMap());
+            FetchSourceContext fetchSource = resultsPage.fetchSource();
+            Object inlineResults = source.get(Experiment.RESULTS);
+            if (!requestsResults(fetchSource) || (inlineResults instanceof List && !((List<?>) inlineResults).isEmpty())) {
+                respondWithSource(response, hit, source, fetchSource, null, listener);
+                return;
+            }
+            int pageSize = resultsPage.size() < 0 ? RESULTS_PAGE_SIZE : resultsPage.size();
+            SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(
+                QueryBuilders.termQuery(ExperimentQueryResults.EXPERIMENT_ID, experimentId)
+            ).sort(ExperimentQueryResults.ORDINAL, SortOrder.ASC).size(pageSize);
+            if (resultsPage.searchAfter() != null) {
+                sourceBuilder.searchAfter(resultsPage.searchAfter());
+            }
+            searchRelevanceIndicesManager.listDocsBySearchRequest(sourceBuilder, EXPERIMENT_RESULT, ActionListener.wrap(resultsResponse -> {
+                SearchHit[] hits = resultsResponse.getHits().getHits();
+                List<Map<String, Object>> results = new ArrayList<>();
+                for (SearchHit resultsHit : hits) {
+                    Object queryResults = resultsHit.getSourceAsMap().get(ExperimentQueryResults.RESULTS);
+                    if (queryResults instanceof List) {
+                        results.addAll((List<Map<String, Object>>) queryResults);
+                    }
+                }
+                source.put(Experiment.RESULTS, results);
+                String cursor = hits.length == pageSize ? String.valueOf(hits[hits.length - 1].getSortValues()[0]) : null;
+                respondWithSource(response, hit, source, fetchSource, cursor, listener);
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    /**
+     * @return whether the fields to return of an experiment include its results
+     */
+    private static boolean requestsResults(FetchSourceContext fetchSource) {
+        if (fetchSource == null) {
+            return true;
+        }
+        if (!fetchSource.fetchSource() || Arrays.asList(fetchSource.excludes()).contains(Experiment.RESULTS)) {
+            return false;
+        }
+        return fetchSource.includes().length == 0
+            || Arrays.stream(fetchSource.includes())
+                .anyMatch(include -> Regex.simpleMatch(include, Experiment.RESULTS) || include.startsWith(Experiment.RESULTS + "."));
+    }
+
+    private static void respondWithSource(
+        SearchResponse response,
+        SearchHit hit,
+        Map<String, Object> source,
+        FetchSourceContext fetchSource,
+        String cursor,
+        ActionListener<SearchResponse> listener
+    ) throws IOException {
+        Map<String, Object> filteredSource = source;
+        if (fetchSource != null) {
+            filteredSource = fetchSource.fetchSource()
+                ? new LinkedHashMap<>(XContentMapValues.filter(source, fetchSource.includes(), fetchSource.excludes()))
+                : new LinkedHashMap<>();
+        }
+        if (cursor != null) {
+            filteredSource.put(Experiment.RESULTS_CURSOR, cursor);
+        }
+        hit.sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(filteredSource)));
+        listener.onResponse(response);
+    }
+
     /**
      * List experiment by source builder
      * @param sourceBuilder - source builder to be searched
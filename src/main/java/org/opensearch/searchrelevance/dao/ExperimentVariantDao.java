@@ -10,29 +10,40 @@ package org.opensearch.searchrelevance.dao;
 import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EXPERIMENT_VARIANT;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.opensearch.action.StepListener;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
 import org.opensearch.searchrelevance.model.ExperimentVariant;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
 
 import lombok.extern.log4j.Log4j2;
 
 @Log4j2
 public class ExperimentVariantDao {
     private final SearchRelevanceIndicesManager searchRelevanceIndicesManager;
+    private final SearchRelevanceSettingsAccessor settingsAccessor;
 
-    public ExperimentVariantDao(SearchRelevanceIndicesManager searchRelevanceIndicesManager) {
+    public ExperimentVariantDao(
+        SearchRelevanceIndicesManager searchRelevanceIndicesManager,
+        SearchRelevanceSettingsAccessor settingsAccessor
+    ) {
         this.searchRelevanceIndicesManager = searchRelevanceIndicesManager;
+        this.settingsAccessor = settingsAccessor;
     }
 
     /**
@@ -76,7 +87,7 @@ public class ExperimentVariantDao {
             return;
         }
         try {
-            searchRelevanceIndicesManager.putDocEfficient(
+            searchRelevanceIndicesManager.putDoc(
                 experimentVariant.getId(),
                 experimentVariant.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS),
                 EXPERIMENT_VARIANT,
@@ -87,6 +98,29 @@ public class ExperimentVariantDao {
         }
     }
 
+    /**
+     * Stores experiment variants with a single bulk request, existing variants with the same id are replaced
+     * @param experimentVariants - experiment variants to be stored
+     * @param listener - action lister for async operation
+     */
+    public void putExperimentVariants(final List<ExperimentVariant> experimentVariants, final ActionListener<BulkResponse> listener) {
+        Map<String, XContentBuilder> docs = new LinkedHashMap<>();
+        try {
+            for (ExperimentVariant experimentVariant : experimentVariants) {
+                docs.put(experimentVariant.getId(), experimentVariant.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+            }
+        } catch (IOException e) {
+            listener.onFailure(new SearchRelevanceException("Failed to store experiment variants", e, RestStatus.INTERNAL_SERVER_ERROR));
+            return;
+        }
+        searchRelevanceIndicesManager.bulkPutDocs(
+            docs,
+            EXPERIMENT_VARIANT,
+            settingsAccessor.getRefreshPolicy(EXPERIMENT_VARIANT.getWriteTier()),
+            listener
+        );
+    }
+
     public void updateExperimentVariant(final ExperimentVariant experimentVariant, final ActionListener listener) {
         if (experimentVariant == null) {
             listener.onFailure(new SearchRelevanceException("Experiment variant cannot be null", RestStatus.BAD_REQUEST));
@@ -115,7 +149,7 @@ public class ExperimentVariantDao {
             return;
         }
         try {
-            searchRelevanceIndicesManager.updateDocEfficient(
+            searchRelevanceIndicesManager.updateDoc(
                 experimentVariant.getId(),
                 experimentVariant.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS),
                 EXPERIMENT_VARIANT,
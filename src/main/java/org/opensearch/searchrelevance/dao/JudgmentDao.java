@@ -8,24 +8,51 @@
 package org.opensearch.searchrelevance.dao;
 
 import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.JUDGMENT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.JUDGMENT_RATING;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ResourceNotFoundException;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.WriteRequest;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
 import org.opensearch.searchrelevance.model.Judgment;
+import org.opensearch.searchrelevance.model.JudgmentQueryRatings;
+import org.opensearch.searchrelevance.utils.TimeUtils;
 
 public class JudgmentDao {
+    private static final Logger LOGGER = LogManager.getLogger(JudgmentDao.class);
+    // queries whose ratings are stored with one bulk request
+    private static final int RATINGS_BULK_SIZE = 1000;
+    private static final int RATINGS_PAGE_SIZE = 1000;
+
     private final SearchRelevanceIndicesManager searchRelevanceIndicesManager;
 
     @Inject
@@ -63,11 +90,71 @@ public class JudgmentDao {
         }
     }
 
+    /**
+     * Stores the ratings of a judgment with one document per query, removes the ratings of queries the judgment no
+     * longer has and updates the judgment document without inline ratings.
+     * @param judgment - Judgment content to be stored
+     * @param listener - action lister for async operation
+     */
     public void updateJudgment(final Judgment judgment, final ActionListener listener) {
         if (judgment == null) {
             listener.onFailure(new SearchRelevanceException("Judgment cannot be null", RestStatus.BAD_REQUEST));
             return;
         }
+        replaceJudgmentRatings(
+            judgment,
+            ActionListener.wrap(replaced -> updateJudgmentDocument(withoutRatings(judgment), listener), listener::onFailure)
+        );
+    }
+
+    /**
+     * Same as {@link #updateJudgment(Judgment, ActionListener)}, but only if the judgment document is unchanged since it
+     * was read. The judgment document is written first, so a concurrent update fails before it replaces any ratings.
+     * @param judgment - Judgment content to be stored
+     * @param seqNo - sequence number of the judgment document when it was read
+     * @param primaryTerm - primary term of the judgment document when it was read
+     * @param listener - action lister for async operation, fails with CONFLICT if the judgment was changed or deleted since
+     */
+    public void updateJudgmentIfUnchanged(
+        final Judgment judgment,
+        final long seqNo,
+        final long primaryTerm,
+        final ActionListener<IndexResponse> listener
+    ) {
+        if (judgment == null) {
+            listener.onFailure(new SearchRelevanceException("Judgment cannot be null", RestStatus.BAD_REQUEST));
+            return;
+        }
+        XContentBuilder judgmentDocument;
+        try {
+            judgmentDocument = withoutRatings(judgment).toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
+        } catch (IOException e) {
+            listener.onFailure(new SearchRelevanceException("Failed to store judgment", e, RestStatus.INTERNAL_SERVER_ERROR));
+            return;
+        }
+        searchRelevanceIndicesManager.updateDocIfUnchanged(
+            judgment.getId(),
+            judgmentDocument,
+            JUDGMENT,
+            seqNo,
+            primaryTerm,
+            ActionListener.wrap(response -> {
+                replaceJudgmentRatings(judgment, ActionListener.wrap(replaced -> listener.onResponse(response), listener::onFailure));
+            }, listener::onFailure)
+        );
+    }
+
+    private void replaceJudgmentRatings(final Judgment judgment, final ActionListener<Long> listener) {
+        List<Map<String, Object>> judgmentRatings = judgment.getJudgmentRatings() == null ? List.of() : judgment.getJudgmentRatings();
+        putJudgmentRatings(judgment.getId(), judgment.getTimestamp(), judgmentRatings, 0, ActionListener.wrap(stored -> {
+            QueryBuilder staleRatings = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termQuery(JudgmentQueryRatings.JUDGMENT_ID, judgment.getId()))
+                .mustNot(QueryBuilders.termQuery(JudgmentQueryRatings.TIME_STAMP, judgment.getTimestamp()));
+            searchRelevanceIndicesManager.deleteDocsByQuery(staleRatings, JUDGMENT_RATING, listener);
+        }, listener::onFailure));
+    }
+
+    private void updateJudgmentDocument(final Judgment judgment, final ActionListener listener) {
         try {
             searchRelevanceIndicesManager.updateDoc(
                 judgment.getId(),
@@ -80,13 +167,104 @@ public class JudgmentDao {
         }
     }
 
+    private static Judgment withoutRatings(Judgment judgment) {
+        return new Judgment(
+            judgment.getId(),
+            judgment.getTimestamp(),
+            judgment.getName(),
+            judgment.getStatus(),
+            judgment.getType(),
+            judgment.getMetadata(),
+            List.of()
+        );
+    }
+
+    /**
+     * Stores the ratings of a single query of a judgment that is still running, so experiments on any node can read
+     * them before the judgment completes. Ratings the judgment already stored are not overwritten. The doc is not
+     * refreshed, readers use real-time gets and the final ratings refresh the index.
+     * @param judgmentId - id of the running judgment
+     * @param ordinal - position of the query in the ratings of the judgment
+     * @param queryRatings - ratings of the query, {"query": queryText, "ratings": [{"docId", "rating"}]}
+     * @param listener - action lister for async operation
+     */
+    @SuppressWarnings("unchecked")
+    public void putQueryRatings(
+        final String judgmentId,
+        final int ordinal,
+        final Map<String, Object> queryRatings,
+        final ActionListener<IndexResponse> listener
+    ) {
+        String query = (String) queryRatings.get(JudgmentQueryRatings.QUERY);
+        List<Map<String, Object>> ratings = (List<Map<String, Object>>) queryRatings.get(JudgmentQueryRatings.RATINGS);
+        JudgmentQueryRatings doc = new JudgmentQueryRatings(judgmentId, query, ordinal, TimeUtils.getTimestamp(), ratings);
+        try {
+            searchRelevanceIndicesManager.putDocWithRefreshPolicy(
+                JudgmentQueryRatings.id(judgmentId, query),
+                doc.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS),
+                JUDGMENT_RATING,
+                WriteRequest.RefreshPolicy.NONE,
+                listener
+            );
+        } catch (IOException e) {
+            listener.onFailure(new SearchRelevanceException("Failed to store judgment ratings", e, RestStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * Stores the ratings of each query as its own document, one bulk request per chunk of queries. Only the last
+     * chunk refreshes the index.
+     */
+    private void putJudgmentRatings(
+        final String judgmentId,
+        final String timestamp,
+        final List<Map<String, Object>> judgmentRatings,
+        final int from,
+        final ActionListener<Void> listener
+    ) {
+        if (from >= judgmentRatings.size()) {
+            listener.onResponse(null);
+            return;
+        }
+        int to = Math.min(from + RATINGS_BULK_SIZE, judgmentRatings.size());
+        Map<String, XContentBuilder> docs = new LinkedHashMap<>();
+        try {
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                Map<String, Object> queryRatings = judgmentRatings.get(ordinal);
+                String query = (String) queryRatings.get(JudgmentQueryRatings.QUERY);
+                List<Map<String, Object>> ratings = (List<Map<String, Object>>) queryRatings.get(JudgmentQueryRatings.RATINGS);
+                JudgmentQueryRatings doc = new JudgmentQueryRatings(judgmentId, query, ordinal, timestamp, ratings);
+                XContentBuilder xContentBuilder = doc.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
+                docs.put(JudgmentQueryRatings.id(judgmentId, query), xContentBuilder);
+            }
+        } catch (IOException e) {
+            listener.onFailure(new SearchRelevanceException("Failed to store judgment ratings", e, RestStatus.INTERNAL_SERVER_ERROR));
+            return;
+        }
+        searchRelevanceIndicesManager.bulkPutDocs(
+            docs,
+            JUDGMENT_RATING,
+            to == judgmentRatings.size() ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE,
+            ActionListener.wrap(response -> putJudgmentRatings(judgmentId, timestamp, judgmentRatings, to, listener), listener::onFailure)
+        );
+    }
+
     /**
      * Delete judgment by judgmentID
      * @param judgmentId - id to be deleted
      * @param listener - action lister for async operation
      */
     public void deleteJudgment(final String judgmentId, final ActionListener<DeleteResponse> listener) {
-        searchRelevanceIndicesManager.deleteDocByDocId(judgmentId, JUDGMENT, listener);
+        searchRelevanceIndicesManager.deleteDocByDocId(judgmentId, JUDGMENT, ActionListener.wrap(deleteResponse -> {
+            searchRelevanceIndicesManager.deleteDocsByQuery(
+                QueryBuilders.termQuery(JudgmentQueryRatings.JUDGMENT_ID, judgmentId),
+                JUDGMENT_RATING,
+                ActionListener.wrap(deleted -> listener.onResponse(deleteResponse), e -> {
+                    LOGGER.warn("Failed to delete ratings of judgment [{}]", judgmentId, e);
+                    listener.onResponse(deleteResponse);
+                })
+            );
+        }, listener::onFailure));
     }
 
     /**
@@ -102,6 +280,203 @@ public class JudgmentDao {
         return searchRelevanceIndicesManager.getDocByDocId(judgmentId, JUDGMENT, listener);
     }
 
+    /**
+     * Get judgment by judgmentId with its ratings, the ratings stored per query are put back into the judgment
+     * document in the order of their queries
+     * @param judgmentId - id to be retrieved
+     * @param listener - action lister for async operation
+     */
+    public void getJudgmentWithRatings(String judgmentId, ActionListener<SearchResponse> listener) {
+        getJudgment(judgmentId, ActionListener.wrap(response -> {
+            SearchHit hit = response.getHits().getHits()[0];
+            Map<String, Object> source = new LinkedHashMap<>(hit.getSourceAsMap());
+            Object inlineRatings = source.get(Judgment.JUDGMENT_RATINGS);
+            if (inlineRatings instanceof List && !((List<?>) inlineRatings).isEmpty()) {
+                listener.onResponse(response);
+                return;
+            }
+            getAllJudgmentRatings(judgmentId, null, new ArrayList<>(), ActionListener.wrap(judgmentRatings -> {
+                source.put(Judgment.JUDGMENT_RATINGS, judgmentRatings);
+                hit.sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(source)));
+                listener.onResponse(response);
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    private void getAllJudgmentRatings(
+        final String judgmentId,
+        final Object[] searchAfter,
+        final List<Map<String, Object>> judgmentRatings,
+        final ActionListener<List<Map<String, Object>>> listener
+    ) {
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(
+            QueryBuilders.termQuery(JudgmentQueryRatings.JUDGMENT_ID, judgmentId)
+        ).sort(JudgmentQueryRatings.ORDINAL, SortOrder.ASC).size(RATINGS_PAGE_SIZE);
+        if (searchAfter != null) {
+            sourceBuilder.searchAfter(searchAfter);
+        }
+        searchRelevanceIndicesManager.listDocsBySearchRequest(sourceBuilder, JUDGMENT_RATING, ActionListener.wrap(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            for (SearchHit hit : hits) {
+                Map<String, Object> source = hit.getSourceAsMap();
+                Map<String, Object> queryRatings = new LinkedHashMap<>();
+                queryRatings.put(JudgmentQueryRatings.QUERY, source.get(JudgmentQueryRatings.QUERY));
+                queryRatings.put(JudgmentQueryRatings.RATINGS, source.get(JudgmentQueryRatings.RATINGS));
+                judgmentRatings.add(queryRatings);
+            }
+            if (hits.length < RATINGS_PAGE_SIZE) {
+                listener.onResponse(judgmentRatings);
+                return;
+            }
+            getAllJudgmentRatings(judgmentId, hits[hits.length - 1].getSortValues(), judgmentRatings, listener);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Get judgment by judgmentId with the ratings of the given queries only, in the order of the queries. The judgment
+     * document is read without its inline ratings and the ratings of each query are read by document id.
+     * @param judgmentId - id to be retrieved
+     * @param queryTexts - queries to get the ratings of
+     * @param listener - action lister for async operation
+     */
+    public void getJudgmentWithQueryRatings(
+        final String judgmentId,
+        final List<String> queryTexts,
+        final ActionListener<SearchResponse> listener
+    ) {
+        if (judgmentId == null || judgmentId.isEmpty()) {
+            listener.onFailure(new SearchRelevanceException("judgmentId must not be null or empty", RestStatus.BAD_REQUEST));
+            return;
+        }
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(QueryBuilders.idsQuery().addIds(judgmentId))
+            .fetchSource(null, new String[] { Judgment.JUDGMENT_RATINGS })
+            .size(1);
+        searchRelevanceIndicesManager.listDocsBySearchRequest(sourceBuilder, JUDGMENT, ActionListener.wrap(response -> {
+            if (response.getHits().getHits().length == 0) {
+                listener.onFailure(new ResourceNotFoundException("Document not found: " + judgmentId));
+                return;
+            }
+            getStoredQueryRatings(judgmentId, queryTexts, ActionListener.wrap(ratingsByQuery -> {
+                List<Map<String, Object>> judgmentRatings = new ArrayList<>();
+                for (String query : new LinkedHashSet<>(queryTexts)) {
+                    if (ratingsByQuery.containsKey(query)) {
+                        Map<String, Object> queryRatings = new LinkedHashMap<>();
+                        queryRatings.put(JudgmentQueryRatings.QUERY, query);
+                        queryRatings.put(JudgmentQueryRatings.RATINGS, ratingsByQuery.get(query));
+                        judgmentRatings.add(queryRatings);
+                    }
+                }
+                SearchHit hit = response.getHits().getHits()[0];
+                Map<String, Object> source = new LinkedHashMap<>(hit.getSourceAsMap());
+                source.put(Judgment.JUDGMENT_RATINGS, judgmentRatings);
+                hit.sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(source)));
+                listener.onResponse(response);
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    /**
+     * Get the ratings of the given queries of a judgment
+     * @param judgmentId - id of the judgment
+     * @param queryTexts - queries to get the ratings of
+     * @param listener - receives a map of query to a map of docId to rating, queries without ratings are absent
+     */
+    public void getJudgmentRatings(
+        final String judgmentId,
+        final Collection<String> queryTexts,
+        final ActionListener<Map<String, Map<String, String>>> listener
+    ) {
+        if (judgmentId == null || judgmentId.isEmpty()) {
+            listener.onFailure(new SearchRelevanceException("judgmentId must not be null or empty", RestStatus.BAD_REQUEST));
+            return;
+        }
+        getStoredQueryRatings(judgmentId, queryTexts, ActionListener.wrap(storedRatings -> {
+            Map<String, Map<String, String>> ratingsByQuery = new HashMap<>();
+            storedRatings.forEach((query, ratings) -> ratingsByQuery.put(query, JudgmentQueryRatings.toDocIdToRatings(ratings)));
+            listener.onResponse(ratingsByQuery);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Reads the ratings documents of the queries by id, a page of queries per search request so the size of a single
+     * response stays bounded however many queries are requested. Judgments stored before ratings were kept per query
+     * have their ratings inline in the judgment document, which is read for queries without a ratings document.
+     */
+    private void getStoredQueryRatings(
+        final String judgmentId,
+        final Collection<String> queryTexts,
+        final ActionListener<Map<String, List<Map<String, Object>>>> listener
+    ) {
+        List<String> queries = new ArrayList<>(new LinkedHashSet<>(queryTexts));
+        collectQueryRatings(judgmentId, queries, 0, new HashMap<>(), ActionListener.wrap(ratingsByQuery -> {
+            if (ratingsByQuery.keySet().containsAll(queries)) {
+                listener.onResponse(ratingsByQuery);
+                return;
+            }
+            getJudgment(judgmentId, ActionListener.wrap(judgmentResponse -> {
+                addInlineRatings(judgmentResponse, new HashSet<>(queries), ratingsByQuery);
+                listener.onResponse(ratingsByQuery);
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    private void collectQueryRatings(
+        final String judgmentId,
+        final List<String> queries,
+        final int from,
+        final Map<String, List<Map<String, Object>>> ratingsByQuery,
+        final ActionListener<Map<String, List<Map<String, Object>>>> listener
+    ) {
+        if (from >= queries.size()) {
+            listener.onResponse(ratingsByQuery);
+            return;
+        }
+        int to = Math.min(from + RATINGS_PAGE_SIZE, queries.size());
+        String[] ids = queries.subList(from, to).stream().map(query -> JudgmentQueryRatings.id(judgmentId, query)).toArray(String[]::new);
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(QueryBuilders.idsQuery().addIds(ids))
+            .fetchSource(new String[] { JudgmentQueryRatings.QUERY, JudgmentQueryRatings.RATINGS }, null)
+            .size(ids.length);
+        searchRelevanceIndicesManager.listDocsBySearchRequest(sourceBuilder, JUDGMENT_RATING, ActionListener.wrap(response -> {
+            for (SearchHit hit : response.getHits().getHits()) {
+                Map<String, Object> source = hit.getSourceAsMap();
+                ratingsByQuery.put(
+                    (String) source.get(JudgmentQueryRatings.QUERY),
+                    (List<Map<String, Object>>) source.get(JudgmentQueryRatings.RATINGS)
+                );
+            }
+            collectQueryRatings(judgmentId, queries, to, ratingsByQuery, listener);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Get the ratings of a single query of a judgment
+     * @param judgmentId - id of the judgment
+     * @param queryText - query to get the ratings of
+     * @param listener - receives a map of docId to rating, empty if the judgment has no ratings for the query
+     */
+    public void getQueryRatings(final String judgmentId, final String queryText, final ActionListener<Map<String, String>> listener) {
+        getJudgmentRatings(judgmentId, List.of(queryText), ActionListener.wrap(ratingsByQuery -> {
+            listener.onResponse(ratingsByQuery.getOrDefault(queryText, new HashMap<>()));
+        }, listener::onFailure));
+    }
+
+    private static void addInlineRatings(
+        final SearchResponse judgmentResponse,
+        final Set<String> queries,
+        final Map<String, List<Map<String, Object>>> ratingsByQuery
+    ) {
+        Object inlineRatings = judgmentResponse.getHits().getHits()[0].getSourceAsMap().get(Judgment.JUDGMENT_RATINGS);
+        if (!(inlineRatings instanceof List)) {
+            return;
+        }
+        for (Map<String, Object> queryRatings : (List<Map<String, Object>>) inlineRatings) {
+            Object query = queryRatings.get(JudgmentQueryRatings.QUERY);
+            if (queries.contains(query) && !ratingsByQuery.containsKey(query)) {
+                ratingsByQuery.put((String) query, (List<Map<String, Object>>) queryRatings.get(JudgmentQueryRatings.RATINGS));
+            }
+        }
+    }
+
     /**
      * Get judgment by judgmentId synchronously
      * @param judgmentId - id to be retrieved
@@ -31,6 +31,7 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.model.AsyncStatus;
 import org.opensearch.searchrelevance.model.QuerySet;
 import org.opensearch.searchrelevance.model.QuerySetEntry;
 
@@ -77,6 +78,28 @@ public class QuerySetDao {
         }
     }
 
+    /**
+     * Updates a query set in the system index, e.g. once its queries are sampled
+     * @param querySet - QuerySet content to be stored
+     * @param listener - action lister for async operation
+     */
+    public void updateQuerySet(final QuerySet querySet, final ActionListener listener) {
+        if (querySet == null) {
+            listener.onFailure(new SearchRelevanceException("QuerySet cannot be null", RestStatus.BAD_REQUEST));
+            return;
+        }
+        try {
+            searchRelevanceIndicesManager.updateDoc(
+                querySet.id(),
+                querySet.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS),
+                QUERY_SET,
+                listener
+            );
+        } catch (IOException e) {
+            throw new SearchRelevanceException("Failed to store query set", e, RestStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Delete query set by querySetID
      * @param querySetId - id to be deleted
@@ -104,7 +127,7 @@ public class QuerySetDao {
             throw new SearchRelevanceException("querySetId must not be null or empty", RestStatus.BAD_REQUEST);
         }
         SearchResponse response = searchRelevanceIndicesManager.getDocByDocIdSync(querySetId, QUERY_SET);
-        return convertToQuerySet(response);
+        return checkCompleted(convertToQuerySet(response));
     }
 
     /**
@@ -142,7 +165,7 @@ public class QuerySetDao {
             public void onResponse(SearchResponse response) {
                 try {
                     LOGGER.info("Successfully get response: [{}]", response);
-                    QuerySet querySet = convertToQuerySet(response);
+                    QuerySet querySet = checkCompleted(convertToQuerySet(response));
                     LOGGER.debug("Converted response into queryset: [{}]", querySet);
 
                     results.put(
@@ -150,6 +173,8 @@ public class QuerySetDao {
                         querySet.querySetQueries().stream().map(QuerySetEntry::queryText).collect(Collectors.toList())
                     );
                     stepListener.onResponse(results);
+                } catch (SearchRelevanceException e) {
+                    stepListener.onFailure(e);
                 } catch (Exception e) {
                     LOGGER.error("Failed to convert response: [{}] into queryset.", response);
                     stepListener.onFailure(new SearchRelevanceException("Failed to convert queryset", e, RestStatus.INTERNAL_SERVER_ERROR));
@@ -164,6 +189,21 @@ public class QuerySetDao {
         });
     }
 
+    /**
+     * Query sets sampled from UBI are stored before their queries, they can only be used once sampling completed.
+     * @param querySet - the stored query set
+     * @return the query set if it is completed
+     */
+    public static QuerySet checkCompleted(QuerySet querySet) {
+        if (querySet.status() != AsyncStatus.COMPLETED) {
+            throw new SearchRelevanceException(
+                "QuerySet " + querySet.id() + " is not ready, its status is " + querySet.status(),
+                RestStatus.CONFLICT
+            );
+        }
+        return querySet;
+    }
+
     private QuerySet convertToQuerySet(SearchResponse response) {
         SearchHit hit = response.getHits().getHits()[0];
         Map<String, Object> sourceMap = hit.getSourceAsMap();
@@ -185,6 +225,14 @@ public class QuerySetDao {
             .timestamp((String) sourceMap.get(QuerySet.TIME_STAMP))
             .sampling((String) sourceMap.get(QuerySet.SAMPLING))
             .querySetQueries(querySetEntries)
+            .status(toStatus(sourceMap.get(QuerySet.STATUS)))
             .build();
     }
+
+    /**
+     * @param status - stored status, absent for query sets created before sampling was asynchronous
+     */
+    public static AsyncStatus toStatus(Object status) {
+        return status == null ? AsyncStatus.COMPLETED : AsyncStatus.valueOf(status.toString());
+    }
 }
@@ -15,19 +15,20 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.search.SearchResponse;
-import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
@@ -103,6 +104,33 @@ public class SearchConfigurationDao {
         return convertToSearchConfiguration(response);
     }
 
+    /**
+     * Get searchConfigurations by ids with a single multi-get
+     * @param searchConfigurationIds - ids to be fetched
+     * @param listener - action lister for async operation, responded with the searchConfigurations keyed by id
+     */
+    public void getSearchConfigurations(List<String> searchConfigurationIds, ActionListener<Map<String, SearchConfiguration>> listener) {
+        searchRelevanceIndicesManager.getDocsByDocIds(
+            searchConfigurationIds,
+            SEARCH_CONFIGURATION,
+            ActionListener.wrap(
+                response -> listener.onResponse(convertToSearchConfigurations(searchConfigurationIds, response)),
+                listener::onFailure
+            )
+        );
+    }
+
+    /**
+     * Get searchConfigurations by ids with a single blocking multi-get
+     * @param searchConfigurationIds - ids to be fetched
+     * @return searchConfigurations in the order of the ids
+     */
+    public List<SearchConfiguration> getSearchConfigurationsSync(List<String> searchConfigurationIds) {
+        SearchResponse response = searchRelevanceIndicesManager.getDocsByDocIdsSync(searchConfigurationIds, SEARCH_CONFIGURATION);
+        Map<String, SearchConfiguration> searchConfigurations = convertToSearchConfigurations(searchConfigurationIds, response);
+        return searchConfigurationIds.stream().map(searchConfigurations::get).collect(Collectors.toList());
+    }
+
     /**
      * List searchConfigurationId by source builder
      * @param sourceBuilder - source builder to be searched
@@ -135,51 +163,50 @@ public class SearchConfigurationDao {
     ) {
         Map<String, List<String>> indexAndQueries = new HashMap<>();
 
-        GroupedActionListener<SearchResponse> groupedListener = new GroupedActionListener<>(ActionListener.wrap(responses -> {
+        getSearchConfigurations(searchConfigurationList, ActionListener.wrap(searchConfigurations -> {
+            LOGGER.debug("Fetched SearchConfigurations: [{}]", searchConfigurations);
+            for (String searchConfigurationId : searchConfigurationList) {
+                SearchConfiguration searchConfig = searchConfigurations.get(searchConfigurationId);
+                indexAndQueries.put(
+                    searchConfigurationId,
+                    Arrays.asList(searchConfig.index(), searchConfig.query(), searchConfig.searchPipeline())
+                );
+            }
             results.put(METRICS_INDEX_AND_QUERIES_FIELD_NAME, indexAndQueries);
             stepListener.onResponse(results);
-        }, stepListener::onFailure), searchConfigurationList.size());
-
-        for (String searchConfigurationId : searchConfigurationList) {
-            getSearchConfiguration(searchConfigurationId, new ActionListener<SearchResponse>() {
-                @Override
-                public void onResponse(SearchResponse response) {
-                    try {
-                        LOGGER.info("Successfully get response for searchConfigurationId [{}]: [{}]", searchConfigurationId, response);
-                        SearchConfiguration searchConfig = convertToSearchConfiguration(response);
-                        LOGGER.debug("Converted response into SearchConfiguration: [{}]", searchConfig);
-
-                        indexAndQueries.put(
-                            searchConfigurationId,
-                            Arrays.asList(searchConfig.index(), searchConfig.query(), searchConfig.searchPipeline())
-                        );
-                        groupedListener.onResponse(response);
-                    } catch (Exception e) {
-                        LOGGER.error(
-                            "Failed to convert response: [{}] into SearchConfiguration for id: [{}]",
-                            response,
-                            searchConfigurationId,
-                            e
-                        );
-                        groupedListener.onFailure(
-                            new SearchRelevanceException("Failed to convert SearchConfiguration", e, RestStatus.INTERNAL_SERVER_ERROR)
-                        );
-                    }
-                }
-
-                @Override
-                public void onFailure(Exception e) {
-                    LOGGER.error("Failed to retrieve SearchConfiguration for id: [{}]", searchConfigurationId, e);
-                    groupedListener.onFailure(
-                        new SearchRelevanceException("Failed to retrieve SearchConfiguration", e, RestStatus.INTERNAL_SERVER_ERROR)
-                    );
-                }
-            });
+        }, e -> {
+            LOGGER.error("Failed to retrieve SearchConfigurations for ids: [{}]", searchConfigurationList, e);
+            stepListener.onFailure(
+                new SearchRelevanceException("Failed to retrieve SearchConfiguration", e, RestStatus.INTERNAL_SERVER_ERROR)
+            );
+        }));
+    }
+
+    /**
+     * Converts the hits of a multi-get into searchConfigurations keyed by id
+     * @throws SearchRelevanceException with NOT_FOUND if any of the ids does not exist
+     */
+    private Map<String, SearchConfiguration> convertToSearchConfigurations(List<String> searchConfigurationIds, SearchResponse response) {
+        Map<String, SearchConfiguration> searchConfigurations = new HashMap<>();
+        for (SearchHit hit : response.getHits().getHits()) {
+            searchConfigurations.put(hit.getId(), convertToSearchConfiguration(hit.getSourceAsMap()));
         }
+        for (String searchConfigurationId : searchConfigurationIds) {
+            if (!searchConfigurations.containsKey(searchConfigurationId)) {
+                throw new SearchRelevanceException("SearchConfiguration not found: " + searchConfigurationId, RestStatus.NOT_FOUND);
+            }
+        }
+        return searchConfigurations;
     }
 
     private SearchConfiguration convertToSearchConfiguration(SearchResponse response) {
-        Map<String, Object> source = response.getHits().getHits()[0].getSourceAsMap();
+        if (response.getHits().getHits().length == 0) {
+            throw new SearchRelevanceException("SearchConfiguration not found", RestStatus.NOT_FOUND);
+        }
+        return convertToSearchConfiguration(response.getHits().getHits()[0].getSourceAsMap());
+    }
+
+    private SearchConfiguration convertToSearchConfiguration(Map<String, Object> source) {
         return new SearchConfiguration(
             (String) source.get(SearchConfiguration.ID),
             (String) source.get(SearchConfiguration.NAME),
@@ -78,10 +78,7 @@ public class ExperimentTaskContext {
     public void scheduleVariantWrite(ExperimentVariant variant, String evaluationId, boolean isSuccess) {
         // Store evaluationId immediately for successful variants before async write
         if (isSuccess) {
-            ConcurrentHashMap<String, Object> map = (ConcurrentHashMap<String, Object>) configToExperimentVariants.get(searchConfigId);
-            if (map != null) {
-                map.put(variant.getId(), evaluationId);
-            }
+            recordEvaluation(variant.getId(), evaluationId);
         }
 
         CompletableFuture.runAsync(() -> {
@@ -91,6 +88,16 @@ public class ExperimentTaskContext {
         });
     }
 
+    /**
+     * Record the evaluation result of a variant for the final response, without writing the variant
+     */
+    public void recordEvaluation(String variantId, String evaluationId) {
+        ConcurrentHashMap<String, Object> map = (ConcurrentHashMap<String, Object>) configToExperimentVariants.get(searchConfigId);
+        if (map != null) {
+            map.put(variantId, evaluationId);
+        }
+    }
+
     /**
      * Mark a variant as successfully completed
      */
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -54,6 +55,19 @@ public class LlmJudgmentTaskManager {
         Function<String, Map<String, Object>> queryProcessor,
         boolean ignoreFailure,
         ActionListener<List<Map<String, Object>>> listener
+    ) {
+        scheduleTasksAsync(queryTextWithReferences, queryProcessor, result -> {}, ignoreFailure, listener);
+    }
+
+    /**
+     * Schedule query text tasks, each query result is handed to queryResultConsumer as soon as its task completes
+     */
+    public void scheduleTasksAsync(
+        List<String> queryTextWithReferences,
+        Function<String, Map<String, Object>> queryProcessor,
+        Consumer<Map<String, Object>> queryResultConsumer,
+        boolean ignoreFailure,
+        ActionListener<List<Map<String, Object>>> listener
     ) {
         int totalQueries = queryTextWithReferences.size();
         log.info("Scheduling {} query text tasks for concurrent processing", totalQueries);
@@ -61,17 +75,20 @@ public class LlmJudgmentTaskManager {
         try {
             List<CompletableFuture<Map<String, Object>>> futures = queryTextWithReferences.stream()
                 .map(queryTextWithReference -> CompletableFuture.supplyAsync(() -> {
+                    Map<String, Object> result;
                     try {
                         rateLimiter.acquire();
                         try {
-                            return queryProcessor.apply(queryTextWithReference);
+                            result = queryProcessor.apply(queryTextWithReference);
                         } finally {
                             rateLimiter.release();
                         }
                     } catch (Exception e) {
                         log.warn("Query processing failed, returning empty result for: {}", queryTextWithReference, e);
-                        return JudgmentDataTransformer.createJudgmentResult(queryTextWithReference, Map.of());
+                        result = JudgmentDataTransformer.createJudgmentResult(queryTextWithReference, Map.of());
                     }
+                    publishQueryResult(queryResultConsumer, queryTextWithReference, result);
+                    return result;
                 }, threadPool.executor(THREAD_POOL_EXECUTOR_NAME)))
                 .collect(Collectors.toList());
 
@@ -118,4 +135,16 @@ public class LlmJudgmentTaskManager {
             }
         }
     }
+
+    private void publishQueryResult(
+        Consumer<Map<String, Object>> queryResultConsumer,
+        String queryTextWithReference,
+        Map<String, Object> result
+    ) {
+        try {
+            queryResultConsumer.accept(result);
+        } catch (Exception e) {
+            log.warn("Failed to publish result for query: {}", queryTextWithReference, e);
+        }
+    }
 }
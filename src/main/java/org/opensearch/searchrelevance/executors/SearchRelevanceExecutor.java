@@ -28,7 +28,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class SearchRelevanceExecutor {
 
-    static final String SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME = "_plugin_search_relevance_executor";
+    public static final String SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME = "_plugin_search_relevance_executor";
     private static final Integer MIN_THREAD_SIZE = 2;
     private static final Integer PROCESSOR_COUNT_DIVISOR = 2;
 
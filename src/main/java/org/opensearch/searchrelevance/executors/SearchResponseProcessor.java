@@ -103,6 +103,10 @@ public class SearchResponseProcessor {
         ExperimentTaskContext taskContext
     ) {
         log.warn("No hits found for search config: {} and variant: {}", searchConfigId, experimentVariant.getId());
+        if (isStoredDefinition(experimentVariant)) {
+            taskContext.completeVariantFailure();
+            return;
+        }
 
         ExperimentVariant noHitsVariant = new ExperimentVariant(
             experimentVariant.getId(),
@@ -127,6 +131,13 @@ public class SearchResponseProcessor {
         String evaluationId,
         ExperimentTaskContext taskContext
     ) {
+        if (isStoredDefinition(experimentVariant)) {
+            taskContext.recordEvaluation(experimentVariant.getId(), evaluationId);
+            log.debug("Recorded evaluation {} of experiment variant: {}", evaluationId, experimentVariant.getId());
+            taskContext.completeVariantSuccess();
+            return;
+        }
+
         // Create variant directly with COMPLETED status
         ExperimentVariant completedVariant = new ExperimentVariant(
             experimentVariant.getId(),
@@ -159,6 +170,12 @@ public class SearchResponseProcessor {
         String evaluationId,
         ExperimentTaskContext taskContext
     ) {
+        if (isStoredDefinition(experimentVariant)) {
+            log.error("Error executing variant {}: {}", experimentVariant.getId(), e.getMessage());
+            taskContext.completeVariantFailure();
+            return;
+        }
+
         ExperimentVariant experimentVariantResult = new ExperimentVariant(
             experimentVariant.getId(),
             TimeUtils.getTimestamp(),
@@ -177,4 +194,12 @@ public class SearchResponseProcessor {
             taskContext.completeVariantFailure();
         }));
     }
+
+    /**
+     * Variants of hybrid optimizer experiments are stored once per experiment and shared by all of its queries,
+     * so the outcome of a single query is kept with its evaluation result and the experiment summary instead of the variant
+     */
+    private static boolean isStoredDefinition(ExperimentVariant experimentVariant) {
+        return experimentVariant.getType() == ExperimentType.HYBRID_OPTIMIZER;
+    }
 }
@@ -13,19 +13,19 @@ import static org.opensearch.searchrelevance.experiment.ExperimentOptionsForHybr
 import static org.opensearch.searchrelevance.experiment.ExperimentOptionsForHybridSearch.EXPERIMENT_OPTION_WEIGHTS_FOR_COMBINATION;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.opensearch.action.search.SearchResponse;
 import org.opensearch.core.action.ActionListener;
-import org.opensearch.searchrelevance.dao.JudgmentDao;
+import org.opensearch.searchrelevance.dao.ExperimentVariantDao;
 import org.opensearch.searchrelevance.executors.ExperimentTaskManager;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
 import org.opensearch.searchrelevance.model.AsyncStatus;
 import org.opensearch.searchrelevance.model.ExperimentType;
 import org.opensearch.searchrelevance.model.ExperimentVariant;
@@ -42,29 +42,60 @@ import lombok.extern.log4j.Log4j2;
 @AllArgsConstructor
 public class HybridOptimizerExperimentProcessor {
 
-    private final JudgmentDao judgmentDao;
+    private final ExperimentVariantDao experimentVariantDao;
     private final ExperimentTaskManager taskManager;
+    private final JudgmentProgressTracker judgmentProgressTracker;
 
     /**
-     * Process hybrid optimizer experiment using non-blocking async operations
+     * Define the variants of a hybrid optimizer experiment, one per parameter combination, and store them once.
+     * Every query of the experiment evaluates the same variants, its evaluation results refer to them by their stable id.
+     * Variants are stored as PROCESSING, see {@link #updateExperimentVariantsStatus} once the evaluation is done.
      *
      * @param experimentId Experiment ID
-     * @param queryText Query text to process
-     * @param searchConfigurations Map of search configuration IDs to SearchConfigurationDetails
-     * @param judgmentList List of judgment IDs
-     * @param size Result size
-     * @param hasFailure Failure flag
-     * @param listener Listener to notify when processing is complete
+     * @param listener Listener notified with the stored variants
      */
-    public void processHybridOptimizerExperiment(
-        String experimentId,
-        String queryText,
-        Map<String, SearchConfigurationDetails> searchConfigurations,
-        List<String> judgmentList,
-        int size,
-        AtomicBoolean hasFailure,
-        ActionListener<Map<String, Object>> listener
+    public void defineExperimentVariants(String experimentId, ActionListener<List<ExperimentVariant>> listener) {
+        List<ExperimentVariant> experimentVariants = createExperimentVariants(experimentId);
+        log.info("Experiment {}: Storing {} experiment variants", experimentId, experimentVariants.size());
+        experimentVariantDao.putExperimentVariants(
+            experimentVariants,
+            ActionListener.wrap(response -> listener.onResponse(experimentVariants), listener::onFailure)
+        );
+    }
+
+    /**
+     * Store the variants of a hybrid optimizer experiment with the status of its evaluation
+     *
+     * @param experimentVariants Variants of the experiment, see {@link #defineExperimentVariants}
+     * @param status Status of the experiment evaluation
+     * @param listener Listener notified with the stored variants
+     */
+    public void updateExperimentVariantsStatus(
+        List<ExperimentVariant> experimentVariants,
+        AsyncStatus status,
+        ActionListener<List<ExperimentVariant>> listener
     ) {
+        String timestamp = TimeUtils.getTimestamp();
+        List<ExperimentVariant> updatedVariants = experimentVariants.stream()
+            .map(
+                experimentVariant -> new ExperimentVariant(
+                    experimentVariant.getId(),
+                    timestamp,
+                    experimentVariant.getType(),
+                    status,
+                    experimentVariant.getExperimentId(),
+                    experimentVariant.getParameters(),
+                    experimentVariant.getResults()
+                )
+            )
+            .toList();
+        experimentVariantDao.putExperimentVariants(
+            updatedVariants,
+            ActionListener.wrap(response -> listener.onResponse(updatedVariants), listener::onFailure)
+        );
+    }
+
+    List<ExperimentVariant> createExperimentVariants(String experimentId) {
         // Create parameter combinations for hybrid search
         Map<String, Object> defaultParametersForHybridSearch = ExperimentOptionsFactory.createDefaultExperimentParametersForHybridSearch();
         ExperimentOptionsForHybridSearch experimentOptionForHybridSearch = (ExperimentOptionsForHybridSearch) ExperimentOptionsFactory
@@ -72,13 +103,7 @@ public class HybridOptimizerExperimentProcessor {
 
         List<ExperimentVariantHybridSearchDTO> experimentVariantDTOs = experimentOptionForHybridSearch.getParameterCombinations(true);
         List<ExperimentVariant> experimentVariants = new ArrayList<>();
-
-        log.info(
-            "Starting hybrid optimizer experiment {} with {} parameter combinations for query: {}",
-            experimentId,
-            experimentVariantDTOs.size(),
-            queryText
-        );
+        String timestamp = TimeUtils.getTimestamp();
 
         for (ExperimentVariantHybridSearchDTO experimentVariantDTO : experimentVariantDTOs) {
             Map<String, Object> parameters = new HashMap<>(
@@ -91,25 +116,54 @@ public class HybridOptimizerExperimentProcessor {
                     experimentVariantDTO.getQueryWeightsForCombination()
                 )
             );
-            String experimentVariantId = UUID.randomUUID().toString();
-
-            // Create lightweight ExperimentVariant without storing it to index
-            ExperimentVariant experimentVariant = new ExperimentVariant(
-                experimentVariantId,
-                TimeUtils.getTimestamp(),
-                ExperimentType.HYBRID_OPTIMIZER,
-                AsyncStatus.PROCESSING,
-                experimentId,
-                parameters,
-                Map.of()
+            String definition = String.join(
+                ", ",
+                experimentVariantDTO.getCombinationTechnique(),
+                experimentVariantDTO.getNormalizationTechnique(),
+                Arrays.toString(experimentVariantDTO.getQueryWeightsForCombination())
+            );
+            experimentVariants.add(
+                new ExperimentVariant(
+                    ExperimentVariant.id(experimentId, definition),
+                    timestamp,
+                    ExperimentType.HYBRID_OPTIMIZER,
+                    AsyncStatus.PROCESSING,
+                    experimentId,
+                    parameters,
+                    Map.of()
+                )
             );
-            experimentVariants.add(experimentVariant);
         }
+        return experimentVariants;
+    }
 
+    /**
+     * Process hybrid optimizer experiment using non-blocking async operations
+     *
+     * @param experimentId Experiment ID
+     * @param queryText Query text to process
+     * @param searchConfigurations Map of search configuration IDs to SearchConfigurationDetails
+     * @param judgmentList List of judgment IDs
+     * @param size Result size
+     * @param experimentVariants Variants of the experiment, see {@link #defineExperimentVariants}
+     * @param hasFailure Failure flag
+     * @param listener Listener to notify when processing is complete
+     */
+    public void processHybridOptimizerExperiment(
+        String experimentId,
+        String queryText,
+        Map<String, SearchConfigurationDetails> searchConfigurations,
+        List<String> judgmentList,
+        int size,
+        List<ExperimentVariant> experimentVariants,
+        AtomicBoolean hasFailure,
+        ActionListener<Map<String, Object>> listener
+    ) {
         log.info(
-            "Experiment {}: Created {} experiment variants, proceeding to judgment processing",
+            "Starting hybrid optimizer experiment {} with {} parameter combinations for query: {}",
             experimentId,
-            experimentVariants.size()
+            experimentVariants.size(),
+            queryText
         );
 
         // Process judgments asynchronously
@@ -142,18 +196,15 @@ public class HybridOptimizerExperimentProcessor {
     private CompletableFuture<Map<String, String>> processJudgmentsAsync(String queryText, List<String> judgmentList) {
         log.info("Processing {} judgments for query: {}", judgmentList.size(), queryText);
 
-        List<CompletableFuture<SearchResponse>> judgmentFutures = judgmentList.stream().map(judgmentId -> {
-            CompletableFuture<SearchResponse> future = new CompletableFuture<>();
-            judgmentDao.getJudgment(judgmentId, ActionListener.wrap(future::complete, future::completeExceptionally));
-            return future;
-        }).toList();
+        List<CompletableFuture<Map<String, String>>> judgmentFutures = judgmentList.stream()
+            .map(judgmentId -> judgmentProgressTracker.loadQueryRatings(judgmentId, queryText))
+            .toList();
 
         return CompletableFuture.allOf(judgmentFutures.toArray(new CompletableFuture[0])).thenApply(v -> {
             Map<String, String> docIdToScores = new HashMap<>();
-            for (CompletableFuture<SearchResponse> future : judgmentFutures) {
+            for (CompletableFuture<Map<String, String>> future : judgmentFutures) {
                 try {
-                    SearchResponse response = future.join();
-                    extractJudgmentScores(queryText, response, docIdToScores);
+                    docIdToScores.putAll(future.join());
                 } catch (Exception e) {
                     log.error("Failed to process judgment response: {}", e.getMessage());
                 }
@@ -169,32 +220,6 @@ public class HybridOptimizerExperimentProcessor {
         });
     }
 
-    /**
-     * Extract judgment scores from SearchResponse
-     */
-    private void extractJudgmentScores(String queryText, SearchResponse response, Map<String, String> docIdToScores) {
-        if (response.getHits().getTotalHits().value() == 0) {
-            log.warn("No judgment found in response");
-            return;
-        }
-
-        Map<String, Object> sourceAsMap = response.getHits().getHits()[0].getSourceAsMap();
-        List<Map<String, Object>> judgmentRatings = (List<Map<String, Object>>) sourceAsMap.getOrDefault(
-            "judgmentRatings",
-            Collections.emptyList()
-        );
-
-        for (Map<String, Object> rating : judgmentRatings) {
-            if (queryText.equals(rating.get("query"))) {
-                List<Map<String, String>> docScoreRatings = (List<Map<String, String>>) rating.get("ratings");
-                if (docScoreRatings != null) {
-                    docScoreRatings.forEach(docScoreRating -> docIdToScores.put(docScoreRating.get("docId"), docScoreRating.get("rating")));
-                }
-                break;
-            }
-        }
-    }
-
     /**
      * Process search configurations using optimized task manager
      */
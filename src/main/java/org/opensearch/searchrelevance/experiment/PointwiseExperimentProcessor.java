@@ -8,7 +8,6 @@
 package org.opensearch.searchrelevance.experiment;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -23,13 +22,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
-import org.opensearch.action.search.SearchResponse;
 import org.opensearch.common.cache.Cache;
 import org.opensearch.common.cache.CacheBuilder;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
-import org.opensearch.searchrelevance.dao.JudgmentDao;
 import org.opensearch.searchrelevance.executors.ExperimentTaskManager;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
 import org.opensearch.searchrelevance.model.AsyncStatus;
 import org.opensearch.searchrelevance.model.ExperimentType;
 import org.opensearch.searchrelevance.model.ExperimentVariant;
@@ -44,8 +42,8 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class PointwiseExperimentProcessor {
 
-    private final JudgmentDao judgmentDao;
     private final ExperimentTaskManager taskManager;
+    private final JudgmentProgressTracker judgmentProgressTracker;
 
     // Use OpenSearch's built-in cache implementation with bounded size
     private final Cache<String, Map<String, String>> judgmentCache;
@@ -54,9 +52,9 @@ public class PointwiseExperimentProcessor {
     private static final long CACHE_SIZE = 100_000;
     private static final TimeValue CACHE_EXPIRE_TIME = TimeValue.timeValueHours(1);
 
-    public PointwiseExperimentProcessor(JudgmentDao judgmentDao, ExperimentTaskManager taskManager) {
-        this.judgmentDao = judgmentDao;
+    public PointwiseExperimentProcessor(ExperimentTaskManager taskManager, JudgmentProgressTracker judgmentProgressTracker) {
         this.taskManager = taskManager;
+        this.judgmentProgressTracker = judgmentProgressTracker;
 
         // Initialize cache with size limit and TTL
         this.judgmentCache = CacheBuilder.<String, Map<String, String>>builder()
@@ -119,19 +117,16 @@ public class PointwiseExperimentProcessor {
         int failureThreshold = Math.min(5, judgmentList.size());
 
         // Load judgments in parallel
-        List<CompletableFuture<SearchResponse>> judgmentFutures = judgmentList.stream().map(judgmentId -> {
-            CompletableFuture<SearchResponse> future = new CompletableFuture<>();
-            judgmentDao.getJudgment(judgmentId, ActionListener.wrap(future::complete, future::completeExceptionally));
-            return future;
-        }).toList();
+        List<CompletableFuture<Map<String, String>>> judgmentFutures = judgmentList.stream()
+            .map(judgmentId -> judgmentProgressTracker.loadQueryRatings(judgmentId, queryText))
+            .toList();
 
         return CompletableFuture.allOf(judgmentFutures.toArray(new CompletableFuture[0])).thenApply(v -> {
             Map<String, String> docIdToScores = new HashMap<>();
 
-            for (CompletableFuture<SearchResponse> future : judgmentFutures) {
+            for (CompletableFuture<Map<String, String>> future : judgmentFutures) {
                 try {
-                    SearchResponse response = future.join();
-                    extractJudgmentScores(queryText, response, docIdToScores);
+                    docIdToScores.putAll(future.join());
                 } catch (Exception e) {
                     log.error("Failed to process judgment response: {}", e.getMessage());
                     if (failureCount.incrementAndGet() >= failureThreshold) {
@@ -153,31 +148,6 @@ public class PointwiseExperimentProcessor {
         });
     }
 
-    /**
-     * Extract judgment scores from SearchResponse
-     */
-    private void extractJudgmentScores(String queryText, SearchResponse response, Map<String, String> docIdToScores) {
-        if (Objects.isNull(response.getHits()) || response.getHits().getTotalHits().value() == 0) {
-            return;
-        }
-
-        Map<String, Object> sourceAsMap = response.getHits().getHits()[0].getSourceAsMap();
-        List<Map<String, Object>> judgmentRatings = (List<Map<String, Object>>) sourceAsMap.getOrDefault(
-            "judgmentRatings",
-            Collections.emptyList()
-        );
-
-        for (Map<String, Object> rating : judgmentRatings) {
-            if (queryText.equals(rating.get("query"))) {
-                List<Map<String, String>> docScoreRatings = (List<Map<String, String>>) rating.get("ratings");
-                if (Objects.nonNull(docScoreRatings)) {
-                    docScoreRatings.forEach(docScoreRating -> docIdToScores.put(docScoreRating.get("docId"), docScoreRating.get("rating")));
-                }
-                break;
-            }
-        }
-    }
-
     /**
      * Process experiment with loaded judgments
      */
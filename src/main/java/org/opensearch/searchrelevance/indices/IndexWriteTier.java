@@ -0,0 +1,27 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.indices;
+
+/**
+ * Durability tier of the writes to a search relevance index, the refresh policy and index settings of each tier are
+ * chosen by dynamic settings.
+ */
+public enum IndexWriteTier {
+    /**
+     * User facing CRUD of query sets, configurations, judgments and experiments, visible to the next search
+     */
+    INTERACTIVE,
+    /**
+     * High volume writes of experiments, made visible by the periodic refresh of the index
+     */
+    BULK,
+    /**
+     * Bulk writes that can be recomputed, the translog of the index may be synced asynchronously
+     */
+    CACHE
+}
@@ -0,0 +1,212 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.indices;
+
+import static org.opensearch.searchrelevance.executors.SearchRelevanceExecutor.SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.LocalNodeClusterManagerListener;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.searchrelevance.dao.ExperimentDao;
+import org.opensearch.searchrelevance.model.JudgmentQueryRatings;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettings;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Removes documents whose parent no longer exists: the results and variants of deleted experiments and the ratings of
+ * deleted judgments, e.g. because the cascade delete of their parent failed, was cancelled or raced with a running
+ * experiment. The sweeper runs periodically on the cluster manager node. A run pages through the distinct parent ids of
+ * each child index with a composite aggregation, looks the parents up with a multi-get and deletes the children of the
+ * missing ones with a throttled delete by query, one page and one index after the other, so the sweep stays within the
+ * cleanup requests per second. Child indices are skipped while they or their parent index do not exist, the sweep never
+ * creates indices.
+ */
+public class OrphanSweeper implements LocalNodeClusterManagerListener {
+    private static final Logger LOGGER = LogManager.getLogger(OrphanSweeper.class);
+    private static final String PARENTS_AGG = "parents";
+    private static final String PARENT_ID = "parent_id";
+    private static final int PARENTS_PAGE_SIZE = 500;
+
+    /**
+     * Index of documents that belong to a parent document, and the field of the parent id
+     */
+    record ChildIndex(SearchRelevanceIndices index, String parentIdField, SearchRelevanceIndices parentIndex) {
+    }
+
+    static final List<ChildIndex> CHILD_INDICES = childIndices();
+
+    private final ThreadPool threadPool;
+    private final SearchRelevanceIndicesManager searchRelevanceIndicesManager;
+    private final SearchRelevanceSettingsAccessor settingsAccessor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Scheduler.Cancellable scheduledSweep;
+
+    public OrphanSweeper(
+        ClusterService clusterService,
+        ThreadPool threadPool,
+        SearchRelevanceIndicesManager searchRelevanceIndicesManager,
+        SearchRelevanceSettingsAccessor settingsAccessor
+    ) {
+        this.threadPool = threadPool;
+        this.searchRelevanceIndicesManager = searchRelevanceIndicesManager;
+        this.settingsAccessor = settingsAccessor;
+        clusterService.addLocalNodeClusterManagerListener(this);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL, this::onIntervalChanged);
+    }
+
+    private static List<ChildIndex> childIndices() {
+        List<ChildIndex> childIndices = new ArrayList<>();
+        for (SearchRelevanceIndices index : ExperimentDao.EXPERIMENT_CHILD_INDICES) {
+            childIndices.add(new ChildIndex(index, ExperimentDao.EXPERIMENT_ID, SearchRelevanceIndices.EXPERIMENT));
+        }
+        childIndices.add(
+            new ChildIndex(SearchRelevanceIndices.JUDGMENT_RATING, JudgmentQueryRatings.JUDGMENT_ID, SearchRelevanceIndices.JUDGMENT)
+        );
+        return List.copyOf(childIndices);
+    }
+
+    @Override
+    public void onClusterManager() {
+        schedule(settingsAccessor.getOrphanSweeperInterval());
+    }
+
+    @Override
+    public void offClusterManager() {
+        cancel();
+    }
+
+    private synchronized void onIntervalChanged(TimeValue interval) {
+        if (scheduledSweep != null) {
+            schedule(interval);
+        }
+    }
+
+    private synchronized void schedule(TimeValue interval) {
+        cancel();
+        LOGGER.debug("Scheduling orphan sweep every {}", interval);
+        scheduledSweep = threadPool.scheduleWithFixedDelay(this::runScheduledSweep, interval, SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME);
+    }
+
+    private synchronized void cancel() {
+        if (scheduledSweep != null) {
+            scheduledSweep.cancel();
+            scheduledSweep = null;
+        }
+    }
+
+    private void runScheduledSweep() {
+        if (!settingsAccessor.isOrphanSweeperEnabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.debug("Previous orphan sweep is still running, skipping this run");
+            return;
+        }
+        sweep(
+            ActionListener.runAfter(
+                ActionListener.wrap(
+                    deleted -> LOGGER.info("Orphan sweep deleted {} documents", deleted),
+                    e -> LOGGER.warn("Failed to sweep orphaned documents, the next run retries", e)
+                ),
+                () -> running.set(false)
+            )
+        );
+    }
+
+    /**
+     * Deletes the documents of all child indices whose parent no longer exists.
+     * @param listener - receives the number of deleted documents
+     */
+    public void sweep(ActionListener<Long> listener) {
+        sweepIndices(0, 0L, listener);
+    }
+
+    private void sweepIndices(int from, long deleted, ActionListener<Long> listener) {
+        if (from >= CHILD_INDICES.size()) {
+            listener.onResponse(deleted);
+            return;
+        }
+        ChildIndex child = CHILD_INDICES.get(from);
+        if (!searchRelevanceIndicesManager.indexExists(child.index()) || !searchRelevanceIndicesManager.indexExists(child.parentIndex())) {
+            LOGGER.debug("Skipping orphan sweep of [{}], the index or its parent index does not exist", child.index().getIndexName());
+            sweepIndices(from + 1, deleted, listener);
+            return;
+        }
+        sweepPages(
+            child,
+            null,
+            0L,
+            ActionListener.wrap(indexDeleted -> sweepIndices(from + 1, deleted + indexDeleted, listener), listener::onFailure)
+        );
+    }
+
+    private void sweepPages(ChildIndex child, Map<String, Object> afterKey, long deleted, ActionListener<Long> listener) {
+        CompositeAggregationBuilder parents = AggregationBuilders.composite(
+            PARENTS_AGG,
+            List.<CompositeValuesSourceBuilder<?>>of(new TermsValuesSourceBuilder(PARENT_ID).field(child.parentIdField()))
+        ).size(PARENTS_PAGE_SIZE);
+        if (afterKey != null) {
+            parents.aggregateAfter(afterKey);
+        }
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().size(0).aggregation(parents);
+        searchRelevanceIndicesManager.listDocsBySearchRequest(sourceBuilder, child.index(), ActionListener.wrap(response -> {
+            CompositeAggregation parentIds = response.getAggregations() == null ? null : response.getAggregations().get(PARENTS_AGG);
+            if (parentIds == null || parentIds.getBuckets().isEmpty()) {
+                listener.onResponse(deleted);
+                return;
+            }
+            List<String> pageParentIds = parentIds.getBuckets().stream().map(bucket -> (String) bucket.getKey().get(PARENT_ID)).toList();
+            Map<String, Object> nextAfterKey = parentIds.afterKey();
+            deleteOrphans(
+                child,
+                pageParentIds,
+                ActionListener.wrap(pageDeleted -> sweepPages(child, nextAfterKey, deleted + pageDeleted, listener), listener::onFailure)
+            );
+        }, listener::onFailure));
+    }
+
+    private void deleteOrphans(ChildIndex child, List<String> parentIds, ActionListener<Long> listener) {
+        searchRelevanceIndicesManager.getDocsByDocIds(parentIds, child.parentIndex(), ActionListener.wrap(response -> {
+            Set<String> missingParentIds = new HashSet<>(parentIds);
+            for (SearchHit hit : response.getHits().getHits()) {
+                missingParentIds.remove(hit.getId());
+            }
+            if (missingParentIds.isEmpty()) {
+                listener.onResponse(0L);
+                return;
+            }
+            LOGGER.debug("Deleting documents of {} missing parents from [{}]", missingParentIds.size(), child.index().getIndexName());
+            searchRelevanceIndicesManager.deleteDocsByQueryThrottled(
+                QueryBuilders.termsQuery(child.parentIdField(), missingParentIds),
+                child.index(),
+                listener
+            );
+        }, listener::onFailure));
+    }
+}
@@ -7,20 +7,30 @@
  */
 package org.opensearch.searchrelevance.indices;
 
+import static org.opensearch.searchrelevance.common.PluginConstants.CLICK_STATISTICS_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.CLICK_STATISTICS_INDEX_MAPPING;
+import static org.opensearch.searchrelevance.common.PluginConstants.EVALUATION_RESULT_BLOCK_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.EVALUATION_RESULT_BLOCK_INDEX_MAPPING;
 import static org.opensearch.searchrelevance.common.PluginConstants.EVALUATION_RESULT_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.EVALUATION_RESULT_INDEX_MAPPING;
 import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_INDEX_MAPPING;
+import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_RESULT_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_RESULT_INDEX_MAPPING;
 import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_VARIANT_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_VARIANT_INDEX_MAPPING;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_CACHE_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_CACHE_INDEX_MAPPING;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_INDEX_MAPPING;
+import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_RATING_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_RATING_INDEX_MAPPING;
 import static org.opensearch.searchrelevance.common.PluginConstants.QUERY_SET_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.QUERY_SET_INDEX_MAPPING;
 import static org.opensearch.searchrelevance.common.PluginConstants.SEARCH_CONFIGURATION_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.SEARCH_CONFIGURATION_INDEX_MAPPING;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_ROLLUP_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_ROLLUP_INDEX_MAPPING;
 import static org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager.getIndexMappings;
 
 import java.io.IOException;
@@ -36,46 +46,73 @@ public enum SearchRelevanceIndices {
     /**
      * Query Set Index
      */
-    QUERY_SET(QUERY_SET_INDEX, QUERY_SET_INDEX_MAPPING, false),
+    QUERY_SET(QUERY_SET_INDEX, QUERY_SET_INDEX_MAPPING, false, IndexWriteTier.INTERACTIVE),
 
     /**
      * Experiment Index
      */
-    EXPERIMENT(EXPERIMENT_INDEX, EXPERIMENT_INDEX_MAPPING, true),
+    EXPERIMENT(EXPERIMENT_INDEX, EXPERIMENT_INDEX_MAPPING, true, IndexWriteTier.INTERACTIVE),
+
+    /**
+     * Experiment Result Index, results of an experiment with one document per query
+     */
+    EXPERIMENT_RESULT(EXPERIMENT_RESULT_INDEX, EXPERIMENT_RESULT_INDEX_MAPPING, false, IndexWriteTier.BULK),
 
     /**
      * Search Configuration Index
      */
-    SEARCH_CONFIGURATION(SEARCH_CONFIGURATION_INDEX, SEARCH_CONFIGURATION_INDEX_MAPPING, false),
+    SEARCH_CONFIGURATION(SEARCH_CONFIGURATION_INDEX, SEARCH_CONFIGURATION_INDEX_MAPPING, false, IndexWriteTier.INTERACTIVE),
 
     /**
      * Judgment Index
      */
-    JUDGMENT(JUDGMENT_INDEX, JUDGMENT_INDEX_MAPPING, false),
+    JUDGMENT(JUDGMENT_INDEX, JUDGMENT_INDEX_MAPPING, false, IndexWriteTier.INTERACTIVE),
+
+    /**
+     * Judgment Rating Index, ratings of a judgment with one document per query
+     */
+    JUDGMENT_RATING(JUDGMENT_RATING_INDEX, JUDGMENT_RATING_INDEX_MAPPING, false, IndexWriteTier.INTERACTIVE),
 
     /**
      * Evaluation Result Index
      */
-    EVALUATION_RESULT(EVALUATION_RESULT_INDEX, EVALUATION_RESULT_INDEX_MAPPING, false),
+    EVALUATION_RESULT(EVALUATION_RESULT_INDEX, EVALUATION_RESULT_INDEX_MAPPING, false, IndexWriteTier.BULK),
+
+    /**
+     * Evaluation Result Block Index, evaluation results of an experiment and search configuration packed into blocks
+     */
+    EVALUATION_RESULT_BLOCK(EVALUATION_RESULT_BLOCK_INDEX, EVALUATION_RESULT_BLOCK_INDEX_MAPPING, false, IndexWriteTier.BULK),
 
     /**
      * Judgment Cache Index
      */
-    JUDGMENT_CACHE(JUDGMENT_CACHE_INDEX, JUDGMENT_CACHE_INDEX_MAPPING, false),
+    JUDGMENT_CACHE(JUDGMENT_CACHE_INDEX, JUDGMENT_CACHE_INDEX_MAPPING, false, IndexWriteTier.CACHE),
 
     /**
      * Experiment Variant Index
      */
-    EXPERIMENT_VARIANT(EXPERIMENT_VARIANT_INDEX, EXPERIMENT_VARIANT_INDEX_MAPPING, false);
+    EXPERIMENT_VARIANT(EXPERIMENT_VARIANT_INDEX, EXPERIMENT_VARIANT_INDEX_MAPPING, false, IndexWriteTier.BULK),
+
+    /**
+     * Click Statistics Index
+     */
+    CLICK_STATISTICS(CLICK_STATISTICS_INDEX, CLICK_STATISTICS_INDEX_MAPPING, false, IndexWriteTier.INTERACTIVE),
+
+    /**
+     * UBI Rollup Index
+     */
+    UBI_ROLLUP(UBI_ROLLUP_INDEX, UBI_ROLLUP_INDEX_MAPPING, false, IndexWriteTier.INTERACTIVE);
 
     private final String indexName;
     private final String mapping;
     private final boolean isProtected;
+    private final IndexWriteTier writeTier;
 
-    SearchRelevanceIndices(String indexName, String mappingPath, boolean isProtected) {
+    SearchRelevanceIndices(String indexName, String mappingPath, boolean isProtected, IndexWriteTier writeTier) {
         this.indexName = Objects.requireNonNull(indexName, "Index name cannot be null.");
         this.mapping = loadMapping(mappingPath);
         this.isProtected = isProtected;
+        this.writeTier = writeTier;
     }
 
     private String loadMapping(String mappingPath) {
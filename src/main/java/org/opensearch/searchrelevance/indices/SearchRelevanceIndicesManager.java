@@ -10,31 +10,69 @@ package org.opensearch.searchrelevance.indices;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.ResourceAlreadyExistsException;
 import org.opensearch.ResourceNotFoundException;
 import org.opensearch.action.DocWriteRequest.OpType;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexRequestBuilder;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.action.support.WriteRequest;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.io.Streams;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ListenableFuture;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.IndexNotFoundException;
-import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.reindex.BulkByScrollResponse;
+import org.opensearch.index.reindex.DeleteByQueryAction;
+import org.opensearch.index.reindex.DeleteByQueryRequest;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.internal.InternalSearchResponse;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
 import org.opensearch.searchrelevance.shared.StashedThreadContext;
 import org.opensearch.transport.client.Client;
 
@@ -47,14 +85,45 @@ import reactor.util.annotation.NonNull;
  * Manager for common search relevance system indices actions.
  */
 @Log4j2
-public class SearchRelevanceIndicesManager {
+public class SearchRelevanceIndicesManager implements ClusterStateListener {
 
     private final ClusterService clusterService;
     private final Client client;
+    private final SearchRelevanceSettingsAccessor settingsAccessor;
+    /**
+     * Plugin indices known to exist, kept up to date from cluster state changes so that reads and writes do not look
+     * up the cluster state metadata on every operation
+     */
+    private final Set<SearchRelevanceIndices> existingIndices = ConcurrentHashMap.newKeySet();
+    /**
+     * In flight index creations, concurrent callers wait for the same creation instead of sending their own request
+     */
+    private final Map<SearchRelevanceIndices, ListenableFuture<Void>> pendingCreations = new ConcurrentHashMap<>();
 
-    public SearchRelevanceIndicesManager(@NonNull ClusterService clusterService, @NonNull Client client) {
+    public SearchRelevanceIndicesManager(
+        @NonNull ClusterService clusterService,
+        @NonNull Client client,
+        @NonNull SearchRelevanceSettingsAccessor settingsAccessor
+    ) {
         this.clusterService = clusterService;
         this.client = client;
+        this.settingsAccessor = settingsAccessor;
+        settingsAccessor.addIndexSettingsListener(this::updateIndexSettings);
+    }
+
+    @Override
+    public void clusterChanged(final ClusterChangedEvent event) {
+        if (!event.metadataChanged()) {
+            return;
+        }
+        Metadata metadata = event.state().metadata();
+        for (SearchRelevanceIndices index : SearchRelevanceIndices.values()) {
+            if (metadata.hasIndex(index.getIndexName())) {
+                existingIndices.add(index);
+            } else {
+                existingIndices.remove(index);
+            }
+        }
     }
 
     /**
@@ -63,90 +132,191 @@ public class SearchRelevanceIndicesManager {
      * @param stepListener - step lister
      */
     public void createIndexIfAbsent(final SearchRelevanceIndices index, final StepListener<Void> stepListener) {
-        String indexName = index.getIndexName();
-        String mapping = index.getMapping();
-
-        if (clusterService.state().metadata().hasIndex(indexName)) {
-            log.debug("Index [{}] already exists, skipping creation", indexName);
+        if (indexExists(index)) {
+            log.debug("Index [{}] already exists, skipping creation", index.getIndexName());
             stepListener.onResponse(null);
             return;
         }
 
-        final CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName).mapping(mapping);
+        ListenableFuture<Void> creation = new ListenableFuture<>();
+        ListenableFuture<Void> pendingCreation = pendingCreations.putIfAbsent(index, creation);
+        if (pendingCreation != null) {
+            pendingCreation.addListener(stepListener, OpenSearchExecutors.newDirectExecutorService());
+            return;
+        }
+        creation.addListener(stepListener, OpenSearchExecutors.newDirectExecutorService());
+        createIndex(index, creation);
+    }
+
+    private void createIndex(final SearchRelevanceIndices index, final ListenableFuture<Void> creation) {
+        String indexName = index.getIndexName();
+        final CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName).mapping(index.getMapping())
+            .settings(indexSettings(index));
         StashedThreadContext.run(client, () -> client.admin().indices().create(createIndexRequest, new ActionListener<>() {
             @Override
             public void onResponse(final CreateIndexResponse createIndexResponse) {
                 log.info("Successfully created index [{}]", indexName);
-                stepListener.onResponse(null);
+                existingIndices.add(index);
+                complete();
             }
 
             @Override
             public void onFailure(final Exception e) {
                 if (e instanceof ResourceAlreadyExistsException) {
                     log.debug("index[{}] already exist", indexName);
-                    stepListener.onResponse(null);
-                    return;
+                    existingIndices.add(index);
+                } else {
+                    log.warn("Failed to create index [{}] - continuing without cache optimization", indexName);
                 }
-                log.warn("Failed to create index [{}] - continuing without cache optimization", indexName);
-                stepListener.onResponse(null);
+                complete();
+            }
+
+            private void complete() {
+                pendingCreations.remove(index, creation);
+                creation.onResponse(null);
             }
         }));
     }
 
     /**
-     * Create a search relevance index if not exists, using synchronize calls
+     * @return index settings of the write tier of an index, the interactive tier keeps the defaults
+     */
+    Settings indexSettings(final SearchRelevanceIndices index) {
+        Settings.Builder settings = Settings.builder();
+        if (index.getWriteTier() != IndexWriteTier.INTERACTIVE) {
+            settings.put(IndexSettings.INDEX_REFRESH_INTERVAL_SETTING.getKey(), settingsAccessor.getBulkRefreshInterval());
+        }
+        if (index.getWriteTier() == IndexWriteTier.CACHE) {
+            settings.put(
+                IndexSettings.INDEX_TRANSLOG_DURABILITY_SETTING.getKey(),
+                settingsAccessor.getCacheTranslogDurability().name().toLowerCase(Locale.ROOT)
+            );
+        }
+        return settings.build();
+    }
+
+    /**
+     * Applies changed tier settings to the existing bulk and cache indices
+     */
+    private void updateIndexSettings() {
+        for (SearchRelevanceIndices index : existingIndices) {
+            if (index.getWriteTier() == IndexWriteTier.INTERACTIVE) {
+                continue;
+            }
+            UpdateSettingsRequest updateSettingsRequest = new UpdateSettingsRequest(index.getIndexName()).settings(indexSettings(index));
+            StashedThreadContext.run(
+                client,
+                () -> client.admin()
+                    .indices()
+                    .updateSettings(
+                        updateSettingsRequest,
+                        ActionListener.wrap(
+                            response -> log.info("Updated settings of index [{}]", index.getIndexName()),
+                            e -> log.warn("Failed to update settings of index [{}]", index.getIndexName(), e)
+                        )
+                    )
+            );
+        }
+    }
+
+    /**
+     * @return refresh policy of writes to an index, chosen by the write tier of the index
+     */
+    private WriteRequest.RefreshPolicy refreshPolicy(final SearchRelevanceIndices index) {
+        return settingsAccessor.getRefreshPolicy(index.getWriteTier());
+    }
+
+    /**
+     * Refresh indices so that writes of the bulk tier are visible to searches, missing indices are skipped
+     * @param indices - system indices
+     * @param listener - action lister for async action
+     */
+    public void refreshIndices(final List<SearchRelevanceIndices> indices, final ActionListener<Void> listener) {
+        String[] indexNames = indices.stream().map(SearchRelevanceIndices::getIndexName).toArray(String[]::new);
+        RefreshRequest refreshRequest = new RefreshRequest(indexNames).indicesOptions(IndicesOptions.lenientExpandOpen());
+        StashedThreadContext.run(
+            client,
+            () -> client.admin()
+                .indices()
+                .refresh(
+                    refreshRequest,
+                    ActionListener.wrap(
+                        response -> listener.onResponse(null),
+                        e -> listener.onFailure(
+                            new SearchRelevanceException("Failed to refresh indices", e, RestStatus.INTERNAL_SERVER_ERROR)
+                        )
+                    )
+                )
+        );
+    }
+
+    /**
+     * Checks the indices known to exist, and the cluster state only until the index has been seen once
+     */
+    boolean indexExists(final SearchRelevanceIndices index) {
+        if (existingIndices.contains(index)) {
+            return true;
+        }
+        if (clusterService.state().metadata().hasIndex(index.getIndexName())) {
+            existingIndices.add(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Create a search relevance index if not exists without waiting for the creation
      * @param index
      */
     private void createIndexIfAbsentSync(final SearchRelevanceIndices index) {
-        String indexName = index.getIndexName();
-        String mapping = index.getMapping();
-
-        if (clusterService.state().metadata().hasIndex(indexName)) {
-            log.debug("Index [{}] already exists, skipping creation", indexName);
+        if (existingIndices.contains(index)) {
             return;
         }
-        final CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName).mapping(mapping);
-        StashedThreadContext.run(client, () -> client.admin().indices().create(createIndexRequest));
+        createIndexIfAbsent(index, new StepListener<>());
     }
 
+    /**
+     * Get a doc by doc id with a blocking real-time get
+     * @param docId - document id need to be executed
+     * @param index - system index
+     * @return search response with a single hit, or without hits if the doc does not exist
+     */
     public SearchResponse getDocByDocIdSync(final String docId, final SearchRelevanceIndices index) {
-        SearchRequest searchRequest = new SearchRequest(index.getIndexName());
-        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(QueryBuilders.termQuery("_id", docId)).size(1);
-        searchRequest.source(sourceBuilder);
-
-        return client.search(searchRequest).actionGet();
+        try {
+            GetResponse getResponse = client.get(new GetRequest(index.getIndexName(), docId)).actionGet();
+            return toSearchResponse(getResponse.isExists() ? List.of(getResponse) : List.of());
+        } catch (IndexNotFoundException e) {
+            return toSearchResponse(List.of());
+        }
     }
 
     /**
-     * Put a doc to the system index
-     * @param docId - document id need to be executed
-     * @param xContentBuilder - content need to be executed
+     * Get docs by doc ids with a blocking multi-get
+     * @param docIds - document ids need to be executed
      * @param index - system index
-     * @param listener - action lister for async action
+     * @return search response with a hit per existing doc, in the order of the doc ids
      */
-    public void putDoc(
-        final String docId,
-        final XContentBuilder xContentBuilder,
-        final SearchRelevanceIndices index,
-        final ActionListener<?> listener
-    ) {
-        putDocWithRefreshPolicy(docId, xContentBuilder, index, WriteRequest.RefreshPolicy.IMMEDIATE, listener);
+    public SearchResponse getDocsByDocIdsSync(final Collection<String> docIds, final SearchRelevanceIndices index) {
+        if (docIds.isEmpty()) {
+            return toSearchResponse(List.of());
+        }
+        return toSearchResponse(client.multiGet(buildMultiGetRequest(docIds, index)).actionGet());
     }
 
     /**
-     * Put a doc to the system index with efficient refresh policy (recommended for experiments)
+     * Put a doc to the system index with the refresh policy of the write tier of the index
      * @param docId - document id need to be executed
      * @param xContentBuilder - content need to be executed
      * @param index - system index
      * @param listener - action lister for async action
      */
-    public void putDocEfficient(
+    public void putDoc(
         final String docId,
         final XContentBuilder xContentBuilder,
         final SearchRelevanceIndices index,
         final ActionListener<?> listener
     ) {
-        putDocWithRefreshPolicy(docId, xContentBuilder, index, WriteRequest.RefreshPolicy.WAIT_UNTIL, listener);
+        putDocWithRefreshPolicy(docId, xContentBuilder, index, refreshPolicy(index), listener);
     }
 
     /**
@@ -187,7 +357,7 @@ public class SearchRelevanceIndicesManager {
     }
 
     /**
-     * Update a doc to the system index
+     * Update a doc to the system index with the refresh policy of the write tier of the index
      * @param docId - document id need to be executed
      * @param xContentBuilder - content need to be executed
      * @param index - system index
@@ -199,23 +369,7 @@ public class SearchRelevanceIndicesManager {
         final SearchRelevanceIndices index,
         final ActionListener listener
     ) {
-        updateDocWithRefreshPolicy(docId, xContentBuilder, index, WriteRequest.RefreshPolicy.IMMEDIATE, listener);
-    }
-
-    /**
-     * Update a doc to the system index with efficient refresh policy (recommended for experiments)
-     * @param docId - document id need to be executed
-     * @param xContentBuilder - content need to be executed
-     * @param index - system index
-     * @param listener - action lister for async action
-     */
-    public void updateDocEfficient(
-        final String docId,
-        final XContentBuilder xContentBuilder,
-        final SearchRelevanceIndices index,
-        final ActionListener listener
-    ) {
-        updateDocWithRefreshPolicy(docId, xContentBuilder, index, WriteRequest.RefreshPolicy.WAIT_UNTIL, listener);
+        updateDocWithRefreshPolicy(docId, xContentBuilder, index, refreshPolicy(index), listener);
     }
 
     /**
@@ -254,6 +408,166 @@ public class SearchRelevanceIndicesManager {
         executeAction(listener, searchOperationContext, action);
     }
 
+    /**
+     * Update a doc to the system index only if it is unchanged since it was read, the refresh policy follows the write tier of the index
+     * @param docId - document id need to be executed
+     * @param xContentBuilder - content need to be executed
+     * @param index - system index
+     * @param seqNo - sequence number of the doc when it was read, {@link SequenceNumbers#UNASSIGNED_SEQ_NO} to create it
+     * @param primaryTerm - primary term of the doc when it was read
+     * @param listener - action lister for async action, fails with {@link RestStatus#CONFLICT} if the doc was changed since
+     */
+    public void updateDocIfUnchanged(
+        final String docId,
+        final XContentBuilder xContentBuilder,
+        final SearchRelevanceIndices index,
+        final long seqNo,
+        final long primaryTerm,
+        final ActionListener<IndexResponse> listener
+    ) {
+        SearchOperationContext searchOperationContext = SearchOperationContext.builder()
+            .index(index)
+            .xContentBuilder(xContentBuilder)
+            .documentId(docId)
+            .build();
+        BiConsumer<SearchOperationContext, ActionListener<?>> action = (context, actionListener) -> StashedThreadContext.run(client, () -> {
+            try {
+                @SuppressWarnings("unchecked")
+                ActionListener<IndexResponse> typedListener = (ActionListener<IndexResponse>) actionListener;
+                IndexRequestBuilder indexRequestBuilder = client.prepareIndex(context.getIndex().getIndexName())
+                    .setId(context.getDocumentId())
+                    .setRefreshPolicy(refreshPolicy(context.getIndex()))
+                    .setSource(context.getXContentBuilder());
+                if (seqNo == SequenceNumbers.UNASSIGNED_SEQ_NO) {
+                    indexRequestBuilder.setOpType(OpType.CREATE);
+                } else {
+                    indexRequestBuilder.setOpType(OpType.INDEX).setIfSeqNo(seqNo).setIfPrimaryTerm(primaryTerm);
+                }
+                indexRequestBuilder.execute(ActionListener.wrap(typedListener::onResponse, e -> {
+                    if (ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException) {
+                        typedListener.onFailure(
+                            new SearchRelevanceException(
+                                "Document " + context.getDocumentId() + " was changed concurrently",
+                                e,
+                                RestStatus.CONFLICT
+                            )
+                        );
+                    } else {
+                        typedListener.onFailure(e);
+                    }
+                }));
+            } catch (Exception e) {
+                throw new SearchRelevanceException("Failed to store doc", e, RestStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
+        executeAction(listener, searchOperationContext, action);
+    }
+
+    /**
+     * Put docs to the system index with a single bulk request, overwriting docs with the same id
+     * @param docs - content need to be executed by document id
+     * @param index - system index
+     * @param refreshPolicy - refresh policy to use
+     * @param listener - action lister for async action
+     */
+    public void bulkPutDocs(
+        final Map<String, XContentBuilder> docs,
+        final SearchRelevanceIndices index,
+        final WriteRequest.RefreshPolicy refreshPolicy,
+        final ActionListener<BulkResponse> listener
+    ) {
+        SearchOperationContext searchOperationContext = SearchOperationContext.builder().index(index).build();
+        BiConsumer<SearchOperationContext, ActionListener<?>> action = (context, actionListener) -> StashedThreadContext.run(client, () -> {
+            try {
+                @SuppressWarnings("unchecked")
+                ActionListener<BulkResponse> typedListener = (ActionListener<BulkResponse>) actionListener;
+                BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(refreshPolicy);
+                docs.forEach(
+                    (docId, xContentBuilder) -> bulkRequest.add(
+                        new IndexRequest(context.getIndex().getIndexName()).id(docId).opType(OpType.INDEX).source(xContentBuilder)
+                    )
+                );
+                client.bulk(bulkRequest, ActionListener.wrap(bulkResponse -> {
+                    if (bulkResponse.hasFailures()) {
+                        typedListener.onFailure(
+                            new SearchRelevanceException(
+                                "Failed to store docs: " + bulkResponse.buildFailureMessage(),
+                                RestStatus.INTERNAL_SERVER_ERROR
+                            )
+                        );
+                        return;
+                    }
+                    typedListener.onResponse(bulkResponse);
+                }, typedListener::onFailure));
+            } catch (Exception e) {
+                actionListener.onFailure(new SearchRelevanceException("Failed to store docs", e, RestStatus.INTERNAL_SERVER_ERROR));
+            }
+        });
+        executeAction(listener, searchOperationContext, action);
+    }
+
+    /**
+     * Delete all docs matching a query, a missing index has nothing to delete
+     * @param query - query of the docs to be deleted
+     * @param index - system index
+     * @param listener - action lister for async action, receives the number of deleted docs
+     */
+    public void deleteDocsByQuery(final QueryBuilder query, final SearchRelevanceIndices index, final ActionListener<Long> listener) {
+        DeleteByQueryRequest deleteByQueryRequest = new DeleteByQueryRequest(index.getIndexName()).setQuery(query).setRefresh(true);
+        executeDeleteByQuery(deleteByQueryRequest, query, index, listener);
+    }
+
+    /**
+     * Delete all docs matching a query in the background, throttled to the cleanup requests per second so that the delete
+     * does not compete with searches for IO. The delete by query runs as a task of its own, which can be listed and
+     * cancelled with the tasks API. Docs are not refreshed away, they disappear with the next refresh of the index.
+     * @param query - query of the docs to be deleted
+     * @param index - system index
+     * @param listener - action lister for async action, receives the number of deleted docs
+     */
+    public void deleteDocsByQueryThrottled(
+        final QueryBuilder query,
+        final SearchRelevanceIndices index,
+        final ActionListener<Long> listener
+    ) {
+        DeleteByQueryRequest deleteByQueryRequest = new DeleteByQueryRequest(index.getIndexName()).setQuery(query)
+            .setAbortOnVersionConflict(false)
+            .setRequestsPerSecond(settingsAccessor.getCleanupRequestsPerSecond());
+        executeDeleteByQuery(deleteByQueryRequest, query, index, listener);
+    }
+
+    private void executeDeleteByQuery(
+        final DeleteByQueryRequest deleteByQueryRequest,
+        final QueryBuilder query,
+        final SearchRelevanceIndices index,
+        final ActionListener<Long> listener
+    ) {
+        StashedThreadContext.run(client, () -> {
+            try {
+                client.execute(DeleteByQueryAction.INSTANCE, deleteByQueryRequest, new ActionListener<BulkByScrollResponse>() {
+                    @Override
+                    public void onResponse(BulkByScrollResponse response) {
+                        if (!response.getBulkFailures().isEmpty() || !response.getSearchFailures().isEmpty()) {
+                            log.warn("Failed to delete some documents of [{}] matching [{}]", index.getIndexName(), query);
+                        }
+                        listener.onResponse(response.getDeleted());
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        if (e instanceof IndexNotFoundException) {
+                            listener.onResponse(0L);
+                            return;
+                        }
+                        listener.onFailure(new SearchRelevanceException("Failed to delete docs", e, RestStatus.INTERNAL_SERVER_ERROR));
+                    }
+                });
+            } catch (Exception e) {
+                listener.onFailure(new SearchRelevanceException("Failed to delete docs", e, RestStatus.INTERNAL_SERVER_ERROR));
+            }
+        });
+    }
+
     /**
      * Delete a doc by doc id
      * @param docId - document id need to be executed
@@ -268,7 +582,7 @@ public class SearchRelevanceIndicesManager {
                     @SuppressWarnings("unchecked")
                     ActionListener<DeleteResponse> typedListener = (ActionListener<DeleteResponse>) actionListener;
                     client.prepareDelete(searchOperationContext.getIndex().getIndexName(), searchOperationContext.getDocumentId())
-                        .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE)
+                        .setRefreshPolicy(refreshPolicy(searchOperationContext.getIndex()))
                         .execute(new ActionListener<>() {  // Specify the generic type
                             @Override
                             public void onResponse(DeleteResponse deleteResponse) {  // Properly typed parameter
@@ -290,30 +604,26 @@ public class SearchRelevanceIndicesManager {
     }
 
     /**
-     * Get a doc by doc id
+     * Get a doc by doc id with a real-time get, so the doc is visible right after it is written
      * @param docId - document id need to be executed
      * @param index - system index
-     * @param listener - action lister for async action
+     * @param listener - action lister for async action, responded with a search response of a single hit
      */
     public SearchResponse getDocByDocId(final String docId, final SearchRelevanceIndices index, final ActionListener<?> listener) {
         SearchOperationContext searchOperationContext = SearchOperationContext.builder().index(index).documentId(docId).build();
         BiConsumer<SearchOperationContext, ActionListener<?>> action = (searchOperationContextArg, actionListener) -> {
-            SearchRequest searchRequest = new SearchRequest(searchOperationContextArg.getIndex().getIndexName());
-            SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(
-                QueryBuilders.termQuery("_id", searchOperationContextArg.getDocumentId())
-            ).size(1);
-
-            searchRequest.source(sourceBuilder);
-
+            GetRequest getRequest = new GetRequest(
+                searchOperationContextArg.getIndex().getIndexName(),
+                searchOperationContextArg.getDocumentId()
+            );
             StashedThreadContext.run(client, () -> {
                 try {
                     @SuppressWarnings("unchecked")
                     ActionListener<SearchResponse> typedListener = (ActionListener<SearchResponse>) actionListener;
-                    client.search(searchRequest, new ActionListener<>() {
+                    client.get(getRequest, new ActionListener<>() {
                         @Override
-                        public void onResponse(SearchResponse response) {
-                            log.info("Successfully get doc id [{}]", searchOperationContextArg.getDocumentId());
-                            if (response.getHits().getTotalHits().value() == 0) {
+                        public void onResponse(GetResponse response) {
+                            if (!response.isExists()) {
                                 typedListener.onFailure(
                                     new ResourceNotFoundException(
                                         "Document not found: " + searchOperationContextArg.getDocumentId(),
@@ -322,7 +632,8 @@ public class SearchRelevanceIndicesManager {
                                 );
                                 return;
                             }
-                            typedListener.onResponse(response);
+                            log.info("Successfully get doc id [{}]", searchOperationContextArg.getDocumentId());
+                            typedListener.onResponse(toSearchResponse(List.of(response)));
                         }
 
                         @Override
@@ -341,6 +652,125 @@ public class SearchRelevanceIndicesManager {
         return null;
     }
 
+    /**
+     * Get docs by doc ids with a single multi-get
+     * @param docIds - document ids need to be executed
+     * @param index - system index
+     * @param listener - action lister for async action, responded with a search response of a hit per existing doc
+     */
+    public void getDocsByDocIds(
+        final Collection<String> docIds,
+        final SearchRelevanceIndices index,
+        final ActionListener<SearchResponse> listener
+    ) {
+        if (docIds.isEmpty()) {
+            listener.onResponse(toSearchResponse(List.of()));
+            return;
+        }
+        SearchOperationContext searchOperationContext = SearchOperationContext.builder().index(index).build();
+        BiConsumer<SearchOperationContext, ActionListener<?>> action = (context, actionListener) -> {
+            MultiGetRequest multiGetRequest = buildMultiGetRequest(docIds, context.getIndex());
+            StashedThreadContext.run(client, () -> {
+                try {
+                    @SuppressWarnings("unchecked")
+                    ActionListener<SearchResponse> typedListener = (ActionListener<SearchResponse>) actionListener;
+                    client.multiGet(multiGetRequest, new ActionListener<>() {
+                        @Override
+                        public void onResponse(MultiGetResponse response) {
+                            SearchResponse searchResponse;
+                            try {
+                                searchResponse = toSearchResponse(response);
+                            } catch (Exception e) {
+                                onFailure(e);
+                                return;
+                            }
+                            log.info("Successfully get [{}] of [{}] doc ids", searchResponse.getHits().getHits().length, docIds.size());
+                            typedListener.onResponse(searchResponse);
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            actionListener.onFailure(
+                                new SearchRelevanceException("Failed to get documents", e, RestStatus.INTERNAL_SERVER_ERROR)
+                            );
+                        }
+                    });
+                } catch (Exception e) {
+                    actionListener.onFailure(new SearchRelevanceException("Failed to get docs", e, RestStatus.INTERNAL_SERVER_ERROR));
+                }
+            });
+        };
+        executeAction(listener, searchOperationContext, action);
+    }
+
+    private static MultiGetRequest buildMultiGetRequest(final Collection<String> docIds, final SearchRelevanceIndices index) {
+        MultiGetRequest multiGetRequest = new MultiGetRequest();
+        for (String docId : new LinkedHashSet<>(docIds)) {
+            multiGetRequest.add(index.getIndexName(), docId);
+        }
+        return multiGetRequest;
+    }
+
+    private static SearchResponse toSearchResponse(final MultiGetResponse multiGetResponse) {
+        List<GetResponse> getResponses = new ArrayList<>();
+        for (MultiGetItemResponse item : multiGetResponse.getResponses()) {
+            if (item.isFailed()) {
+                Exception failure = item.getFailure().getFailure();
+                if (failure instanceof IndexNotFoundException) {
+                    continue;
+                }
+                throw new SearchRelevanceException("Failed to get document: " + item.getId(), failure, RestStatus.INTERNAL_SERVER_ERROR);
+            }
+            if (item.getResponse().isExists()) {
+                getResponses.add(item.getResponse());
+            }
+        }
+        return toSearchResponse(getResponses);
+    }
+
+    private static SearchResponse toSearchResponse(final List<GetResponse> getResponses) {
+        SearchHit[] hits = new SearchHit[getResponses.size()];
+        for (int i = 0; i < hits.length; i++) {
+            GetResponse getResponse = getResponses.get(i);
+            hits[i] = new SearchHit(i, getResponse.getId(), Map.of(), Map.of()).sourceRef(getResponse.getSourceAsBytesRef());
+            // lets callers write the doc back with updateDocIfUnchanged
+            hits[i].setSeqNo(getResponse.getSeqNo());
+            hits[i].setPrimaryTerm(getResponse.getPrimaryTerm());
+        }
+        return toSearchResponse(hits);
+    }
+
+    /**
+     * Wraps docs into the search response the callers and the REST APIs have always consumed
+     * @param sources - source of each doc by doc id, in hit order
+     */
+    public static SearchResponse toSearchResponse(final Map<String, BytesReference> sources) {
+        SearchHit[] hits = new SearchHit[sources.size()];
+        int i = 0;
+        for (Map.Entry<String, BytesReference> source : sources.entrySet()) {
+            hits[i] = new SearchHit(i, source.getKey(), Map.of(), Map.of()).sourceRef(source.getValue());
+            i++;
+        }
+        return toSearchResponse(hits);
+    }
+
+    private static SearchResponse toSearchResponse(final SearchHit[] hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+        InternalSearchResponse internalSearchResponse = new InternalSearchResponse(searchHits, null, null, null, false, null, 1);
+        return new SearchResponse(
+            internalSearchResponse,
+            null,
+            1,
+            1,
+            0,
+            0,
+            null,
+            new ShardSearchFailure[] {},
+            SearchResponse.Clusters.EMPTY,
+            null
+        );
+    }
+
     /**
      * List docs by search request
      * @param searchSourceBuilder - search source builder to be executed
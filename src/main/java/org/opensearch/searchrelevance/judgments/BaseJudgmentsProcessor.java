@@ -9,8 +9,11 @@ package org.opensearch.searchrelevance.judgments;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.model.JudgmentType;
 
 /**
@@ -29,4 +32,36 @@ public interface BaseJudgmentsProcessor {
      * @param listener async action
      */
     public void generateJudgmentRating(Map<String, Object> metadata, ActionListener<List<Map<String, Object>>> listener);
+
+    /**
+     * Generate judgment rating based on metadata, publishing the ratings of each query as soon as they are available.
+     * Processors that produce the ratings of all queries at once only report them through the listener.
+     * @param metadata used to generate judgment ratings for various judgment type
+     * @param queryRatingsConsumer receives the ratings of a single query, {"query": queryText, "ratings": [...]}
+     * @param listener async action
+     */
+    public default void generateJudgmentRating(
+        Map<String, Object> metadata,
+        Consumer<Map<String, Object>> queryRatingsConsumer,
+        ActionListener<List<Map<String, Object>>> listener
+    ) {
+        generateJudgmentRating(metadata, listener);
+    }
+
+    /**
+     * Update the judgment ratings of a judgment with the data that arrived since its ratings were generated.
+     * Processors without state to update incrementally do not support updates.
+     * @param judgmentId id of the judgment to update
+     * @param metadata used to generate the judgment ratings of the judgment
+     * @param listener async action, receives the updated ratings of all queries
+     */
+    public default void updateJudgmentRating(
+        String judgmentId,
+        Map<String, Object> metadata,
+        ActionListener<List<Map<String, Object>>> listener
+    ) {
+        listener.onFailure(
+            new SearchRelevanceException("Judgment type " + getJudgmentType() + " does not support updates", RestStatus.BAD_REQUEST)
+        );
+    }
 }
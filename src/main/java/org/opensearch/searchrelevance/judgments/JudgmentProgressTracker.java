@@ -0,0 +1,261 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.dao.JudgmentDao;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.model.AsyncStatus;
+import org.opensearch.searchrelevance.model.Judgment;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Tracks the progress of judgment jobs. Judgment processors publish the ratings of each query as soon as the query
+ * completes, so experiments created while a judgment is still running can evaluate the ratings of their queries without
+ * waiting for the whole judgment to complete. Published ratings are handed to subscribers on the node running the
+ * judgment and stored as the ratings document of the query, experiments on other nodes read that document and wait
+ * for it while the judgment document is still PROCESSING.
+ */
+@Log4j2
+public class JudgmentProgressTracker {
+    // how long an experiment waits for the ratings of a query of a judgment that is still running
+    static final TimeValue PROGRESS_TIMEOUT = TimeValue.timeValueHours(1);
+    static final TimeValue POLL_INTERVAL = TimeValue.timeValueSeconds(5);
+
+    private final JudgmentDao judgmentDao;
+    private final ThreadPool threadPool;
+    private final ConcurrentMap<String, RunningJudgment> runningJudgments = new ConcurrentHashMap<>();
+
+    public JudgmentProgressTracker(JudgmentDao judgmentDao, ThreadPool threadPool) {
+        this.judgmentDao = judgmentDao;
+        this.threadPool = threadPool;
+    }
+
+    /**
+     * Register a judgment job that starts generating ratings on this node.
+     */
+    public void start(String judgmentId) {
+        runningJudgments.put(judgmentId, new RunningJudgment());
+    }
+
+    /**
+     * Publish the ratings of a single query of a running judgment.
+     * @param judgmentId - judgment id
+     * @param queryResult - ratings of a query in judgment format, {"query": queryText, "ratings": [{"docId", "rating"}]}
+     */
+    public void publish(String judgmentId, Map<String, Object> queryResult) {
+        RunningJudgment runningJudgment = runningJudgments.get(judgmentId);
+        if (runningJudgment == null || queryResult == null) {
+            return;
+        }
+        String queryText = (String) queryResult.get("query");
+        List<Map<String, String>> ratings = (List<Map<String, String>>) queryResult.getOrDefault("ratings", List.of());
+        int ordinal = runningJudgment.publish(queryText, ratings);
+        judgmentDao.putQueryRatings(
+            judgmentId,
+            ordinal,
+            queryResult,
+            ActionListener.wrap(
+                response -> log.debug("Stored ratings of query [{}] of running judgment {}", queryText, judgmentId),
+                e -> log.warn("Failed to store ratings of query [{}] of running judgment {}", queryText, judgmentId, e)
+            )
+        );
+    }
+
+    /**
+     * Mark the judgment as completed, must be called once its final ratings are persisted.
+     */
+    public void complete(String judgmentId) {
+        RunningJudgment runningJudgment = runningJudgments.remove(judgmentId);
+        if (runningJudgment != null) {
+            runningJudgment.finish(null);
+        }
+    }
+
+    /**
+     * Mark the judgment as failed, pending subscriptions fail with the error.
+     */
+    public void fail(String judgmentId, Exception error) {
+        RunningJudgment runningJudgment = runningJudgments.remove(judgmentId);
+        if (runningJudgment != null) {
+            runningJudgment.finish(error);
+        }
+    }
+
+    public boolean isRunning(String judgmentId) {
+        return runningJudgments.containsKey(judgmentId);
+    }
+
+    /**
+     * Subscribe to the ratings of a query of a judgment.
+     * @param judgmentId - judgment id
+     * @param queryText - query text with reference, as stored in the judgment ratings
+     * @return null if the judgment is not running on this node, otherwise a future of the query ratings.
+     * The future completes with null if the judgment completed without publishing the query, the ratings are then
+     * read from the persisted judgment.
+     */
+    public CompletableFuture<List<Map<String, String>>> subscribe(String judgmentId, String queryText) {
+        RunningJudgment runningJudgment = runningJudgments.get(judgmentId);
+        if (runningJudgment == null) {
+            return null;
+        }
+        log.debug("Subscribing to ratings of query [{}] of running judgment {}", queryText, judgmentId);
+        return runningJudgment.subscribe(queryText);
+    }
+
+    /**
+     * Load the ratings of a query of a judgment, waiting for them while the judgment is still running on any node.
+     * @param judgmentId - judgment id
+     * @param queryText - query text with reference, as stored in the judgment ratings
+     * @return future of the ratings by doc id, empty if the judgment completed without ratings for the query. It fails
+     * if the judgment failed, or if the ratings are still missing after {@link #PROGRESS_TIMEOUT}. Waiting for a local
+     * subscription and polling the stored ratings share the same deadline.
+     */
+    public CompletableFuture<Map<String, String>> loadQueryRatings(String judgmentId, String queryText) {
+        long deadline = System.nanoTime() + PROGRESS_TIMEOUT.nanos();
+        CompletableFuture<Map<String, String>> future = new CompletableFuture<>();
+        CompletableFuture<List<Map<String, String>>> subscription = subscribe(judgmentId, queryText);
+        if (subscription == null) {
+            fetchQueryRatings(judgmentId, queryText, deadline, future);
+            return future;
+        }
+        subscription.whenComplete((ratings, e) -> {
+            if (e != null) {
+                future.completeExceptionally(e);
+            } else if (ratings == null) {
+                fetchQueryRatings(judgmentId, queryText, deadline, future);
+            } else {
+                future.complete(toDocIdToRatings(ratings));
+            }
+        });
+        if (!future.isDone()) {
+            Scheduler.ScheduledCancellable timeoutTask = threadPool.schedule(
+                () -> future.completeExceptionally(timeout(judgmentId, queryText)),
+                TimeValue.timeValueNanos(Math.max(0, deadline - System.nanoTime())),
+                ThreadPool.Names.GENERIC
+            );
+            // the timer and the ratings it captures must not outlive the wait
+            future.whenComplete((ratings, e) -> timeoutTask.cancel());
+        }
+        return future;
+    }
+
+    /**
+     * Read the stored ratings of the query, polling while they are missing and the judgment is still PROCESSING.
+     */
+    private void fetchQueryRatings(String judgmentId, String queryText, long deadline, CompletableFuture<Map<String, String>> future) {
+        judgmentDao.getQueryRatings(judgmentId, queryText, ActionListener.wrap(ratings -> {
+            if (!ratings.isEmpty()) {
+                future.complete(ratings);
+                return;
+            }
+            judgmentDao.getJudgment(judgmentId, ActionListener.<SearchResponse>wrap(response -> {
+                Object status = response.getHits().getHits()[0].getSourceAsMap().get(Judgment.STATUS);
+                if (AsyncStatus.PROCESSING.name().equals(status)) {
+                    if (System.nanoTime() - deadline > 0) {
+                        future.completeExceptionally(timeout(judgmentId, queryText));
+                        return;
+                    }
+                    threadPool.schedule(
+                        () -> fetchQueryRatings(judgmentId, queryText, deadline, future),
+                        POLL_INTERVAL,
+                        ThreadPool.Names.GENERIC
+                    );
+                } else if (AsyncStatus.ERROR.name().equals(status)) {
+                    future.completeExceptionally(
+                        new SearchRelevanceException("Judgment " + judgmentId + " failed", RestStatus.FAILED_DEPENDENCY)
+                    );
+                } else {
+                    // the judgment may have completed after the ratings were read
+                    judgmentDao.getQueryRatings(
+                        judgmentId,
+                        queryText,
+                        ActionListener.wrap(future::complete, future::completeExceptionally)
+                    );
+                }
+            }, future::completeExceptionally));
+        }, future::completeExceptionally));
+    }
+
+    private static SearchRelevanceException timeout(String judgmentId, String queryText) {
+        return new SearchRelevanceException(
+            "Timed out waiting for the ratings of query [" + queryText + "] of judgment " + judgmentId,
+            RestStatus.REQUEST_TIMEOUT
+        );
+    }
+
+    private static Map<String, String> toDocIdToRatings(List<Map<String, String>> ratings) {
+        Map<String, String> docIdToRatings = new HashMap<>();
+        ratings.forEach(rating -> docIdToRatings.put(rating.get("docId"), rating.get("rating")));
+        return docIdToRatings;
+    }
+
+    private static class RunningJudgment {
+        private final Map<String, List<Map<String, String>>> publishedRatings = new HashMap<>();
+        private final Map<String, CompletableFuture<List<Map<String, String>>>> subscriptions = new HashMap<>();
+        private boolean finished;
+        private Exception failure;
+
+        // subscriptions are completed outside of the lock, their callbacks may run on the completing thread
+        int publish(String queryText, List<Map<String, String>> ratings) {
+            CompletableFuture<List<Map<String, String>>> subscription;
+            int ordinal;
+            synchronized (this) {
+                ordinal = publishedRatings.size();
+                publishedRatings.put(queryText, ratings);
+                subscription = subscriptions.remove(queryText);
+            }
+            if (subscription != null) {
+                subscription.complete(ratings);
+            }
+            return ordinal;
+        }
+
+        synchronized CompletableFuture<List<Map<String, String>>> subscribe(String queryText) {
+            List<Map<String, String>> ratings = publishedRatings.get(queryText);
+            if (ratings != null) {
+                return CompletableFuture.completedFuture(ratings);
+            }
+            if (finished) {
+                return failure == null ? CompletableFuture.completedFuture(null) : CompletableFuture.failedFuture(failure);
+            }
+            return subscriptions.computeIfAbsent(queryText, key -> new CompletableFuture<>());
+        }
+
+        void finish(Exception error) {
+            List<CompletableFuture<List<Map<String, String>>>> pendingSubscriptions;
+            synchronized (this) {
+                finished = true;
+                failure = error;
+                pendingSubscriptions = new ArrayList<>(subscriptions.values());
+                subscriptions.clear();
+            }
+            for (CompletableFuture<List<Map<String, String>>> subscription : pendingSubscriptions) {
+                if (error == null) {
+                    subscription.complete(null);
+                } else {
+                    subscription.completeExceptionally(error);
+                }
+            }
+        }
+    }
+}
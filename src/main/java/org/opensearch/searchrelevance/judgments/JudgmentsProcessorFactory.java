@@ -8,11 +8,14 @@
 package org.opensearch.searchrelevance.judgments;
 
 import org.opensearch.common.inject.Inject;
+import org.opensearch.searchrelevance.dao.ClickStatisticsDao;
 import org.opensearch.searchrelevance.dao.JudgmentCacheDao;
 import org.opensearch.searchrelevance.dao.QuerySetDao;
 import org.opensearch.searchrelevance.dao.SearchConfigurationDao;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickModelMemoryBudget;
 import org.opensearch.searchrelevance.ml.MLAccessor;
 import org.opensearch.searchrelevance.model.JudgmentType;
+import org.opensearch.searchrelevance.ubi.UbiRollupService;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
 
@@ -21,8 +24,11 @@ public class JudgmentsProcessorFactory {
     private final QuerySetDao querySetDao;
     private final SearchConfigurationDao searchConfigurationDao;
     private final JudgmentCacheDao judgmentCacheDao;
+    private final ClickStatisticsDao clickStatisticsDao;
     private final Client client;
     private final ThreadPool threadPool;
+    private final UbiRollupService ubiRollupService;
+    private final ClickModelMemoryBudget clickModelMemoryBudget;
 
     @Inject
     public JudgmentsProcessorFactory(
@@ -30,15 +36,21 @@ public class JudgmentsProcessorFactory {
         QuerySetDao querySetDao,
         SearchConfigurationDao searchConfigurationDao,
         JudgmentCacheDao judgmentCacheDao,
+        ClickStatisticsDao clickStatisticsDao,
         Client client,
-        ThreadPool threadPool
+        ThreadPool threadPool,
+        UbiRollupService ubiRollupService,
+        ClickModelMemoryBudget clickModelMemoryBudget
     ) {
         this.mlAccessor = mlAccessor;
         this.querySetDao = querySetDao;
         this.searchConfigurationDao = searchConfigurationDao;
         this.judgmentCacheDao = judgmentCacheDao;
+        this.clickStatisticsDao = clickStatisticsDao;
         this.client = client;
         this.threadPool = threadPool;
+        this.ubiRollupService = ubiRollupService;
+        this.clickModelMemoryBudget = clickModelMemoryBudget;
     }
 
     public BaseJudgmentsProcessor getProcessor(JudgmentType type) {
@@ -51,7 +63,7 @@ public class JudgmentsProcessorFactory {
                 client,
                 threadPool
             );
-            case UBI_JUDGMENT -> new UbiJudgmentsProcessor(client);
+            case UBI_JUDGMENT -> new UbiJudgmentsProcessor(client, clickStatisticsDao, ubiRollupService, clickModelMemoryBudget);
             case IMPORT_JUDGMENT -> new ImportJudgmentsProcessor(client);
             default -> throw new IllegalArgumentException("Unsupported judgment type: " + type);
         };
@@ -23,6 +23,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.opensearch.action.StepListener;
@@ -39,6 +40,7 @@ import org.opensearch.searchrelevance.dao.SearchConfigurationDao;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.executors.LlmJudgmentTaskManager;
 import org.opensearch.searchrelevance.ml.ChunkResult;
+import org.opensearch.searchrelevance.ml.DocumentContextCache;
 import org.opensearch.searchrelevance.ml.MLAccessor;
 import org.opensearch.searchrelevance.model.JudgmentCache;
 import org.opensearch.searchrelevance.model.JudgmentType;
@@ -50,7 +52,6 @@ import org.opensearch.searchrelevance.utils.TimeUtils;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -92,11 +93,25 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
 
     @Override
     public void generateJudgmentRating(Map<String, Object> metadata, ActionListener<List<Map<String, Object>>> listener) {
+        generateJudgmentRating(metadata, queryRatings -> {}, listener);
+    }
+
+    @Override
+    public void generateJudgmentRating(
+        Map<String, Object> metadata,
+        Consumer<Map<String, Object>> queryRatingsConsumer,
+        ActionListener<List<Map<String, Object>>> listener
+    ) {
         // Execute entire method on generic thread pool to avoid transport thread blocking
-        threadPool.executor(ThreadPool.Names.GENERIC).execute(() -> { generateJudgmentRatingInternal(metadata, listener); });
+        threadPool.executor(ThreadPool.Names.GENERIC)
+            .execute(() -> { generateJudgmentRatingInternal(metadata, queryRatingsConsumer, listener); });
     }
 
-    private void generateJudgmentRatingInternal(Map<String, Object> metadata, ActionListener<List<Map<String, Object>>> listener) {
+    private void generateJudgmentRatingInternal(
+        Map<String, Object> metadata,
+        Consumer<Map<String, Object>> queryRatingsConsumer,
+        ActionListener<List<Map<String, Object>>> listener
+    ) {
         try {
             EventStatsManager.increment(EventStatName.LLM_JUDGMENT_RATING_GENERATIONS);
             String querySetId = (String) metadata.get("querySetId");
@@ -109,11 +124,19 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
             boolean ignoreFailure = (boolean) metadata.get("ignoreFailure");
 
             QuerySet querySet = querySetDao.getQuerySetSync(querySetId);
-            List<SearchConfiguration> searchConfigurations = searchConfigurationList.stream()
-                .map(id -> searchConfigurationDao.getSearchConfigurationSync(id))
-                .collect(Collectors.toList());
+            List<SearchConfiguration> searchConfigurations = searchConfigurationDao.getSearchConfigurationsSync(searchConfigurationList);
 
-            generateLLMJudgmentsAsync(modelId, size, tokenLimit, contextFields, querySet, searchConfigurations, ignoreFailure, listener);
+            generateLLMJudgmentsAsync(
+                modelId,
+                size,
+                tokenLimit,
+                contextFields,
+                querySet,
+                searchConfigurations,
+                ignoreFailure,
+                queryRatingsConsumer,
+                listener
+            );
         } catch (Exception e) {
             log.error("Failed to generate LLM judgments", e);
             listener.onFailure(new SearchRelevanceException("Failed to generate LLM judgments", e, RestStatus.INTERNAL_SERVER_ERROR));
@@ -128,12 +151,15 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
         QuerySet querySet,
         List<SearchConfiguration> searchConfigurations,
         boolean ignoreFailure,
+        Consumer<Map<String, Object>> queryRatingsConsumer,
         ActionListener<List<Map<String, Object>>> listener
     ) {
         List<String> queryTextWithReferences = querySet.querySetQueries().stream().map(e -> e.queryText()).collect(Collectors.toList());
         int totalQueries = queryTextWithReferences.size();
 
         log.info("Starting LLM judgment generation for {} total queries", totalQueries);
+        // shared by all queries of this job, documents are rendered and tokenized once per job
+        DocumentContextCache contextCache = new DocumentContextCache(contextFields);
 
         // Create judgment cache index upfront to prevent concurrent creation attempts
         StepListener<Void> cacheIndexListener = new StepListener<>();
@@ -148,6 +174,7 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
                         size,
                         tokenLimit,
                         contextFields,
+                        contextCache,
                         searchConfigurations,
                         queryTextWithReference,
                         ignoreFailure
@@ -161,7 +188,7 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
                         throw new RuntimeException("Query processing failed: " + queryTextWithReference, e);
                     }
                 }
-            }, ignoreFailure, ActionListener.wrap(results -> {
+            }, queryRatingsConsumer, ignoreFailure, ActionListener.wrap(results -> {
                 int processedQueries = results.size();
                 int successQueries = (int) results.stream().mapToLong(result -> {
                     List<Map<String, String>> ratings = (List<Map<String, String>>) result.get("ratings");
@@ -192,6 +219,7 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
                         size,
                         tokenLimit,
                         contextFields,
+                        contextCache,
                         searchConfigurations,
                         queryTextWithReference,
                         ignoreFailure
@@ -205,7 +233,7 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
                         throw new RuntimeException("Query processing failed: " + queryTextWithReference, e);
                     }
                 }
-            }, ignoreFailure, ActionListener.wrap(results -> {
+            }, queryRatingsConsumer, ignoreFailure, ActionListener.wrap(results -> {
                 int processedQueries = results.size();
                 int successQueries = (int) results.stream().mapToLong(result -> {
                     List<Map<String, String>> ratings = (List<Map<String, String>>) result.get("ratings");
@@ -234,19 +262,20 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
         int size,
         int tokenLimit,
         List<String> contextFields,
+        DocumentContextCache contextCache,
         List<SearchConfiguration> searchConfigurations,
         String queryTextWithReference,
         boolean ignoreFailure
     ) {
         log.info("Processing query text judgment: {}", queryTextWithReference);
 
-        ConcurrentMap<String, SearchHit> allHits = new ConcurrentHashMap<>();
+        ConcurrentMap<String, String> allHits = new ConcurrentHashMap<>();
         ConcurrentMap<String, String> docIdToScore = new ConcurrentHashMap<>();
         String queryText = queryTextWithReference.split(DELIMITER, 2)[0];
 
         try {
             // Step 1: Execute searches concurrently within this query text task
-            processSearchConfigurationsAsync(searchConfigurations, queryText, size, allHits, ignoreFailure);
+            processSearchConfigurationsAsync(searchConfigurations, queryText, size, contextFields, allHits, ignoreFailure);
 
             // Step 2: Deduplicate from cache
             List<String> docIds = new ArrayList<>(allHits.keySet());
@@ -262,7 +291,17 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
 
             // Step 3: Process with LLM if needed
             if (!unprocessedDocIds.isEmpty()) {
-                processWithLLM(modelId, queryTextWithReference, tokenLimit, contextFields, unprocessedDocIds, allHits, index, docIdToScore);
+                processWithLLM(
+                    modelId,
+                    queryTextWithReference,
+                    tokenLimit,
+                    contextFields,
+                    contextCache,
+                    unprocessedDocIds,
+                    allHits,
+                    index,
+                    docIdToScore
+                );
             }
 
             Map<String, Object> result = JudgmentDataTransformer.createJudgmentResult(queryTextWithReference, docIdToScore);
@@ -285,18 +324,25 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
         List<SearchConfiguration> searchConfigurations,
         String queryText,
         int size,
-        ConcurrentMap<String, SearchHit> allHits,
+        List<String> contextFields,
+        ConcurrentMap<String, String> allHits,
         boolean ignoreFailure
     ) throws Exception {
+        boolean hasContextFields = contextFields != null && !contextFields.isEmpty();
         List<CompletableFuture<Void>> searchFutures = searchConfigurations.stream().map(config -> {
             CompletableFuture<SearchResponse> future = new CompletableFuture<>();
             SearchRequest searchRequest = buildSearchRequest(config.index(), config.query(), queryText, config.searchPipeline(), size);
+            if (hasContextFields) {
+                // only the context fields are sent to the LLM, so there is no need to fetch the rest of the source
+                searchRequest.source().fetchSource(contextFields.toArray(new String[0]), null);
+            }
             client.search(searchRequest, ActionListener.wrap(future::complete, future::completeExceptionally));
 
             return future.thenAccept(response -> {
                 if (response.getHits().getTotalHits().value() > 0) {
                     for (SearchHit hit : response.getHits().getHits()) {
-                        allHits.put(hit.getId(), hit);
+                        String contextSource = hit.getSourceAsString();
+                        allHits.put(hit.getId(), contextSource == null ? "" : contextSource);
                     }
                     log.debug("Collected {} hits from index: {}", response.getHits().getHits().length, config.index());
                 }
@@ -359,8 +405,9 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
         String queryTextWithReference,
         int tokenLimit,
         List<String> contextFields,
+        DocumentContextCache contextCache,
         List<String> unprocessedDocIds,
-        ConcurrentMap<String, SearchHit> allHits,
+        ConcurrentMap<String, String> allHits,
         String index,
         ConcurrentMap<String, String> docIdToScore
     ) throws Exception {
@@ -368,17 +415,24 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
 
         // Prepare union hits for LLM
         for (String docId : unprocessedDocIds) {
-            SearchHit hit = allHits.get(docId);
             String compositeKey = combinedIndexAndDocId(index, docId);
-            String contextSource = getContextSource(hit, contextFields);
-            unionHits.put(compositeKey, contextSource);
+            unionHits.put(compositeKey, allHits.get(docId));
         }
 
         log.info("Processing {} uncached docs with LLM", unionHits.size());
 
         // Synchronous LLM call
         PlainActionFuture<Map<String, String>> llmFuture = PlainActionFuture.newFuture();
-        generateLLMJudgmentForQueryText(modelId, queryTextWithReference, tokenLimit, contextFields, unionHits, new HashMap<>(), llmFuture);
+        generateLLMJudgmentForQueryText(
+            modelId,
+            queryTextWithReference,
+            tokenLimit,
+            contextFields,
+            contextCache,
+            unionHits,
+            new HashMap<>(),
+            llmFuture
+        );
 
         Map<String, String> llmResults = llmFuture.actionGet();
         docIdToScore.putAll(llmResults);
@@ -391,6 +445,7 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
         String queryTextWithReference,
         int tokenLimit,
         List<String> contextFields,
+        DocumentContextCache contextCache,
         Map<String, String> unprocessedUnionHits,
         Map<String, String> docIdToRating,
         ActionListener<Map<String, String>> listener
@@ -412,7 +467,7 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
         ConcurrentMap<Integer, List<Map<String, Object>>> combinedResponses = new ConcurrentHashMap<>();
         AtomicBoolean hasFailure = new AtomicBoolean(false);
 
-        mlAccessor.predict(modelId, tokenLimit, queryText, referenceAnswer, unprocessedUnionHits, new ActionListener<ChunkResult>() {
+        ActionListener<ChunkResult> chunkListener = new ActionListener<ChunkResult>() {
             @Override
             public void onResponse(ChunkResult chunkResult) {
                 try {
@@ -476,7 +531,8 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
                     );
                 }
             }
-        });
+        };
+        mlAccessor.predict(modelId, tokenLimit, queryText, referenceAnswer, unprocessedUnionHits, contextCache, chunkListener);
     }
 
     private void updateJudgmentCache(String compositeKey, String queryText, List<String> contextFields, String rating, String modelId) {
@@ -490,35 +546,24 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
                 rating,
                 modelId
             );
-            StepListener<Void> createIndexStep = new StepListener<>();
-            judgmentCacheDao.createIndexIfAbsent(createIndexStep);
-
-            createIndexStep.whenComplete(v -> {
-                judgmentCacheDao.upsertJudgmentCache(
-                    judgmentCache,
-                    ActionListener.wrap(
-                        response -> log.debug(
-                            "Successfully processed judgment cache for queryText: {} and compositeKey: {}, contextFields: {}",
-                            queryText,
-                            compositeKey,
-                            contextFields
-                        ),
-                        e -> log.warn(
-                            "Failed to process judgment cache for queryText: {} and compositeKey: {}, contextFields: {} - continuing without cache",
-                            queryText,
-                            compositeKey,
-                            contextFields
-                        )
+            // the cache index is created before the tasks are scheduled, upserts only check the known indices
+            judgmentCacheDao.upsertJudgmentCache(
+                judgmentCache,
+                ActionListener.wrap(
+                    response -> log.debug(
+                        "Successfully processed judgment cache for queryText: {} and compositeKey: {}, contextFields: {}",
+                        queryText,
+                        compositeKey,
+                        contextFields
+                    ),
+                    e -> log.warn(
+                        "Failed to process judgment cache for queryText: {} and compositeKey: {}, contextFields: {} - continuing without cache",
+                        queryText,
+                        compositeKey,
+                        contextFields
                     )
-                );
-            }, e -> {
-                log.warn(
-                    "Failed to create judgment cache index for queryText: {} and compositeKey: {}, contextFields: {} - continuing without cache",
-                    queryText,
-                    compositeKey,
-                    contextFields
-                );
-            });
+                )
+            );
         } catch (Exception e) {
             log.warn("Cache operation failed for queryText: {} - continuing without cache", queryText);
         }
@@ -527,25 +572,4 @@ public class LlmJudgmentsProcessor implements BaseJudgmentsProcessor {
     private void logFailedChunks(ChunkResult chunkResult) {
         chunkResult.getFailedChunks().forEach((index, error) -> log.warn("Chunk {} failed: {}", index, error));
     }
-
-    private String getContextSource(SearchHit hit, List<String> contextFields) {
-        try {
-            if (contextFields != null && !contextFields.isEmpty()) {
-                Map<String, Object> filteredSource = new HashMap<>();
-                Map<String, Object> sourceAsMap = hit.getSourceAsMap();
-
-                for (String field : contextFields) {
-                    if (sourceAsMap.containsKey(field)) {
-                        filteredSource.put(field, sourceAsMap.get(field));
-                    }
-                }
-                return OBJECT_MAPPER.writeValueAsString(filteredSource);
-            }
-            return hit.getSourceAsString();
-
-        } catch (JsonProcessingException e) {
-            log.error("Failed to process context source for hit: {}", hit.getId(), e);
-            throw new RuntimeException("Failed to process context source", e);
-        }
-    }
 }
@@ -7,6 +7,7 @@
  */
 package org.opensearch.searchrelevance.judgments;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -14,25 +15,45 @@ import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.opensearch.action.StepListener;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.dao.ClickStatisticsDao;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickModelMemoryBudget;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickSessions;
 import org.opensearch.searchrelevance.judgments.clickmodel.coec.CoecClickModel;
 import org.opensearch.searchrelevance.judgments.clickmodel.coec.CoecClickModelParameters;
+import org.opensearch.searchrelevance.judgments.clickmodel.coec.CoecClickStatistics;
+import org.opensearch.searchrelevance.judgments.clickmodel.em.DynamicBayesianNetworkClickModel;
+import org.opensearch.searchrelevance.judgments.clickmodel.em.EmClickModelParameters;
+import org.opensearch.searchrelevance.judgments.clickmodel.em.ExpectationMaximizationClickModel;
+import org.opensearch.searchrelevance.judgments.clickmodel.em.PositionBasedClickModel;
+import org.opensearch.searchrelevance.judgments.clickmodel.em.UserBrowsingClickModel;
 import org.opensearch.searchrelevance.model.JudgmentType;
 import org.opensearch.searchrelevance.stats.events.EventStatName;
 import org.opensearch.searchrelevance.stats.events.EventStatsManager;
+import org.opensearch.searchrelevance.ubi.UbiRollupService;
 import org.opensearch.transport.client.Client;
 
 public class UbiJudgmentsProcessor implements BaseJudgmentsProcessor {
     private static final Logger LOGGER = LogManager.getLogger(UbiJudgmentsProcessor.class);
     private final Client client;
+    private final ClickStatisticsDao clickStatisticsDao;
+    private final UbiRollupService ubiRollupService;
+    private final ClickModelMemoryBudget clickModelMemoryBudget;
 
     @Inject
-    public UbiJudgmentsProcessor(Client client) {
+    public UbiJudgmentsProcessor(
+        Client client,
+        ClickStatisticsDao clickStatisticsDao,
+        UbiRollupService ubiRollupService,
+        ClickModelMemoryBudget clickModelMemoryBudget
+    ) {
         this.client = client;
+        this.clickStatisticsDao = clickStatisticsDao;
+        this.ubiRollupService = ubiRollupService;
+        this.clickModelMemoryBudget = clickModelMemoryBudget;
     }
 
     @Override
@@ -49,113 +70,277 @@ public class UbiJudgmentsProcessor implements BaseJudgmentsProcessor {
         String endDate = (String) metadata.get("endDate");
 
         if (CoecClickModel.CLICK_MODEL_NAME.equalsIgnoreCase(clickModel)) {
-            final CoecClickModelParameters coecClickModelParameters = new CoecClickModelParameters(maxRank, startDate, endDate);
-            final CoecClickModel coecClickModel = new CoecClickModel(client, coecClickModelParameters);
-
-            // Create StepListener for the click model calculation
-            StepListener<Map<String, Map<String, String>>> clickModelStep = new StepListener<>();
-
-            try {
-                coecClickModel.calculateJudgments(new ActionListener<>() {
-                    @Override
-                    public void onResponse(List<Map<String, Object>> judgments) {
-                        // Create the result map in the expected format
-                        List<Map<String, Object>> formattedRatings = new ArrayList<>();
-                        for (Map<String, Object> queryJudgment : judgments) {
-                            String queryText = (String) queryJudgment.get("query");
-                            Object ratingData = queryJudgment.get("ratings");
-
-                            if (!(ratingData instanceof Map)) {
-                                listener.onFailure(
-                                    new SearchRelevanceException(
-                                        "queryText " + queryText + " must have rating data as a Map.",
-                                        RestStatus.BAD_REQUEST
-                                    )
-                                );
-                                return;
-                            }
-
-                            @SuppressWarnings("unchecked")
-                            Map<String, Object> ratingsMap = (Map<String, Object>) ratingData; // Cast to Map, not List
-
-                            // Prepare a list to hold the docId and score maps for the current query
-                            List<Map<String, String>> docIdScoreList = new ArrayList<>();
-
-                            // Iterate over the entrySet of the HashMap ***
-                            for (Map.Entry<String, Object> entry : ratingsMap.entrySet()) {
-                                String docId = entry.getKey(); // The key is the docId
-                                Object ratingObject = entry.getValue(); // The value is the rating
-
-                                if (docId == null || docId.isEmpty()) {
-                                    // This case is unlikely if the keys of the map are docIds, but good for defensive coding
-                                    listener.onFailure(
-                                        new SearchRelevanceException(
-                                            "docId (map key) for queryText " + queryText + " must not be null or empty",
-                                            RestStatus.BAD_REQUEST
-                                        )
-                                    );
-                                    return;
-                                }
-                                if (ratingObject == null) {
-                                    listener.onFailure(
-                                        new SearchRelevanceException(
-                                            "rating for docId '" + docId + "' in queryText " + queryText + " must not be null",
-                                            RestStatus.BAD_REQUEST
-                                        )
-                                    );
-                                    return;
-                                }
-
-                                String rating = String.valueOf(ratingObject); // Convert rating to String
-
-                                try {
-                                    Float.parseFloat(rating);
-                                } catch (NumberFormatException e) {
-                                    listener.onFailure(
-                                        new SearchRelevanceException(
-                                            "rating '"
-                                                + rating
-                                                + "' for docId '"
-                                                + docId
-                                                + "' in queryText "
-                                                + queryText
-                                                + " must be a valid float",
-                                            RestStatus.BAD_REQUEST
-                                        )
-                                    );
-                                    return;
-                                }
-
-                                // Add the docId and score to the list for the current query
-                                Map<String, String> docScoreMap = new HashMap<>();
-                                docScoreMap.put("docId", docId);
-                                docScoreMap.put("rating", rating);
-                                docIdScoreList.add(docScoreMap);
-                            }
-
-                            // Add the formatted ratings for this query
-                            Map<String, Object> queryRatings = new HashMap<>();
-                            queryRatings.put("query", queryText);
-                            queryRatings.put("ratings", docIdScoreList);
-                            formattedRatings.add(queryRatings);
-                        }
-                        listener.onResponse(formattedRatings);
-                    }
+            // the counts are read from the UBI rollup once it is maintained, from the raw events otherwise
+            ubiRollupService.getRolledUpUntil(ActionListener.wrap(rolledUpUntil -> {
+                final CoecClickModelParameters coecClickModelParameters = rolledUpUntil == null
+                    ? new CoecClickModelParameters(maxRank, startDate, endDate)
+                    : new CoecClickModelParameters(maxRank, startDate, endDate, rolledUpUntil);
+                final CoecClickModel coecClickModel = new CoecClickModel(client, coecClickModelParameters, clickModelMemoryBudget);
 
-                    @Override
-                    public void onFailure(Exception e) {
-                        LOGGER.error("Failed to calculate COEC click model judgments", e);
-                        listener.onFailure(new SearchRelevanceException(e.getLocalizedMessage(), e, RestStatus.INTERNAL_SERVER_ERROR));
-                    }
-                });
-            } catch (Exception e) {
-                LOGGER.error("Error initiating COEC click model calculation", e);
-                listener.onFailure(
-                    new SearchRelevanceException("Error initiating COEC click model calculation", e, RestStatus.INTERNAL_SERVER_ERROR)
-                );
-            }
+                try {
+                    coecClickModel.calculateJudgments(formatRatings(listener));
+                } catch (Exception e) {
+                    LOGGER.error("Error initiating COEC click model calculation", e);
+                    listener.onFailure(
+                        new SearchRelevanceException("Error initiating COEC click model calculation", e, RestStatus.INTERNAL_SERVER_ERROR)
+                    );
+                }
+            }, listener::onFailure));
+        } else if (isSessionClickModel(clickModel)) {
+            calculateSessionJudgments(clickModel, maxRank, startDate, endDate, listener);
+        } else {
+            listener.onFailure(new SearchRelevanceException("Unsupported click model: " + clickModel, RestStatus.BAD_REQUEST));
+        }
+    }
+
+    private static boolean isSessionClickModel(String clickModel) {
+        return PositionBasedClickModel.CLICK_MODEL_NAME.equalsIgnoreCase(clickModel)
+            || UserBrowsingClickModel.CLICK_MODEL_NAME.equalsIgnoreCase(clickModel)
+            || DynamicBayesianNetworkClickModel.CLICK_MODEL_NAME.equalsIgnoreCase(clickModel);
+    }
+
+    /**
+     * Trains a click model over whole sessions with expectation-maximization on the events of the date range.
+     */
+    private void calculateSessionJudgments(
+        String clickModel,
+        int maxRank,
+        String startDate,
+        String endDate,
+        ActionListener<List<Map<String, Object>>> listener
+    ) {
+        if (maxRank < 1 || maxRank > ClickSessions.MAX_SESSION_LENGTH) {
+            listener.onFailure(
+                new SearchRelevanceException(
+                    "maxRank of click model " + clickModel + " must be between 1 and " + ClickSessions.MAX_SESSION_LENGTH,
+                    RestStatus.BAD_REQUEST
+                )
+            );
+            return;
+        }
+        EmClickModelParameters parameters = new EmClickModelParameters(maxRank, startDate, endDate);
+        ExpectationMaximizationClickModel model;
+        if (PositionBasedClickModel.CLICK_MODEL_NAME.equalsIgnoreCase(clickModel)) {
+            model = new PositionBasedClickModel(client, parameters);
+        } else if (UserBrowsingClickModel.CLICK_MODEL_NAME.equalsIgnoreCase(clickModel)) {
+            model = new UserBrowsingClickModel(client, parameters);
         } else {
+            model = new DynamicBayesianNetworkClickModel(client, parameters);
+        }
+        try {
+            model.calculateJudgments(formatRatings(listener));
+        } catch (Exception e) {
+            LOGGER.error("Error initiating {} click model calculation", clickModel, e);
+            listener.onFailure(
+                new SearchRelevanceException(
+                    "Error initiating " + clickModel + " click model calculation",
+                    e,
+                    RestStatus.INTERNAL_SERVER_ERROR
+                )
+            );
+        }
+    }
+
+    /**
+     * Updates the ratings of a UBI judgment from the events logged after the watermark of its stored click statistics.
+     * The statistics of the new events are merged into the stored ones and stored with a new watermark, so each update
+     * reads the events since the previous update instead of the whole date range. A judgment without stored statistics
+     * reads the UBI rollup up to its upper bound when it is maintained, all events of its date range otherwise.
+     */
+    @Override
+    public void updateJudgmentRating(String judgmentId, Map<String, Object> metadata, ActionListener<List<Map<String, Object>>> listener) {
+        EventStatsManager.increment(EventStatName.UBI_JUDGMENT_RATING_GENERATIONS);
+        String clickModel = (String) metadata.get("clickModel");
+        int maxRank = (int) metadata.get("maxRank");
+        String startDate = (String) metadata.get("startDate");
+        String endDate = (String) metadata.get("endDate");
+
+        if (isSessionClickModel(clickModel)) {
+            // parameters trained by expectation-maximization do not merge, the model is trained on all events again
+            calculateSessionJudgments(clickModel, maxRank, startDate, endDate, listener);
+            return;
+        }
+        if (!CoecClickModel.CLICK_MODEL_NAME.equalsIgnoreCase(clickModel)) {
             listener.onFailure(new SearchRelevanceException("Unsupported click model: " + clickModel, RestStatus.BAD_REQUEST));
+            return;
         }
+        clickStatisticsDao.getClickStatistics(judgmentId, ActionListener.wrap(storedStatistics -> {
+            if (storedStatistics != null) {
+                // events searchable by now are collected by this update, later ones by the next update
+                String watermark = eventsIngestedUntil();
+                String eventsAfter = storedStatistics.getWatermark();
+                LOGGER.info("Updating click statistics of judgment {} with events after {} until {}", judgmentId, eventsAfter, watermark);
+                updateClickStatistics(
+                    judgmentId,
+                    storedStatistics,
+                    new CoecClickModelParameters(maxRank, startDate, endDate, eventsAfter, watermark),
+                    watermark,
+                    listener
+                );
+                return;
+            }
+            ubiRollupService.getRolledUpUntil(ActionListener.wrap(rolledUpUntil -> {
+                if (rolledUpUntil != null) {
+                    // the next update reads the events logged after the rollup
+                    LOGGER.info("Collecting click statistics of judgment {} from the UBI rollup until {}", judgmentId, rolledUpUntil);
+                    updateClickStatistics(
+                        judgmentId,
+                        null,
+                        new CoecClickModelParameters(maxRank, startDate, endDate, rolledUpUntil),
+                        rolledUpUntil,
+                        listener
+                    );
+                } else {
+                    String watermark = eventsIngestedUntil();
+                    LOGGER.info("Collecting click statistics of judgment {} with events until {}", judgmentId, watermark);
+                    updateClickStatistics(
+                        judgmentId,
+                        null,
+                        new CoecClickModelParameters(maxRank, startDate, endDate, null, watermark),
+                        watermark,
+                        listener
+                    );
+                }
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    /**
+     * The watermark of an update trails the wall clock by the ingest lag, as the rollup does, so events that are not
+     * searchable yet when the update runs still have a timestamp after the watermark and are read by the next update.
+     */
+    private static String eventsIngestedUntil() {
+        return Instant.now().minusMillis(UbiRollupService.INGEST_LAG.millis()).toString();
+    }
+
+    private void updateClickStatistics(
+        String judgmentId,
+        CoecClickStatistics storedStatistics,
+        CoecClickModelParameters parameters,
+        String watermark,
+        ActionListener<List<Map<String, Object>>> listener
+    ) {
+        CoecClickModel coecClickModel = new CoecClickModel(client, parameters, clickModelMemoryBudget);
+        coecClickModel.collectStatistics(ActionListener.wrap(newStatistics -> {
+            CoecClickStatistics statistics = newStatistics;
+            if (storedStatistics != null) {
+                storedStatistics.merge(newStatistics);
+                statistics = storedStatistics;
+            }
+            statistics.setWatermark(watermark);
+            CoecClickStatistics mergedStatistics = statistics;
+            clickStatisticsDao.upsertClickStatistics(
+                judgmentId,
+                mergedStatistics,
+                newStatistics.queries(),
+                ActionListener.wrap(
+                    response -> coecClickModel.calculateJudgments(mergedStatistics, formatRatings(listener)),
+                    // keeps the CONFLICT of a concurrent update of the same judgment
+                    e -> listener.onFailure(
+                        e instanceof SearchRelevanceException
+                            ? e
+                            : new SearchRelevanceException("Failed to store click statistics", e, RestStatus.INTERNAL_SERVER_ERROR)
+                    )
+                )
+            );
+        }, e -> {
+            LOGGER.error("Failed to collect COEC click statistics", e);
+            listener.onFailure(new SearchRelevanceException(e.getLocalizedMessage(), e, RestStatus.INTERNAL_SERVER_ERROR));
+        }));
+    }
+
+    private ActionListener<List<Map<String, Object>>> formatRatings(ActionListener<List<Map<String, Object>>> listener) {
+        return new ActionListener<>() {
+            @Override
+            public void onResponse(List<Map<String, Object>> judgments) {
+                // Create the result map in the expected format
+                List<Map<String, Object>> formattedRatings = new ArrayList<>();
+                for (Map<String, Object> queryJudgment : judgments) {
+                    String queryText = (String) queryJudgment.get("query");
+                    Object ratingData = queryJudgment.get("ratings");
+
+                    if (!(ratingData instanceof Map)) {
+                        listener.onFailure(
+                            new SearchRelevanceException(
+                                "queryText " + queryText + " must have rating data as a Map.",
+                                RestStatus.BAD_REQUEST
+                            )
+                        );
+                        return;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> ratingsMap = (Map<String, Object>) ratingData; // Cast to Map, not List
+
+                    // Prepare a list to hold the docId and score maps for the current query
+                    List<Map<String, String>> docIdScoreList = new ArrayList<>();
+
+                    // Iterate over the entrySet of the HashMap ***
+                    for (Map.Entry<String, Object> entry : ratingsMap.entrySet()) {
+                        String docId = entry.getKey(); // The key is the docId
+                        Object ratingObject = entry.getValue(); // The value is the rating
+
+                        if (docId == null || docId.isEmpty()) {
+                            // This case is unlikely if the keys of the map are docIds, but good for defensive coding
+                            listener.onFailure(
+                                new SearchRelevanceException(
+                                    "docId (map key) for queryText " + queryText + " must not be null or empty",
+                                    RestStatus.BAD_REQUEST
+                                )
+                            );
+                            return;
+                        }
+                        if (ratingObject == null) {
+                            listener.onFailure(
+                                new SearchRelevanceException(
+                                    "rating for docId '" + docId + "' in queryText " + queryText + " must not be null",
+                                    RestStatus.BAD_REQUEST
+                                )
+                            );
+                            return;
+                        }
+
+                        String rating = String.valueOf(ratingObject); // Convert rating to String
+
+                        try {
+                            Float.parseFloat(rating);
+                        } catch (NumberFormatException e) {
+                            listener.onFailure(
+                                new SearchRelevanceException(
+                                    "rating '"
+                                        + rating
+                                        + "' for docId '"
+                                        + docId
+                                        + "' in queryText "
+                                        + queryText
+                                        + " must be a valid float",
+                                    RestStatus.BAD_REQUEST
+                                )
+                            );
+                            return;
+                        }
+
+                        // Add the docId and score to the list for the current query
+                        Map<String, String> docScoreMap = new HashMap<>();
+                        docScoreMap.put("docId", docId);
+                        docScoreMap.put("rating", rating);
+                        docIdScoreList.add(docScoreMap);
+                    }
+
+                    // Add the formatted ratings for this query
+                    Map<String, Object> queryRatings = new HashMap<>();
+                    queryRatings.put("query", queryText);
+                    queryRatings.put("ratings", docIdScoreList);
+                    formattedRatings.add(queryRatings);
+                }
+                listener.onResponse(formattedRatings);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                LOGGER.error("Failed to calculate click model judgments", e);
+                listener.onFailure(new SearchRelevanceException(e.getLocalizedMessage(), e, RestStatus.INTERNAL_SERVER_ERROR));
+            }
+        };
     }
 }
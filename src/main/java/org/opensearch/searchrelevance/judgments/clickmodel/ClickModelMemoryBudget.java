@@ -0,0 +1,61 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel;
+
+import java.nio.file.Path;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.opensearch.core.common.breaker.CircuitBreaker;
+import org.opensearch.core.common.breaker.NoopCircuitBreaker;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+
+/**
+ * Memory budget, temp directory and circuit breaker of the click model calculations of this node.
+ */
+public class ClickModelMemoryBudget {
+    public static final String BREAKER_NAME = "search_relevance";
+
+    private final LongSupplier budgetBytes;
+    private final Path tempDirectory;
+    private final Supplier<CircuitBreaker> breaker;
+
+    /**
+     * @param settingsAccessor - provides the memory budget of a single calculation
+     * @param tempDirectory - node local directory counts are spilled to
+     * @param breaker - the search relevance circuit breaker, null until it is registered with the node
+     */
+    public ClickModelMemoryBudget(SearchRelevanceSettingsAccessor settingsAccessor, Path tempDirectory, Supplier<CircuitBreaker> breaker) {
+        this(() -> settingsAccessor.getClickModelMemoryBudget().getBytes(), tempDirectory, breaker);
+    }
+
+    private ClickModelMemoryBudget(LongSupplier budgetBytes, Path tempDirectory, Supplier<CircuitBreaker> breaker) {
+        this.budgetBytes = budgetBytes;
+        this.tempDirectory = tempDirectory;
+        this.breaker = breaker;
+    }
+
+    /**
+     * @return budget which keeps all counts on heap without accounting them, e.g. for calculations outside of a node
+     */
+    public static ClickModelMemoryBudget unbounded() {
+        return new ClickModelMemoryBudget(() -> Long.MAX_VALUE, null, () -> null);
+    }
+
+    /**
+     * @return spill of a single calculation, to be closed once its counts are merged
+     */
+    public PairCountSpill newSpill() {
+        CircuitBreaker circuitBreaker = breaker.get();
+        return new PairCountSpill(
+            budgetBytes.getAsLong(),
+            tempDirectory,
+            circuitBreaker == null ? new NoopCircuitBreaker(BREAKER_NAME) : circuitBreaker
+        );
+    }
+}
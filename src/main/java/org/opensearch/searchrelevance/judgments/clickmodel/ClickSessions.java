@@ -0,0 +1,310 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel;
+
+import java.util.Arrays;
+
+/**
+ * Compact store of search sessions for click models trained on whole sessions. A session is the result list shown for
+ * one query_id: the (user_query, object_id) pair and the rank of each shown object, ordered by rank, and a bitmask of
+ * the clicked positions. Sessions, items and pairs are kept in flat primitive arrays, so tens of millions of sessions
+ * fit in the heap of a single node.
+ * Besides the sessions, the items of each pair are indexed so that per pair parameters can be updated in parallel.
+ */
+public final class ClickSessions {
+    /** Sessions are limited to the number of positions of the click bitmask */
+    public static final int MAX_SESSION_LENGTH = Long.SIZE;
+
+    private final int maxRank;
+    private final int sessionCount;
+    // items of session s are [sessionOffsets[s], sessionOffsets[s + 1])
+    private final int[] sessionOffsets;
+    // bit i is set when the i-th item of the session was clicked
+    private final long[] clickMasks;
+    private final int[] itemPairs;
+    private final byte[] itemRanks;
+    private final UbiEventAggregator.StringIds queries;
+    private final UbiEventAggregator.StringIds objects;
+    private final UbiEventAggregator.PairIds pairs;
+    // items of pair p are pairItems[pairItemOffsets[p]] to pairItems[pairItemOffsets[p + 1] - 1]
+    private final int[] pairItemOffsets;
+    private final int[] pairItems;
+
+    private ClickSessions(
+        int maxRank,
+        int sessionCount,
+        int[] sessionOffsets,
+        long[] clickMasks,
+        int[] itemPairs,
+        byte[] itemRanks,
+        UbiEventAggregator.StringIds queries,
+        UbiEventAggregator.StringIds objects,
+        UbiEventAggregator.PairIds pairs
+    ) {
+        this.maxRank = maxRank;
+        this.sessionCount = sessionCount;
+        this.sessionOffsets = sessionOffsets;
+        this.clickMasks = clickMasks;
+        this.itemPairs = itemPairs;
+        this.itemRanks = itemRanks;
+        this.queries = queries;
+        this.objects = objects;
+        this.pairs = pairs;
+
+        int itemCount = sessionOffsets[sessionCount];
+        this.pairItemOffsets = new int[pairs.size() + 1];
+        for (int item = 0; item < itemCount; item++) {
+            pairItemOffsets[itemPairs[item] + 1]++;
+        }
+        for (int pair = 0; pair < pairs.size(); pair++) {
+            pairItemOffsets[pair + 1] += pairItemOffsets[pair];
+        }
+        this.pairItems = new int[itemCount];
+        int[] next = Arrays.copyOf(pairItemOffsets, pairs.size());
+        for (int item = 0; item < itemCount; item++) {
+            pairItems[next[itemPairs[item]]++] = item;
+        }
+    }
+
+    public int maxRank() {
+        return maxRank;
+    }
+
+    public int sessionCount() {
+        return sessionCount;
+    }
+
+    public int sessionStart(int session) {
+        return sessionOffsets[session];
+    }
+
+    public int sessionEnd(int session) {
+        return sessionOffsets[session + 1];
+    }
+
+    public long clickMask(int session) {
+        return clickMasks[session];
+    }
+
+    public int itemCount() {
+        return sessionOffsets[sessionCount];
+    }
+
+    public int itemPair(int item) {
+        return itemPairs[item];
+    }
+
+    public int itemRank(int item) {
+        return itemRanks[item];
+    }
+
+    public int pairCount() {
+        return pairs.size();
+    }
+
+    public int pairItemStart(int pair) {
+        return pairItemOffsets[pair];
+    }
+
+    public int pairItemEnd(int pair) {
+        return pairItemOffsets[pair + 1];
+    }
+
+    /**
+     * @param index - index between pairItemStart and pairItemEnd of a pair
+     * @return item id
+     */
+    public int pairItem(int index) {
+        return pairItems[index];
+    }
+
+    public String pairQuery(int pair) {
+        return queries.valueOf((int) (pairs.keyOf(pair) >>> 32));
+    }
+
+    public String pairObject(int pair) {
+        return objects.valueOf((int) pairs.keyOf(pair));
+    }
+
+    /**
+     * Collects the UBI events of sessions, events are grouped into sessions when the sessions are built.
+     * This class is not thread safe, events of a stream are expected to be added by one thread at a time.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+        private static final byte CLICK = 1;
+        private static final byte IMPRESSION = 0;
+
+        private final int maxRank;
+        private final UbiEventAggregator.StringIds sessionKeys = new UbiEventAggregator.StringIds();
+        private final UbiEventAggregator.StringIds queries = new UbiEventAggregator.StringIds();
+        private final UbiEventAggregator.StringIds objects = new UbiEventAggregator.StringIds();
+        private int[] eventSessions = new int[INITIAL_CAPACITY];
+        private int[] eventQueries = new int[INITIAL_CAPACITY];
+        private int[] eventObjects = new int[INITIAL_CAPACITY];
+        private byte[] eventRanks = new byte[INITIAL_CAPACITY];
+        private byte[] eventActions = new byte[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * @param maxRank - number of ranks kept, events at a rank of maxRank or more are ignored, at most {@link #MAX_SESSION_LENGTH}
+         */
+        public Builder(int maxRank) {
+            if (maxRank < 1 || maxRank > MAX_SESSION_LENGTH) {
+                throw new IllegalArgumentException("maxRank must be between 1 and " + MAX_SESSION_LENGTH + " but was " + maxRank);
+            }
+            this.maxRank = maxRank;
+        }
+
+        /**
+         * Add a single event. Events other than clicks and impressions, and events beyond the max rank are ignored.
+         * @param sessionKey - query_id of the event, the search the event belongs to
+         * @param userQuery - user query of the event
+         * @param objectId - object id of the event
+         * @param actionName - action name of the event
+         * @param rank - position ordinal of the event
+         */
+        public void add(String sessionKey, String userQuery, String objectId, String actionName, int rank) {
+            byte action;
+            if (UbiEventAggregator.CLICK_ACTION.equalsIgnoreCase(actionName)) {
+                action = CLICK;
+            } else if (UbiEventAggregator.IMPRESSION_ACTION.equalsIgnoreCase(actionName)) {
+                action = IMPRESSION;
+            } else {
+                return;
+            }
+            if (rank < 0 || rank >= maxRank) {
+                return;
+            }
+            add(sessionKeys.intern(sessionKey), queries.intern(userQuery), objects.intern(objectId), action, (byte) rank);
+        }
+
+        private void add(int session, int query, int object, byte action, byte rank) {
+            if (size == eventSessions.length) {
+                int newLength = size * 2;
+                eventSessions = Arrays.copyOf(eventSessions, newLength);
+                eventQueries = Arrays.copyOf(eventQueries, newLength);
+                eventObjects = Arrays.copyOf(eventObjects, newLength);
+                eventRanks = Arrays.copyOf(eventRanks, newLength);
+                eventActions = Arrays.copyOf(eventActions, newLength);
+            }
+            eventSessions[size] = session;
+            eventQueries[size] = query;
+            eventObjects[size] = object;
+            eventRanks[size] = rank;
+            eventActions[size] = action;
+            size++;
+        }
+
+        /**
+         * Merge the events of another builder, e.g. the builder of another slice of the same events.
+         * The events of a session may be spread over both builders.
+         */
+        public void merge(Builder other) {
+            for (int event = 0; event < other.size; event++) {
+                add(
+                    sessionKeys.intern(other.sessionKeys.valueOf(other.eventSessions[event])),
+                    queries.intern(other.queries.valueOf(other.eventQueries[event])),
+                    objects.intern(other.objects.valueOf(other.eventObjects[event])),
+                    other.eventActions[event],
+                    other.eventRanks[event]
+                );
+            }
+        }
+
+        /**
+         * @return number of events added
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Group the events into sessions. The object shown at a rank is the first object an event reports at that
+         * rank, a click on another object at the same rank is ignored.
+         */
+        public ClickSessions build() {
+            // counting sort of the events by session
+            int sessionKeyCount = sessionKeys.size();
+            int[] eventOffsets = new int[sessionKeyCount + 1];
+            for (int event = 0; event < size; event++) {
+                eventOffsets[eventSessions[event] + 1]++;
+            }
+            for (int session = 0; session < sessionKeyCount; session++) {
+                eventOffsets[session + 1] += eventOffsets[session];
+            }
+            int[] sortedEvents = new int[size];
+            int[] next = Arrays.copyOf(eventOffsets, sessionKeyCount);
+            for (int event = 0; event < size; event++) {
+                sortedEvents[next[eventSessions[event]]++] = event;
+            }
+
+            UbiEventAggregator.PairIds pairs = new UbiEventAggregator.PairIds();
+            int[] sessionOffsets = new int[sessionKeyCount + 1];
+            long[] clickMasks = new long[sessionKeyCount];
+            int[] itemPairs = new int[INITIAL_CAPACITY];
+            byte[] itemRanks = new byte[INITIAL_CAPACITY];
+            int itemCount = 0;
+            int sessionCount = 0;
+
+            int[] rankQueries = new int[maxRank];
+            int[] rankObjects = new int[maxRank];
+            boolean[] rankClicks = new boolean[maxRank];
+            for (int session = 0; session < sessionKeyCount; session++) {
+                Arrays.fill(rankObjects, -1);
+                Arrays.fill(rankClicks, false);
+                for (int index = eventOffsets[session]; index < eventOffsets[session + 1]; index++) {
+                    int event = sortedEvents[index];
+                    int rank = eventRanks[event];
+                    if (rankObjects[rank] == -1) {
+                        rankObjects[rank] = eventObjects[event];
+                        rankQueries[rank] = eventQueries[event];
+                    }
+                    if (eventActions[event] == CLICK && rankObjects[rank] == eventObjects[event]) {
+                        rankClicks[rank] = true;
+                    }
+                }
+
+                long clickMask = 0L;
+                int position = 0;
+                for (int rank = 0; rank < maxRank; rank++) {
+                    if (rankObjects[rank] == -1) {
+                        continue;
+                    }
+                    if (itemCount == itemPairs.length) {
+                        itemPairs = Arrays.copyOf(itemPairs, itemCount * 2);
+                        itemRanks = Arrays.copyOf(itemRanks, itemCount * 2);
+                    }
+                    itemPairs[itemCount] = pairs.add(((long) rankQueries[rank] << 32) | (rankObjects[rank] & 0xFFFFFFFFL));
+                    itemRanks[itemCount] = (byte) rank;
+                    if (rankClicks[rank]) {
+                        clickMask |= 1L << position;
+                    }
+                    itemCount++;
+                    position++;
+                }
+                if (position > 0) {
+                    clickMasks[sessionCount] = clickMask;
+                    sessionOffsets[++sessionCount] = itemCount;
+                }
+            }
+
+            return new ClickSessions(
+                maxRank,
+                sessionCount,
+                Arrays.copyOf(sessionOffsets, sessionCount + 1),
+                Arrays.copyOf(clickMasks, sessionCount),
+                Arrays.copyOf(itemPairs, itemCount),
+                Arrays.copyOf(itemRanks, itemCount),
+                queries,
+                objects,
+                pairs
+            );
+        }
+    }
+}
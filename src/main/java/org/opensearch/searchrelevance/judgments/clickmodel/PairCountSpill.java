@@ -0,0 +1,305 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.core.common.breaker.CircuitBreaker;
+
+/**
+ * Bounds the heap of aggregating UBI events into pair counts. Each slice of the events aggregates into its own
+ * {@link UbiEventAggregator}, whose estimated size is accounted against the memory budget of the calculation and the
+ * search relevance circuit breaker after every page. Once the budget is exceeded the slice writes its pairs as a run
+ * sorted by user query and object id to a temp file and starts over with an empty aggregator. The runs are merged
+ * in one pass at the end, so the heap holds the distinct pairs of the result once instead of a copy per slice.
+ * A calculation that still does not fit into the circuit breaker fails with a {@link
+ * org.opensearch.core.common.breaker.CircuitBreakingException} instead of running the node out of memory.
+ */
+public class PairCountSpill implements Closeable {
+    private static final Logger LOGGER = LogManager.getLogger(PairCountSpill.class);
+    private static final String BREAKER_LABEL = "ubi_click_model";
+    // pairs merged between two checks of the circuit breaker
+    private static final int MERGE_ACCOUNTING_INTERVAL = 4096;
+
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private final CircuitBreaker breaker;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final List<Path> runs = new ArrayList<>();
+    private Path runDirectory;
+    private long mergedBytes;
+
+    /**
+     * @param memoryBudget - bytes the aggregators of all slices may use before a slice spills
+     * @param tempDirectory - node local directory the runs are written to
+     * @param breaker - circuit breaker the used bytes are accounted to
+     */
+    public PairCountSpill(long memoryBudget, Path tempDirectory, CircuitBreaker breaker) {
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+        this.breaker = breaker;
+    }
+
+    /**
+     * Aggregator of a single slice with the bytes accounted for it
+     */
+    public static final class Slice {
+        private UbiEventAggregator aggregator = new UbiEventAggregator();
+        private long accountedBytes;
+
+        public UbiEventAggregator aggregator() {
+            return aggregator;
+        }
+    }
+
+    public Slice newSlice() {
+        return new Slice();
+    }
+
+    /**
+     * Accounts the growth of a slice since its previous page and spills it if the budget is exceeded.
+     */
+    public void afterPage(Slice slice) {
+        long bytes = slice.aggregator.ramBytesUsed();
+        long delta = bytes - slice.accountedBytes;
+        if (usedBytes.get() + delta > memoryBudget && slice.aggregator.size() > 0) {
+            spill(slice);
+            return;
+        }
+        account(delta);
+        slice.accountedBytes = bytes;
+    }
+
+    private void spill(Slice slice) {
+        try {
+            Path run = writeRun(slice.aggregator);
+            LOGGER.debug("Spilled {} pairs to {}", slice.aggregator.size(), run);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill click model counts", e);
+        }
+        release(slice);
+    }
+
+    private void release(Slice slice) {
+        account(-slice.accountedBytes);
+        slice.aggregator = new UbiEventAggregator();
+        slice.accountedBytes = 0;
+    }
+
+    private Path writeRun(UbiEventAggregator aggregator) throws IOException {
+        Path run;
+        synchronized (runs) {
+            if (runDirectory == null) {
+                runDirectory = Files.createTempDirectory(tempDirectory, "search-relevance-pairs");
+            }
+            run = runDirectory.resolve("run-" + runs.size());
+            runs.add(run);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            out.writeInt(aggregator.size());
+            IOException[] failure = new IOException[1];
+            aggregator.forEachPairSorted((userQuery, objectId, clicks, impressions, minRank) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    writeString(out, userQuery);
+                    writeString(out, objectId);
+                    out.writeInt(clicks);
+                    out.writeInt(impressions);
+                    out.writeInt(minRank);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+        return run;
+    }
+
+    /**
+     * @return number of sorted runs written to disk
+     */
+    public int spilledRuns() {
+        synchronized (runs) {
+            return runs.size();
+        }
+    }
+
+    /**
+     * Merges the pairs of all slices into the target. Without spilled runs the slices are merged on heap, otherwise
+     * the slices are spilled as well and the runs are merged, adding each distinct pair to the target once.
+     */
+    public void mergeInto(List<Slice> slices, UbiEventAggregator target) throws IOException {
+        if (spilledRuns() == 0) {
+            for (Slice slice : slices) {
+                target.merge(slice.aggregator);
+                release(slice);
+                accountMerged(target);
+            }
+            return;
+        }
+        for (Slice slice : slices) {
+            if (slice.aggregator.size() > 0) {
+                spill(slice);
+            }
+        }
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(PairCountSpill::compare);
+            synchronized (runs) {
+                for (Path run : runs) {
+                    RunReader reader = new RunReader(run);
+                    readers.add(reader);
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+            }
+            LOGGER.info("Merging {} spilled runs of click model counts", readers.size());
+            int merged = 0;
+            while (!queue.isEmpty()) {
+                RunReader head = queue.poll();
+                String userQuery = head.userQuery;
+                String objectId = head.objectId;
+                int clicks = head.clicks;
+                int impressions = head.impressions;
+                int minRank = head.minRank;
+                advance(head, queue);
+                while (!queue.isEmpty() && userQuery.equals(queue.peek().userQuery) && objectId.equals(queue.peek().objectId)) {
+                    RunReader same = queue.poll();
+                    clicks += same.clicks;
+                    impressions += same.impressions;
+                    minRank = Math.min(minRank, same.minRank);
+                    advance(same, queue);
+                }
+                target.addCounts(userQuery, objectId, clicks, impressions, minRank);
+                if (++merged % MERGE_ACCOUNTING_INTERVAL == 0) {
+                    accountMerged(target);
+                }
+            }
+            accountMerged(target);
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void advance(RunReader reader, PriorityQueue<RunReader> queue) throws IOException {
+        if (reader.next()) {
+            queue.add(reader);
+        }
+    }
+
+    private static int compare(RunReader a, RunReader b) {
+        int byQuery = a.userQuery.compareTo(b.userQuery);
+        return byQuery != 0 ? byQuery : a.objectId.compareTo(b.objectId);
+    }
+
+    /**
+     * Accounts the growth of an aggregator holding the merged pairs, e.g. pairs aggregated by the cluster.
+     */
+    public void accountMerged(UbiEventAggregator target) {
+        long bytes = target.ramBytesUsed();
+        account(bytes - mergedBytes);
+        mergedBytes = bytes;
+    }
+
+    private void account(long delta) {
+        if (delta > 0) {
+            breaker.addEstimateBytesAndMaybeBreak(delta, BREAKER_LABEL);
+        } else if (delta < 0) {
+            breaker.addWithoutBreaking(delta);
+        }
+        usedBytes.addAndGet(delta);
+    }
+
+    /**
+     * Releases the accounted bytes and deletes the spilled runs.
+     */
+    @Override
+    public void close() throws IOException {
+        breaker.addWithoutBreaking(-usedBytes.getAndSet(0));
+        synchronized (runs) {
+            if (runDirectory != null) {
+                for (Path run : runs) {
+                    Files.deleteIfExists(run);
+                }
+                Files.deleteIfExists(runDirectory);
+                runDirectory = null;
+            }
+            runs.clear();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads the pairs of a sorted run one at a time
+     */
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private int remaining;
+        private String userQuery;
+        private String objectId;
+        private int clicks;
+        private int impressions;
+        private int minRank;
+
+        private RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+            this.remaining = in.readInt();
+        }
+
+        private boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            userQuery = readString();
+            objectId = readString();
+            clicks = in.readInt();
+            impressions = in.readInt();
+            minRank = in.readInt();
+            return true;
+        }
+
+        private String readString() throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.InPlaceMergeSorter;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.searchrelevance.model.ClickthroughRate;
+
+/**
+ * Streaming aggregator of UBI events into clicks, impressions and lowest rank per (user_query, object_id) pair.
+ * Query texts and object ids are interned to int ids once, the pairs are kept in a primitive open addressing map
+ * and the counters in int arrays indexed by pair id, so the heap used grows with the number of distinct pairs
+ * instead of the number of events.
+ * This class is not thread safe, events of a stream are expected to be added by one thread at a time.
+ */
+public class UbiEventAggregator implements Accountable {
+    public static final String CLICK_ACTION = "click";
+    public static final String IMPRESSION_ACTION = "impression";
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringIds queries = new StringIds();
+    private final StringIds objects = new StringIds();
+    private final PairIds pairs = new PairIds();
+    private int[] clicks = new int[INITIAL_CAPACITY];
+    private int[] impressions = new int[INITIAL_CAPACITY];
+    private int[] minRanks = new int[INITIAL_CAPACITY];
+
+    /**
+     * Consumer of the aggregated pairs
+     */
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(String userQuery, String objectId, int clicks, int impressions, int minRank);
+    }
+
+    /**
+     * Add a single event. Events other than clicks and impressions register the pair without counting it.
+     * @param userQuery - user query of the event
+     * @param objectId - object id of the event
+     * @param actionName - action name of the event
+     * @param rank - position ordinal of the event
+     */
+    public void add(String userQuery, String objectId, String actionName, int rank) {
+        int pairId = pairIdOf(userQuery, objectId);
+        if (CLICK_ACTION.equalsIgnoreCase(actionName)) {
+            clicks[pairId]++;
+            minRanks[pairId] = Math.min(minRanks[pairId], rank);
+        } else if (IMPRESSION_ACTION.equalsIgnoreCase(actionName)) {
+            impressions[pairId]++;
+            minRanks[pairId] = Math.min(minRanks[pairId], rank);
+        }
+    }
+
+    /**
+     * Merge the pairs of another aggregator, e.g. the aggregator of another slice of the same events.
+     */
+    public void merge(UbiEventAggregator other) {
+        other.forEachPair(this::addCounts);
+    }
+
+    /**
+     * Add the already aggregated counts of a pair, e.g. counts restored from stored click statistics.
+     * @param userQuery - user query of the pair
+     * @param objectId - object id of the pair
+     * @param pairClicks - number of clicks of the pair
+     * @param pairImpressions - number of impressions of the pair
+     * @param minRank - lowest rank the pair was clicked or shown at
+     */
+    public void addCounts(String userQuery, String objectId, int pairClicks, int pairImpressions, int minRank) {
+        int pairId = pairIdOf(userQuery, objectId);
+        clicks[pairId] += pairClicks;
+        impressions[pairId] += pairImpressions;
+        minRanks[pairId] = Math.min(minRanks[pairId], minRank);
+    }
+
+    private int pairIdOf(String userQuery, String objectId) {
+        int queryId = queries.intern(userQuery);
+        int objectIdOrdinal = objects.intern(objectId);
+        int pairCount = pairs.size();
+        int pairId = pairs.add(((long) queryId << 32) | (objectIdOrdinal & 0xFFFFFFFFL));
+        if (pairId == pairCount) {
+            if (pairId == clicks.length) {
+                grow();
+            }
+            minRanks[pairId] = Integer.MAX_VALUE;
+        }
+        return pairId;
+    }
+
+    /**
+     * @return number of distinct (user_query, object_id) pairs
+     */
+    public int size() {
+        return pairs.size();
+    }
+
+    /**
+     * @return number of distinct user queries
+     */
+    public int queryCount() {
+        return queries.size();
+    }
+
+    public void forEachPair(PairConsumer consumer) {
+        for (int pairId = 0; pairId < pairs.size(); pairId++) {
+            long key = pairs.keyOf(pairId);
+            consumer.accept(
+                queries.valueOf((int) (key >>> 32)),
+                objects.valueOf((int) key),
+                clicks[pairId],
+                impressions[pairId],
+                minRanks[pairId]
+            );
+        }
+    }
+
+    /**
+     * Visit the pairs ordered by user query and then object id, the order of the sorted runs of a {@link PairCountSpill}.
+     */
+    public void forEachPairSorted(PairConsumer consumer) {
+        int[] queryRanks = queries.ranks();
+        int[] objectRanks = objects.ranks();
+        int[] queryByRank = inverse(queryRanks);
+        int[] objectByRank = inverse(objectRanks);
+        long[] sortKeys = new long[pairs.size()];
+        for (int pairId = 0; pairId < pairs.size(); pairId++) {
+            long key = pairs.keyOf(pairId);
+            sortKeys[pairId] = ((long) queryRanks[(int) (key >>> 32)] << 32) | (objectRanks[(int) key] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(sortKeys);
+        for (long sortKey : sortKeys) {
+            int queryId = queryByRank[(int) (sortKey >>> 32)];
+            int objectIdOrdinal = objectByRank[(int) sortKey];
+            int pairId = pairs.find(((long) queryId << 32) | (objectIdOrdinal & 0xFFFFFFFFL));
+            consumer.accept(
+                queries.valueOf(queryId),
+                objects.valueOf(objectIdOrdinal),
+                clicks[pairId],
+                impressions[pairId],
+                minRanks[pairId]
+            );
+        }
+    }
+
+    private static int[] inverse(int[] ranks) {
+        int[] inverse = new int[ranks.length];
+        for (int id = 0; id < ranks.length; id++) {
+            inverse[ranks[id]] = id;
+        }
+        return inverse;
+    }
+
+    /**
+     * @return estimate of the heap used by the interned strings, the pair map and the counters
+     */
+    @Override
+    public long ramBytesUsed() {
+        return queries.ramBytesUsed() + objects.ramBytesUsed() + pairs.ramBytesUsed() + RamUsageEstimator.sizeOf(clicks)
+            + RamUsageEstimator.sizeOf(impressions) + RamUsageEstimator.sizeOf(minRanks);
+    }
+
+    /**
+     * Materialize the aggregated pairs as clickthrough rates grouped by user query.
+     */
+    public Map<String, Set<ClickthroughRate>> toClickthroughRates() {
+        Map<String, Set<ClickthroughRate>> queriesToClickthroughRates = new HashMap<>(queries.size() * 2);
+        forEachPair(
+            (userQuery, objectId, pairClicks, pairImpressions, minRank) -> queriesToClickthroughRates.computeIfAbsent(
+                userQuery,
+                k -> new HashSet<>()
+            ).add(new ClickthroughRate(objectId, pairClicks, pairImpressions, minRank))
+        );
+        return queriesToClickthroughRates;
+    }
+
+    private void grow() {
+        int newLength = clicks.length * 2;
+        clicks = Arrays.copyOf(clicks, newLength);
+        impressions = Arrays.copyOf(impressions, newLength);
+        minRanks = Arrays.copyOf(minRanks, newLength);
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Open addressing map of strings to dense int ids, each distinct string is kept once.
+     */
+    static final class StringIds {
+        // slot holds id + 1, 0 marks an empty slot
+        private int[] slots = new int[INITIAL_CAPACITY * 2];
+        private String[] values = new String[INITIAL_CAPACITY];
+        private int size;
+        private long valueBytes;
+
+        int intern(String value) {
+            int mask = slots.length - 1;
+            int slot = mix(value.hashCode()) & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot] - 1;
+                if (values[id].equals(value)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int id = size++;
+            if (id == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[id] = value;
+            valueBytes += RamUsageEstimator.sizeOf(value);
+            slots[slot] = id + 1;
+            if (size * 4L >= slots.length * 3L) {
+                rehash();
+            }
+            return id;
+        }
+
+        String valueOf(int id) {
+            return values[id];
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return rank of each id in the natural order of the strings
+         */
+        int[] ranks() {
+            int[] order = new int[size];
+            for (int id = 0; id < size; id++) {
+                order[id] = id;
+            }
+            new InPlaceMergeSorter() {
+                @Override
+                protected int compare(int i, int j) {
+                    return values[order[i]].compareTo(values[order[j]]);
+                }
+
+                @Override
+                protected void swap(int i, int j) {
+                    int id = order[i];
+                    order[i] = order[j];
+                    order[j] = id;
+                }
+            }.sort(0, size);
+            return inverse(order);
+        }
+
+        long ramBytesUsed() {
+            return RamUsageEstimator.sizeOf(slots) + RamUsageEstimator.shallowSizeOf(values) + valueBytes;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = mix(values[id].hashCode()) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+    }
+
+    /**
+     * Open addressing map of long keys to dense int ids.
+     */
+    static final class PairIds {
+        // slot holds id + 1, 0 marks an empty slot
+        private int[] slots = new int[INITIAL_CAPACITY * 2];
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private int size;
+
+        int add(long key) {
+            int mask = slots.length - 1;
+            int slot = mix(key) & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot] - 1;
+                if (keys[id] == key) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int id = size++;
+            if (id == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[id] = key;
+            slots[slot] = id + 1;
+            if (size * 4L >= slots.length * 3L) {
+                rehash();
+            }
+            return id;
+        }
+
+        /**
+         * @return id of the key, -1 if the key was not added
+         */
+        int find(long key) {
+            int mask = slots.length - 1;
+            int slot = mix(key) & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot] - 1;
+                if (keys[id] == key) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        long keyOf(int id) {
+            return keys[id];
+        }
+
+        long ramBytesUsed() {
+            return RamUsageEstimator.sizeOf(slots) + RamUsageEstimator.sizeOf(keys);
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = mix(keys[id]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+    }
+}
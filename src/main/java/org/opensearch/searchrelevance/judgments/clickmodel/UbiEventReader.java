@@ -0,0 +1,143 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel;
+
+import java.io.IOException;
+
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+
+import lombok.Getter;
+
+/**
+ * Streaming reader of the UBI event fields used by click models. It parses the hit source bytes with a pull parser
+ * and keeps only the needed fields, instead of deserializing every hit into a UbiEvent object graph.
+ * A reader is reused across hits, each call of {@link #read(BytesReference)} replaces the fields of the previous event.
+ */
+@Getter
+public class UbiEventReader {
+    public static final int MISSING_POSITION = -1;
+
+    private String queryId;
+    private String actionName;
+    private String userQuery;
+    private String sessionId;
+    private String timestamp;
+    private String objectId;
+    private int position;
+
+    /**
+     * Read the event fields from the hit source.
+     * @param source - hit source, see SearchHit.getSourceRef
+     * @return true if the source is a json object, false otherwise
+     */
+    public boolean read(BytesReference source) throws IOException {
+        reset();
+        if (source == null) {
+            return false;
+        }
+        try (
+            XContentParser parser = JsonXContent.jsonXContent.createParser(
+                NamedXContentRegistry.EMPTY,
+                DeprecationHandler.IGNORE_DEPRECATIONS,
+                source.streamInput()
+            )
+        ) {
+            if (parser.nextToken() != XContentParser.Token.START_OBJECT) {
+                return false;
+            }
+            parseEvent(parser);
+            return true;
+        }
+    }
+
+    /**
+     * @return true if the event has the fields needed to aggregate clicks per query and object
+     */
+    public boolean hasQueryAndObject() {
+        return userQuery != null && objectId != null && position != MISSING_POSITION;
+    }
+
+    private void parseEvent(XContentParser parser) throws IOException {
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            String field = parser.currentName();
+            XContentParser.Token token = parser.nextToken();
+            switch (field) {
+                case "query_id" -> queryId = textValue(parser, token);
+                case "action_name" -> actionName = textValue(parser, token);
+                case "user_query" -> userQuery = textValue(parser, token);
+                case "session_id" -> sessionId = textValue(parser, token);
+                case "timestamp" -> timestamp = textValue(parser, token);
+                case "event_attributes" -> {
+                    if (token == XContentParser.Token.START_OBJECT) {
+                        parseEventAttributes(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseEventAttributes(XContentParser parser) throws IOException {
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            String field = parser.currentName();
+            XContentParser.Token token = parser.nextToken();
+            if ("object".equals(field) && token == XContentParser.Token.START_OBJECT) {
+                parseNestedField(parser, "object_id", true);
+            } else if ("position".equals(field) && token == XContentParser.Token.START_OBJECT) {
+                parseNestedField(parser, "ordinal", false);
+            } else if ("session_id".equals(field) && sessionId == null) {
+                sessionId = textValue(parser, token);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseNestedField(XContentParser parser, String fieldName, boolean isObjectId) throws IOException {
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            String field = parser.currentName();
+            XContentParser.Token token = parser.nextToken();
+            if (!fieldName.equals(field)) {
+                parser.skipChildren();
+            } else if (isObjectId) {
+                objectId = textValue(parser, token);
+            } else if (token.isValue() && token != XContentParser.Token.VALUE_NULL) {
+                position = parser.intValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static String textValue(XContentParser parser, XContentParser.Token token) throws IOException {
+        if (token == XContentParser.Token.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isValue()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.text();
+    }
+
+    private void reset() {
+        queryId = null;
+        actionName = null;
+        userQuery = null;
+        sessionId = null;
+        timestamp = null;
+        objectId = null;
+        position = MISSING_POSITION;
+    }
+}
@@ -8,7 +8,9 @@
 package org.opensearch.searchrelevance.judgments.clickmodel.coec;
 
 import static org.opensearch.searchrelevance.common.PluginConstants.UBI_EVENTS_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_ROLLUP_INDEX;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -16,7 +18,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -29,16 +30,33 @@ import org.opensearch.action.search.SearchScrollRequest;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.filter.Filter;
 import org.opensearch.search.aggregations.bucket.terms.Terms;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.Min;
+import org.opensearch.search.aggregations.metrics.Sum;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.searchrelevance.judgments.clickmodel.ClickModel;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickModelMemoryBudget;
+import org.opensearch.searchrelevance.judgments.clickmodel.PairCountSpill;
+import org.opensearch.searchrelevance.judgments.clickmodel.UbiEventAggregator;
+import org.opensearch.searchrelevance.judgments.clickmodel.UbiEventReader;
 import org.opensearch.searchrelevance.model.ClickthroughRate;
 import org.opensearch.searchrelevance.model.ubi.event.UbiEvent;
+import org.opensearch.searchrelevance.shared.StashedThreadContext;
+import org.opensearch.searchrelevance.ubi.UbiRollupService;
+import org.opensearch.searchrelevance.ubi.UbiSlicedReader;
 import org.opensearch.searchrelevance.utils.JsonUtils;
 import org.opensearch.transport.client.Client;
 
@@ -48,67 +66,82 @@ public class CoecClickModel extends ClickModel {
     private static final TimeValue SEARCH_TIMEOUT = TimeValue.timeValueMinutes(5);
     private static final int SCROLL_SIZE = 1000;
     private static final TimeValue SCROLL_TIMEOUT = TimeValue.timeValueMinutes(10);
+    private static final int COMPOSITE_PAGE_SIZE = 1000;
+
+    private static final String QUERY_DOC_PAIRS_AGG = "query_doc_pairs";
+    private static final String USER_QUERY_SOURCE = "user_query";
+    private static final String OBJECT_ID_SOURCE = "object_id";
+    private static final String CLICKS_AGG = "clicks";
+    private static final String IMPRESSIONS_AGG = "impressions";
+    private static final String INTERACTIONS_AGG = "interactions";
+    private static final String MIN_RANK_AGG = "min_rank";
+    private static final String COUNT_AGG = "count";
 
     private final CoecClickModelParameters parameters;
     private final Client client;
+    private final ClickModelMemoryBudget memoryBudget;
 
     private static final Logger LOGGER = LogManager.getLogger(CoecClickModel.class.getName());
 
     public CoecClickModel(final Client client, final CoecClickModelParameters parameters) {
+        this(client, parameters, ClickModelMemoryBudget.unbounded());
+    }
+
+    public CoecClickModel(final Client client, final CoecClickModelParameters parameters, final ClickModelMemoryBudget memoryBudget) {
         this.parameters = parameters;
         this.client = client;
+        this.memoryBudget = memoryBudget;
     }
 
     @Override
     public void calculateJudgments(ActionListener<List<Map<String, Object>>> listener) {
-        // Step 1: Calculate rank-aggregated click-through
-        getRankAggregatedClickThrough(ActionListener.wrap(rankAggregatedClickThrough -> {
-            // Step 2: Get clickthrough rates
-            getClickthroughRate(ActionListener.wrap(clickthroughRates -> {
-                try {
-                    // Step 3: Calculate final judgments
-                    calculateCoecJudgments(rankAggregatedClickThrough, clickthroughRates, listener);
-                } catch (Exception e) {
-                    listener.onFailure(e);
-                }
-            }, listener::onFailure));
+        collectStatistics(ActionListener.wrap(statistics -> {
+            try {
+                calculateJudgments(statistics, listener);
+            } catch (Exception e) {
+                listener.onFailure(e);
+            }
         }, listener::onFailure));
     }
 
-    private void getRankAggregatedClickThrough(ActionListener<Map<Integer, Double>> listener) {
-        LOGGER.info("Starting rank aggregated clickthrough calculation");
-
-        String startDate = parameters.getStartDate();
-        String endDate = parameters.getEndDate();
+    /**
+     * Collects the click statistics of the UBI events selected by the parameters.
+     */
+    public void collectStatistics(ActionListener<CoecClickStatistics> listener) {
+        CoecClickStatistics statistics = new CoecClickStatistics(parameters.getMaxRank());
+        // Step 1: Count clicks and impressions per rank
+        collectRankCounts(statistics, ActionListener.wrap(rankCounts -> {
+            // Step 2: Count clicks and impressions per query and document
+            collectPairCounts(statistics, listener);
+        }, listener::onFailure));
+    }
 
-        RangeQueryBuilder dateFilter = QueryBuilders.rangeQuery("timestamp")
-            .format("yyyy-MM-dd")
-            .lte(endDate.equals("") ? null : endDate)
-            .gte(startDate.equals("") ? null : startDate);
+    /**
+     * Calculates the judgments from click statistics, e.g. statistics of older events merged with newer ones.
+     */
+    public void calculateJudgments(CoecClickStatistics statistics, ActionListener<List<Map<String, Object>>> listener) {
+        // Step 3: Calculate final judgments
+        calculateCoecJudgments(statistics.getRankAggregatedClickThrough(), statistics.getPairs(), listener);
+    }
 
-        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-            .must(QueryBuilders.rangeQuery("event_attributes.position.ordinal").lte(parameters.getMaxRank()))
-            .must(dateFilter);
+    private void collectRankCounts(CoecClickStatistics statistics, ActionListener<CoecClickStatistics> listener) {
+        LOGGER.info("Starting rank aggregated clickthrough calculation");
 
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(queryBuilder).size(SCROLL_SIZE).timeout(SEARCH_TIMEOUT);
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(countsQuery())
+            .size(SCROLL_SIZE)
+            .timeout(SEARCH_TIMEOUT);
 
         // Add aggregations to see distribution
         TermsAggregationBuilder actionAgg = AggregationBuilders.terms("actions")
             .field("action_name")
-            .subAggregation(
-                AggregationBuilders.terms("positions").field("event_attributes.position.ordinal").size(parameters.getMaxRank())
-            );
+            .subAggregation(withCount(AggregationBuilders.terms("positions").field(positionField()).size(parameters.getMaxRank())));
 
         searchSourceBuilder.aggregation(actionAgg);
 
-        SearchRequest searchRequest = new SearchRequest(UBI_EVENTS_INDEX).source(searchSourceBuilder);
+        SearchRequest searchRequest = new SearchRequest(countsIndex()).source(searchSourceBuilder);
 
-        client.search(searchRequest, ActionListener.wrap(response -> {
+        searchCounts(searchRequest, ActionListener.wrap(response -> {
             try {
-                Map<Integer, Double> rankAggregatedClickThrough = new HashMap<>();
-                Map<Integer, Long> clickCounts = new HashMap<>();
-                Map<Integer, Long> impressionCounts = new HashMap<>();
-
                 Terms actionTerms = response.getAggregations().get("actions");
 
                 // Log overall statistics
@@ -122,50 +155,194 @@ public class CoecClickModel extends ClickModel {
                     Terms positionTerms = actionBucket.getAggregations().get("positions");
                     for (Terms.Bucket positionBucket : positionTerms.getBuckets()) {
                         int position = Integer.parseInt(positionBucket.getKeyAsString());
-                        long count = positionBucket.getDocCount();
-
-                        if ("click".equalsIgnoreCase(action)) {
-                            clickCounts.put(position, count);
-                            LOGGER.debug("Position {} clicks: {}", position, count);
-                        } else if ("impression".equalsIgnoreCase(action)) {
-                            impressionCounts.put(position, count);
-                            LOGGER.debug("Position {} impressions: {}", position, count);
-                        }
+                        long count = countOf(positionBucket.getDocCount(), positionBucket.getAggregations());
+                        LOGGER.debug("Position {} {}: {}", position, action, count);
+                        statistics.addRankCount(action, position, count);
                     }
                 }
+                LOGGER.debug("Rank aggregated clickthrough: {}", statistics.getRankAggregatedClickThrough());
 
-                // Calculate CTR for each position
-                for (int rank = 0; rank < parameters.getMaxRank(); rank++) {
-                    long impressions = impressionCounts.getOrDefault(rank, 0L);
-                    long clicks = clickCounts.getOrDefault(rank, 0L);
+                listener.onResponse(statistics);
+            } catch (Exception e) {
+                LOGGER.error("Error processing aggregations", e);
+                listener.onFailure(e);
+            }
+        }, e -> {
+            LOGGER.error("Search failed", e);
+            listener.onFailure(e);
+        }));
+    }
 
-                    LOGGER.debug("Rank {}: {} clicks / {} impressions", rank, clicks, impressions);
+    private void collectPairCounts(CoecClickStatistics statistics, ActionListener<CoecClickStatistics> listener) {
+        PairCountSpill spill = memoryBudget.newSpill();
+        ActionListener<CoecClickStatistics> releasingListener = ActionListener.runBefore(listener, () -> {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to delete spilled click model counts", e);
+            }
+        });
+        if (parameters.isServerSideAggregation() || isRollup()) {
+            getAggregatedClickthroughRate(statistics, spill, releasingListener);
+        } else {
+            getStreamedClickthroughRate(statistics, spill, releasingListener);
+        }
+    }
 
-                    if (impressions > 0) {
-                        double ctr = (double) clicks / impressions;
-                        rankAggregatedClickThrough.put(rank, ctr);
-                        LOGGER.debug("CTR for rank {}: {}", rank, ctr);
-                    } else {
-                        rankAggregatedClickThrough.put(rank, 0.0);
-                        LOGGER.debug("No impressions for rank {}, CTR set to 0", rank);
-                    }
+    /**
+     * Computes clicks, impressions and the lowest rank per (user_query, object_id) with a composite aggregation,
+     * paging through the buckets so only the aggregated counts are sent back instead of every UBI event.
+     */
+    private void getAggregatedClickthroughRate(
+        CoecClickStatistics statistics,
+        PairCountSpill spill,
+        ActionListener<CoecClickStatistics> listener
+    ) {
+        LOGGER.info("Starting clickthrough rate calculation with composite aggregation");
+        List<CompositeValuesSourceBuilder<?>> sources = List.of(
+            new TermsValuesSourceBuilder(USER_QUERY_SOURCE).field("user_query"),
+            new TermsValuesSourceBuilder(OBJECT_ID_SOURCE).field(objectIdField())
+        );
+        CompositeAggregationBuilder compositeAgg = AggregationBuilders.composite(QUERY_DOC_PAIRS_AGG, sources)
+            .size(COMPOSITE_PAGE_SIZE)
+            .subAggregation(withCount(AggregationBuilders.filter(CLICKS_AGG, actionQuery("click"))))
+            .subAggregation(withCount(AggregationBuilders.filter(IMPRESSIONS_AGG, actionQuery("impression"))))
+            .subAggregation(
+                AggregationBuilders.filter(
+                    INTERACTIONS_AGG,
+                    QueryBuilders.boolQuery().should(actionQuery("click")).should(actionQuery("impression")).minimumShouldMatch(1)
+                ).subAggregation(AggregationBuilders.min(MIN_RANK_AGG).field(positionField()))
+            );
+
+        processClickthroughAggregation(compositeAgg, null, statistics, spill, listener);
+    }
+
+    private void processClickthroughAggregation(
+        CompositeAggregationBuilder compositeAgg,
+        Map<String, Object> afterKey,
+        CoecClickStatistics statistics,
+        PairCountSpill spill,
+        ActionListener<CoecClickStatistics> listener
+    ) {
+        if (afterKey != null) {
+            compositeAgg.aggregateAfter(afterKey);
+        }
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(countsQuery())
+            .size(0)
+            .timeout(SEARCH_TIMEOUT)
+            .aggregation(compositeAgg);
+        SearchRequest searchRequest = new SearchRequest(countsIndex()).source(searchSourceBuilder);
+
+        searchCounts(searchRequest, ActionListener.wrap(response -> {
+            try {
+                CompositeAggregation queryDocPairs = response.getAggregations() == null
+                    ? null
+                    : response.getAggregations().get(QUERY_DOC_PAIRS_AGG);
+                if (queryDocPairs == null || queryDocPairs.getBuckets().isEmpty()) {
+                    LOGGER.info("Completed clickthrough rate calculation with {} queries", statistics.getPairs().queryCount());
+                    listener.onResponse(statistics);
+                    return;
                 }
+                LOGGER.debug("Processing page of {} query-document buckets", queryDocPairs.getBuckets().size());
 
-                listener.onResponse(rankAggregatedClickThrough);
+                for (CompositeAggregation.Bucket bucket : queryDocPairs.getBuckets()) {
+                    String userQuery = String.valueOf(bucket.getKey().get(USER_QUERY_SOURCE));
+                    String objectId = String.valueOf(bucket.getKey().get(OBJECT_ID_SOURCE));
+                    addPairCounts(statistics.getPairs(), userQuery, objectId, bucket.getAggregations());
+                }
+                // the buckets are distinct pairs already, they are accounted to the circuit breaker but never spilled
+                spill.accountMerged(statistics.getPairs());
+
+                if (queryDocPairs.afterKey() == null) {
+                    listener.onResponse(statistics);
+                } else {
+                    processClickthroughAggregation(compositeAgg, queryDocPairs.afterKey(), statistics, spill, listener);
+                }
             } catch (Exception e) {
-                LOGGER.error("Error processing aggregations", e);
+                LOGGER.error("Error processing clickthrough aggregation", e);
                 listener.onFailure(e);
             }
         }, e -> {
-            LOGGER.error("Search failed", e);
+            LOGGER.error("Clickthrough aggregation failed", e);
             listener.onFailure(e);
         }));
     }
 
-    private void getClickthroughRate(ActionListener<Map<String, Set<ClickthroughRate>>> listener) {
-        LOGGER.info("Starting clickthrough rate calculation");
-        Map<String, Set<ClickthroughRate>> queriesToClickthroughRates = new ConcurrentHashMap<>();
+    private void addPairCounts(UbiEventAggregator pairs, String userQuery, String objectId, Aggregations aggregations) {
+        Filter clicks = aggregations.get(CLICKS_AGG);
+        Filter impressions = aggregations.get(IMPRESSIONS_AGG);
+        Filter interactions = aggregations.get(INTERACTIONS_AGG);
+        Min minRank = interactions.getAggregations().get(MIN_RANK_AGG);
+        // min of an empty bucket is infinite, matching the rank of a pair that was never clicked or shown
+        int rank = Double.isInfinite(minRank.getValue()) ? Integer.MAX_VALUE : (int) minRank.getValue();
+        pairs.addCounts(
+            userQuery,
+            objectId,
+            toIntCount(countOf(clicks.getDocCount(), clicks.getAggregations())),
+            toIntCount(countOf(impressions.getDocCount(), impressions.getAggregations())),
+            rank
+        );
+    }
+
+    private static int toIntCount(long docCount) {
+        return (int) Math.min(docCount, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The counts are read from the UBI rollup when the parameters carry its upper bound, from the raw events otherwise.
+     */
+    private boolean isRollup() {
+        return parameters.getRolledUpUntil() != null;
+    }
+
+    private String countsIndex() {
+        return isRollup() ? UBI_ROLLUP_INDEX : UBI_EVENTS_INDEX;
+    }
+
+    private String positionField() {
+        return isRollup() ? UbiRollupService.POSITION_FIELD : "event_attributes.position.ordinal";
+    }
 
+    private String objectIdField() {
+        return isRollup() ? UbiRollupService.OBJECT_ID_FIELD : "event_attributes.object.object_id";
+    }
+
+    private QueryBuilder countsQuery() {
+        return isRollup() ? buildRollupQuery() : buildEventsQuery();
+    }
+
+    private void searchCounts(SearchRequest searchRequest, ActionListener<SearchResponse> listener) {
+        if (isRollup()) {
+            // the rollup is a system index
+            StashedThreadContext.run(client, () -> client.search(searchRequest, listener));
+        } else {
+            client.search(searchRequest, listener);
+        }
+    }
+
+    /**
+     * Adds the sum of the rollup counts to a bucket aggregation, a rollup document stands for count events.
+     */
+    private <T extends AggregationBuilder> T withCount(T aggregation) {
+        if (isRollup()) {
+            aggregation.subAggregation(AggregationBuilders.sum(COUNT_AGG).field(UbiRollupService.COUNT_FIELD));
+        }
+        return aggregation;
+    }
+
+    private long countOf(long docCount, Aggregations aggregations) {
+        if (!isRollup()) {
+            return docCount;
+        }
+        Sum count = aggregations.get(COUNT_AGG);
+        return (long) count.getValue();
+    }
+
+    private static QueryBuilder actionQuery(String actionName) {
+        return QueryBuilders.termQuery("action_name", actionName).caseInsensitive(true);
+    }
+
+    private BoolQueryBuilder buildEventsQuery() {
         String startDate = parameters.getStartDate();
         String endDate = parameters.getEndDate();
 
@@ -177,97 +354,92 @@ public class CoecClickModel extends ClickModel {
         BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
             .must(QueryBuilders.rangeQuery("event_attributes.position.ordinal").lte(parameters.getMaxRank()))
             .must(dateFilter);
-
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(queryBuilder)
-            .size(SCROLL_SIZE)
-            .timeout(SEARCH_TIMEOUT)
-            .fetchSource(
-                new String[] {
-                    "query_id",
-                    "action_name",
-                    "user_query",
-                    "event_attributes.object.object_id",
-                    "event_attributes.position.ordinal" },
-                null
+        if (parameters.getEventsAfter() != null || parameters.getEventsUntil() != null) {
+            // only the events logged after the watermark of already collected statistics
+            queryBuilder.must(
+                QueryBuilders.rangeQuery("timestamp")
+                    .format("strict_date_optional_time")
+                    .gt(parameters.getEventsAfter())
+                    .lte(parameters.getEventsUntil())
             );
+        }
+        return queryBuilder;
+    }
 
-        SearchRequest searchRequest = new SearchRequest(UBI_EVENTS_INDEX).source(searchSourceBuilder).scroll(SCROLL_TIMEOUT);
+    private BoolQueryBuilder buildRollupQuery() {
+        String startDate = parameters.getStartDate();
+        String endDate = parameters.getEndDate();
+
+        RangeQueryBuilder dayFilter = QueryBuilders.rangeQuery(UbiRollupService.DAY_FIELD)
+            .format(UbiRollupService.DAY_FORMAT)
+            .lte(endDate.equals("") ? null : endDate)
+            .gte(startDate.equals("") ? null : startDate);
 
-        processClickthroughSearch(searchRequest, queriesToClickthroughRates, listener);
+        // search counts have no position and are left out by the position filter
+        return QueryBuilders.boolQuery()
+            .must(QueryBuilders.rangeQuery(UbiRollupService.POSITION_FIELD).lte(parameters.getMaxRank()))
+            .must(dayFilter);
     }
 
-    private void processClickthroughSearch(
-        SearchRequest searchRequest,
-        Map<String, Set<ClickthroughRate>> queriesToClickthroughRates,
-        ActionListener<Map<String, Set<ClickthroughRate>>> listener
+    /**
+     * Streams the UBI events with sliced point in time reads, each slice aggregates its events on its own
+     * and the slice aggregators are merged once all slices are read. Slices exceeding the memory budget spill sorted
+     * runs of their counts to disk, which are merged with the remaining slices at the end.
+     */
+    private void getStreamedClickthroughRate(
+        CoecClickStatistics statistics,
+        PairCountSpill spill,
+        ActionListener<CoecClickStatistics> listener
     ) {
-        client.search(searchRequest, new ActionListener<SearchResponse>() {
-            @Override
-            public void onResponse(SearchResponse response) {
-                SearchHit[] hits = response.getHits().getHits();
-                LOGGER.info("Processing batch of {} hits", hits.length);
-
-                for (SearchHit hit : hits) {
-                    try {
-                        UbiEvent event = JsonUtils.fromJson(hit.getSourceAsString(), UbiEvent.class);
-                        String userQuery = event.getUserQuery();
-                        String objectId = event.getEventAttributes().getObject().getObjectId();
-                        String action = event.getActionName();
-                        int rank = event.getEventAttributes().getPosition().getOrdinal();
-
-                        Set<ClickthroughRate> rates = queriesToClickthroughRates.computeIfAbsent(
-                            userQuery,
-                            k -> ConcurrentHashMap.newKeySet()
-                        );
-
-                        ClickthroughRate rate = rates.stream().filter(r -> r.getObjectId().equals(objectId)).findFirst().orElseGet(() -> {
-                            ClickthroughRate newRate = new ClickthroughRate(objectId);
-                            rates.add(newRate);
-                            return newRate;
-                        });
-
-                        if ("click".equalsIgnoreCase(action)) {
-                            rate.logClick();
-                            rate.logRank(rank);
-                            LOGGER.debug("Logged click for query: {} doc: {} rank: {}", userQuery, objectId, rank);
-                        } else if ("impression".equalsIgnoreCase(action)) {
-                            rate.logImpression();
-                            rate.logRank(rank);
-                            LOGGER.debug("Logged impression for query: {} doc: {} rank: {}", userQuery, objectId, rank);
-                        }
-                    } catch (Exception e) {
-                        LOGGER.warn("Error processing hit: " + hit.getId(), e);
-                    }
-                }
-
-                if (hits.length == 0) {
-                    // Print final statistics
-                    for (Map.Entry<String, Set<ClickthroughRate>> entry : queriesToClickthroughRates.entrySet()) {
-                        LOGGER.debug("Query: {} - Number of docs: {}", entry.getKey(), entry.getValue().size());
-                        for (ClickthroughRate rate : entry.getValue()) {
-                            LOGGER.debug(
-                                "Doc: {} - Clicks: {} Impressions: {}",
-                                rate.getObjectId(),
-                                rate.getClicks(),
-                                rate.getImpressions()
-                            );
-                        }
-                    }
+        LOGGER.info("Starting clickthrough rate calculation");
+        String[] includes = new String[] {
+            "query_id",
+            "action_name",
+            "user_query",
+            "event_attributes.object.object_id",
+            "event_attributes.position.ordinal" };
+
+        new UbiSlicedReader(client).read(
+            UBI_EVENTS_INDEX,
+            buildEventsQuery(),
+            includes,
+            () -> new EventSlice(new UbiEventReader(), spill.newSlice()),
+            (slice, hits) -> aggregateEvents(spill, slice, hits),
+            ActionListener.wrap(slices -> {
+                UbiEventAggregator eventAggregator = statistics.getPairs();
+                spill.mergeInto(slices.stream().map(EventSlice::counts).toList(), eventAggregator);
+                LOGGER.info(
+                    "Completed clickthrough rate calculation with {} queries and {} query-document pairs from {} spilled runs",
+                    eventAggregator.queryCount(),
+                    eventAggregator.size(),
+                    spill.spilledRuns()
+                );
+                listener.onResponse(statistics);
+            }, e -> {
+                LOGGER.error("Search failed", e);
+                listener.onFailure(e);
+            })
+        );
+    }
 
-                    listener.onResponse(queriesToClickthroughRates);
-                } else {
-                    // Continue scrolling
-                    SearchScrollRequest scrollRequest = new SearchScrollRequest(response.getScrollId()).scroll(SCROLL_TIMEOUT);
-                    client.searchScroll(scrollRequest, this);
+    private void aggregateEvents(PairCountSpill spill, EventSlice slice, SearchHit[] hits) {
+        LOGGER.debug("Processing batch of {} hits", hits.length);
+        UbiEventReader reader = slice.reader();
+        UbiEventAggregator aggregator = slice.counts().aggregator();
+        for (SearchHit hit : hits) {
+            try {
+                if (reader.read(hit.getSourceRef()) && reader.hasQueryAndObject()) {
+                    aggregator.add(reader.getUserQuery(), reader.getObjectId(), reader.getActionName(), reader.getPosition());
                 }
+            } catch (Exception e) {
+                LOGGER.warn("Error processing hit: " + hit.getId(), e);
             }
+        }
+        // may spill the counts of the slice, or fail the read if the circuit breaker trips
+        spill.afterPage(slice.counts());
+    }
 
-            @Override
-            public void onFailure(Exception e) {
-                LOGGER.error("Search failed", e);
-                listener.onFailure(e);
-            }
-        });
+    private record EventSlice(UbiEventReader reader, PairCountSpill.Slice counts) {
     }
 
     private void processClickEvents(Map<Integer, Long> clickCounts, ActionListener<Map<Integer, Long>> listener) {
@@ -682,52 +854,38 @@ public class CoecClickModel extends ClickModel {
 
     private void calculateCoecJudgments(
         Map<Integer, Double> rankAggregatedClickThrough,
-        Map<String, Set<ClickthroughRate>> clickthroughRates,
+        UbiEventAggregator pairs,
         ActionListener<List<Map<String, Object>>> listener
     ) {
         LOGGER.debug("Starting COEC calculation with rank CTR: {}", rankAggregatedClickThrough);
-        List<Map<String, Object>> judgmentRatings = new ArrayList<>();
-
-        for (Map.Entry<String, Set<ClickthroughRate>> entry : clickthroughRates.entrySet()) {
-            String userQuery = entry.getKey();
-            Map<String, String> docScores = new HashMap<>();
-
-            for (ClickthroughRate ctr : entry.getValue()) {
-                // Get the lowest rank at which this query-document pair was interacted with
-                int observedRank = ctr.getRank();
-                double expectedCtrForThisRank = rankAggregatedClickThrough.getOrDefault(observedRank, 0.0);
-                // Calculate expected clicks for *this* document at its observed rank
-                double expectedClicksForDocAtRank = expectedCtrForThisRank * ctr.getImpressions();
-
-                // Calculate COEC rating
-                double rating;
-                if (expectedClicksForDocAtRank > 0) {
-                    rating = ctr.getClicks() / expectedClicksForDocAtRank;
-                } else {
-                    // if there are neither impressions nor a rank-aggregated CTR the COEC rating is 0
-                    rating = 0.0;
-                }
-                LOGGER.debug("judgment rating: {}, query: {}, doc: {}, rank: {}", rating, userQuery, ctr.getObjectId(), observedRank);
-                docScores.put(ctr.getObjectId(), String.format(Locale.ROOT, "%.3f", rating));
+        // ratings are formatted straight from the primitive pair counts, without a ClickthroughRate object per pair
+        Map<String, Map<String, String>> queryDocScores = new HashMap<>(pairs.queryCount() * 2);
+        pairs.forEachPair((userQuery, objectId, clicks, impressions, observedRank) -> {
+            // the lowest rank at which this query-document pair was interacted with
+            double expectedCtrForThisRank = rankAggregatedClickThrough.getOrDefault(observedRank, 0.0);
+            // Calculate expected clicks for *this* document at its observed rank
+            double expectedClicksForDocAtRank = expectedCtrForThisRank * impressions;
+
+            // Calculate COEC rating
+            double rating;
+            if (expectedClicksForDocAtRank > 0) {
+                rating = clicks / expectedClicksForDocAtRank;
+            } else {
+                // if there are neither impressions nor a rank-aggregated CTR the COEC rating is 0
+                rating = 0.0;
             }
+            LOGGER.debug("judgment rating: {}, query: {}, doc: {}, rank: {}", rating, userQuery, objectId, observedRank);
+            queryDocScores.computeIfAbsent(userQuery, k -> new HashMap<>()).put(objectId, String.format(Locale.ROOT, "%.3f", rating));
+        });
 
-            if (!docScores.isEmpty()) {
-                Map<String, Object> queryRating = new HashMap<>();
-                queryRating.put("query", userQuery);
-                queryRating.put("ratings", docScores);
-                judgmentRatings.add(queryRating);
-            }
-            LOGGER.debug(
-                "Final judgment ratings size - Queries: {}, Total Documents: {}",
-                judgmentRatings.size(),
-                judgmentRatings.stream().mapToInt(item -> ((Map<String, Object>) item.get("ratings")).size()).sum()
-            );
+        List<Map<String, Object>> judgmentRatings = new ArrayList<>(queryDocScores.size());
+        for (Map.Entry<String, Map<String, String>> entry : queryDocScores.entrySet()) {
+            Map<String, Object> queryRating = new HashMap<>();
+            queryRating.put("query", entry.getKey());
+            queryRating.put("ratings", entry.getValue());
+            judgmentRatings.add(queryRating);
         }
-        LOGGER.debug(
-            "Final judgment ratings size - Queries: {}, Total Documents: {}",
-            judgmentRatings.size(),
-            judgmentRatings.stream().mapToInt(item -> ((Map<String, Object>) item.get("ratings")).size()).sum()
-        );
+        LOGGER.debug("Final judgment ratings size - Queries: {}, Total Documents: {}", judgmentRatings.size(), pairs.size());
         listener.onResponse(judgmentRatings);
     }
 
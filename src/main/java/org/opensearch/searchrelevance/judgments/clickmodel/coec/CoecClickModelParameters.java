@@ -19,6 +19,10 @@ public class CoecClickModelParameters extends ClickModelParameters {
 
     private String startDate;
     private String endDate;
+    private boolean serverSideAggregation = true;
+    private String eventsAfter;
+    private String eventsUntil;
+    private String rolledUpUntil;
 
     /**
      * Creates new parameters.
@@ -50,6 +54,51 @@ public class CoecClickModelParameters extends ClickModelParameters {
         this.roundingDigits = roundingDigits;
     }
 
+    /**
+     * Creates new parameters which includes the UBI event dates to consider and how click counts are computed.
+     * @param maxRank The max rank to use when calculating the judgments.
+     * @param startDate The start date for filtered date range.
+     * @param endDate The end date for filtered date range.
+     * @param serverSideAggregation Whether clicks and impressions per query and document are aggregated by the cluster
+     *                              instead of streaming all UBI events.
+     */
+    public CoecClickModelParameters(final int maxRank, final String startDate, final String endDate, final boolean serverSideAggregation) {
+        this(maxRank, startDate, endDate);
+        this.serverSideAggregation = serverSideAggregation;
+    }
+
+    /**
+     * Creates new parameters which only consider the UBI events of the date range logged after a watermark.
+     * @param maxRank The max rank to use when calculating the judgments.
+     * @param startDate The start date for filtered date range.
+     * @param endDate The end date for filtered date range.
+     * @param eventsAfter The exclusive lower bound of the event timestamps, null to consider all events up to eventsUntil.
+     * @param eventsUntil The inclusive upper bound of the event timestamps.
+     */
+    public CoecClickModelParameters(
+        final int maxRank,
+        final String startDate,
+        final String endDate,
+        final String eventsAfter,
+        final String eventsUntil
+    ) {
+        this(maxRank, startDate, endDate);
+        this.eventsAfter = eventsAfter;
+        this.eventsUntil = eventsUntil;
+    }
+
+    /**
+     * Creates new parameters which read the counts of the UBI rollup instead of the raw UBI events.
+     * @param maxRank The max rank to use when calculating the judgments.
+     * @param startDate The start date for filtered date range.
+     * @param endDate The end date for filtered date range.
+     * @param rolledUpUntil The upper bound of the event timestamps covered by the rollup.
+     */
+    public CoecClickModelParameters(final int maxRank, final String startDate, final String endDate, final String rolledUpUntil) {
+        this(maxRank, startDate, endDate);
+        this.rolledUpUntil = rolledUpUntil;
+    }
+
     /**
      * Gets the max rank for the implicit judgments calculation.
      * @return The max rank for the implicit judgments calculation.
@@ -82,4 +131,36 @@ public class CoecClickModelParameters extends ClickModelParameters {
         return endDate;
     }
 
+    /**
+     * Gets whether clicks and impressions per query and document are aggregated by the cluster.
+     * @return true to use composite aggregations, false to stream and count all UBI events.
+     */
+    public boolean isServerSideAggregation() {
+        return serverSideAggregation;
+    }
+
+    /**
+     * Gets the exclusive lower bound of the UBI event timestamps.
+     * @return The exclusive lower bound of the UBI event timestamps, null if unbounded.
+     */
+    public String getEventsAfter() {
+        return eventsAfter;
+    }
+
+    /**
+     * Gets the inclusive upper bound of the UBI event timestamps.
+     * @return The inclusive upper bound of the UBI event timestamps, null if unbounded.
+     */
+    public String getEventsUntil() {
+        return eventsUntil;
+    }
+
+    /**
+     * Gets the upper bound of the event timestamps covered by the UBI rollup the counts are read from.
+     * @return The upper bound of the rollup, null if the counts are read from the raw UBI events.
+     */
+    public String getRolledUpUntil() {
+        return rolledUpUntil;
+    }
+
 }
@@ -0,0 +1,252 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.coec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.searchrelevance.judgments.clickmodel.UbiEventAggregator;
+
+/**
+ * Sufficient statistics of the {@link CoecClickModel}: clicks and impressions per rank, and clicks, impressions and
+ * lowest rank per (user_query, object_id) pair. All of them are sums or minimums, so the statistics of the events up to
+ * the watermark merge with the statistics of newer events into the statistics of all events, which lets judgments
+ * be refreshed from the events after the watermark only.
+ * The statistics of a judgment are stored as a document with the counts per rank and the watermark, and a document per
+ * user query with the counts of its pairs, so an update rewrites only the queries of the newer events.
+ */
+public class CoecClickStatistics {
+    public static final String JUDGMENT_ID = "judgmentId";
+    public static final String CLICK_MODEL = "clickModel";
+    public static final String MAX_RANK = "maxRank";
+    public static final String WATERMARK = "watermark";
+    public static final String RANK_CLICKS = "rankClicks";
+    public static final String RANK_IMPRESSIONS = "rankImpressions";
+    public static final String QUERY = "query";
+    public static final String PAIRS = "pairs";
+    public static final String DOC_ID = "docId";
+    public static final String CLICKS = "clicks";
+    public static final String IMPRESSIONS = "impressions";
+    public static final String RANK = "rank";
+
+    private final int maxRank;
+    private final long[] rankClicks;
+    private final long[] rankImpressions;
+    private final UbiEventAggregator pairs;
+    private String watermark;
+    private long seqNo = SequenceNumbers.UNASSIGNED_SEQ_NO;
+    private long primaryTerm = SequenceNumbers.UNASSIGNED_PRIMARY_TERM;
+
+    public CoecClickStatistics(final int maxRank) {
+        this.maxRank = maxRank;
+        this.rankClicks = new long[maxRank];
+        this.rankImpressions = new long[maxRank];
+        this.pairs = new UbiEventAggregator();
+    }
+
+    /**
+     * @return document id of the statistics of a user query, stable across updates of the same judgment
+     */
+    public static String queryDocumentId(final String judgmentId, final String query) {
+        return judgmentId + "_" + UUID.nameUUIDFromBytes(query.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Add the clicks or impressions counted at a rank, ranks outside of [0, maxRank) are ignored.
+     */
+    public void addRankCount(final String actionName, final int rank, final long count) {
+        if (rank < 0 || rank >= maxRank) {
+            return;
+        }
+        if (UbiEventAggregator.CLICK_ACTION.equalsIgnoreCase(actionName)) {
+            rankClicks[rank] += count;
+        } else if (UbiEventAggregator.IMPRESSION_ACTION.equalsIgnoreCase(actionName)) {
+            rankImpressions[rank] += count;
+        }
+    }
+
+    /**
+     * Merge the statistics of other events into these statistics.
+     * @param other - statistics of events not covered by these statistics, computed with the same max rank
+     */
+    public void merge(final CoecClickStatistics other) {
+        if (other.maxRank != maxRank) {
+            throw new IllegalArgumentException("Cannot merge click statistics of max rank " + other.maxRank + " into " + maxRank);
+        }
+        for (int rank = 0; rank < maxRank; rank++) {
+            rankClicks[rank] += other.rankClicks[rank];
+            rankImpressions[rank] += other.rankImpressions[rank];
+        }
+        pairs.merge(other.pairs);
+    }
+
+    /**
+     * @return click-through rate per rank, 0 for ranks without impressions
+     */
+    public Map<Integer, Double> getRankAggregatedClickThrough() {
+        Map<Integer, Double> rankAggregatedClickThrough = new HashMap<>();
+        for (int rank = 0; rank < maxRank; rank++) {
+            rankAggregatedClickThrough.put(rank, rankImpressions[rank] > 0 ? (double) rankClicks[rank] / rankImpressions[rank] : 0.0);
+        }
+        return rankAggregatedClickThrough;
+    }
+
+    public int getMaxRank() {
+        return maxRank;
+    }
+
+    public UbiEventAggregator getPairs() {
+        return pairs;
+    }
+
+    /**
+     * @return distinct user queries of the pairs
+     */
+    public Set<String> queries() {
+        Set<String> queries = new HashSet<>();
+        pairs.forEachPair((userQuery, objectId, clicks, impressions, minRank) -> queries.add(userQuery));
+        return queries;
+    }
+
+    /**
+     * @return timestamp of the end of the event time range covered by these statistics, null if not set
+     */
+    public String getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(final String watermark) {
+        this.watermark = watermark;
+    }
+
+    /**
+     * @return sequence number of the stored document these statistics were read from, unassigned if they were not stored
+     */
+    public long getSeqNo() {
+        return seqNo;
+    }
+
+    public long getPrimaryTerm() {
+        return primaryTerm;
+    }
+
+    public void setStoredVersion(final long seqNo, final long primaryTerm) {
+        this.seqNo = seqNo;
+        this.primaryTerm = primaryTerm;
+    }
+
+    /**
+     * Writes the counts per rank and the watermark, the pairs are written by {@link #toQueryDocuments}.
+     */
+    public XContentBuilder toXContent(final String judgmentId, final XContentBuilder builder) throws IOException {
+        builder.startObject();
+        builder.field(JUDGMENT_ID, judgmentId);
+        builder.field(CLICK_MODEL, CoecClickModel.CLICK_MODEL_NAME);
+        builder.field(MAX_RANK, maxRank);
+        if (watermark != null) {
+            builder.field(WATERMARK, watermark);
+        }
+        builder.array(RANK_CLICKS, rankClicks);
+        builder.array(RANK_IMPRESSIONS, rankImpressions);
+        return builder.endObject();
+    }
+
+    /**
+     * Writes a document per user query with the counts of its pairs.
+     * @param judgmentId - id of the judgment the statistics belong to
+     * @param queries - user queries to write, e.g. the queries of newer events merged into these statistics
+     * @return documents by document id
+     */
+    public Map<String, XContentBuilder> toQueryDocuments(final String judgmentId, final Set<String> queries) throws IOException {
+        Map<String, XContentBuilder> builders = new HashMap<>();
+        IOException[] failure = new IOException[1];
+        pairs.forEachPair((userQuery, objectId, clicks, impressions, minRank) -> {
+            if (failure[0] != null || !queries.contains(userQuery)) {
+                return;
+            }
+            try {
+                XContentBuilder builder = builders.get(userQuery);
+                if (builder == null) {
+                    builder = XContentFactory.jsonBuilder()
+                        .startObject()
+                        .field(JUDGMENT_ID, judgmentId)
+                        .field(QUERY, userQuery)
+                        .startArray(PAIRS);
+                    builders.put(userQuery, builder);
+                }
+                builder.startObject()
+                    .field(DOC_ID, objectId)
+                    .field(CLICKS, clicks)
+                    .field(IMPRESSIONS, impressions)
+                    .field(RANK, minRank)
+                    .endObject();
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        Map<String, XContentBuilder> documents = new HashMap<>(builders.size() * 2);
+        for (Map.Entry<String, XContentBuilder> entry : builders.entrySet()) {
+            documents.put(queryDocumentId(judgmentId, entry.getKey()), entry.getValue().endArray().endObject());
+        }
+        return documents;
+    }
+
+    /**
+     * Restore the counts per rank and the watermark from the source of a stored click statistics document.
+     */
+    @SuppressWarnings("unchecked")
+    public static CoecClickStatistics fromSource(final Map<String, Object> source) {
+        CoecClickStatistics statistics = new CoecClickStatistics(((Number) source.get(MAX_RANK)).intValue());
+        statistics.setWatermark((String) source.get(WATERMARK));
+        readCounts((List<Number>) source.get(RANK_CLICKS), statistics.rankClicks);
+        readCounts((List<Number>) source.get(RANK_IMPRESSIONS), statistics.rankImpressions);
+        return statistics;
+    }
+
+    /**
+     * Restore the pairs of a user query from the source of a stored query document.
+     */
+    @SuppressWarnings("unchecked")
+    public void addQueryDocument(final Map<String, Object> source) {
+        String userQuery = (String) source.get(QUERY);
+        List<Map<String, Object>> queryPairs = (List<Map<String, Object>>) source.get(PAIRS);
+        if (userQuery == null || queryPairs == null) {
+            return;
+        }
+        for (Map<String, Object> pair : queryPairs) {
+            pairs.addCounts(
+                userQuery,
+                (String) pair.get(DOC_ID),
+                ((Number) pair.get(CLICKS)).intValue(),
+                ((Number) pair.get(IMPRESSIONS)).intValue(),
+                ((Number) pair.get(RANK)).intValue()
+            );
+        }
+    }
+
+    private static void readCounts(final List<Number> stored, final long[] counts) {
+        if (stored == null) {
+            return;
+        }
+        for (int rank = 0; rank < Math.min(stored.size(), counts.length); rank++) {
+            counts[rank] = stored.get(rank).longValue();
+        }
+    }
+}
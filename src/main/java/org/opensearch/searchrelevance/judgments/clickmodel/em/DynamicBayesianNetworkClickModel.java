@@ -0,0 +1,156 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.em;
+
+import java.util.Arrays;
+
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickSessions;
+import org.opensearch.transport.client.Client;
+
+/**
+ * Dynamic Bayesian network click model: the user examines the results top down, clicks an examined document if it is
+ * attractive, is satisfied by a clicked document with its satisfaction probability and then stops, and otherwise
+ * continues to the next result with the continuation probability. The rating is attractiveness * satisfaction.
+ * The posteriors of a session are computed exactly with one backward pass over the results after the last click and
+ * one forward pass, the results above the last click are known to be examined.
+ */
+public class DynamicBayesianNetworkClickModel extends ExpectationMaximizationClickModel {
+    public static final String CLICK_MODEL_NAME = "dbn";
+
+    private static final double INITIAL_PROBABILITY = 0.5;
+    private static final float NOT_CLICKED = -1f;
+
+    public DynamicBayesianNetworkClickModel(final Client client, final EmClickModelParameters parameters) {
+        super(client, parameters);
+    }
+
+    @Override
+    protected State newState(ClickSessions sessions) {
+        return new CascadeState(sessions);
+    }
+
+    private static final class CascadeState extends State {
+        private final double[] attractiveness;
+        private final double[] satisfaction;
+        private double continuation = INITIAL_PROBABILITY;
+        // posterior probabilities of the item being attractive and, for clicked items, satisfying
+        private final float[] itemAttractiveness;
+        private final float[] itemSatisfaction;
+
+        private CascadeState(ClickSessions sessions) {
+            super(sessions);
+            this.attractiveness = new double[sessions.pairCount()];
+            this.satisfaction = new double[sessions.pairCount()];
+            this.itemAttractiveness = new float[sessions.itemCount()];
+            this.itemSatisfaction = new float[sessions.itemCount()];
+            Arrays.fill(attractiveness, INITIAL_PROBABILITY);
+            Arrays.fill(satisfaction, INITIAL_PROBABILITY);
+        }
+
+        @Override
+        protected int rankStatisticsLength() {
+            // expected continuations and expected chances to continue
+            return 2;
+        }
+
+        @Override
+        protected void expect(int fromSession, int toSession, double[] rankStatistics) {
+            double gamma = continuation;
+            // noClicks[i] = P(no click on items i.. | item i examined), relative to the session start
+            double[] noClicks = new double[ClickSessions.MAX_SESSION_LENGTH + 1];
+            for (int session = fromSession; session < toSession; session++) {
+                int start = sessions.sessionStart(session);
+                int length = sessions.sessionEnd(session) - start;
+                long clickMask = sessions.clickMask(session);
+                int lastClick = Long.SIZE - 1 - Long.numberOfLeadingZeros(clickMask);
+
+                noClicks[length] = 1;
+                for (int i = length - 1; i > lastClick; i--) {
+                    double alpha = attractiveness[sessions.itemPair(start + i)];
+                    noClicks[i] = (1 - alpha) * ((1 - gamma) + gamma * noClicks[i + 1]);
+                }
+
+                // items above the last click are examined, clicked ones did not satisfy
+                for (int i = 0; i < lastClick; i++) {
+                    boolean clicked = (clickMask & (1L << i)) != 0;
+                    itemAttractiveness[start + i] = clicked ? 1f : 0f;
+                    itemSatisfaction[start + i] = clicked ? 0f : NOT_CLICKED;
+                    rankStatistics[0] += 1;
+                    rankStatistics[1] += 1;
+                }
+
+                // probability of the item after the last click being examined
+                double examined = 1;
+                if (lastClick >= 0) {
+                    double sigma = satisfaction[sessions.itemPair(start + lastClick)];
+                    double next = noClicks[lastClick + 1];
+                    double noLaterClicks = sigma + (1 - sigma) * ((1 - gamma) + gamma * next);
+                    itemAttractiveness[start + lastClick] = 1f;
+                    itemSatisfaction[start + lastClick] = (float) (sigma / noLaterClicks);
+                    examined = (1 - sigma) * gamma * next / noLaterClicks;
+                    if (lastClick + 1 < length) {
+                        rankStatistics[0] += examined;
+                        rankStatistics[1] += (1 - sigma) * ((1 - gamma) + gamma * next) / noLaterClicks;
+                    }
+                }
+
+                for (int i = lastClick + 1; i < length; i++) {
+                    double alpha = attractiveness[sessions.itemPair(start + i)];
+                    itemAttractiveness[start + i] = (float) (alpha * (1 - examined));
+                    itemSatisfaction[start + i] = NOT_CLICKED;
+                    double nextExamined = examined * (1 - alpha) * gamma * noClicks[i + 1] / noClicks[i];
+                    if (i + 1 < length) {
+                        rankStatistics[0] += nextExamined;
+                        rankStatistics[1] += examined;
+                    }
+                    examined = nextExamined;
+                }
+            }
+        }
+
+        @Override
+        protected double maximizeRanks(double[] rankStatistics) {
+            if (rankStatistics[1] <= 0) {
+                return 0;
+            }
+            double gamma = clamp(rankStatistics[0] / rankStatistics[1]);
+            double change = Math.abs(gamma - continuation);
+            continuation = gamma;
+            return change;
+        }
+
+        @Override
+        protected double maximizePair(int pair) {
+            double attractiveSum = 0;
+            double satisfiedSum = 0;
+            int clicks = 0;
+            for (int index = sessions.pairItemStart(pair); index < sessions.pairItemEnd(pair); index++) {
+                int item = sessions.pairItem(index);
+                attractiveSum += itemAttractiveness[item];
+                if (itemSatisfaction[item] != NOT_CLICKED) {
+                    satisfiedSum += itemSatisfaction[item];
+                    clicks++;
+                }
+            }
+            double alpha = clamp(attractiveSum / (sessions.pairItemEnd(pair) - sessions.pairItemStart(pair)));
+            double change = Math.abs(alpha - attractiveness[pair]);
+            attractiveness[pair] = alpha;
+            if (clicks > 0) {
+                double sigma = clamp(satisfiedSum / clicks);
+                change = Math.max(change, Math.abs(sigma - satisfaction[pair]));
+                satisfaction[pair] = sigma;
+            }
+            return change;
+        }
+
+        @Override
+        protected double rating(int pair) {
+            return attractiveness[pair] * satisfaction[pair];
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.em;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickModelParameters;
+
+/**
+ * The parameters for the click models trained by {@link ExpectationMaximizationClickModel}.
+ */
+public class EmClickModelParameters extends ClickModelParameters {
+    public static final int DEFAULT_MAX_ITERATIONS = 50;
+    public static final double DEFAULT_TOLERANCE = 1e-4;
+
+    private final int maxRank;
+    private final String startDate;
+    private final String endDate;
+    private int maxIterations = DEFAULT_MAX_ITERATIONS;
+    private double tolerance = DEFAULT_TOLERANCE;
+    private int parallelism = Math.max(1, OpenSearchExecutors.allocatedProcessors(Settings.EMPTY) / 2);
+
+    /**
+     * Creates new parameters which includes the UBI event dates to consider.
+     * @param maxRank The max rank to use when calculating the judgments.
+     * @param startDate The start date for filtered date range.
+     * @param endDate The end date for filtered date range.
+     */
+    public EmClickModelParameters(final int maxRank, final String startDate, final String endDate) {
+        this.maxRank = maxRank;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    /**
+     * Creates new parameters which includes how the model is trained.
+     * @param maxRank The max rank to use when calculating the judgments.
+     * @param startDate The start date for filtered date range.
+     * @param endDate The end date for filtered date range.
+     * @param maxIterations The max number of expectation-maximization iterations.
+     * @param tolerance The max change of any model parameter in an iteration at which the training has converged.
+     * @param parallelism The max number of tasks the expectation and maximization steps run at once on the search relevance executor.
+     */
+    public EmClickModelParameters(
+        final int maxRank,
+        final String startDate,
+        final String endDate,
+        final int maxIterations,
+        final double tolerance,
+        final int parallelism
+    ) {
+        this(maxRank, startDate, endDate);
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Gets the max rank for the implicit judgments calculation.
+     * @return The max rank for the implicit judgments calculation.
+     */
+    public int getMaxRank() {
+        return maxRank;
+    }
+
+    /**
+     * Gets the start date for UBI timestamp filter.
+     * @return The start date for UBI timestamp filter.
+     */
+    public String getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end date for UBI timestamp filter.
+     * @return The end date for UBI timestamp filter.
+     */
+    public String getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Gets the max number of expectation-maximization iterations.
+     * @return The max number of expectation-maximization iterations.
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Gets the max parameter change at which the training has converged.
+     * @return The max parameter change at which the training has converged.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Gets the max number of concurrent training tasks.
+     * @return The max number of concurrent training tasks.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+}
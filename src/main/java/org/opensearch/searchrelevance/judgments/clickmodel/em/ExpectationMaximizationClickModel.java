@@ -0,0 +1,304 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.em;
+
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_EVENTS_INDEX;
+import static org.opensearch.searchrelevance.executors.SearchRelevanceExecutor.SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.executors.SearchRelevanceExecutor;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickModel;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickSessions;
+import org.opensearch.searchrelevance.judgments.clickmodel.UbiEventReader;
+import org.opensearch.searchrelevance.ubi.UbiSlicedReader;
+import org.opensearch.transport.client.Client;
+
+/**
+ * Base class of click models over whole search sessions trained by expectation-maximization.
+ * The UBI events are read into {@link ClickSessions}, then each iteration runs the expectation step over partitions
+ * of the sessions and the maximization step over partitions of the (user_query, object_id) pairs as tasks on the
+ * shared search relevance executor.
+ * Model parameters are kept in primitive arrays indexed by pair or rank. The expectation step only reads parameters
+ * and writes the posteriors of the items of its own sessions, the maximization step only reads posteriors and writes
+ * the parameters of its own pairs, so the tasks need no locking. The training stops when no parameter changes by more
+ * than the tolerance or after the max number of iterations.
+ */
+public abstract class ExpectationMaximizationClickModel extends ClickModel {
+    private static final Logger LOGGER = LogManager.getLogger(ExpectationMaximizationClickModel.class);
+    // sessions or pairs of a single partition
+    private static final int PARTITION_SIZE = 4096;
+    private static final double EPSILON = 1e-6;
+
+    private final Client client;
+    protected final EmClickModelParameters parameters;
+
+    protected ExpectationMaximizationClickModel(final Client client, final EmClickModelParameters parameters) {
+        this.client = client;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Creates the parameters and posteriors of the model for the sessions, with the initial parameter values.
+     */
+    protected abstract State newState(ClickSessions sessions);
+
+    /**
+     * Model parameters and item posteriors of one training run.
+     */
+    protected abstract static class State {
+        protected final ClickSessions sessions;
+
+        protected State(ClickSessions sessions) {
+            this.sessions = sessions;
+        }
+
+        /**
+         * @return length of the expected rank statistics collected by the expectation step
+         */
+        protected abstract int rankStatisticsLength();
+
+        /**
+         * Computes the posteriors of the items of the sessions in [fromSession, toSession) and adds their expected
+         * rank statistics to the given array.
+         */
+        protected abstract void expect(int fromSession, int toSession, double[] rankStatistics);
+
+        /**
+         * Updates the rank parameters from the expected rank statistics of all sessions.
+         * @return max absolute change of a rank parameter
+         */
+        protected abstract double maximizeRanks(double[] rankStatistics);
+
+        /**
+         * Updates the parameters of a pair from the posteriors of its items.
+         * @return max absolute change of a parameter of the pair
+         */
+        protected abstract double maximizePair(int pair);
+
+        /**
+         * @return relevance of a pair estimated by the model
+         */
+        protected abstract double rating(int pair);
+    }
+
+    @Override
+    public void calculateJudgments(ActionListener<List<Map<String, Object>>> listener) {
+        loadSessions(ActionListener.wrap(sessions -> {
+            // training is CPU bound, keep it off the thread that delivered the last page
+            client.threadPool().executor(SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME).execute(() -> {
+                try {
+                    listener.onResponse(toJudgments(sessions, fit(sessions)));
+                } catch (Exception e) {
+                    listener.onFailure(e);
+                }
+            });
+        }, listener::onFailure));
+    }
+
+    /**
+     * Trains the model on the sessions.
+     * @return rating per pair id of the sessions
+     */
+    public double[] fit(ClickSessions sessions) {
+        State state = newState(sessions);
+        int iteration = 0;
+        double change = Double.MAX_VALUE;
+        while (iteration < parameters.getMaxIterations() && change >= parameters.getTolerance()) {
+            double[] rankStatistics = expect(state);
+            change = Math.max(state.maximizeRanks(rankStatistics), maximize(state));
+            iteration++;
+            LOGGER.debug("Iteration {} of {} changed parameters by at most {}", iteration, getClass().getSimpleName(), change);
+        }
+        LOGGER.info(
+            "Trained {} on {} sessions and {} query-document pairs in {} iterations, last change {}",
+            getClass().getSimpleName(),
+            sessions.sessionCount(),
+            sessions.pairCount(),
+            iteration,
+            change
+        );
+        double[] ratings = new double[sessions.pairCount()];
+        for (int pair = 0; pair < ratings.length; pair++) {
+            ratings[pair] = state.rating(pair);
+        }
+        return ratings;
+    }
+
+    /**
+     * Clamps a probability into (0, 1), so no parameter gets stuck at a value that explains no events.
+     */
+    protected static double clamp(double probability) {
+        return Math.min(1 - EPSILON, Math.max(EPSILON, probability));
+    }
+
+    private double[] expect(State state) {
+        List<double[]> partitionStatistics = runPartitions(state.sessions.sessionCount(), (fromSession, toSession) -> {
+            double[] rankStatistics = new double[state.rankStatisticsLength()];
+            state.expect(fromSession, toSession, rankStatistics);
+            return rankStatistics;
+        });
+        double[] rankStatistics = new double[state.rankStatisticsLength()];
+        for (double[] statistics : partitionStatistics) {
+            for (int i = 0; i < rankStatistics.length; i++) {
+                rankStatistics[i] += statistics[i];
+            }
+        }
+        return rankStatistics;
+    }
+
+    private double maximize(State state) {
+        List<Double> partitionChanges = runPartitions(state.sessions.pairCount(), (fromPair, toPair) -> {
+            double change = 0;
+            for (int pair = fromPair; pair < toPair; pair++) {
+                change = Math.max(change, state.maximizePair(pair));
+            }
+            return change;
+        });
+        double change = 0;
+        for (double partitionChange : partitionChanges) {
+            change = Math.max(change, partitionChange);
+        }
+        return change;
+    }
+
+    /**
+     * Runs a task per partition of [0, count) on the shared search relevance executor, with at most the configured
+     * parallelism of concurrent tasks. Partitions have a fixed size, so the results do not depend on the parallelism.
+     * @return result per partition, in partition order
+     */
+    private <T> List<T> runPartitions(int count, BiFunction<Integer, Integer, T> task) {
+        int partitions = Math.max(1, (count + PARTITION_SIZE - 1) / PARTITION_SIZE);
+        int workers = Math.max(1, Math.min(parameters.getParallelism(), partitions));
+        List<Callable<List<T>>> callables = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int firstPartition = worker;
+            callables.add(() -> {
+                List<T> results = new ArrayList<>();
+                for (int partition = firstPartition; partition < partitions; partition += workers) {
+                    int from = partition * PARTITION_SIZE;
+                    results.add(task.apply(from, Math.min(count, from + PARTITION_SIZE)));
+                }
+                return results;
+            });
+        }
+        List<List<T>> workerResults;
+        try {
+            workerResults = SearchRelevanceExecutor.getExecutor().invokeAll(callables);
+        } catch (IOException e) {
+            throw new SearchRelevanceException("Failed to train click model", e, RestStatus.INTERNAL_SERVER_ERROR);
+        }
+        List<T> results = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            results.add(workerResults.get(partition % workers).get(partition / workers));
+        }
+        return results;
+    }
+
+    private List<Map<String, Object>> toJudgments(ClickSessions sessions, double[] ratings) {
+        Map<String, Map<String, String>> queryRatings = new HashMap<>();
+        for (int pair = 0; pair < ratings.length; pair++) {
+            queryRatings.computeIfAbsent(sessions.pairQuery(pair), k -> new HashMap<>())
+                .put(sessions.pairObject(pair), String.format(Locale.ROOT, "%.3f", ratings[pair]));
+        }
+        List<Map<String, Object>> judgmentRatings = new ArrayList<>(queryRatings.size());
+        for (Map.Entry<String, Map<String, String>> entry : queryRatings.entrySet()) {
+            Map<String, Object> queryRating = new HashMap<>();
+            queryRating.put("query", entry.getKey());
+            queryRating.put("ratings", entry.getValue());
+            judgmentRatings.add(queryRating);
+        }
+        return judgmentRatings;
+    }
+
+    /**
+     * Reads the UBI events of the date range into sessions, each slice of the sliced read collects its own events
+     * and the slices are merged before the events are grouped into sessions.
+     */
+    private void loadSessions(ActionListener<ClickSessions> listener) {
+        String[] includes = new String[] {
+            "query_id",
+            "action_name",
+            "user_query",
+            "event_attributes.object.object_id",
+            "event_attributes.position.ordinal" };
+
+        new UbiSlicedReader(client).read(
+            UBI_EVENTS_INDEX,
+            buildEventsQuery(),
+            includes,
+            () -> new EventSlice(new UbiEventReader(), new ClickSessions.Builder(parameters.getMaxRank())),
+            this::addEvents,
+            ActionListener.wrap(slices -> {
+                ClickSessions.Builder builder = slices.get(0).builder();
+                for (int i = 1; i < slices.size(); i++) {
+                    builder.merge(slices.get(i).builder());
+                }
+                ClickSessions sessions = builder.build();
+                LOGGER.info("Read {} events into {} sessions", builder.size(), sessions.sessionCount());
+                listener.onResponse(sessions);
+            }, e -> {
+                LOGGER.error("Failed to read UBI sessions", e);
+                listener.onFailure(e);
+            })
+        );
+    }
+
+    private void addEvents(EventSlice slice, SearchHit[] hits) {
+        UbiEventReader reader = slice.reader();
+        ClickSessions.Builder builder = slice.builder();
+        for (SearchHit hit : hits) {
+            try {
+                if (reader.read(hit.getSourceRef()) && reader.hasQueryAndObject() && reader.getQueryId() != null) {
+                    builder.add(
+                        reader.getQueryId(),
+                        reader.getUserQuery(),
+                        reader.getObjectId(),
+                        reader.getActionName(),
+                        reader.getPosition()
+                    );
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Error processing hit: " + hit.getId(), e);
+            }
+        }
+    }
+
+    private BoolQueryBuilder buildEventsQuery() {
+        String startDate = parameters.getStartDate();
+        String endDate = parameters.getEndDate();
+
+        RangeQueryBuilder dateFilter = QueryBuilders.rangeQuery("timestamp")
+            .format("yyyy-MM-dd")
+            .lte(endDate == null || endDate.isEmpty() ? null : endDate)
+            .gte(startDate == null || startDate.isEmpty() ? null : startDate);
+
+        return QueryBuilders.boolQuery()
+            .must(QueryBuilders.rangeQuery("event_attributes.position.ordinal").lt(parameters.getMaxRank()))
+            .must(dateFilter);
+    }
+
+    private record EventSlice(UbiEventReader reader, ClickSessions.Builder builder) {
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.em;
+
+import java.util.Arrays;
+
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickSessions;
+import org.opensearch.transport.client.Client;
+
+/**
+ * Position-based click model: a document is clicked when it is examined and attractive,
+ * P(click) = attractiveness(query, doc) * examination(rank). The rating is the attractiveness.
+ */
+public class PositionBasedClickModel extends ExpectationMaximizationClickModel {
+    public static final String CLICK_MODEL_NAME = "pbm";
+
+    private static final double INITIAL_PROBABILITY = 0.5;
+
+    public PositionBasedClickModel(final Client client, final EmClickModelParameters parameters) {
+        super(client, parameters);
+    }
+
+    @Override
+    protected State newState(ClickSessions sessions) {
+        return new ExaminationState(sessions, sessions.maxRank());
+    }
+
+    /**
+     * Attractiveness per pair and examination per examination context, the context of the position-based model is
+     * the rank of the item.
+     */
+    protected static class ExaminationState extends State {
+        private final double[] attractiveness;
+        private final double[] examination;
+        // posterior probability of the item being attractive
+        private final float[] itemAttractiveness;
+
+        protected ExaminationState(ClickSessions sessions, int examinationContexts) {
+            super(sessions);
+            this.attractiveness = new double[sessions.pairCount()];
+            this.examination = new double[examinationContexts];
+            this.itemAttractiveness = new float[sessions.itemCount()];
+            Arrays.fill(attractiveness, INITIAL_PROBABILITY);
+            Arrays.fill(examination, INITIAL_PROBABILITY);
+        }
+
+        /**
+         * @param rank - rank of the item
+         * @param previousClickRank - rank of the closest click above the item, -1 if there is none
+         * @return index of the examination parameter of the item
+         */
+        protected int examinationContext(int rank, int previousClickRank) {
+            return rank;
+        }
+
+        @Override
+        protected int rankStatisticsLength() {
+            // expected examinations and item count per examination context
+            return examination.length * 2;
+        }
+
+        @Override
+        protected void expect(int fromSession, int toSession, double[] rankStatistics) {
+            for (int session = fromSession; session < toSession; session++) {
+                int start = sessions.sessionStart(session);
+                long clickMask = sessions.clickMask(session);
+                int previousClickRank = -1;
+                for (int item = start; item < sessions.sessionEnd(session); item++) {
+                    int rank = sessions.itemRank(item);
+                    int context = examinationContext(rank, previousClickRank);
+                    if ((clickMask & (1L << (item - start))) != 0) {
+                        itemAttractiveness[item] = 1f;
+                        rankStatistics[context] += 1;
+                        previousClickRank = rank;
+                    } else {
+                        double alpha = attractiveness[sessions.itemPair(item)];
+                        double gamma = examination[context];
+                        double noClick = 1 - alpha * gamma;
+                        itemAttractiveness[item] = (float) (alpha * (1 - gamma) / noClick);
+                        rankStatistics[context] += gamma * (1 - alpha) / noClick;
+                    }
+                    rankStatistics[examination.length + context] += 1;
+                }
+            }
+        }
+
+        @Override
+        protected double maximizeRanks(double[] rankStatistics) {
+            double change = 0;
+            for (int context = 0; context < examination.length; context++) {
+                double items = rankStatistics[examination.length + context];
+                if (items > 0) {
+                    double gamma = clamp(rankStatistics[context] / items);
+                    change = Math.max(change, Math.abs(gamma - examination[context]));
+                    examination[context] = gamma;
+                }
+            }
+            return change;
+        }
+
+        @Override
+        protected double maximizePair(int pair) {
+            double sum = 0;
+            for (int index = sessions.pairItemStart(pair); index < sessions.pairItemEnd(pair); index++) {
+                sum += itemAttractiveness[sessions.pairItem(index)];
+            }
+            double alpha = clamp(sum / (sessions.pairItemEnd(pair) - sessions.pairItemStart(pair)));
+            double change = Math.abs(alpha - attractiveness[pair]);
+            attractiveness[pair] = alpha;
+            return change;
+        }
+
+        @Override
+        protected double rating(int pair) {
+            return attractiveness[pair];
+        }
+    }
+}
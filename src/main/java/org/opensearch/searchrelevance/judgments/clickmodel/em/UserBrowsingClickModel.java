@@ -0,0 +1,36 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.em;
+
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickSessions;
+import org.opensearch.transport.client.Client;
+
+/**
+ * User browsing click model: like the {@link PositionBasedClickModel}, but the examination of a document depends on
+ * its rank and on the rank of the previous click in the session, P(click) = attractiveness(query, doc) *
+ * examination(rank, previous click rank). The rating is the attractiveness.
+ */
+public class UserBrowsingClickModel extends ExpectationMaximizationClickModel {
+    public static final String CLICK_MODEL_NAME = "ubm";
+
+    public UserBrowsingClickModel(final Client client, final EmClickModelParameters parameters) {
+        super(client, parameters);
+    }
+
+    @Override
+    protected State newState(ClickSessions sessions) {
+        int maxRank = sessions.maxRank();
+        // one examination parameter per rank and previous click rank, the latter shifted by one for "no click"
+        return new PositionBasedClickModel.ExaminationState(sessions, maxRank * (maxRank + 1)) {
+            @Override
+            protected int examinationContext(int rank, int previousClickRank) {
+                return rank * (maxRank + 1) + previousClickRank + 1;
+            }
+        };
+    }
+}
@@ -193,33 +193,15 @@ public class MetricsHelper {
 
         try {
             Map<String, Object> configToEvalIds = Collections.synchronizedMap(new HashMap<>());
-            Map<String, String> docIdToRatings = new HashMap<>();
+            Map<String, String> docIdToRatings = Collections.synchronizedMap(new HashMap<>());
             AtomicInteger completedJudgments = new AtomicInteger(0);
 
             for (String judgmentId : judgmentIds) {
-                judgmentDao.getJudgment(judgmentId, new ActionListener<>() {
+                judgmentDao.getQueryRatings(judgmentId, queryText, new ActionListener<>() {
                     @Override
-                    public void onResponse(SearchResponse judgmentResponse) {
+                    public void onResponse(Map<String, String> queryRatings) {
                         try {
-                            if (judgmentResponse.getHits().getTotalHits().value() == 0) {
-                                log.warn("No judgment found for ID: {}", judgmentId);
-                            } else {
-                                Map<String, Object> sourceAsMap = judgmentResponse.getHits().getHits()[0].getSourceAsMap();
-                                List<Map<String, Object>> judgmentRatings = (List<Map<String, Object>>) sourceAsMap.getOrDefault(
-                                    "judgmentRatings",
-                                    Collections.emptyList()
-                                );
-                                // TODO change this to more efficient approach, this is O(n) because we need to scan all list to find query
-                                for (Map<String, Object> rating : judgmentRatings) {
-                                    if (queryText.equals(rating.get("query"))) {
-                                        List<Map<String, String>> docScoreRatings = (List<Map<String, String>>) rating.get("ratings");
-                                        docScoreRatings.forEach(
-                                            docScoreRating -> docIdToRatings.put(docScoreRating.get("docId"), docScoreRating.get("rating"))
-                                        );
-                                        break;
-                                    }
-                                }
-                            }
+                            docIdToRatings.putAll(queryRatings);
 
                             // Check if all judgments have been processed
                             if (completedJudgments.incrementAndGet() == judgmentIds.size()) {
@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ml;
+
+import static org.opensearch.searchrelevance.utils.ParserUtils.convertListToSortedStr;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+
+import lombok.Getter;
+
+/**
+ * Job scoped cache of documents rendered as LLM context. Popular documents show up in the hits of many queries of
+ * a judgment job, the cache keeps their context string, token counts and truncated form so they are rendered
+ * and tokenized once per job instead of once per query.
+ * Entries are keyed by index, docId and the context fields of the job. The cache is weighed by the length of the
+ * context strings, least recently used documents are evicted once the weight limit is reached.
+ */
+public class DocumentContextCache {
+    private static final String KEY_DELIMITER = "#";
+    // total context characters kept per job
+    private static final long MAX_CONTEXT_CHARS = 10_000_000;
+
+    private final String contextFieldsKey;
+    private final Cache<String, DocumentContext> contexts;
+
+    public DocumentContextCache(List<String> contextFields) {
+        this(contextFields, MAX_CONTEXT_CHARS);
+    }
+
+    DocumentContextCache(List<String> contextFields, long maxContextChars) {
+        this.contextFieldsKey = contextFields == null ? "" : convertListToSortedStr(contextFields);
+        this.contexts = CacheBuilder.<String, DocumentContext>builder()
+            .setMaximumWeight(maxContextChars)
+            .weigher((key, documentContext) -> documentContext.getContext().length())
+            .build();
+    }
+
+    /**
+     * @param compositeKey - index and docId of the document, see ParserUtils.combinedIndexAndDocId
+     * @param loader - renders the document context if it is not cached yet
+     */
+    public DocumentContext getOrCompute(String compositeKey, Function<String, DocumentContext> loader) {
+        try {
+            return contexts.computeIfAbsent(compositeKey + KEY_DELIMITER + contextFieldsKey, key -> loader.apply(compositeKey));
+        } catch (ExecutionException e) {
+            throw new SearchRelevanceException("Failed to render document context", e.getCause(), RestStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    public int size() {
+        return contexts.count();
+    }
+
+    /**
+     * Rendered context of a single document
+     */
+    public static class DocumentContext {
+        @Getter
+        private final String context;
+        @Getter
+        private final int contextTokens;
+        /**
+         * tokens the document adds to the LLM messages, including its id and json escaping
+         */
+        @Getter
+        private final int entryTokens;
+
+        private int truncatedTokenLimit = -1;
+        private String truncatedContext;
+
+        public DocumentContext(String context, int contextTokens, int entryTokens) {
+            this.context = context;
+            this.contextTokens = contextTokens;
+            this.entryTokens = entryTokens;
+        }
+
+        /**
+         * Context truncated to the token limit, the last truncation is kept since the limit rarely changes within a job.
+         */
+        public synchronized String truncate(int tokenLimit) {
+            if (tokenLimit != truncatedTokenLimit) {
+                truncatedContext = TokenizerUtil.truncateString(context, tokenLimit);
+                truncatedTokenLimit = tokenLimit;
+            }
+            return truncatedContext;
+        }
+    }
+}
@@ -7,10 +7,14 @@
  */
 package org.opensearch.searchrelevance.ml;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.ml.client.MachineLearningNodeClient;
@@ -25,13 +29,17 @@ import lombok.extern.log4j.Log4j2;
 public class MLAccessor {
     private final MachineLearningNodeClient mlClient;
     private final MLInputOutputTransformer transformer;
+    private final MLRateLimiter rateLimiter;
 
     private static final int MAX_RETRY_NUMBER = 3;
     private static final long RETRY_DELAY_MS = 1000;
+    // throttled requests are not failures of the chunk, so they get a larger retry budget than blind retries
+    private static final int MAX_THROTTLE_RETRY_NUMBER = 10;
 
-    public MLAccessor(MachineLearningNodeClient mlClient) {
+    public MLAccessor(MachineLearningNodeClient mlClient, MLRateLimiter rateLimiter) {
         this.mlClient = mlClient;
         this.transformer = new MLInputOutputTransformer();
+        this.rateLimiter = rateLimiter;
     }
 
     public void predict(
@@ -42,36 +50,171 @@ public class MLAccessor {
         Map<String, String> hits,
         ActionListener<ChunkResult> progressListener
     ) {
-        List<MLInput> mlInputs = transformer.createMLInputs(tokenLimit, searchText, reference, hits);
-        log.info("Number of chunks: {}", mlInputs.size());
+        predict(modelId, tokenLimit, searchText, reference, hits, new DocumentContextCache(null), progressListener);
+    }
+
+    /**
+     * Predict ratings of the hits, reusing rendered document contexts of a judgment job across its queries.
+     */
+    public void predict(
+        String modelId,
+        int tokenLimit,
+        String searchText,
+        String reference,
+        Map<String, String> hits,
+        DocumentContextCache contextCache,
+        ActionListener<ChunkResult> progressListener
+    ) {
+        List<Map<String, String>> chunks = transformer.createChunks(tokenLimit, searchText, reference, hits, contextCache);
+        log.info("Number of chunks: {}", chunks.size());
 
-        ChunkProcessingContext context = new ChunkProcessingContext(mlInputs.size(), progressListener);
+        ChunkProcessingContext context = new ChunkProcessingContext(chunks.size(), progressListener);
+        PredictionRequest request = new PredictionRequest(modelId, tokenLimit, searchText, reference, contextCache);
 
-        for (int i = 0; i < mlInputs.size(); i++) {
-            processChunk(modelId, mlInputs.get(i), i, context);
+        for (int i = 0; i < chunks.size(); i++) {
+            processChunk(request, chunks.get(i), i, context);
         }
     }
 
-    private void processChunk(String modelId, MLInput mlInput, int chunkIndex, ChunkProcessingContext context) {
-        predictSingleChunkWithRetry(modelId, mlInput, chunkIndex, 0, ActionListener.wrap(response -> {
-            log.info("Chunk {} processed successfully", chunkIndex);
-            String processedResponse = cleanResponse(response);
-            context.handleSuccess(chunkIndex, processedResponse);
+    private void processChunk(PredictionRequest request, Map<String, String> chunkHits, int chunkIndex, ChunkProcessingContext context) {
+        predictRatings(request, chunkHits, chunkIndex, ActionListener.wrap(ratings -> {
+            if (ratings.isEmpty()) {
+                log.error("Chunk {} produced no ratings for {} hits", chunkIndex, chunkHits.size());
+                context.handleFailure(chunkIndex, new IllegalStateException("No ratings produced for chunk " + chunkIndex));
+                return;
+            }
+            log.info("Chunk {} processed successfully, rated {}/{} hits", chunkIndex, ratings.size(), chunkHits.size());
+            context.handleSuccess(chunkIndex, transformer.buildRatingsJson(ratings));
         }, e -> {
             log.error("Chunk {} failed after all retries", chunkIndex, e);
             context.handleFailure(chunkIndex, e);
         }));
     }
 
-    private String cleanResponse(String response) {
-        return response.substring(1, response.length() - 1); // remove brackets
+    /**
+     * Rate the hits of a chunk. Ratings of a partially valid response are kept and only the unrated hits are sent again.
+     * A chunk with more than one hit that fails or is left unrated is split into halves instead of being retried unchanged,
+     * down to single hits which get the regular retries.
+     */
+    private void predictRatings(
+        PredictionRequest request,
+        Map<String, String> chunkHits,
+        int chunkIndex,
+        ActionListener<Map<String, Double>> listener
+    ) {
+        MLInput mlInput = transformer.createMLInput(request.searchText(), request.reference(), chunkHits);
+        int promptTokens = transformer.estimateTokens(
+            request.tokenLimit(),
+            request.searchText(),
+            request.reference(),
+            chunkHits,
+            request.contextCache()
+        );
+        int maxRetries = chunkHits.size() > 1 ? 0 : MAX_RETRY_NUMBER;
+        predictSingleChunkWithRetry(
+            request.modelId(),
+            mlInput,
+            promptTokens,
+            chunkIndex,
+            0,
+            maxRetries,
+            0,
+            ActionListener.wrap(response -> {
+                Map<String, Double> ratings = transformer.parseRatings(response, chunkHits.keySet());
+                if (ratings.size() == chunkHits.size() || chunkHits.size() == 1) {
+                    listener.onResponse(ratings);
+                    return;
+                }
+                Map<String, String> unratedHits = new HashMap<>(chunkHits);
+                unratedHits.keySet().removeAll(ratings.keySet());
+                log.warn("Chunk {} left {}/{} hits unrated, sending them again", chunkIndex, unratedHits.size(), chunkHits.size());
+                bisect(request, unratedHits, chunkIndex, ActionListener.wrap(retriedRatings -> {
+                    Map<String, Double> mergedRatings = new HashMap<>(ratings);
+                    mergedRatings.putAll(retriedRatings);
+                    listener.onResponse(mergedRatings);
+                }, e -> listener.onResponse(ratings)));
+            }, e -> {
+                if (chunkHits.size() > 1) {
+                    log.warn("Chunk {} with {} hits failed, splitting it into halves: {}", chunkIndex, chunkHits.size(), e.getMessage());
+                    bisect(request, chunkHits, chunkIndex, listener);
+                } else {
+                    listener.onFailure(e);
+                }
+            })
+        );
+    }
+
+    private void bisect(PredictionRequest request, Map<String, String> hits, int chunkIndex, ActionListener<Map<String, Double>> listener) {
+        if (hits.size() == 1) {
+            predictRatings(request, hits, chunkIndex, listener);
+            return;
+        }
+        List<Map<String, String>> halves = List.of(new HashMap<>(), new HashMap<>());
+        int i = 0;
+        for (Map.Entry<String, String> hit : hits.entrySet()) {
+            halves.get(i++ < hits.size() / 2 ? 0 : 1).put(hit.getKey(), hit.getValue());
+        }
+
+        Map<String, Double> mergedRatings = new ConcurrentHashMap<>();
+        AtomicReference<Exception> lastFailure = new AtomicReference<>();
+        AtomicInteger pendingHalves = new AtomicInteger(halves.size());
+        for (Map<String, String> half : halves) {
+            predictRatings(request, half, chunkIndex, ActionListener.wrap(ratings -> {
+                mergedRatings.putAll(ratings);
+                completeHalf(pendingHalves, mergedRatings, lastFailure, listener);
+            }, e -> {
+                lastFailure.set(e);
+                completeHalf(pendingHalves, mergedRatings, lastFailure, listener);
+            }));
+        }
+    }
+
+    private void completeHalf(
+        AtomicInteger pendingHalves,
+        Map<String, Double> mergedRatings,
+        AtomicReference<Exception> lastFailure,
+        ActionListener<Map<String, Double>> listener
+    ) {
+        if (pendingHalves.decrementAndGet() > 0) {
+            return;
+        }
+        if (mergedRatings.isEmpty() && lastFailure.get() != null) {
+            listener.onFailure(lastFailure.get());
+        } else {
+            listener.onResponse(mergedRatings);
+        }
     }
 
     private void predictSingleChunkWithRetry(
         String modelId,
         MLInput mlInput,
+        int promptTokens,
+        int chunkIndex,
+        int retryCount,
+        int maxRetries,
+        int throttleCount,
+        ActionListener<String> chunkListener
+    ) {
+        long rateLimitDelay = rateLimiter.reserve(modelId, promptTokens);
+        if (rateLimitDelay > 0) {
+            log.debug("Chunk {} delayed {} ms by rate limit of model {}", chunkIndex, rateLimitDelay, modelId);
+            scheduleRetry(
+                () -> sendChunk(modelId, mlInput, promptTokens, chunkIndex, retryCount, maxRetries, throttleCount, chunkListener),
+                rateLimitDelay
+            );
+        } else {
+            sendChunk(modelId, mlInput, promptTokens, chunkIndex, retryCount, maxRetries, throttleCount, chunkListener);
+        }
+    }
+
+    private void sendChunk(
+        String modelId,
+        MLInput mlInput,
+        int promptTokens,
         int chunkIndex,
         int retryCount,
+        int maxRetries,
+        int throttleCount,
         ActionListener<String> chunkListener
     ) {
         predictSingleChunk(modelId, mlInput, new ActionListener<String>() {
@@ -82,11 +225,45 @@ public class MLAccessor {
 
             @Override
             public void onFailure(Exception e) {
-                if (retryCount < MAX_RETRY_NUMBER) {
-                    log.warn("Chunk {} failed, attempt {}/{}. Retrying...", chunkIndex, retryCount + 1, MAX_RETRY_NUMBER);
+                if (MLRateLimiter.isThrottlingError(e) && throttleCount < MAX_THROTTLE_RETRY_NUMBER) {
+                    long delay = rateLimiter.onThrottled(modelId, throttleCount);
+                    log.warn(
+                        "Chunk {} throttled, attempt {}/{}. Retrying in {} ms...",
+                        chunkIndex,
+                        throttleCount + 1,
+                        MAX_THROTTLE_RETRY_NUMBER,
+                        delay
+                    );
+                    scheduleRetry(
+                        () -> predictSingleChunkWithRetry(
+                            modelId,
+                            mlInput,
+                            promptTokens,
+                            chunkIndex,
+                            retryCount,
+                            maxRetries,
+                            throttleCount + 1,
+                            chunkListener
+                        ),
+                        delay
+                    );
+                } else if (retryCount < maxRetries) {
+                    log.warn("Chunk {} failed, attempt {}/{}. Retrying...", chunkIndex, retryCount + 1, maxRetries);
 
                     long delay = RETRY_DELAY_MS * (long) Math.pow(2, retryCount);
-                    scheduleRetry(() -> predictSingleChunkWithRetry(modelId, mlInput, chunkIndex, retryCount + 1, chunkListener), delay);
+                    scheduleRetry(
+                        () -> predictSingleChunkWithRetry(
+                            modelId,
+                            mlInput,
+                            promptTokens,
+                            chunkIndex,
+                            retryCount + 1,
+                            maxRetries,
+                            throttleCount,
+                            chunkListener
+                        ),
+                        delay
+                    );
                 } else {
                     chunkListener.onFailure(e);
                 }
@@ -106,4 +283,12 @@ public class MLAccessor {
         );
     }
 
+    private record PredictionRequest(
+        String modelId,
+        int tokenLimit,
+        String searchText,
+        String reference,
+        DocumentContextCache contextCache
+    ) {
+    }
 }
@@ -16,6 +16,7 @@ import static org.opensearch.searchrelevance.common.MLConstants.RESPONSE_CHOICES
 import static org.opensearch.searchrelevance.common.MLConstants.RESPONSE_CONTENT_FIELD;
 import static org.opensearch.searchrelevance.common.MLConstants.RESPONSE_MESSAGE_FIELD;
 import static org.opensearch.searchrelevance.common.MLConstants.escapeJson;
+import static org.opensearch.searchrelevance.common.MLConstants.sanitizeLLMResponse;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -24,6 +25,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.common.util.CollectionUtils;
@@ -35,6 +37,10 @@ import org.opensearch.ml.common.output.MLOutput;
 import org.opensearch.ml.common.output.model.ModelTensor;
 import org.opensearch.ml.common.output.model.ModelTensorOutput;
 import org.opensearch.ml.common.output.model.ModelTensors;
+import org.opensearch.searchrelevance.ml.DocumentContextCache.DocumentContext;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.log4j.Log4j2;
 
@@ -43,50 +49,104 @@ import lombok.extern.log4j.Log4j2;
  */
 @Log4j2
 public class MLInputOutputTransformer {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String RATING_ID_FIELD = "id";
+    private static final String RATING_SCORE_FIELD = "rating_score";
 
     public List<MLInput> createMLInputs(int tokenLimit, String searchText, String reference, Map<String, String> hits) {
         List<MLInput> mlInputs = new ArrayList<>();
+        for (Map<String, String> chunk : createChunks(tokenLimit, searchText, reference, hits)) {
+            mlInputs.add(createMLInput(searchText, reference, chunk));
+        }
+        return mlInputs;
+    }
+
+    public List<Map<String, String>> createChunks(int tokenLimit, String searchText, String reference, Map<String, String> hits) {
+        return createChunks(tokenLimit, searchText, reference, hits, new DocumentContextCache(null));
+    }
+
+    /**
+     * Split hits into chunks whose formatted messages fit into the token limit.
+     * A single hit exceeding the limit on its own is truncated into its own chunk.
+     * Token counts of the hits come from the job scoped context cache, so every document is tokenized once per job.
+     */
+    public List<Map<String, String>> createChunks(
+        int tokenLimit,
+        String searchText,
+        String reference,
+        Map<String, String> hits,
+        DocumentContextCache contextCache
+    ) {
+        List<Map<String, String>> chunks = new ArrayList<>();
         Map<String, String> currentChunk = new HashMap<>();
+        int baseTokens = TokenizerUtil.countTokens(formatMessages(searchText, reference, Map.of()));
+        int currentTokens = baseTokens;
 
         for (Map.Entry<String, String> entry : hits.entrySet()) {
-            Map<String, String> tempChunk = new HashMap<>(currentChunk);
-            tempChunk.put(entry.getKey(), entry.getValue());
-
-            String messages = formatMessages(searchText, reference, tempChunk);
-            int totalTokens = TokenizerUtil.countTokens(messages);
-
-            if (totalTokens > tokenLimit) {
-                if (currentChunk.isEmpty()) {
-                    mlInputs.add(handleOversizedEntry(entry, searchText, reference, tokenLimit));
-                } else {
-                    mlInputs.add(createMLInput(searchText, reference, currentChunk));
-                    currentChunk = new HashMap<>();
-                    currentChunk.put(entry.getKey(), entry.getValue());
-                }
+            DocumentContext documentContext = contextCache.getOrCompute(entry.getKey(), key -> renderContext(key, entry.getValue()));
+            int entryTokens = documentContext.getEntryTokens();
+
+            if (!currentChunk.isEmpty() && currentTokens + entryTokens > tokenLimit) {
+                chunks.add(currentChunk);
+                currentChunk = new HashMap<>();
+                currentTokens = baseTokens;
+            }
+
+            if (baseTokens + entryTokens > tokenLimit) {
+                chunks.add(handleOversizedEntry(entry.getKey(), documentContext, baseTokens + entryTokens - tokenLimit, tokenLimit));
             } else {
-                currentChunk.put(entry.getKey(), entry.getValue());
+                currentChunk.put(entry.getKey(), documentContext.getContext());
+                currentTokens += entryTokens;
             }
         }
 
         if (!currentChunk.isEmpty()) {
-            mlInputs.add(createMLInput(searchText, reference, currentChunk));
+            chunks.add(currentChunk);
         }
 
-        return mlInputs;
+        return chunks;
     }
 
-    private MLInput handleOversizedEntry(Map.Entry<String, String> entry, String searchText, String reference, int tokenLimit) {
-        log.warn("Entry with key {} causes total tokens to exceed limit of {}", entry.getKey(), tokenLimit);
-
-        Map<String, String> testChunk = Map.of(entry.getKey(), entry.getValue());
-        String testMessages = formatMessages(searchText, reference, testChunk);
-        int excessTokens = TokenizerUtil.countTokens(testMessages) - tokenLimit;
+    /**
+     * Estimate the prompt tokens of a chunk from the cached token counts of its hits.
+     * Oversized hits are sent truncated to the token limit, so each hit is charged at most what is left of the limit.
+     */
+    public int estimateTokens(
+        int tokenLimit,
+        String searchText,
+        String reference,
+        Map<String, String> hits,
+        DocumentContextCache contextCache
+    ) {
+        int baseTokens = TokenizerUtil.countTokens(formatMessages(searchText, reference, Map.of()));
+        int maxEntryTokens = Math.max(0, tokenLimit - baseTokens);
+        int tokens = baseTokens;
+        for (Map.Entry<String, String> entry : hits.entrySet()) {
+            int entryTokens = contextCache.getOrCompute(entry.getKey(), key -> renderContext(key, entry.getValue())).getEntryTokens();
+            tokens += Math.min(entryTokens, maxEntryTokens);
+        }
+        return tokens;
+    }
 
-        int currentTokens = TokenizerUtil.countTokens(entry.getValue());
-        String truncatedValue = TokenizerUtil.truncateString(entry.getValue(), Math.max(1, currentTokens - excessTokens));
+    private Map<String, String> handleOversizedEntry(String key, DocumentContext documentContext, int excessTokens, int tokenLimit) {
+        log.warn("Entry with key {} causes total tokens to exceed limit of {}", key, tokenLimit);
+        String truncatedValue = documentContext.truncate(Math.max(1, documentContext.getContextTokens() - excessTokens));
+        return Map.of(key, truncatedValue);
+    }
 
-        Map<String, String> singleEntryChunk = Map.of(entry.getKey(), truncatedValue);
-        return createMLInput(searchText, reference, singleEntryChunk);
+    private DocumentContext renderContext(String key, String context) {
+        try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
+            builder.startObject();
+            builder.field("id", key);
+            builder.field("source", context);
+            builder.endObject();
+            // hits are json escaped once more inside the messages, plus one token for the separator between hits
+            int entryTokens = TokenizerUtil.countTokens(escapeJson(builder.toString())) + 1;
+            return new DocumentContext(context, TokenizerUtil.countTokens(context), entryTokens);
+        } catch (IOException e) {
+            log.error("Error converting hit {} to JSON string", key, e);
+            throw new IllegalArgumentException("Failed to process hits", e);
+        }
     }
 
     public MLInput createMLInput(String searchText, String reference, Map<String, String> hits) {
@@ -149,4 +209,100 @@ public class MLInputOutputTransformer {
         Map<String, ?> message = (Map<String, ?>) choices.get(RESPONSE_MESSAGE_FIELD);
         return (String) message.get(RESPONSE_CONTENT_FIELD);
     }
+
+    /**
+     * Parse ratings out of a LLM response. If the response is not a valid JSON array, each rating object
+     * is parsed on its own so that the well-formed ratings of a partially broken response are still kept.
+     * @param response - raw LLM response content
+     * @param expectedIds - ids of the hits sent in the request, ratings of any other id are dropped
+     * @return rating score by hit id
+     */
+    public Map<String, Double> parseRatings(String response, Set<String> expectedIds) {
+        String sanitizedResponse = sanitizeLLMResponse(response);
+        List<Map<String, Object>> ratings;
+        try {
+            ratings = OBJECT_MAPPER.readValue(sanitizedResponse, new TypeReference<List<Map<String, Object>>>() {
+            });
+        } catch (IOException e) {
+            log.warn("Malformed LLM response, salvaging ratings per document: {}", e.getMessage());
+            ratings = salvageRatingObjects(sanitizedResponse);
+        }
+
+        Map<String, Double> docIdToRating = new HashMap<>();
+        for (Map<String, Object> rating : ratings) {
+            if (rating == null || !(rating.get(RATING_ID_FIELD) instanceof String id) || !expectedIds.contains(id)) {
+                continue;
+            }
+            Double score = parseRatingScore(rating.get(RATING_SCORE_FIELD));
+            if (score != null) {
+                docIdToRating.put(id, score);
+            }
+        }
+        return docIdToRating;
+    }
+
+    public String buildRatingsJson(Map<String, Double> docIdToRating) {
+        try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
+            builder.startArray();
+            for (Map.Entry<String, Double> rating : docIdToRating.entrySet()) {
+                builder.startObject();
+                builder.field(RATING_ID_FIELD, rating.getKey());
+                builder.field(RATING_SCORE_FIELD, rating.getValue());
+                builder.endObject();
+            }
+            builder.endArray();
+            return builder.toString();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to build ratings json", e);
+        }
+    }
+
+    /**
+     * Scan the response for top level JSON objects and parse each of them independently.
+     */
+    private List<Map<String, Object>> salvageRatingObjects(String response) {
+        List<Map<String, Object>> ratings = new ArrayList<>();
+        int depth = 0;
+        int start = -1;
+        boolean inString = false;
+        for (int i = 0; i < response.length(); i++) {
+            char c = response.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                if (depth++ == 0) {
+                    start = i;
+                }
+            } else if (c == '}' && depth > 0 && --depth == 0) {
+                String candidate = response.substring(start, i + 1);
+                try {
+                    ratings.add(OBJECT_MAPPER.readValue(candidate, new TypeReference<Map<String, Object>>() {
+                    }));
+                } catch (IOException e) {
+                    log.debug("Dropping unparseable rating object: {}", candidate);
+                }
+            }
+        }
+        return ratings;
+    }
+
+    private Double parseRatingScore(Object score) {
+        if (score instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (score instanceof String str) {
+            try {
+                return Double.parseDouble(str.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ml;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.common.Randomness;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Node-wide rate limiter for ml-commons predict calls. Keeps one token bucket per model id for
+ * requests-per-minute and tokens-per-minute, so all judgment jobs on the node share the same budget.
+ * Callers reserve budget before each predict call and get back the delay to wait before sending it.
+ */
+@Log4j2
+public class MLRateLimiter {
+    static final long THROTTLE_BASE_DELAY_MS = 1000;
+    static final long THROTTLE_MAX_DELAY_MS = 60_000;
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final SearchRelevanceSettingsAccessor settingsAccessor;
+    private final LongSupplier nanoClock;
+    private final Random random;
+    private final ConcurrentMap<String, ModelBudget> budgets = new ConcurrentHashMap<>();
+
+    public MLRateLimiter(SearchRelevanceSettingsAccessor settingsAccessor) {
+        this(settingsAccessor, System::nanoTime, Randomness.get());
+    }
+
+    MLRateLimiter(SearchRelevanceSettingsAccessor settingsAccessor, LongSupplier nanoClock, Random random) {
+        this.settingsAccessor = settingsAccessor;
+        this.nanoClock = nanoClock;
+        this.random = random;
+    }
+
+    /**
+     * Reserve one request and the given number of prompt tokens against the model budget.
+     * @param modelId - ml model id
+     * @param tokens - prompt tokens of the request
+     * @return delay in milliseconds the caller should wait before sending the request, 0 if it can be sent now
+     */
+    public long reserve(String modelId, int tokens) {
+        int requestsPerMinute = settingsAccessor.getLlmRequestsPerMinute();
+        int tokensPerMinute = settingsAccessor.getLlmTokensPerMinute();
+        ModelBudget budget = budgets.computeIfAbsent(modelId, id -> new ModelBudget(nanoClock.getAsLong()));
+        long delayNanos = budget.reserve(requestsPerMinute, tokensPerMinute, tokens, nanoClock.getAsLong());
+        return TimeUnit.NANOSECONDS.toMillis(delayNanos);
+    }
+
+    /**
+     * Record a throttling response from the model. Pauses the model budget for every caller on the node
+     * and returns a jittered exponential backoff delay for the throttled request.
+     * @param modelId - ml model id
+     * @param attempt - number of throttled attempts of the request so far
+     * @return delay in milliseconds before the throttled request should be retried
+     */
+    public long onThrottled(String modelId, int attempt) {
+        long ceiling = Math.min(THROTTLE_MAX_DELAY_MS, THROTTLE_BASE_DELAY_MS << Math.min(attempt, 16));
+        long backoff = ceiling / 2 + (long) (random.nextDouble() * (ceiling / 2));
+        long now = nanoClock.getAsLong();
+        budgets.computeIfAbsent(modelId, id -> new ModelBudget(now)).pauseUntil(now + TimeUnit.MILLISECONDS.toNanos(backoff));
+        log.warn("Model {} is throttling requests, pausing for {} ms", modelId, backoff);
+        return backoff;
+    }
+
+    /**
+     * Whether the failure means the remote model rejected the request because of its rate limits.
+     */
+    public static boolean isThrottlingError(Exception e) {
+        if (ExceptionsHelper.status(e) == RestStatus.TOO_MANY_REQUESTS) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage() == null ? "" : cause.getMessage().toLowerCase(Locale.ROOT);
+            if (message.contains("429") || message.contains("too many requests") || message.contains("rate limit")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Continuously refilled token buckets of a single model. Reservations may drive a bucket negative,
+     * in which case the caller waits until the deficit is refilled, so concurrent callers are queued in order.
+     */
+    private static class ModelBudget {
+        private double availableRequests = Double.MAX_VALUE;
+        private double availableTokens = Double.MAX_VALUE;
+        private long lastRefillNanos;
+        private long pausedUntilNanos;
+
+        ModelBudget(long nowNanos) {
+            this.lastRefillNanos = nowNanos;
+            this.pausedUntilNanos = nowNanos;
+        }
+
+        synchronized long reserve(int requestsPerMinute, int tokensPerMinute, int tokens, long nowNanos) {
+            long elapsedNanos = Math.max(0, nowNanos - lastRefillNanos);
+            lastRefillNanos = nowNanos;
+            long waitNanos = Math.max(0, pausedUntilNanos - nowNanos);
+
+            if (requestsPerMinute > 0) {
+                availableRequests = refill(availableRequests, requestsPerMinute, elapsedNanos) - 1;
+                waitNanos = Math.max(waitNanos, nanosToRefill(availableRequests, requestsPerMinute));
+            }
+            if (tokensPerMinute > 0) {
+                // a single request larger than the whole budget must still be able to go through once the bucket is full
+                availableTokens = refill(availableTokens, tokensPerMinute, elapsedNanos) - Math.min(tokens, tokensPerMinute);
+                waitNanos = Math.max(waitNanos, nanosToRefill(availableTokens, tokensPerMinute));
+            }
+            return waitNanos;
+        }
+
+        synchronized void pauseUntil(long untilNanos) {
+            pausedUntilNanos = Math.max(pausedUntilNanos, untilNanos);
+        }
+
+        private static double refill(double available, int perMinute, long elapsedNanos) {
+            return Math.min(perMinute, available + elapsedNanos * perMinute / NANOS_PER_MINUTE);
+        }
+
+        private static long nanosToRefill(double available, int perMinute) {
+            return available >= 0 ? 0 : (long) Math.ceil(-available * NANOS_PER_MINUTE / perMinute);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evaluation results of an experiment and search configuration packed into a single document. Each evaluation result
+ * is a row of the block: the query texts are stored once as a dictionary the rows refer to by ordinal, the metric values
+ * are packed row by row as float32 values in the order of the metric names, and the ranked document ids of all rows are
+ * deflate compressed into a single binary field. A row is read back as the {@link EvaluationResult} it was built from,
+ * with the timestamp of the block and metric values of float precision.
+ */
+@Getter
+@AllArgsConstructor
+public class EvaluationResultBlock implements ToXContentObject {
+    public static final String ID = "id";
+    public static final String TIMESTAMP = "timestamp";
+    public static final String EXPERIMENT_ID = "experimentId";
+    public static final String SEARCH_CONFIGURATION_ID = "searchConfigurationId";
+    public static final String JUDGMENT_IDS = "judgmentIds";
+    public static final String EVALUATION_IDS = "evaluationIds";
+    public static final String EXPERIMENT_VARIANT_IDS = "experimentVariantIds";
+    public static final String EXPERIMENT_VARIANT_PARAMETERS = "experimentVariantParameters";
+    public static final String QUERY_TEXTS = "queryTexts";
+    public static final String QUERY_ORDINALS = "queryOrdinals";
+    public static final String METRIC_NAMES = "metricNames";
+    public static final String METRIC_VALUES = "metricValues";
+    public static final String DOCUMENT_IDS = "documentIds";
+
+    private static final String METRIC = "metric";
+    private static final String VALUE = "value";
+
+    private final String id;
+    private final String timestamp;
+    private final String experimentId;
+    private final String searchConfigurationId;
+    private final List<String> judgmentIds;
+    /**
+     * Id of the evaluation result of each row
+     */
+    private final List<String> evaluationIds;
+    private final List<String> experimentVariantIds;
+    private final List<String> experimentVariantParameters;
+    /**
+     * Distinct query texts of the block, referred to by the query ordinal of each row
+     */
+    private final List<String> queryTexts;
+    private final List<Integer> queryOrdinals;
+    private final List<String> metricNames;
+    /**
+     * Metric values of all rows as float32, NaN where a row misses a metric
+     */
+    private final byte[] metricValues;
+    /**
+     * Deflate compressed ranked document ids of all rows
+     */
+    private final byte[] documentIds;
+
+    /**
+     * @return document id of a block, stable across retries of the same experiment
+     */
+    public static String id(String experimentId, String searchConfigurationId, int sequence) {
+        return experimentId + "_" + searchConfigurationId + "_" + sequence;
+    }
+
+    /**
+     * Packs evaluation results of the same experiment and search configuration into a block
+     * @param id - document id of the block
+     * @param evaluationResults - rows of the block, must not be empty
+     */
+    public static EvaluationResultBlock of(String id, List<EvaluationResult> evaluationResults) {
+        EvaluationResult first = evaluationResults.get(0);
+        List<String> evaluationIds = new ArrayList<>(evaluationResults.size());
+        List<String> experimentVariantIds = new ArrayList<>(evaluationResults.size());
+        List<String> experimentVariantParameters = new ArrayList<>(evaluationResults.size());
+        List<String> queryTexts = new ArrayList<>();
+        Map<String, Integer> queryOrdinalByText = new HashMap<>();
+        List<Integer> queryOrdinals = new ArrayList<>(evaluationResults.size());
+        Map<String, Integer> metricIndexByName = new LinkedHashMap<>();
+        for (EvaluationResult evaluationResult : evaluationResults) {
+            evaluationIds.add(evaluationResult.id());
+            experimentVariantIds.add(evaluationResult.experimentVariantId());
+            experimentVariantParameters.add(evaluationResult.experimentVariantParameters());
+            queryOrdinals.add(queryOrdinalByText.computeIfAbsent(evaluationResult.searchText(), text -> {
+                queryTexts.add(text);
+                return queryTexts.size() - 1;
+            }));
+            for (Map<String, Object> metric : evaluationResult.metrics()) {
+                metricIndexByName.putIfAbsent(String.valueOf(metric.get(METRIC)), metricIndexByName.size());
+            }
+        }
+
+        ByteBuffer metricValues = ByteBuffer.allocate(evaluationResults.size() * metricIndexByName.size() * Float.BYTES);
+        for (EvaluationResult evaluationResult : evaluationResults) {
+            float[] row = new float[metricIndexByName.size()];
+            Arrays.fill(row, Float.NaN);
+            for (Map<String, Object> metric : evaluationResult.metrics()) {
+                Object value = metric.get(VALUE);
+                if (value instanceof Number number) {
+                    row[metricIndexByName.get(String.valueOf(metric.get(METRIC)))] = number.floatValue();
+                }
+            }
+            for (float value : row) {
+                metricValues.putFloat(value);
+            }
+        }
+
+        return new EvaluationResultBlock(
+            id,
+            first.timestamp(),
+            first.experimentId(),
+            first.searchConfigurationId(),
+            first.judgmentIds() == null ? List.of() : first.judgmentIds(),
+            evaluationIds,
+            experimentVariantIds,
+            experimentVariantParameters,
+            queryTexts,
+            queryOrdinals,
+            new ArrayList<>(metricIndexByName.keySet()),
+            metricValues.array(),
+            encodeDocumentIds(evaluationResults)
+        );
+    }
+
+    /**
+     * Reads a block from the source of its document
+     */
+    @SuppressWarnings("unchecked")
+    public static EvaluationResultBlock fromSource(Map<String, Object> source) {
+        return new EvaluationResultBlock(
+            (String) source.get(ID),
+            (String) source.get(TIMESTAMP),
+            (String) source.get(EXPERIMENT_ID),
+            (String) source.get(SEARCH_CONFIGURATION_ID),
+            (List<String>) source.getOrDefault(JUDGMENT_IDS, List.of()),
+            (List<String>) source.get(EVALUATION_IDS),
+            (List<String>) source.get(EXPERIMENT_VARIANT_IDS),
+            (List<String>) source.get(EXPERIMENT_VARIANT_PARAMETERS),
+            (List<String>) source.get(QUERY_TEXTS),
+            ((List<Number>) source.get(QUERY_ORDINALS)).stream().map(Number::intValue).toList(),
+            (List<String>) source.get(METRIC_NAMES),
+            Base64.getDecoder().decode((String) source.get(METRIC_VALUES)),
+            Base64.getDecoder().decode((String) source.get(DOCUMENT_IDS))
+        );
+    }
+
+    /**
+     * @return row of the evaluation result in this block, -1 if the block does not contain it
+     */
+    public int indexOf(String evaluationId) {
+        return evaluationIds.indexOf(evaluationId);
+    }
+
+    /**
+     * @return number of evaluation results in this block
+     */
+    public int size() {
+        return evaluationIds.size();
+    }
+
+    /**
+     * @return evaluation result of a row
+     */
+    public EvaluationResult row(int row) {
+        return rows(row, row + 1).get(0);
+    }
+
+    /**
+     * @return evaluation results of all rows, in row order
+     */
+    public List<EvaluationResult> rows() {
+        return rows(0, size());
+    }
+
+    private List<EvaluationResult> rows(int from, int to) {
+        List<List<String>> documentIdsByRow = decodeDocumentIds(to);
+        ByteBuffer values = ByteBuffer.wrap(metricValues);
+        List<EvaluationResult> evaluationResults = new ArrayList<>(to - from);
+        for (int row = from; row < to; row++) {
+            List<Map<String, Object>> metrics = new ArrayList<>(metricNames.size());
+            for (int i = 0; i < metricNames.size(); i++) {
+                float value = values.getFloat((row * metricNames.size() + i) * Float.BYTES);
+                if (Float.isNaN(value) == false) {
+                    // the shortest decimal of the float, so 0.67 reads back as 0.67 instead of 0.6700000166893005
+                    metrics.add(Map.of(METRIC, metricNames.get(i), VALUE, Double.parseDouble(Float.toString(value))));
+                }
+            }
+            evaluationResults.add(
+                new EvaluationResult(
+                    evaluationIds.get(row),
+                    timestamp,
+                    searchConfigurationId,
+                    queryTexts.get(queryOrdinals.get(row)),
+                    judgmentIds,
+                    documentIdsByRow.get(row),
+                    metrics,
+                    experimentId,
+                    experimentVariantIds.get(row),
+                    experimentVariantParameters.get(row)
+                )
+            );
+        }
+        return evaluationResults;
+    }
+
+    private static byte[] encodeDocumentIds(List<EvaluationResult> evaluationResults) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            for (EvaluationResult evaluationResult : evaluationResults) {
+                List<String> documentIds = evaluationResult.documentIds() == null ? List.of() : evaluationResult.documentIds();
+                out.writeInt(documentIds.size());
+                for (String documentId : documentIds) {
+                    byte[] documentIdBytes = documentId.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(documentIdBytes.length);
+                    out.write(documentIdBytes);
+                }
+            }
+        } catch (IOException e) {
+            throw new SearchRelevanceException("Failed to encode document ids of evaluation results", e, RestStatus.INTERNAL_SERVER_ERROR);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the document ids of the first rows, the stream is read sequentially up to the last requested row
+     */
+    private List<List<String>> decodeDocumentIds(int rows) {
+        List<List<String>> documentIdsByRow = new ArrayList<>(rows);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(documentIds)))) {
+            for (int row = 0; row < rows; row++) {
+                int count = in.readInt();
+                List<String> rowDocumentIds = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    byte[] documentIdBytes = new byte[in.readInt()];
+                    in.readFully(documentIdBytes);
+                    rowDocumentIds.add(new String(documentIdBytes, StandardCharsets.UTF_8));
+                }
+                documentIdsByRow.add(rowDocumentIds);
+            }
+        } catch (IOException e) {
+            throw new SearchRelevanceException("Failed to decode document ids of evaluation results", e, RestStatus.INTERNAL_SERVER_ERROR);
+        }
+        return documentIdsByRow;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        XContentBuilder xContentBuilder = builder.startObject();
+        xContentBuilder.field(ID, this.id);
+        xContentBuilder.field(TIMESTAMP, this.timestamp);
+        xContentBuilder.field(EXPERIMENT_ID, this.experimentId);
+        xContentBuilder.field(SEARCH_CONFIGURATION_ID, this.searchConfigurationId);
+        xContentBuilder.field(JUDGMENT_IDS, this.judgmentIds);
+        xContentBuilder.field(EVALUATION_IDS, this.evaluationIds);
+        xContentBuilder.field(EXPERIMENT_VARIANT_IDS, this.experimentVariantIds);
+        xContentBuilder.field(EXPERIMENT_VARIANT_PARAMETERS, this.experimentVariantParameters);
+        xContentBuilder.field(QUERY_TEXTS, this.queryTexts);
+        xContentBuilder.field(QUERY_ORDINALS, this.queryOrdinals);
+        xContentBuilder.field(METRIC_NAMES, this.metricNames);
+        xContentBuilder.field(METRIC_VALUES, this.metricValues);
+        xContentBuilder.field(DOCUMENT_IDS, this.documentIds);
+        return xContentBuilder.endObject();
+    }
+}
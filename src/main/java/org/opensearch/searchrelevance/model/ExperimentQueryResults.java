@@ -0,0 +1,59 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.model;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Results of a single query of an experiment, stored as one document per experiment and query as soon as the query
+ * is evaluated, so that neither the experiment nor its readers hold the results of all queries at once.
+ */
+@Getter
+@AllArgsConstructor
+public class ExperimentQueryResults implements ToXContentObject {
+    public static final String EXPERIMENT_ID = "experimentId";
+    public static final String QUERY_TEXT = "queryText";
+    public static final String ORDINAL = "ordinal";
+    public static final String TIME_STAMP = "timestamp";
+    public static final String RESULTS = "results";
+
+    private final String experimentId;
+    private final String queryText;
+    /**
+     * Position of the query in the query set of the experiment
+     */
+    private final int ordinal;
+    private final String timestamp;
+    private final List<Map<String, Object>> results;
+
+    /**
+     * @return document id of the results of a query, stable across retries of the same experiment
+     */
+    public static String id(String experimentId, int ordinal) {
+        return experimentId + "_" + ordinal;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        XContentBuilder xContentBuilder = builder.startObject();
+        xContentBuilder.field(EXPERIMENT_ID, this.experimentId);
+        xContentBuilder.field(QUERY_TEXT, this.queryText);
+        xContentBuilder.field(ORDINAL, this.ordinal);
+        xContentBuilder.field(TIME_STAMP, this.timestamp);
+        xContentBuilder.field(RESULTS, this.results);
+        return xContentBuilder.endObject();
+    }
+}
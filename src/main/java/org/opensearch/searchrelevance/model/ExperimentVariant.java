@@ -8,9 +8,11 @@
 package org.opensearch.searchrelevance.model;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
 import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -45,6 +47,13 @@ public class ExperimentVariant implements ToXContentObject {
     private final Map<String, Object> parameters;
     private final Map<String, Object> results;
 
+    /**
+     * @return id of a variant of an experiment, stable for the same experiment and variant definition
+     */
+    public static String id(String experimentId, String definition) {
+        return experimentId + "_" + UUID.nameUUIDFromBytes(definition.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Computes the textual parameters for this experiment variant based on its parameters.
      * The textual parameters are generated on-demand and not stored.
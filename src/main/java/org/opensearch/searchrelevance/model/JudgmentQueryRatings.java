@@ -0,0 +1,92 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Ratings of a single query of a judgment, stored as one document per judgment and query so that readers fetch only
+ * the queries they evaluate and writers replace the ratings of a query without rewriting the whole judgment.
+ */
+@Getter
+@AllArgsConstructor
+public class JudgmentQueryRatings implements ToXContentObject {
+    public static final String JUDGMENT_ID = "judgmentId";
+    public static final String QUERY = "query";
+    public static final String ORDINAL = "ordinal";
+    public static final String TIME_STAMP = "timestamp";
+    public static final String RATINGS = "ratings";
+    public static final String DOC_ID = "docId";
+    public static final String RATING = "rating";
+
+    private final String judgmentId;
+    private final String query;
+    /**
+     * Position of the query in the ratings of the judgment
+     */
+    private final int ordinal;
+    /**
+     * Timestamp of the judgment version the ratings were written with
+     */
+    private final String timestamp;
+    private final List<Map<String, Object>> ratings;
+
+    /**
+     * @return document id of the ratings of a query, stable across writes of the same judgment
+     */
+    public static String id(String judgmentId, String query) {
+        return judgmentId + "_" + UUID.nameUUIDFromBytes(query.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts stored ratings into a map of docId to rating
+     */
+    public static Map<String, String> toDocIdToRatings(List<Map<String, Object>> ratings) {
+        Map<String, String> docIdToRatings = new HashMap<>();
+        if (ratings == null) {
+            return docIdToRatings;
+        }
+        for (Map<String, Object> rating : ratings) {
+            Object docId = rating.get(DOC_ID);
+            if (docId != null) {
+                docIdToRatings.put(docId.toString(), Objects.toString(rating.get(RATING), null));
+            }
+        }
+        return docIdToRatings;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        XContentBuilder xContentBuilder = builder.startObject();
+        xContentBuilder.field(JUDGMENT_ID, this.judgmentId);
+        xContentBuilder.field(QUERY, this.query);
+        xContentBuilder.field(ORDINAL, this.ordinal);
+        xContentBuilder.field(TIME_STAMP, this.timestamp);
+        xContentBuilder.startArray(RATINGS);
+        for (Map<String, Object> rating : this.ratings) {
+            xContentBuilder.startObject();
+            xContentBuilder.field(DOC_ID, rating.get(DOC_ID));
+            xContentBuilder.field(RATING, rating.get(RATING));
+            xContentBuilder.endObject();
+        }
+        xContentBuilder.endArray();
+        return xContentBuilder.endObject();
+    }
+}
@@ -25,6 +25,7 @@ public class QuerySet implements ToXContentObject {
     public static final String TIME_STAMP = "timestamp";
     public static final String SAMPLING = "sampling";
     public static final String QUERY_SET_QUERIES = "querySetQueries";
+    public static final String STATUS = "status";
 
     /**
      * Identifier of the system index
@@ -35,14 +36,28 @@ public class QuerySet implements ToXContentObject {
     private final String sampling;
     private final String timestamp;
     private final List<QuerySetEntry> querySetQueries;
+    private final AsyncStatus status;
 
     public QuerySet(String id, String name, String description, String timestamp, String sampling, List<QuerySetEntry> querySetQueries) {
+        this(id, name, description, timestamp, sampling, querySetQueries, AsyncStatus.COMPLETED);
+    }
+
+    public QuerySet(
+        String id,
+        String name,
+        String description,
+        String timestamp,
+        String sampling,
+        List<QuerySetEntry> querySetQueries,
+        AsyncStatus status
+    ) {
         this.id = id;
         this.description = description;
         this.name = name;
         this.sampling = sampling;
         this.timestamp = timestamp;
         this.querySetQueries = querySetQueries;
+        this.status = status;
     }
 
     @Override
@@ -53,6 +68,7 @@ public class QuerySet implements ToXContentObject {
         xContentBuilder.field(DESCRIPTION, this.description == null ? "" : this.description.trim());
         xContentBuilder.field(SAMPLING, this.sampling == null ? "" : this.sampling.trim());
         xContentBuilder.field(TIME_STAMP, this.timestamp.trim());
+        xContentBuilder.field(STATUS, this.status.name());
         // Add the query_set_queries field
         xContentBuilder.startArray(QUERY_SET_QUERIES);
         for (QuerySetEntry entry : querySetQueries) {
@@ -69,6 +85,7 @@ public class QuerySet implements ToXContentObject {
         private String sampling = "";
         private String timestamp = "";
         private List<QuerySetEntry> querySetQueries;
+        private AsyncStatus status = AsyncStatus.COMPLETED;
 
         private Builder() {}
 
@@ -79,6 +96,7 @@ public class QuerySet implements ToXContentObject {
             this.sampling = t.sampling;
             this.timestamp = t.timestamp;
             this.querySetQueries = t.querySetQueries;
+            this.status = t.status;
         }
 
         public Builder id(String id) {
@@ -111,8 +129,13 @@ public class QuerySet implements ToXContentObject {
             return this;
         }
 
+        public Builder status(AsyncStatus status) {
+            this.status = status;
+            return this;
+        }
+
         public QuerySet build() {
-            return new QuerySet(this.id, this.name, this.description, this.timestamp, this.sampling, this.querySetQueries);
+            return new QuerySet(this.id, this.name, this.description, this.timestamp, this.sampling, this.querySetQueries, this.status);
         }
 
         public static Builder builder() {
@@ -144,4 +167,8 @@ public class QuerySet implements ToXContentObject {
         return querySetQueries;
     }
 
+    public AsyncStatus status() {
+        return status;
+    }
+
 }
@@ -7,6 +7,7 @@
  */
 package org.opensearch.searchrelevance.model;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.opensearch.search.sort.SortOrder;
@@ -21,11 +22,13 @@ public class SearchParams {
     private final int size;
     private final String sortField;
     private final SortOrder sortOrder;
+    private final Object[] searchAfter;
 
     private SearchParams(Builder builder) {
         this.size = builder.size;
         this.sortField = builder.sortField;
         this.sortOrder = builder.sortOrder;
+        this.searchAfter = builder.searchAfter;
     }
 
     // Getters
@@ -41,6 +44,13 @@ public class SearchParams {
         return sortOrder;
     }
 
+    /**
+     * @return sort values of the last hit of the previous page, null for the first page
+     */
+    public Object[] getSearchAfter() {
+        return searchAfter;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -49,6 +59,7 @@ public class SearchParams {
         private int size = Defaults.SIZE;
         private String sortField = Defaults.SORT_FIELD;
         private SortOrder sortOrder = Defaults.SORT_ORDER;
+        private Object[] searchAfter;
 
         public Builder size(Integer value) {
             this.size = Optional.ofNullable(value).filter(s -> s > 0).orElse(Defaults.SIZE);
@@ -65,6 +76,11 @@ public class SearchParams {
             return this;
         }
 
+        public Builder searchAfter(List<Object> values) {
+            this.searchAfter = Optional.ofNullable(values).filter(v -> !v.isEmpty()).map(List::toArray).orElse(null);
+            return this;
+        }
+
         public SearchParams build() {
             return new SearchParams(this);
         }
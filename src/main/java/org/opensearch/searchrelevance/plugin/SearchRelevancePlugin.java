@@ -7,10 +7,26 @@
  */
 package org.opensearch.searchrelevance.plugin;
 
+import static org.opensearch.searchrelevance.common.PluginConstants.CLICK_STATISTICS_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_CACHE_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_ROLLUP_INDEX;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_BREAKER_LIMIT;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_BULK_REFRESH_POLICY;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL;
 import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_QUERY_SET_MAX_LIMIT;
 import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_STATS_ENABLED;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL;
 import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_WORKBENCH_ENABLED;
 
 import java.util.Collection;
@@ -27,13 +43,16 @@ import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
 import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.breaker.CircuitBreaker;
 import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.env.Environment;
 import org.opensearch.env.NodeEnvironment;
 import org.opensearch.indices.SystemIndexDescriptor;
+import org.opensearch.indices.breaker.BreakerSettings;
 import org.opensearch.ml.client.MachineLearningNodeClient;
 import org.opensearch.plugins.ActionPlugin;
+import org.opensearch.plugins.CircuitBreakerPlugin;
 import org.opensearch.plugins.ClusterPlugin;
 import org.opensearch.plugins.ExtensiblePlugin;
 import org.opensearch.plugins.Plugin;
@@ -42,6 +61,7 @@ import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
+import org.opensearch.searchrelevance.dao.ClickStatisticsDao;
 import org.opensearch.searchrelevance.dao.EvaluationResultDao;
 import org.opensearch.searchrelevance.dao.ExperimentDao;
 import org.opensearch.searchrelevance.dao.ExperimentVariantDao;
@@ -51,9 +71,13 @@ import org.opensearch.searchrelevance.dao.QuerySetDao;
 import org.opensearch.searchrelevance.dao.SearchConfigurationDao;
 import org.opensearch.searchrelevance.executors.ExperimentTaskManager;
 import org.opensearch.searchrelevance.executors.SearchRelevanceExecutor;
+import org.opensearch.searchrelevance.indices.OrphanSweeper;
 import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickModelMemoryBudget;
 import org.opensearch.searchrelevance.metrics.MetricsHelper;
 import org.opensearch.searchrelevance.ml.MLAccessor;
+import org.opensearch.searchrelevance.ml.MLRateLimiter;
 import org.opensearch.searchrelevance.rest.RestCreateQuerySetAction;
 import org.opensearch.searchrelevance.rest.RestDeleteExperimentAction;
 import org.opensearch.searchrelevance.rest.RestDeleteJudgmentAction;
@@ -68,6 +92,7 @@ import org.opensearch.searchrelevance.rest.RestPutJudgmentAction;
 import org.opensearch.searchrelevance.rest.RestPutQuerySetAction;
 import org.opensearch.searchrelevance.rest.RestPutSearchConfigurationAction;
 import org.opensearch.searchrelevance.rest.RestSearchRelevanceStatsAction;
+import org.opensearch.searchrelevance.rest.RestUpdateJudgmentAction;
 import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
 import org.opensearch.searchrelevance.stats.events.EventStatsManager;
 import org.opensearch.searchrelevance.stats.info.InfoStatsManager;
@@ -80,9 +105,13 @@ import org.opensearch.searchrelevance.transport.experiment.PutExperimentTranspor
 import org.opensearch.searchrelevance.transport.judgment.DeleteJudgmentAction;
 import org.opensearch.searchrelevance.transport.judgment.DeleteJudgmentTransportAction;
 import org.opensearch.searchrelevance.transport.judgment.GetJudgmentAction;
+import org.opensearch.searchrelevance.transport.judgment.GetJudgmentRatingsAction;
+import org.opensearch.searchrelevance.transport.judgment.GetJudgmentRatingsTransportAction;
 import org.opensearch.searchrelevance.transport.judgment.GetJudgmentTransportAction;
 import org.opensearch.searchrelevance.transport.judgment.PutJudgmentAction;
 import org.opensearch.searchrelevance.transport.judgment.PutJudgmentTransportAction;
+import org.opensearch.searchrelevance.transport.judgment.UpdateJudgmentAction;
+import org.opensearch.searchrelevance.transport.judgment.UpdateJudgmentTransportAction;
 import org.opensearch.searchrelevance.transport.queryset.DeleteQuerySetAction;
 import org.opensearch.searchrelevance.transport.queryset.DeleteQuerySetTransportAction;
 import org.opensearch.searchrelevance.transport.queryset.GetQuerySetAction;
@@ -99,6 +128,7 @@ import org.opensearch.searchrelevance.transport.searchConfiguration.PutSearchCon
 import org.opensearch.searchrelevance.transport.searchConfiguration.PutSearchConfigurationTransportAction;
 import org.opensearch.searchrelevance.transport.stats.SearchRelevanceStatsAction;
 import org.opensearch.searchrelevance.transport.stats.SearchRelevanceStatsTransportAction;
+import org.opensearch.searchrelevance.ubi.UbiRollupService;
 import org.opensearch.searchrelevance.utils.ClusterUtil;
 import org.opensearch.threadpool.ExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
@@ -108,7 +138,13 @@ import org.opensearch.watcher.ResourceWatcherService;
 /**
  * Search Relevance plugin class
  */
-public class SearchRelevancePlugin extends Plugin implements ActionPlugin, SystemIndexPlugin, ClusterPlugin, ExtensiblePlugin {
+public class SearchRelevancePlugin extends Plugin
+    implements
+        ActionPlugin,
+        SystemIndexPlugin,
+        ClusterPlugin,
+        ExtensiblePlugin,
+        CircuitBreakerPlugin {
 
     private Client client;
     private ClusterService clusterService;
@@ -120,17 +156,24 @@ public class SearchRelevancePlugin extends Plugin implements ActionPlugin, Syste
     private JudgmentDao judgmentDao;
     private EvaluationResultDao evaluationResultDao;
     private JudgmentCacheDao judgmentCacheDao;
+    private ClickStatisticsDao clickStatisticsDao;
     private MLAccessor mlAccessor;
     private MetricsHelper metricsHelper;
     private SearchRelevanceSettingsAccessor settingsAccessor;
     private ClusterUtil clusterUtil;
     private InfoStatsManager infoStatsManager;
+    private UbiRollupService ubiRollupService;
+    private OrphanSweeper orphanSweeper;
+    private ClickModelMemoryBudget clickModelMemoryBudget;
+    private volatile CircuitBreaker circuitBreaker;
 
     @Override
     public Collection<SystemIndexDescriptor> getSystemIndexDescriptors(Settings settings) {
         return List.of(
             new SystemIndexDescriptor(EXPERIMENT_INDEX, "System index used for experiment data"),
-            new SystemIndexDescriptor(JUDGMENT_CACHE_INDEX, "System index used for judgment cache data")
+            new SystemIndexDescriptor(JUDGMENT_CACHE_INDEX, "System index used for judgment cache data"),
+            new SystemIndexDescriptor(CLICK_STATISTICS_INDEX, "System index used for click statistics of UBI judgments"),
+            new SystemIndexDescriptor(UBI_ROLLUP_INDEX, "System index used for the rollup of UBI events")
         );
     }
 
@@ -150,16 +193,19 @@ public class SearchRelevancePlugin extends Plugin implements ActionPlugin, Syste
     ) {
         this.client = client;
         this.clusterService = clusterService;
-        this.searchRelevanceIndicesManager = new SearchRelevanceIndicesManager(clusterService, client);
+        this.settingsAccessor = new SearchRelevanceSettingsAccessor(clusterService, environment.settings());
+        this.searchRelevanceIndicesManager = new SearchRelevanceIndicesManager(clusterService, client, settingsAccessor);
+        clusterService.addListener(searchRelevanceIndicesManager);
         this.experimentDao = new ExperimentDao(searchRelevanceIndicesManager);
-        this.experimentVariantDao = new ExperimentVariantDao(searchRelevanceIndicesManager);
+        this.experimentVariantDao = new ExperimentVariantDao(searchRelevanceIndicesManager, settingsAccessor);
         this.querySetDao = new QuerySetDao(searchRelevanceIndicesManager);
         this.searchConfigurationDao = new SearchConfigurationDao(searchRelevanceIndicesManager);
         this.judgmentDao = new JudgmentDao(searchRelevanceIndicesManager);
-        this.evaluationResultDao = new EvaluationResultDao(searchRelevanceIndicesManager);
+        this.evaluationResultDao = new EvaluationResultDao(searchRelevanceIndicesManager, settingsAccessor);
         this.judgmentCacheDao = new JudgmentCacheDao(searchRelevanceIndicesManager);
+        this.clickStatisticsDao = new ClickStatisticsDao(searchRelevanceIndicesManager, settingsAccessor);
         MachineLearningNodeClient mlClient = new MachineLearningNodeClient(client);
-        this.mlAccessor = new MLAccessor(mlClient);
+        this.mlAccessor = new MLAccessor(mlClient, new MLRateLimiter(settingsAccessor));
         SearchRelevanceExecutor.initialize(threadPool);
         ExperimentTaskManager experimentTaskManager = new ExperimentTaskManager(
             client,
@@ -167,11 +213,14 @@ public class SearchRelevancePlugin extends Plugin implements ActionPlugin, Syste
             experimentVariantDao,
             threadPool
         );
+        JudgmentProgressTracker judgmentProgressTracker = new JudgmentProgressTracker(judgmentDao, threadPool);
         this.metricsHelper = new MetricsHelper(clusterService, client, judgmentDao, evaluationResultDao, experimentVariantDao);
-        this.settingsAccessor = new SearchRelevanceSettingsAccessor(clusterService, environment.settings());
         this.clusterUtil = new ClusterUtil(clusterService);
         this.infoStatsManager = new InfoStatsManager(settingsAccessor);
         EventStatsManager.instance().initialize(settingsAccessor);
+        this.ubiRollupService = new UbiRollupService(client, clusterService, threadPool, searchRelevanceIndicesManager, settingsAccessor);
+        this.orphanSweeper = new OrphanSweeper(clusterService, threadPool, searchRelevanceIndicesManager, settingsAccessor);
+        this.clickModelMemoryBudget = new ClickModelMemoryBudget(settingsAccessor, environment.tmpDir(), () -> circuitBreaker);
 
         return List.of(
             searchRelevanceIndicesManager,
@@ -182,10 +231,15 @@ public class SearchRelevancePlugin extends Plugin implements ActionPlugin, Syste
             judgmentDao,
             evaluationResultDao,
             judgmentCacheDao,
+            clickStatisticsDao,
             mlAccessor,
             metricsHelper,
             infoStatsManager,
-            experimentTaskManager
+            experimentTaskManager,
+            judgmentProgressTracker,
+            ubiRollupService,
+            orphanSweeper,
+            clickModelMemoryBudget
         );
     }
 
@@ -207,6 +261,7 @@ public class SearchRelevancePlugin extends Plugin implements ActionPlugin, Syste
             new RestPutJudgmentAction(settingsAccessor),
             new RestDeleteJudgmentAction(settingsAccessor),
             new RestGetJudgmentAction(settingsAccessor),
+            new RestUpdateJudgmentAction(settingsAccessor),
             new RestPutSearchConfigurationAction(settingsAccessor),
             new RestDeleteSearchConfigurationAction(settingsAccessor),
             new RestGetSearchConfigurationAction(settingsAccessor),
@@ -227,6 +282,8 @@ public class SearchRelevancePlugin extends Plugin implements ActionPlugin, Syste
             new ActionHandler<>(PutJudgmentAction.INSTANCE, PutJudgmentTransportAction.class),
             new ActionHandler<>(DeleteJudgmentAction.INSTANCE, DeleteJudgmentTransportAction.class),
             new ActionHandler<>(GetJudgmentAction.INSTANCE, GetJudgmentTransportAction.class),
+            new ActionHandler<>(GetJudgmentRatingsAction.INSTANCE, GetJudgmentRatingsTransportAction.class),
+            new ActionHandler<>(UpdateJudgmentAction.INSTANCE, UpdateJudgmentTransportAction.class),
             new ActionHandler<>(PutSearchConfigurationAction.INSTANCE, PutSearchConfigurationTransportAction.class),
             new ActionHandler<>(DeleteSearchConfigurationAction.INSTANCE, DeleteSearchConfigurationTransportAction.class),
             new ActionHandler<>(GetSearchConfigurationAction.INSTANCE, GetSearchConfigurationTransportAction.class),
@@ -239,7 +296,35 @@ public class SearchRelevancePlugin extends Plugin implements ActionPlugin, Syste
 
     @Override
     public List<Setting<?>> getSettings() {
-        return List.of(SEARCH_RELEVANCE_WORKBENCH_ENABLED, SEARCH_RELEVANCE_STATS_ENABLED, SEARCH_RELEVANCE_QUERY_SET_MAX_LIMIT);
+        return List.of(
+            SEARCH_RELEVANCE_WORKBENCH_ENABLED,
+            SEARCH_RELEVANCE_STATS_ENABLED,
+            SEARCH_RELEVANCE_QUERY_SET_MAX_LIMIT,
+            SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE,
+            SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE,
+            SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED,
+            SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL,
+            SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET,
+            SEARCH_RELEVANCE_BREAKER_LIMIT,
+            SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY,
+            SEARCH_RELEVANCE_BULK_REFRESH_POLICY,
+            SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL,
+            SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY,
+            SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT,
+            SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND,
+            SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED,
+            SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL
+        );
+    }
+
+    @Override
+    public BreakerSettings getCircuitBreaker(Settings settings) {
+        return new BreakerSettings(ClickModelMemoryBudget.BREAKER_NAME, SEARCH_RELEVANCE_BREAKER_LIMIT.get(settings).getBytes(), 1.0);
+    }
+
+    @Override
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
     }
 
     @Override
@@ -9,12 +9,15 @@ package org.opensearch.searchrelevance.rest;
 
 import static java.util.Collections.singletonList;
 import static org.opensearch.rest.RestRequest.Method.POST;
+import static org.opensearch.searchrelevance.common.PluginConstants.APPLICATION;
 import static org.opensearch.searchrelevance.common.PluginConstants.DEFAULTED_QUERY_SET_SIZE;
 import static org.opensearch.searchrelevance.common.PluginConstants.DESCRIPTION;
+import static org.opensearch.searchrelevance.common.PluginConstants.END_DATE;
 import static org.opensearch.searchrelevance.common.PluginConstants.NAME;
 import static org.opensearch.searchrelevance.common.PluginConstants.QUERYSETS_URL;
 import static org.opensearch.searchrelevance.common.PluginConstants.QUERY_SET_SIZE;
 import static org.opensearch.searchrelevance.common.PluginConstants.SAMPLING;
+import static org.opensearch.searchrelevance.common.PluginConstants.START_DATE;
 
 import java.io.IOException;
 import java.util.List;
@@ -35,6 +38,8 @@ import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
 import org.opensearch.searchrelevance.transport.queryset.PostQuerySetAction;
 import org.opensearch.searchrelevance.transport.queryset.PostQuerySetRequest;
 import org.opensearch.searchrelevance.ubi.ProbabilityProportionalToSizeQuerySampler;
+import org.opensearch.searchrelevance.utils.DateValidationUtil;
+import org.opensearch.searchrelevance.utils.DateValidationUtil.DateValidationResult;
 import org.opensearch.searchrelevance.utils.TextValidationUtil;
 import org.opensearch.transport.client.node.NodeClient;
 
@@ -92,7 +97,32 @@ public class RestCreateQuerySetAction extends BaseRestHandler {
             return channel -> channel.sendResponse(new BytesRestResponse(RestStatus.FORBIDDEN, "Query Set Limit Exceeded."));
         }
 
-        PostQuerySetRequest createRequest = new PostQuerySetRequest(name, description, sampling, querySetSize);
+        String startDate = (String) source.getOrDefault(START_DATE, "");
+        String endDate = (String) source.getOrDefault(END_DATE, "");
+        String application = (String) source.getOrDefault(APPLICATION, "");
+
+        DateValidationResult validStart = DateValidationUtil.validateDate(startDate);
+        if (validStart.isValid() == false) {
+            return channel -> channel.sendResponse(
+                new BytesRestResponse(RestStatus.BAD_REQUEST, "Invalid start date format: " + validStart.getErrorMessage())
+            );
+        }
+        DateValidationResult validEnd = DateValidationUtil.validateDate(endDate);
+        if (validEnd.isValid() == false) {
+            return channel -> channel.sendResponse(
+                new BytesRestResponse(RestStatus.BAD_REQUEST, "Invalid end date format: " + validEnd.getErrorMessage())
+            );
+        }
+
+        PostQuerySetRequest createRequest = new PostQuerySetRequest(
+            name,
+            description,
+            sampling,
+            querySetSize,
+            startDate,
+            endDate,
+            application
+        );
 
         return channel -> client.execute(PostQuerySetAction.INSTANCE, createRequest, new ActionListener<IndexResponse>() {
             @Override
@@ -11,6 +11,9 @@ import static org.opensearch.rest.RestRequest.Method.GET;
 import static org.opensearch.searchrelevance.common.PluginConstants.DOCUMENT_ID;
 import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENTS_URI;
 import static org.opensearch.searchrelevance.common.PluginConstants.QUERY_TEXT;
+import static org.opensearch.searchrelevance.common.PluginConstants.RESULTS_AFTER;
+import static org.opensearch.searchrelevance.common.PluginConstants.RESULTS_SIZE;
+import static org.opensearch.searchrelevance.dao.ExperimentDao.MAX_RESULTS_PAGE_SIZE;
 
 import java.io.IOException;
 import java.util.List;
@@ -28,6 +31,10 @@ import org.opensearch.rest.BaseRestHandler;
 import org.opensearch.rest.BytesRestResponse;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.model.Experiment;
 import org.opensearch.searchrelevance.model.SearchParams;
 import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
 import org.opensearch.searchrelevance.transport.OpenSearchDocRequest;
@@ -64,17 +71,38 @@ public class RestGetExperimentAction extends BaseRestHandler {
         final String experimentId = request.param(DOCUMENT_ID);
         // introduce query text as params to support eyeballing visualization
         final String queryText = request.param(QUERY_TEXT);
-        // If id is provided, get specific query set
+        // fields of the experiments to return, e.g. _source_excludes=results
+        final FetchSourceContext fetchSource = FetchSourceContext.parseFromRestRequest(request);
+        // If id is provided, get specific experiment with a page of its results
         if (experimentId != null && !experimentId.isEmpty()) {
-            OpenSearchDocRequest getRequest = new OpenSearchDocRequest(experimentId);
+            SearchSourceBuilder resultsPage = new SearchSourceBuilder().fetchSource(fetchSource);
+            int resultsSize = request.paramAsInt(RESULTS_SIZE, -1);
+            if (request.hasParam(RESULTS_SIZE) && (resultsSize <= 0 || resultsSize > MAX_RESULTS_PAGE_SIZE)) {
+                throw new SearchRelevanceException(
+                    String.format(Locale.ROOT, "%s must be between 1 and %d", RESULTS_SIZE, MAX_RESULTS_PAGE_SIZE),
+                    RestStatus.BAD_REQUEST
+                );
+            }
+            if (resultsSize > 0) {
+                resultsPage.size(resultsSize);
+            }
+            if (request.hasParam(RESULTS_AFTER)) {
+                resultsPage.searchAfter(new Object[] { request.paramAsInt(RESULTS_AFTER, -1) });
+            }
+            OpenSearchDocRequest getRequest = new OpenSearchDocRequest(experimentId, resultsPage);
             return executeGetRequest(client, getRequest);
         }
 
-        // Otherwise, handle list request
+        // Otherwise, handle list request, the id breaks ties of the sort so that search after pages through all experiments
         SearchParams searchParams = ParserUtils.parseSearchParams(request);
         SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(QueryBuilders.matchAllQuery())
             .size(searchParams.getSize())
-            .sort(searchParams.getSortField(), searchParams.getSortOrder());
+            .sort(searchParams.getSortField(), searchParams.getSortOrder())
+            .sort(Experiment.ID, SortOrder.ASC)
+            .fetchSource(fetchSource);
+        if (searchParams.getSearchAfter() != null) {
+            searchSourceBuilder.searchAfter(searchParams.getSearchAfter());
+        }
 
         OpenSearchDocRequest getRequest = new OpenSearchDocRequest(searchSourceBuilder);
         return executeGetRequest(client, getRequest);
@@ -8,8 +8,10 @@
 package org.opensearch.searchrelevance.rest;
 
 import static org.opensearch.rest.RestRequest.Method.GET;
+import static org.opensearch.rest.RestRequest.Method.POST;
 import static org.opensearch.searchrelevance.common.PluginConstants.DOCUMENT_ID;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENTS_URL;
+import static org.opensearch.searchrelevance.common.PluginConstants.QUERY_TEXT;
 
 import java.io.IOException;
 import java.util.List;
@@ -22,15 +24,20 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.rest.BaseRestHandler;
 import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestChannel;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.model.SearchParams;
 import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
 import org.opensearch.searchrelevance.transport.OpenSearchDocRequest;
 import org.opensearch.searchrelevance.transport.judgment.GetJudgmentAction;
+import org.opensearch.searchrelevance.transport.judgment.GetJudgmentRatingsAction;
+import org.opensearch.searchrelevance.transport.judgment.GetJudgmentRatingsRequest;
 import org.opensearch.searchrelevance.utils.ParserUtils;
 import org.opensearch.transport.client.node.NodeClient;
 
@@ -43,6 +50,9 @@ import lombok.AllArgsConstructor;
 public class RestGetJudgmentAction extends BaseRestHandler {
     private static final Logger LOGGER = LogManager.getLogger(RestGetJudgmentAction.class);
     private static final String GET_JUDGMENT_ACTION = "get_judgment_action";
+    private static final String QUERY_TEXTS = "queryTexts";
+    // query texts of a single request, reading the ratings of a whole judgment is what GET by id is for
+    private static final int MAX_QUERY_TEXTS = 10000;
     private SearchRelevanceSettingsAccessor settingsAccessor;
 
     @Override
@@ -52,7 +62,11 @@ public class RestGetJudgmentAction extends BaseRestHandler {
 
     @Override
     public List<Route> routes() {
-        return List.of(new Route(GET, String.format(Locale.ROOT, "%s/{%s}", JUDGMENTS_URL, DOCUMENT_ID)), new Route(GET, JUDGMENTS_URL));
+        return List.of(
+            new Route(GET, String.format(Locale.ROOT, "%s/{%s}", JUDGMENTS_URL, DOCUMENT_ID)),
+            new Route(GET, JUDGMENTS_URL),
+            new Route(POST, String.format(Locale.ROOT, "%s/{%s}/_ratings", JUDGMENTS_URL, DOCUMENT_ID))
+        );
     }
 
     @Override
@@ -61,6 +75,20 @@ public class RestGetJudgmentAction extends BaseRestHandler {
             return channel -> channel.sendResponse(new BytesRestResponse(RestStatus.FORBIDDEN, "Search Relevance Workbench is disabled"));
         }
         final String judgmentId = request.param(DOCUMENT_ID);
+        final String queryText = request.param(QUERY_TEXT);
+        if (queryText != null && (request.method() == POST || request.hasContent())) {
+            throw new SearchRelevanceException(
+                String.format(Locale.ROOT, "%s cannot be combined with a request body, use %s instead", QUERY_TEXT, QUERY_TEXTS),
+                RestStatus.BAD_REQUEST
+            );
+        }
+        // If queries are provided, get the judgment with the ratings of these queries only
+        if (request.method() == POST) {
+            return executeGetRatingsRequest(client, new GetJudgmentRatingsRequest(judgmentId, parseQueryTexts(request)));
+        }
+        if (judgmentId != null && !judgmentId.isEmpty() && queryText != null) {
+            return executeGetRatingsRequest(client, new GetJudgmentRatingsRequest(judgmentId, List.of(queryText)));
+        }
         // If id is provided, get specific query set
         if (judgmentId != null && !judgmentId.isEmpty()) {
             OpenSearchDocRequest getRequest = new OpenSearchDocRequest(judgmentId);
@@ -77,8 +105,37 @@ public class RestGetJudgmentAction extends BaseRestHandler {
         return executeGetRequest(client, getRequest);
     }
 
+    @SuppressWarnings("unchecked")
+    private static List<String> parseQueryTexts(RestRequest request) throws IOException {
+        if (!request.hasContent()) {
+            throw new SearchRelevanceException(QUERY_TEXTS + " is required", RestStatus.BAD_REQUEST);
+        }
+        Object queryTexts;
+        try (XContentParser parser = request.contentParser()) {
+            queryTexts = parser.map().get(QUERY_TEXTS);
+        }
+        if (!(queryTexts instanceof List) || ((List<?>) queryTexts).isEmpty()) {
+            throw new SearchRelevanceException(QUERY_TEXTS + " must be a non empty list of query texts", RestStatus.BAD_REQUEST);
+        }
+        if (((List<?>) queryTexts).size() > MAX_QUERY_TEXTS) {
+            throw new SearchRelevanceException(
+                String.format(Locale.ROOT, "%s must not contain more than %d query texts", QUERY_TEXTS, MAX_QUERY_TEXTS),
+                RestStatus.BAD_REQUEST
+            );
+        }
+        return ((List<Object>) queryTexts).stream().map(String::valueOf).toList();
+    }
+
+    private RestChannelConsumer executeGetRatingsRequest(NodeClient client, GetJudgmentRatingsRequest request) {
+        return channel -> client.execute(GetJudgmentRatingsAction.INSTANCE, request, searchResponseListener(channel));
+    }
+
     private RestChannelConsumer executeGetRequest(NodeClient client, OpenSearchDocRequest request) {
-        return channel -> client.execute(GetJudgmentAction.INSTANCE, request, new ActionListener<SearchResponse>() {
+        return channel -> client.execute(GetJudgmentAction.INSTANCE, request, searchResponseListener(channel));
+    }
+
+    private ActionListener<SearchResponse> searchResponseListener(RestChannel channel) {
+        return new ActionListener<SearchResponse>() {
             @Override
             public void onResponse(SearchResponse response) {
                 try {
@@ -99,6 +156,6 @@ public class RestGetJudgmentAction extends BaseRestHandler {
                     logger.error("Failed to send error response", ex);
                 }
             }
-        });
+        };
     }
 }
@@ -7,7 +7,13 @@
  */
 package org.opensearch.searchrelevance.settings;
 
+import java.util.Locale;
+
+import org.opensearch.action.support.WriteRequest;
 import org.opensearch.common.settings.Setting;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.index.translog.Translog;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -53,4 +59,185 @@ public class SearchRelevanceSettings {
         Setting.Property.NodeScope,
         Setting.Property.Dynamic
     );
+
+    /**
+     * Maximum number of predict requests per minute sent to a single ML model from this node.
+     * The defaultValue is 0, which disables request rate limiting
+     */
+    public static final String SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE_KEY = "plugins.search_relevance.llm.requests_per_minute";
+    public static final Setting<Integer> SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE = Setting.intSetting(
+        SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE_KEY,
+        0,
+        0,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Maximum number of prompt tokens per minute sent to a single ML model from this node.
+     * The defaultValue is 0, which disables token rate limiting
+     */
+    public static final String SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE_KEY = "plugins.search_relevance.llm.tokens_per_minute";
+    public static final Setting<Integer> SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE = Setting.intSetting(
+        SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE_KEY,
+        0,
+        0,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Enables the background job maintaining the rollup of UBI clicks, impressions and searches per day.
+     * By default, click models and query samplers read the raw UBI indices
+     */
+    public static final String SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED_KEY = "plugins.search_relevance.ubi_rollup.enabled";
+    public static final Setting<Boolean> SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED = Setting.boolSetting(
+        SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED_KEY,
+        false,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Interval between two runs of the UBI rollup job on the cluster manager node
+     * The defaultValue is 10 minutes
+     */
+    public static final String SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL_KEY = "plugins.search_relevance.ubi_rollup.interval";
+    public static final Setting<TimeValue> SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL = Setting.timeSetting(
+        SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL_KEY,
+        TimeValue.timeValueMinutes(10),
+        TimeValue.timeValueMinutes(1),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Heap a single click model calculation may use for its counters before it spills sorted runs to disk.
+     * The defaultValue is 2% of the heap
+     */
+    public static final String SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET_KEY = "plugins.search_relevance.click_model.memory_budget";
+    public static final Setting<ByteSizeValue> SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET = Setting.memorySizeSetting(
+        SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET_KEY,
+        "2%",
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Limit of the search relevance circuit breaker, which accounts the heap of all running click model calculations
+     * The defaultValue is 10% of the heap
+     */
+    public static final String SEARCH_RELEVANCE_BREAKER_LIMIT_KEY = "plugins.search_relevance.breaker.limit";
+    public static final Setting<ByteSizeValue> SEARCH_RELEVANCE_BREAKER_LIMIT = Setting.memorySizeSetting(
+        SEARCH_RELEVANCE_BREAKER_LIMIT_KEY,
+        "10%",
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * Refresh policy of writes to the interactive indices, i.e. query sets, search configurations, judgments and
+     * experiments. Accepts the values of the refresh parameter of the REST APIs: true, wait_for or false.
+     * The defaultValue is true, which makes a write visible to the next search
+     */
+    public static final String SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY_KEY =
+        "plugins.search_relevance.index.interactive.refresh_policy";
+    public static final Setting<WriteRequest.RefreshPolicy> SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY = new Setting<>(
+        SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY_KEY,
+        "true",
+        WriteRequest.RefreshPolicy::parse,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Refresh policy of writes to the high volume indices, i.e. evaluation results, experiment variants and the judgment cache.
+     * The defaultValue is false, which leaves the writes to the periodic refresh of the index
+     */
+    public static final String SEARCH_RELEVANCE_BULK_REFRESH_POLICY_KEY = "plugins.search_relevance.index.bulk.refresh_policy";
+    public static final Setting<WriteRequest.RefreshPolicy> SEARCH_RELEVANCE_BULK_REFRESH_POLICY = new Setting<>(
+        SEARCH_RELEVANCE_BULK_REFRESH_POLICY_KEY,
+        "false",
+        WriteRequest.RefreshPolicy::parse,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Refresh interval of the high volume indices, applied to the index settings when the indices are created or the setting changes.
+     * The defaultValue is 5 seconds, -1 disables the periodic refresh
+     */
+    public static final String SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL_KEY = "plugins.search_relevance.index.bulk.refresh_interval";
+    public static final Setting<TimeValue> SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL = Setting.timeSetting(
+        SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL_KEY,
+        TimeValue.timeValueSeconds(5),
+        TimeValue.MINUS_ONE,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Translog durability of the judgment cache index, request or async. Cached ratings are recomputed when lost.
+     * The defaultValue is async, which fsyncs the translog in the background instead of on every write
+     */
+    public static final String SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY_KEY = "plugins.search_relevance.index.cache.translog_durability";
+    public static final Setting<Translog.Durability> SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY = new Setting<>(
+        SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY_KEY,
+        Translog.Durability.ASYNC.name().toLowerCase(Locale.ROOT),
+        value -> Translog.Durability.valueOf(value.toUpperCase(Locale.ROOT)),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Stores the evaluation results of experiments as blocks of an experiment and search configuration in the evaluation
+     * result block index instead of a document per evaluation result. Evaluation results stay readable by id through the plugin.
+     * The defaultValue is false, as dashboards reading the evaluation result index directly do not read the blocks
+     */
+    public static final String SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT_KEY =
+        "plugins.search_relevance.evaluation_result.compact_layout";
+    public static final Setting<Boolean> SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT = Setting.boolSetting(
+        SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT_KEY,
+        false,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Documents per second the background deletes of the plugin may remove, i.e. the cascade delete of experiments and
+     * the orphan sweeper, so that the cleanup does not compete with searches for IO.
+     * The defaultValue is 500
+     */
+    public static final String SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND_KEY = "plugins.search_relevance.cleanup.requests_per_second";
+    public static final Setting<Float> SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND = Setting.floatSetting(
+        SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND_KEY,
+        500f,
+        1f,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Enables the background job removing experiment results, variants and judgment ratings whose experiment or judgment
+     * no longer exists
+     */
+    public static final String SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED_KEY = "plugins.search_relevance.orphan_sweeper.enabled";
+    public static final Setting<Boolean> SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED = Setting.boolSetting(
+        SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED_KEY,
+        true,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Interval between two runs of the orphan sweeper on the cluster manager node
+     * The defaultValue is 1 hour
+     */
+    public static final String SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL_KEY = "plugins.search_relevance.orphan_sweeper.interval";
+    public static final Setting<TimeValue> SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL = Setting.timeSetting(
+        SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL_KEY,
+        TimeValue.timeValueHours(1),
+        TimeValue.timeValueMinutes(1),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
 }
@@ -7,9 +7,17 @@
  */
 package org.opensearch.searchrelevance.settings;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.opensearch.action.support.WriteRequest;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.index.translog.Translog;
+import org.opensearch.searchrelevance.indices.IndexWriteTier;
 import org.opensearch.searchrelevance.stats.events.EventStatsManager;
 
 import lombok.Getter;
@@ -24,6 +32,33 @@ public class SearchRelevanceSettingsAccessor {
     private volatile boolean isStatsEnabled;
     @Getter
     private volatile int maxQuerySetAllowed;
+    @Getter
+    private volatile int llmRequestsPerMinute;
+    @Getter
+    private volatile int llmTokensPerMinute;
+    @Getter
+    private volatile boolean isUbiRollupEnabled;
+    @Getter
+    private volatile TimeValue ubiRollupInterval;
+    @Getter
+    private volatile ByteSizeValue clickModelMemoryBudget;
+    @Getter
+    private volatile WriteRequest.RefreshPolicy interactiveRefreshPolicy;
+    @Getter
+    private volatile WriteRequest.RefreshPolicy bulkRefreshPolicy;
+    @Getter
+    private volatile TimeValue bulkRefreshInterval;
+    @Getter
+    private volatile Translog.Durability cacheTranslogDurability;
+    @Getter
+    private volatile boolean isEvaluationResultCompactLayout;
+    @Getter
+    private volatile float cleanupRequestsPerSecond;
+    @Getter
+    private volatile boolean isOrphanSweeperEnabled;
+    @Getter
+    private volatile TimeValue orphanSweeperInterval;
+    private final List<Runnable> indexSettingsListeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructor, registers callbacks to update settings
@@ -35,6 +70,19 @@ public class SearchRelevanceSettingsAccessor {
         isWorkbenchEnabled = SearchRelevanceSettings.SEARCH_RELEVANCE_WORKBENCH_ENABLED.get(settings);
         isStatsEnabled = SearchRelevanceSettings.SEARCH_RELEVANCE_STATS_ENABLED.get(settings);
         maxQuerySetAllowed = SearchRelevanceSettings.SEARCH_RELEVANCE_QUERY_SET_MAX_LIMIT.get(settings);
+        llmRequestsPerMinute = SearchRelevanceSettings.SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE.get(settings);
+        llmTokensPerMinute = SearchRelevanceSettings.SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE.get(settings);
+        isUbiRollupEnabled = SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED.get(settings);
+        ubiRollupInterval = SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL.get(settings);
+        clickModelMemoryBudget = SearchRelevanceSettings.SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET.get(settings);
+        interactiveRefreshPolicy = SearchRelevanceSettings.SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY.get(settings);
+        bulkRefreshPolicy = SearchRelevanceSettings.SEARCH_RELEVANCE_BULK_REFRESH_POLICY.get(settings);
+        bulkRefreshInterval = SearchRelevanceSettings.SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL.get(settings);
+        cacheTranslogDurability = SearchRelevanceSettings.SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY.get(settings);
+        isEvaluationResultCompactLayout = SearchRelevanceSettings.SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT.get(settings);
+        cleanupRequestsPerSecond = SearchRelevanceSettings.SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND.get(settings);
+        isOrphanSweeperEnabled = SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED.get(settings);
+        orphanSweeperInterval = SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL.get(settings);
         registerSettingsCallbacks(clusterService);
     }
 
@@ -55,5 +103,86 @@ public class SearchRelevanceSettingsAccessor {
             .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_QUERY_SET_MAX_LIMIT, value -> {
                 maxQuerySetAllowed = value;
             });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE, value -> {
+                llmRequestsPerMinute = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE, value -> {
+                llmTokensPerMinute = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED, value -> {
+                isUbiRollupEnabled = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL, value -> {
+                ubiRollupInterval = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET, value -> {
+                clickModelMemoryBudget = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY, value -> {
+                interactiveRefreshPolicy = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_BULK_REFRESH_POLICY, value -> {
+                bulkRefreshPolicy = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL, value -> {
+                bulkRefreshInterval = value;
+                indexSettingsListeners.forEach(Runnable::run);
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY, value -> {
+                cacheTranslogDurability = value;
+                indexSettingsListeners.forEach(Runnable::run);
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT, value -> {
+                isEvaluationResultCompactLayout = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND, value -> {
+                cleanupRequestsPerSecond = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED, value -> {
+                isOrphanSweeperEnabled = value;
+            });
+
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL, value -> {
+                orphanSweeperInterval = value;
+            });
+    }
+
+    /**
+     * @return refresh policy of writes to indices of the given tier
+     */
+    public WriteRequest.RefreshPolicy getRefreshPolicy(IndexWriteTier writeTier) {
+        return writeTier == IndexWriteTier.INTERACTIVE ? interactiveRefreshPolicy : bulkRefreshPolicy;
+    }
+
+    /**
+     * Registers a callback run after a setting applied to the index settings of the plugin indices changed
+     */
+    public void addIndexSettingsListener(Runnable listener) {
+        indexSettingsListeners.add(listener);
     }
 }
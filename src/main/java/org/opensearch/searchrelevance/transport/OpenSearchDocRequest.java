@@ -27,6 +27,15 @@ public class OpenSearchDocRequest extends ActionRequest {
         this.searchSourceBuilder = new SearchSourceBuilder();
     }
 
+    /**
+     * @param id - id of the document
+     * @param searchSourceBuilder - options of reading the document, e.g. the fields to return
+     */
+    public OpenSearchDocRequest(String id, SearchSourceBuilder searchSourceBuilder) {
+        this.id = id;
+        this.searchSourceBuilder = searchSourceBuilder;
+    }
+
     public OpenSearchDocRequest(SearchSourceBuilder searchSourceBuilder) {
         this.id = null;
         this.searchSourceBuilder = searchSourceBuilder;
@@ -43,8 +43,8 @@ public class GetExperimentTransportAction extends HandledTransportAction<OpenSea
     protected void doExecute(Task task, OpenSearchDocRequest request, ActionListener<SearchResponse> listener) {
         try {
             if (request.getId() != null) {
-                // Handle single experiment request
-                experimentDao.getExperiment(request.getId(), listener);
+                // Handle single experiment request, with a page of its results
+                experimentDao.getExperimentWithResults(request.getId(), request.getSearchSourceBuilder(), listener);
             } else {
                 // Handle list request
                 experimentDao.listExperiment(request.getSearchSourceBuilder(), listener);
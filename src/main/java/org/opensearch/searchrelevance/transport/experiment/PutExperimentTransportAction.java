@@ -10,7 +10,6 @@ package org.opensearch.searchrelevance.transport.experiment;
 import static org.opensearch.searchrelevance.common.MetricsConstants.QUERY_TEXT;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,18 +25,22 @@ import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.dao.EvaluationResultDao;
 import org.opensearch.searchrelevance.dao.ExperimentDao;
-import org.opensearch.searchrelevance.dao.JudgmentDao;
+import org.opensearch.searchrelevance.dao.ExperimentVariantDao;
 import org.opensearch.searchrelevance.dao.QuerySetDao;
 import org.opensearch.searchrelevance.dao.SearchConfigurationDao;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.executors.ExperimentTaskManager;
 import org.opensearch.searchrelevance.experiment.HybridOptimizerExperimentProcessor;
 import org.opensearch.searchrelevance.experiment.PointwiseExperimentProcessor;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
 import org.opensearch.searchrelevance.metrics.MetricsHelper;
 import org.opensearch.searchrelevance.model.AsyncStatus;
 import org.opensearch.searchrelevance.model.Experiment;
+import org.opensearch.searchrelevance.model.ExperimentQueryResults;
 import org.opensearch.searchrelevance.model.ExperimentType;
+import org.opensearch.searchrelevance.model.ExperimentVariant;
 import org.opensearch.searchrelevance.model.QuerySet;
 import org.opensearch.searchrelevance.model.SearchConfiguration;
 import org.opensearch.searchrelevance.model.SearchConfigurationDetails;
@@ -54,6 +57,7 @@ import lombok.extern.log4j.Log4j2;
 public class PutExperimentTransportAction extends HandledTransportAction<PutExperimentRequest, IndexResponse> {
 
     private final ExperimentDao experimentDao;
+    private final EvaluationResultDao evaluationResultDao;
     private final QuerySetDao querySetDao;
     private final SearchConfigurationDao searchConfigurationDao;
     private final MetricsHelper metricsHelper;
@@ -65,19 +69,26 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
         TransportService transportService,
         ActionFilters actionFilters,
         ExperimentDao experimentDao,
+        EvaluationResultDao evaluationResultDao,
+        ExperimentVariantDao experimentVariantDao,
         QuerySetDao querySetDao,
         SearchConfigurationDao searchConfigurationDao,
         MetricsHelper metricsHelper,
-        JudgmentDao judgmentDao,
-        ExperimentTaskManager experimentTaskManager
+        ExperimentTaskManager experimentTaskManager,
+        JudgmentProgressTracker judgmentProgressTracker
     ) {
         super(PutExperimentAction.NAME, transportService, actionFilters, PutExperimentRequest::new);
         this.experimentDao = experimentDao;
+        this.evaluationResultDao = evaluationResultDao;
         this.querySetDao = querySetDao;
         this.searchConfigurationDao = searchConfigurationDao;
         this.metricsHelper = metricsHelper;
-        this.hybridOptimizerExperimentProcessor = new HybridOptimizerExperimentProcessor(judgmentDao, experimentTaskManager);
-        this.pointwiseExperimentProcessor = new PointwiseExperimentProcessor(judgmentDao, experimentTaskManager);
+        this.hybridOptimizerExperimentProcessor = new HybridOptimizerExperimentProcessor(
+            experimentVariantDao,
+            experimentTaskManager,
+            judgmentProgressTracker
+        );
+        this.pointwiseExperimentProcessor = new PointwiseExperimentProcessor(experimentTaskManager, judgmentProgressTracker);
     }
 
     @Override
@@ -107,6 +118,7 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
                 listener.onResponse((IndexResponse) response);
 
                 // Start async processing
+                evaluationResultDao.startEvaluationResults(id);
                 triggerAsyncProcessing(id, request);
             }, e -> {
                 log.error("Failed to create initial experiment", e);
@@ -125,7 +137,7 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
         // First, get QuerySet asynchronously
         querySetDao.getQuerySet(request.getQuerySetId(), ActionListener.wrap(querySetResponse -> {
             try {
-                QuerySet querySet = convertToQuerySet(querySetResponse);
+                QuerySet querySet = QuerySetDao.checkCompleted(convertToQuerySet(querySetResponse));
                 List<String> queryTextWithReferences = querySet.querySetQueries()
                     .stream()
                     .map(e -> e.queryText())
@@ -134,7 +146,7 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
                 // Check if queryTexts is empty and complete experiment immediately
                 if (queryTextWithReferences.isEmpty()) {
                     log.info("Experiment {} completed with 0 query texts", experimentId);
-                    updateFinalExperiment(experimentId, request, new ArrayList<>(), request.getJudgmentList());
+                    updateFinalExperiment(experimentId, request, 0, 0, request.getJudgmentList(), List.of());
                     return;
                 }
 
@@ -147,42 +159,21 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
     }
 
     private void fetchSearchConfigurationsAsync(String experimentId, PutExperimentRequest request, List<String> queryTextWithReferences) {
-        Map<String, SearchConfigurationDetails> searchConfigurations = new HashMap<>();
-        AtomicInteger pendingConfigs = new AtomicInteger(request.getSearchConfigurationList().size());
-        AtomicBoolean hasFailure = new AtomicBoolean(false);
-
-        for (String configId : request.getSearchConfigurationList()) {
-            searchConfigurationDao.getSearchConfiguration(configId, ActionListener.wrap(searchConfigResponse -> {
-                try {
-                    if (hasFailure.get()) return;
-
-                    SearchConfiguration config = convertToSearchConfiguration(searchConfigResponse);
-                    synchronized (searchConfigurations) {
-                        searchConfigurations.put(
-                            config.id(),
-                            SearchConfigurationDetails.builder()
-                                .index(config.index())
-                                .query(config.query())
-                                .pipeline(config.searchPipeline())
-                                .build()
-                        );
-                    }
-
-                    // Check if all configurations are fetched
-                    if (pendingConfigs.decrementAndGet() == 0) {
-                        calculateMetricsAsync(experimentId, request, searchConfigurations, queryTextWithReferences);
-                    }
-                } catch (Exception e) {
-                    if (hasFailure.compareAndSet(false, true)) {
-                        handleAsyncFailure(experimentId, request, "Failed to process SearchConfiguration", e);
-                    }
-                }
-            }, e -> {
-                if (hasFailure.compareAndSet(false, true)) {
-                    handleAsyncFailure(experimentId, request, "Failed to fetch SearchConfiguration: " + configId, e);
-                }
-            }));
-        }
+        List<String> searchConfigurationIds = request.getSearchConfigurationList();
+        searchConfigurationDao.getSearchConfigurations(searchConfigurationIds, ActionListener.wrap(searchConfigs -> {
+            Map<String, SearchConfigurationDetails> searchConfigurations = new HashMap<>();
+            for (SearchConfiguration config : searchConfigs.values()) {
+                searchConfigurations.put(
+                    config.id(),
+                    SearchConfigurationDetails.builder()
+                        .index(config.index())
+                        .query(config.query())
+                        .pipeline(config.searchPipeline())
+                        .build()
+                );
+            }
+            calculateMetricsAsync(experimentId, request, searchConfigurations, queryTextWithReferences);
+        }, e -> handleAsyncFailure(experimentId, request, "Failed to fetch SearchConfigurations: " + searchConfigurationIds, e)));
     }
 
     private QuerySet convertToQuerySet(SearchResponse response) {
@@ -213,25 +204,10 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
             .timestamp((String) sourceMap.get("timestamp"))
             .sampling((String) sourceMap.get("sampling"))
             .querySetQueries(querySetEntries)
+            .status(QuerySetDao.toStatus(sourceMap.get(QuerySet.STATUS)))
             .build();
     }
 
-    private SearchConfiguration convertToSearchConfiguration(SearchResponse response) {
-        if (response.getHits().getTotalHits().value() == 0) {
-            throw new SearchRelevanceException("SearchConfiguration not found", RestStatus.NOT_FOUND);
-        }
-
-        Map<String, Object> source = response.getHits().getHits()[0].getSourceAsMap();
-        return new SearchConfiguration(
-            (String) source.get("id"),
-            (String) source.get("name"),
-            (String) source.get("timestamp"),
-            (String) source.get("index"),
-            (String) source.get("query"),
-            (String) source.get("searchPipeline")
-        );
-    }
-
     private void calculateMetricsAsync(
         String experimentId,
         PutExperimentRequest request,
@@ -251,16 +227,39 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
         Map<String, SearchConfigurationDetails> searchConfigurations,
         List<String> queryTexts
     ) {
-        List<Map<String, Object>> finalResults = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger resultCount = new AtomicInteger(0);
         AtomicInteger pendingQueries = new AtomicInteger(queryTexts.size());
         AtomicBoolean hasFailure = new AtomicBoolean(false);
 
+        if (request.getType() == ExperimentType.HYBRID_OPTIMIZER) {
+            // variants are defined and stored once per experiment, every query evaluates the same variants
+            hybridOptimizerExperimentProcessor.defineExperimentVariants(
+                experimentId,
+                ActionListener.wrap(
+                    experimentVariants -> executeExperimentEvaluation(
+                        experimentId,
+                        request,
+                        searchConfigurations,
+                        queryTexts,
+                        experimentVariants,
+                        resultCount,
+                        pendingQueries,
+                        hasFailure,
+                        request.getJudgmentList()
+                    ),
+                    e -> handleAsyncFailure(experimentId, request, "Failed to store experiment variants", e)
+                )
+            );
+            return;
+        }
+
         executeExperimentEvaluation(
             experimentId,
             request,
             searchConfigurations,
             queryTexts,
-            finalResults,
+            List.of(),
+            resultCount,
             pendingQueries,
             hasFailure,
             request.getJudgmentList()
@@ -272,15 +271,18 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
         PutExperimentRequest request,
         Map<String, SearchConfigurationDetails> searchConfigurations,
         List<String> queryTexts,
-        List<Map<String, Object>> finalResults,
+        List<ExperimentVariant> experimentVariants,
+        AtomicInteger resultCount,
         AtomicInteger pendingQueries,
         AtomicBoolean hasFailure,
         List<String> judgmentList
     ) {
-        for (String queryText : queryTexts) {
+        for (int i = 0; i < queryTexts.size(); i++) {
             if (hasFailure.get()) {
                 return;
             }
+            String queryText = queryTexts.get(i);
+            int ordinal = i;
 
             if (request.getType() == ExperimentType.PAIRWISE_COMPARISON) {
                 metricsHelper.processPairwiseMetrics(
@@ -290,15 +292,18 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
                     ActionListener.wrap(
                         queryResults -> handleQueryResults(
                             queryText,
+                            ordinal,
+                            queryTexts.size(),
                             queryResults,
-                            finalResults,
+                            resultCount,
                             pendingQueries,
                             experimentId,
                             request,
                             hasFailure,
-                            judgmentList
+                            judgmentList,
+                            experimentVariants
                         ),
-                        error -> handleFailure(error, hasFailure, experimentId, request)
+                        error -> handleFailure(error, hasFailure, experimentId, request, experimentVariants)
                     )
                 );
             } else if (request.getType() == ExperimentType.HYBRID_OPTIMIZER) {
@@ -309,19 +314,23 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
                     searchConfigurations,
                     judgmentList,
                     request.getSize(),
+                    experimentVariants,
                     hasFailure,
                     ActionListener.wrap(
                         queryResults -> handleQueryResults(
                             queryText,
+                            ordinal,
+                            queryTexts.size(),
                             queryResults,
-                            finalResults,
+                            resultCount,
                             pendingQueries,
                             experimentId,
                             request,
                             hasFailure,
-                            judgmentList
+                            judgmentList,
+                            experimentVariants
                         ),
-                        error -> handleFailure(error, hasFailure, experimentId, request)
+                        error -> handleFailure(error, hasFailure, experimentId, request, experimentVariants)
                     )
                 );
             } else if (request.getType() == ExperimentType.POINTWISE_EVALUATION) {
@@ -335,15 +344,18 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
                     ActionListener.wrap(
                         queryResults -> handleQueryResults(
                             queryText,
+                            ordinal,
+                            queryTexts.size(),
                             queryResults,
-                            finalResults,
+                            resultCount,
                             pendingQueries,
                             experimentId,
                             request,
                             hasFailure,
-                            judgmentList
+                            judgmentList,
+                            experimentVariants
                         ),
-                        error -> handleFailure(error, hasFailure, experimentId, request)
+                        error -> handleFailure(error, hasFailure, experimentId, request, experimentVariants)
                     )
                 );
             } else {
@@ -354,55 +366,69 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
 
     private void handleQueryResults(
         String queryText,
+        int ordinal,
+        int queryCount,
         Map<String, Object> queryResults,
-        List<Map<String, Object>> finalResults,
+        AtomicInteger resultCount,
         AtomicInteger pendingQueries,
         String experimentId,
         PutExperimentRequest request,
         AtomicBoolean hasFailure,
-        List<String> judgmentList
+        List<String> judgmentList,
+        List<ExperimentVariant> experimentVariants
     ) {
         if (hasFailure.get()) return;
 
         try {
-            synchronized (finalResults) {
-                // Handle different response formats based on experiment type
-                if (request.getType() == ExperimentType.HYBRID_OPTIMIZER) {
-                    // For HYBRID_OPTIMIZER, the response contains searchConfigurationResults
-                    List<Map<String, Object>> searchConfigResults = (List<Map<String, Object>>) queryResults.get(
-                        "searchConfigurationResults"
-                    );
-                    if (searchConfigResults != null) {
-                        for (Map<String, Object> configResult : searchConfigResults) {
-                            Map<String, Object> resultWithQuery = new HashMap<>(configResult);
-                            resultWithQuery.put(QUERY_TEXT, queryText);
-                            finalResults.add(resultWithQuery);
-                        }
-                    }
-                } else if (request.getType() == ExperimentType.POINTWISE_EVALUATION) {
-                    // For POINTWISE_EVALUATION, the response contains results array
-                    List<Map<String, Object>> pointwiseResults = (List<Map<String, Object>>) queryResults.get("results");
-                    if (pointwiseResults != null) {
-                        // Results already contain the proper format with evaluationId, searchConfigurationId, queryText
-                        finalResults.addAll(pointwiseResults);
+            List<Map<String, Object>> results = new ArrayList<>();
+            // Handle different response formats based on experiment type
+            if (request.getType() == ExperimentType.HYBRID_OPTIMIZER) {
+                // For HYBRID_OPTIMIZER, the response contains searchConfigurationResults
+                List<Map<String, Object>> searchConfigResults = (List<Map<String, Object>>) queryResults.get("searchConfigurationResults");
+                if (searchConfigResults != null) {
+                    for (Map<String, Object> configResult : searchConfigResults) {
+                        Map<String, Object> resultWithQuery = new HashMap<>(configResult);
+                        resultWithQuery.put(QUERY_TEXT, queryText);
+                        results.add(resultWithQuery);
                     }
-                } else {
-                    // For other experiment types, use generic format
-                    queryResults.put(QUERY_TEXT, queryText);
-                    finalResults.add(queryResults);
                 }
-
-                if (pendingQueries.decrementAndGet() == 0) {
-                    updateFinalExperiment(experimentId, request, finalResults, judgmentList);
+            } else if (request.getType() == ExperimentType.POINTWISE_EVALUATION) {
+                // For POINTWISE_EVALUATION, the response contains results array
+                List<Map<String, Object>> pointwiseResults = (List<Map<String, Object>>) queryResults.get("results");
+                if (pointwiseResults != null) {
+                    // Results already contain the proper format with evaluationId, searchConfigurationId, queryText
+                    results.addAll(pointwiseResults);
                 }
+            } else {
+                // For other experiment types, use generic format
+                queryResults.put(QUERY_TEXT, queryText);
+                results.add(queryResults);
             }
+
+            // results are stored per query as they arrive, the experiment only keeps their counts
+            experimentDao.putExperimentQueryResults(
+                new ExperimentQueryResults(experimentId, queryText, ordinal, TimeUtils.getTimestamp(), results),
+                ActionListener.wrap(response -> {
+                    resultCount.addAndGet(results.size());
+                    if (pendingQueries.decrementAndGet() == 0 && !hasFailure.get()) {
+                        updateFinalExperiment(experimentId, request, queryCount, resultCount.get(), judgmentList, experimentVariants);
+                    }
+                }, e -> handleFailure(e, hasFailure, experimentId, request, experimentVariants))
+            );
         } catch (Exception e) {
-            handleFailure(e, hasFailure, experimentId, request);
+            handleFailure(e, hasFailure, experimentId, request, experimentVariants);
         }
     }
 
-    private void handleFailure(Exception error, AtomicBoolean hasFailure, String experimentId, PutExperimentRequest request) {
+    private void handleFailure(
+        Exception error,
+        AtomicBoolean hasFailure,
+        String experimentId,
+        PutExperimentRequest request,
+        List<ExperimentVariant> experimentVariants
+    ) {
         if (hasFailure.compareAndSet(false, true)) {
+            failExperimentVariants(experimentId, experimentVariants);
             handleAsyncFailure(experimentId, request, "Failed to process metrics", error);
         }
     }
@@ -410,8 +436,10 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
     private void updateFinalExperiment(
         String experimentId,
         PutExperimentRequest request,
-        List<Map<String, Object>> finalResults,
-        List<String> judgmentList
+        int queryCount,
+        int resultCount,
+        List<String> judgmentList,
+        List<ExperimentVariant> experimentVariants
     ) {
         Experiment finalExperiment = new Experiment(
             experimentId,
@@ -422,20 +450,75 @@ public class PutExperimentTransportAction extends HandledTransportAction<PutExpe
             request.getSearchConfigurationList(),
             judgmentList,
             request.getSize(),
-            finalResults
+            new ArrayList<>(),
+            Map.of(Experiment.QUERY_COUNT, queryCount, Experiment.RESULT_COUNT, resultCount)
+        );
+
+        // store the evaluation results buffered into blocks, then make all results searchable before the experiment shows as completed
+        evaluationResultDao.flushEvaluationResults(
+            experimentId,
+            ActionListener.wrap(flushed -> completeExperimentVariants(finalExperiment, request, experimentVariants), e -> {
+                failExperimentVariants(experimentId, experimentVariants);
+                handleAsyncFailure(experimentId, request, "Failed to store evaluation results", e);
+            })
         );
+    }
+
+    private void completeExperimentVariants(
+        Experiment finalExperiment,
+        PutExperimentRequest request,
+        List<ExperimentVariant> experimentVariants
+    ) {
+        if (experimentVariants.isEmpty()) {
+            refreshAndWriteFinalExperiment(finalExperiment, request);
+            return;
+        }
+        // variants are stored as PROCESSING before the evaluation, they complete together with the experiment
+        hybridOptimizerExperimentProcessor.updateExperimentVariantsStatus(
+            experimentVariants,
+            AsyncStatus.COMPLETED,
+            ActionListener.wrap(
+                completed -> refreshAndWriteFinalExperiment(finalExperiment, request),
+                e -> handleAsyncFailure(finalExperiment.id(), request, "Failed to update experiment variants", e)
+            )
+        );
+    }
+
+    private void failExperimentVariants(String experimentId, List<ExperimentVariant> experimentVariants) {
+        if (experimentVariants.isEmpty()) {
+            return;
+        }
+        hybridOptimizerExperimentProcessor.updateExperimentVariantsStatus(
+            experimentVariants,
+            AsyncStatus.ERROR,
+            ActionListener.wrap(
+                failed -> log.info("Updated {} variants of experiment {} to ERROR", failed.size(), experimentId),
+                e -> log.error("Failed to update variants status for experiment: " + experimentId, e)
+            )
+        );
+    }
+
+    private void refreshAndWriteFinalExperiment(Experiment finalExperiment, PutExperimentRequest request) {
+        // results are written without refresh
+        experimentDao.refreshExperimentResults(ActionListener.wrap(refreshed -> writeFinalExperiment(finalExperiment, request), e -> {
+            log.warn("Failed to refresh results of experiment: {}", finalExperiment.id(), e);
+            writeFinalExperiment(finalExperiment, request);
+        }));
+    }
 
+    private void writeFinalExperiment(Experiment finalExperiment, PutExperimentRequest request) {
         experimentDao.updateExperiment(
             finalExperiment,
             ActionListener.wrap(
-                response -> log.debug("Updated final experiment: {}", experimentId),
-                error -> handleAsyncFailure(experimentId, request, "Failed to update final experiment", error)
+                response -> log.debug("Updated final experiment: {}", finalExperiment.id()),
+                error -> handleAsyncFailure(finalExperiment.id(), request, "Failed to update final experiment", error)
             )
         );
     }
 
     private void handleAsyncFailure(String experimentId, PutExperimentRequest request, String message, Exception error) {
         log.error(message + " for experiment: " + experimentId, error);
+        evaluationResultDao.discardEvaluationResults(experimentId);
 
         Experiment errorExperiment = new Experiment(
             experimentId,
@@ -7,6 +7,8 @@
  */
 package org.opensearch.searchrelevance.transport.judgment;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
@@ -14,6 +16,7 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.dao.ClickStatisticsDao;
 import org.opensearch.searchrelevance.dao.JudgmentDao;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.transport.OpenSearchDocRequest;
@@ -23,17 +26,22 @@ import org.opensearch.transport.TransportService;
 public class DeleteJudgmentTransportAction extends HandledTransportAction<OpenSearchDocRequest, DeleteResponse> {
     private final ClusterService clusterService;
     private final JudgmentDao judgmentDao;
+    private final ClickStatisticsDao clickStatisticsDao;
+
+    private static final Logger LOGGER = LogManager.getLogger(DeleteJudgmentTransportAction.class);
 
     @Inject
     public DeleteJudgmentTransportAction(
         ClusterService clusterService,
         TransportService transportService,
         ActionFilters actionFilters,
-        JudgmentDao judgmentDao
+        JudgmentDao judgmentDao,
+        ClickStatisticsDao clickStatisticsDao
     ) {
         super(DeleteJudgmentAction.NAME, transportService, actionFilters, OpenSearchDocRequest::new);
         this.clusterService = clusterService;
         this.judgmentDao = judgmentDao;
+        this.clickStatisticsDao = clickStatisticsDao;
     }
 
     @Override
@@ -44,7 +52,17 @@ public class DeleteJudgmentTransportAction extends HandledTransportAction<OpenSe
                 listener.onFailure(new SearchRelevanceException("judgmentId cannot be null or empty", RestStatus.BAD_REQUEST));
                 return;
             }
-            judgmentDao.deleteJudgment(judgmentId, listener);
+            judgmentDao.deleteJudgment(judgmentId, ActionListener.wrap(response -> {
+                listener.onResponse(response);
+                // only UBI judgments have click statistics, for other judgments there is nothing to delete
+                clickStatisticsDao.deleteClickStatistics(
+                    judgmentId,
+                    ActionListener.wrap(
+                        r -> LOGGER.debug("Deleted click statistics of judgment {}", judgmentId),
+                        e -> LOGGER.warn("Failed to delete click statistics of judgment " + judgmentId, e)
+                    )
+                );
+            }, listener::onFailure));
         } catch (Exception e) {
             listener.onFailure(e);
         }
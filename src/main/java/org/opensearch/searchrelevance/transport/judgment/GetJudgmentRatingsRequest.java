@@ -0,0 +1,54 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.transport.judgment;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import reactor.util.annotation.NonNull;
+
+public class GetJudgmentRatingsRequest extends ActionRequest {
+    private final String judgmentId;
+    private final List<String> queryTexts;
+
+    public GetJudgmentRatingsRequest(@NonNull String judgmentId, @NonNull List<String> queryTexts) {
+        this.judgmentId = judgmentId;
+        this.queryTexts = queryTexts;
+    }
+
+    public GetJudgmentRatingsRequest(StreamInput in) throws IOException {
+        super(in);
+        this.judgmentId = in.readString();
+        this.queryTexts = in.readStringList();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(judgmentId);
+        out.writeStringCollection(queryTexts);
+    }
+
+    public String getJudgmentId() {
+        return judgmentId;
+    }
+
+    public List<String> getQueryTexts() {
+        return queryTexts;
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.transport.judgment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.dao.JudgmentDao;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.tasks.Task;
+import org.opensearch.transport.TransportService;
+
+public class GetJudgmentRatingsTransportAction extends HandledTransportAction<GetJudgmentRatingsRequest, SearchResponse> {
+    private static final Logger LOGGER = LogManager.getLogger(GetJudgmentRatingsTransportAction.class);
+    private final JudgmentDao judgmentDao;
+
+    @Inject
+    public GetJudgmentRatingsTransportAction(TransportService transportService, ActionFilters actionFilters, JudgmentDao judgmentDao) {
+        super(GetJudgmentRatingsAction.NAME, transportService, actionFilters, GetJudgmentRatingsRequest::new);
+        this.judgmentDao = judgmentDao;
+    }
+
+    @Override
+    protected void doExecute(Task task, GetJudgmentRatingsRequest request, ActionListener<SearchResponse> listener) {
+        if (request.getQueryTexts().isEmpty()) {
+            listener.onFailure(new SearchRelevanceException("queryTexts must not be empty", RestStatus.BAD_REQUEST));
+            return;
+        }
+        try {
+            judgmentDao.getJudgmentWithQueryRatings(request.getJudgmentId(), request.getQueryTexts(), listener);
+        } catch (Exception e) {
+            LOGGER.error("Failed to get ratings of judgment {}", request.getJudgmentId(), e);
+            listener.onFailure(new SearchRelevanceException("Failed to get judgment ratings", e, RestStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+}
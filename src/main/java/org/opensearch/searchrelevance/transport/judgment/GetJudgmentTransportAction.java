@@ -44,7 +44,7 @@ public class GetJudgmentTransportAction extends HandledTransportAction<OpenSearc
         try {
             if (request.getId() != null) {
                 // Handle single judgment request
-                judgmentDao.getJudgment(request.getId(), listener);
+                judgmentDao.getJudgmentWithRatings(request.getId(), listener);
             } else {
                 // Handle list request
                 judgmentDao.listJudgment(request.getSearchSourceBuilder(), listener);
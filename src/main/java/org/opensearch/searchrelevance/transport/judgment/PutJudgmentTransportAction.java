@@ -28,9 +28,11 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.searchrelevance.dao.JudgmentDao;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.judgments.BaseJudgmentsProcessor;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
 import org.opensearch.searchrelevance.judgments.JudgmentsProcessorFactory;
 import org.opensearch.searchrelevance.model.AsyncStatus;
 import org.opensearch.searchrelevance.model.Judgment;
+import org.opensearch.searchrelevance.model.JudgmentType;
 import org.opensearch.searchrelevance.utils.TimeUtils;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
@@ -39,6 +41,7 @@ public class PutJudgmentTransportAction extends HandledTransportAction<PutJudgme
     private final ClusterService clusterService;
     private final JudgmentDao judgmentDao;
     private final JudgmentsProcessorFactory judgmentsProcessorFactory;
+    private final JudgmentProgressTracker judgmentProgressTracker;
 
     private static final Logger LOGGER = LogManager.getLogger(PutJudgmentTransportAction.class);
 
@@ -48,12 +51,14 @@ public class PutJudgmentTransportAction extends HandledTransportAction<PutJudgme
         TransportService transportService,
         ActionFilters actionFilters,
         JudgmentDao judgmentDao,
-        JudgmentsProcessorFactory judgmentsProcessorFactory
+        JudgmentsProcessorFactory judgmentsProcessorFactory,
+        JudgmentProgressTracker judgmentProgressTracker
     ) {
         super(PutJudgmentAction.NAME, transportService, actionFilters, PutUbiJudgmentRequest::new);
         this.clusterService = clusterService;
         this.judgmentDao = judgmentDao;
         this.judgmentsProcessorFactory = judgmentsProcessorFactory;
+        this.judgmentProgressTracker = judgmentProgressTracker;
     }
 
     @Override
@@ -75,6 +80,8 @@ public class PutJudgmentTransportAction extends HandledTransportAction<PutJudgme
             );
 
             judgmentDao.putJudgement(initialJudgment, ActionListener.wrap(response -> {
+                // Register before responding, experiments created right after this response subscribe to its ratings
+                judgmentProgressTracker.start(id);
                 // Return response immediately
                 listener.onResponse((IndexResponse) response);
 
@@ -116,25 +123,47 @@ public class PutJudgmentTransportAction extends HandledTransportAction<PutJudgme
                 metadata.put("endDate", ubiRequest.getEndDate());
             }
             case IMPORT_JUDGMENT -> {
-                PutImportJudgmentRequest importRequest = (PutImportJudgmentRequest) request;
-                metadata.put("judgmentRatings", importRequest.getJudgmentRatings());
+                // imported ratings are stored as rating documents only, see processorInput
             }
         }
         return metadata;
     }
 
+    /**
+     * Input of the judgment processor: the metadata of the judgment, plus the imported ratings of an import judgment,
+     * which are handed to the processor without being stored in the metadata of the judgment document.
+     */
+    private static Map<String, Object> processorInput(PutJudgmentRequest request, Map<String, Object> metadata) {
+        if (request.getType() != JudgmentType.IMPORT_JUDGMENT) {
+            return metadata;
+        }
+        Map<String, Object> input = new HashMap<>(metadata);
+        input.put(Judgment.JUDGMENT_RATINGS, ((PutImportJudgmentRequest) request).getJudgmentRatings());
+        return input;
+    }
+
     private void triggerAsyncProcessing(String judgmentId, PutJudgmentRequest request, Map<String, Object> metadata) {
         LOGGER.info("Starting async processing for judgment: {}, type: {}, metadata: {}", judgmentId, request.getType(), metadata);
         BaseJudgmentsProcessor processor = judgmentsProcessorFactory.getProcessor(request.getType());
-
-        processor.generateJudgmentRating(metadata, ActionListener.wrap(judgmentRatings -> {
+        ActionListener<List<Map<String, Object>>> ratingsListener = ActionListener.wrap(judgmentRatings -> {
             LOGGER.info(
                 "Generated judgment ratings for {}, ratings size: {}",
                 judgmentId,
                 judgmentRatings != null ? judgmentRatings.size() : 0
             );
             updateFinalJudgment(judgmentId, request, metadata, judgmentRatings);
-        }, error -> handleAsyncFailure(judgmentId, request, "Failed to generate judgment ratings", error)));
+        }, error -> handleAsyncFailure(judgmentId, request, "Failed to generate judgment ratings", error));
+
+        if (request.getType() == JudgmentType.UBI_JUDGMENT) {
+            // a new UBI judgment has no click statistics yet, updating it collects and stores them for later updates
+            processor.updateJudgmentRating(judgmentId, metadata, ratingsListener);
+        } else {
+            processor.generateJudgmentRating(
+                processorInput(request, metadata),
+                queryRatings -> judgmentProgressTracker.publish(judgmentId, queryRatings),
+                ratingsListener
+            );
+        }
     }
 
     private void updateFinalJudgment(
@@ -156,7 +185,10 @@ public class PutJudgmentTransportAction extends HandledTransportAction<PutJudgme
         judgmentDao.updateJudgment(
             finalJudgment,
             ActionListener.wrap(
-                response -> LOGGER.debug("Updated final judgment: {}", judgmentId),
+                response -> {
+                    LOGGER.debug("Updated final judgment: {}", judgmentId);
+                    judgmentProgressTracker.complete(judgmentId);
+                },
                 error -> handleAsyncFailure(judgmentId, request, "Failed to update final judgment", error)
             )
         );
@@ -164,6 +196,7 @@ public class PutJudgmentTransportAction extends HandledTransportAction<PutJudgme
 
     private void handleAsyncFailure(String judgmentId, PutJudgmentRequest request, String message, Exception error) {
         LOGGER.error(message + " for judgment: " + judgmentId, error);
+        judgmentProgressTracker.fail(judgmentId, error);
 
         Judgment errorJudgment = new Judgment(
             judgmentId,
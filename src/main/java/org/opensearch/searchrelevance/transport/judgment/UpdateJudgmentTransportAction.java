@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.transport.judgment;
+
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.searchrelevance.dao.JudgmentDao;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.judgments.JudgmentsProcessorFactory;
+import org.opensearch.searchrelevance.model.AsyncStatus;
+import org.opensearch.searchrelevance.model.Judgment;
+import org.opensearch.searchrelevance.model.JudgmentType;
+import org.opensearch.searchrelevance.transport.OpenSearchDocRequest;
+import org.opensearch.searchrelevance.utils.TimeUtils;
+import org.opensearch.tasks.Task;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Updates the ratings of a completed judgment with the data that arrived since they were generated,
+ * e.g. the UBI events logged since the previous update of a UBI judgment.
+ */
+public class UpdateJudgmentTransportAction extends HandledTransportAction<OpenSearchDocRequest, IndexResponse> {
+    private final JudgmentDao judgmentDao;
+    private final JudgmentsProcessorFactory judgmentsProcessorFactory;
+
+    private static final Logger LOGGER = LogManager.getLogger(UpdateJudgmentTransportAction.class);
+
+    @Inject
+    public UpdateJudgmentTransportAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        JudgmentDao judgmentDao,
+        JudgmentsProcessorFactory judgmentsProcessorFactory
+    ) {
+        super(UpdateJudgmentAction.NAME, transportService, actionFilters, OpenSearchDocRequest::new);
+        this.judgmentDao = judgmentDao;
+        this.judgmentsProcessorFactory = judgmentsProcessorFactory;
+    }
+
+    @Override
+    protected void doExecute(Task task, OpenSearchDocRequest request, ActionListener<IndexResponse> listener) {
+        String judgmentId = request.getId();
+        if (judgmentId == null || judgmentId.trim().isEmpty()) {
+            listener.onFailure(new SearchRelevanceException("judgmentId cannot be null or empty", RestStatus.BAD_REQUEST));
+            return;
+        }
+        // concurrent updates of a judgment, from any node, would merge the same data into its state twice. The judgment
+        // and its click statistics are written only if unchanged since they were read, so all but one fail with CONFLICT.
+        try {
+            judgmentDao.getJudgment(judgmentId, ActionListener.wrap(response -> {
+                SearchHit hit = response.getHits().getHits()[0];
+                updateJudgment(judgmentId, hit.getSourceAsMap(), hit.getSeqNo(), hit.getPrimaryTerm(), listener);
+            }, listener::onFailure));
+        } catch (Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void updateJudgment(
+        String judgmentId,
+        Map<String, Object> source,
+        long seqNo,
+        long primaryTerm,
+        ActionListener<IndexResponse> listener
+    ) {
+        AsyncStatus status = AsyncStatus.valueOf((String) source.get(Judgment.STATUS));
+        if (status != AsyncStatus.COMPLETED) {
+            listener.onFailure(
+                new SearchRelevanceException("Judgment " + judgmentId + " cannot be updated in status " + status, RestStatus.CONFLICT)
+            );
+            return;
+        }
+        JudgmentType type = JudgmentType.valueOf((String) source.get(Judgment.TYPE));
+        Map<String, Object> metadata = (Map<String, Object>) source.get(Judgment.METADATA);
+
+        judgmentsProcessorFactory.getProcessor(type).updateJudgmentRating(judgmentId, metadata, ActionListener.wrap(judgmentRatings -> {
+            LOGGER.info("Updated judgment ratings for {}, ratings size: {}", judgmentId, judgmentRatings.size());
+            Judgment updatedJudgment = new Judgment(
+                judgmentId,
+                TimeUtils.getTimestamp(),
+                (String) source.get(Judgment.NAME),
+                AsyncStatus.COMPLETED,
+                type,
+                metadata,
+                judgmentRatings
+            );
+            judgmentDao.updateJudgmentIfUnchanged(updatedJudgment, seqNo, primaryTerm, listener);
+        }, e -> {
+            LOGGER.error("Failed to update judgment ratings for " + judgmentId, e);
+            listener.onFailure(e);
+        }));
+    }
+}
@@ -24,12 +24,30 @@ public class PostQuerySetRequest extends ActionRequest {
     private String description;
     private String sampling;
     private int querySetSize;
+    private String startDate;
+    private String endDate;
+    private String application;
 
     public PostQuerySetRequest(String name, String description, String sampling, int querySetSize) {
+        this(name, description, sampling, querySetSize, "", "", "");
+    }
+
+    public PostQuerySetRequest(
+        String name,
+        String description,
+        String sampling,
+        int querySetSize,
+        String startDate,
+        String endDate,
+        String application
+    ) {
         this.name = Objects.requireNonNull(name, "name cannot be null.");
         this.description = description;
         this.sampling = Objects.requireNonNull(sampling, "sampling cannot be null.");
         this.querySetSize = Objects.requireNonNull(querySetSize, "querySetSize cannot be null.");
+        this.startDate = Objects.requireNonNull(startDate, "startDate cannot be null.");
+        this.endDate = Objects.requireNonNull(endDate, "endDate cannot be null.");
+        this.application = Objects.requireNonNull(application, "application cannot be null.");
     }
 
     public PostQuerySetRequest(StreamInput in) throws IOException {
@@ -38,6 +56,9 @@ public class PostQuerySetRequest extends ActionRequest {
         this.description = in.readString();
         this.sampling = in.readString();
         this.querySetSize = in.readInt();
+        this.startDate = in.readString();
+        this.endDate = in.readString();
+        this.application = in.readString();
     }
 
     @Override
@@ -47,6 +68,9 @@ public class PostQuerySetRequest extends ActionRequest {
         out.writeString(description);
         out.writeString(sampling);
         out.writeInt(querySetSize);
+        out.writeString(startDate);
+        out.writeString(endDate);
+        out.writeString(application);
     }
 
     public String getName() {
@@ -66,6 +90,18 @@ public class PostQuerySetRequest extends ActionRequest {
         return querySetSize;
     }
 
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public String getApplication() {
+        return application;
+    }
+
     @Override
     public ActionRequestValidationException validate() {
         return null;
@@ -7,15 +7,16 @@
  */
 package org.opensearch.searchrelevance.transport.queryset;
 
+import static org.opensearch.searchrelevance.executors.SearchRelevanceExecutor.SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME;
 import static org.opensearch.searchrelevance.ubi.UbiValidator.checkUbiIndicesExist;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
@@ -25,18 +26,23 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.searchrelevance.dao.QuerySetDao;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.model.AsyncStatus;
 import org.opensearch.searchrelevance.model.QuerySet;
 import org.opensearch.searchrelevance.model.QuerySetEntry;
 import org.opensearch.searchrelevance.ubi.QuerySampler;
+import org.opensearch.searchrelevance.ubi.UbiQueryFilter;
+import org.opensearch.searchrelevance.ubi.UbiRollupService;
 import org.opensearch.searchrelevance.utils.TimeUtils;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
 public class PostQuerySetTransportAction extends HandledTransportAction<PostQuerySetRequest, IndexResponse> {
+    private static final Logger LOGGER = LogManager.getLogger(PostQuerySetTransportAction.class);
     private final Client client;
     private final ClusterService clusterService;
     private final QuerySetDao querySetDao;
+    private final UbiRollupService ubiRollupService;
 
     @Inject
     public PostQuerySetTransportAction(
@@ -44,12 +50,14 @@ public class PostQuerySetTransportAction extends HandledTransportAction<PostQuer
         TransportService transportService,
         ActionFilters actionFilters,
         Client client,
-        QuerySetDao querySetDao
+        QuerySetDao querySetDao,
+        UbiRollupService ubiRollupService
     ) {
         super(PostQuerySetAction.NAME, transportService, actionFilters, PostQuerySetRequest::new);
         this.client = client;
         this.clusterService = clusterService;
         this.querySetDao = querySetDao;
+        this.ubiRollupService = ubiRollupService;
     }
 
     @Override
@@ -64,6 +72,11 @@ public class PostQuerySetTransportAction extends HandledTransportAction<PostQuer
         String name = request.getName();
         String description = request.getDescription();
 
+        if (name == null || name.trim().isEmpty()) {
+            listener.onFailure(new SearchRelevanceException("Name cannot be null or empty. Request: " + request, RestStatus.BAD_REQUEST));
+            return;
+        }
+
         if (!checkUbiIndicesExist(clusterService)) {
             throw new SearchRelevanceException("UBI is not initialized", RestStatus.CONFLICT);
         }
@@ -72,28 +85,63 @@ public class PostQuerySetTransportAction extends HandledTransportAction<PostQuer
         // Given sampling type and querySetSize, build the queryset accordingly
         String sampling = request.getSampling();
         int querySetSize = request.getQuerySetSize();
-        QuerySampler querySampler = QuerySampler.create(sampling, querySetSize, client);
-        Map<String, Integer> querySetQueries = new HashMap<>();
-        try {
-            querySetQueries = querySampler.sample().get();
-        } catch (InterruptedException | ExecutionException e) {
-            listener.onFailure(
-                new SearchRelevanceException("Failed to build querySetQueries. Request: " + request, RestStatus.BAD_REQUEST)
-            );
-        }
+        UbiQueryFilter filter = new UbiQueryFilter(request.getStartDate(), request.getEndDate(), request.getApplication());
+        QuerySampler querySampler = QuerySampler.create(sampling, querySetSize, client, ubiRollupService, filter);
 
-        if (name == null || name.trim().isEmpty()) {
-            listener.onFailure(new SearchRelevanceException("Name cannot be null or empty. Request: " + request, RestStatus.BAD_REQUEST));
-            return;
-        }
+        QuerySet initialQuerySet = new QuerySet(id, name, description, timestamp, sampling, new ArrayList<>(), AsyncStatus.PROCESSING);
+        querySetDao.putQuerySet(initialQuerySet, ActionListener.wrap(response -> {
+            // Return response immediately, sampling large UBI indices can take longer than the request timeout
+            listener.onResponse((IndexResponse) response);
 
-        // Convert Map<String, Integer> to List<QuerySetEntry> (discarding count values)
-        List<QuerySetEntry> querySetEntries = querySetQueries.entrySet()
-            .stream()
-            .map(entry -> QuerySetEntry.Builder.builder().queryText(entry.getKey()).build())
-            .collect(Collectors.toList());
+            // Sample in the background, the sampler never blocks the executor thread
+            client.threadPool()
+                .executor(SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME)
+                .execute(() -> triggerAsyncSampling(initialQuerySet, querySampler));
+        }, e -> {
+            LOGGER.error("Failed to create initial query set", e);
+            listener.onFailure(new SearchRelevanceException("Failed to create initial query set", e, RestStatus.INTERNAL_SERVER_ERROR));
+        }));
+    }
+
+    private void triggerAsyncSampling(QuerySet initialQuerySet, QuerySampler querySampler) {
+        LOGGER.info("Starting async sampling for query set: {}, sampling: {}", initialQuerySet.id(), initialQuerySet.sampling());
+        querySampler.sample().whenComplete((querySetQueries, error) -> {
+            if (error != null) {
+                handleAsyncFailure(initialQuerySet, error);
+                return;
+            }
+            // Convert Map<String, Integer> to List<QuerySetEntry> (discarding count values)
+            List<QuerySetEntry> querySetEntries = querySetQueries.keySet()
+                .stream()
+                .map(queryText -> QuerySetEntry.Builder.builder().queryText(queryText).build())
+                .collect(Collectors.toList());
+            QuerySet finalQuerySet = QuerySet.Builder.builder(initialQuerySet)
+                .timestamp(TimeUtils.getTimestamp())
+                .querySetQueries(querySetEntries)
+                .status(AsyncStatus.COMPLETED)
+                .build();
+            querySetDao.updateQuerySet(
+                finalQuerySet,
+                ActionListener.wrap(
+                    response -> LOGGER.debug("Sampled {} queries for query set: {}", querySetEntries.size(), initialQuerySet.id()),
+                    e -> handleAsyncFailure(initialQuerySet, e)
+                )
+            );
+        });
+    }
 
-        QuerySet querySet = new QuerySet(id, name, description, timestamp, sampling, querySetEntries);
-        querySetDao.putQuerySet(querySet, listener);
+    private void handleAsyncFailure(QuerySet initialQuerySet, Throwable error) {
+        LOGGER.error("Failed to sample queries for query set: " + initialQuerySet.id(), error);
+        QuerySet errorQuerySet = QuerySet.Builder.builder(initialQuerySet)
+            .timestamp(TimeUtils.getTimestamp())
+            .status(AsyncStatus.ERROR)
+            .build();
+        querySetDao.updateQuerySet(
+            errorQuerySet,
+            ActionListener.wrap(
+                response -> LOGGER.info("Updated query set {} status to ERROR", initialQuerySet.id()),
+                e -> LOGGER.error("Failed to update error status for query set: " + initialQuerySet.id(), e)
+            )
+        );
     }
 }
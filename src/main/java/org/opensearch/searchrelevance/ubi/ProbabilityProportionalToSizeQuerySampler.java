@@ -8,10 +8,12 @@
 package org.opensearch.searchrelevance.ubi;
 
 import static org.opensearch.searchrelevance.common.PluginConstants.UBI_QUERIES_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_ROLLUP_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.USER_QUERY_FIELD;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -20,188 +22,198 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
-import org.opensearch.action.search.SearchScrollRequest;
-import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
-import org.opensearch.search.Scroll;
-import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.aggregations.metrics.Sum;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.searchrelevance.shared.StashedThreadContext;
 import org.opensearch.transport.client.Client;
 
 /**
  * Probability Proportional To Size Query Sampling method.
- * Swallow all exceptions for query sampler if users haven't onboarded with UBI.
+ * The weight of a user query is its number of searches, counted by a composite aggregation over the UBI queries or
+ * summed from the UBI rollup, so the memory used is proportional to the distinct user queries. Each draw is a binary
+ * search over the cumulative weights.
  */
 public class ProbabilityProportionalToSizeQuerySampler extends QuerySampler {
     public static final String NAME = "pptss";
     private static final Logger LOGGER = LogManager.getLogger(ProbabilityProportionalToSizeQuerySampler.class);
-    private static final double EPSILON = 0.00001;
+    private static final int COMPOSITE_PAGE_SIZE = 1000;
+    private static final String USER_QUERIES_AGGREGATION_NAME = "user_queries";
+    private static final String COUNT_AGGREGATION_NAME = "search_count";
 
     public ProbabilityProportionalToSizeQuerySampler(int size, Client client) {
         super(size, client);
     }
 
+    public ProbabilityProportionalToSizeQuerySampler(int size, Client client, UbiRollupService ubiRollupService) {
+        super(size, client, ubiRollupService);
+    }
+
     @Override
     public CompletableFuture<Map<String, Integer>> sample() {
-        // Get queries from the UBI queries index.
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(QueryBuilders.matchAllQuery()).size(10000);
         CompletableFuture<Map<String, Integer>> future = new CompletableFuture<>();
-
-        getUserQueries(searchSourceBuilder, new ActionListener<Collection<String>>() {
-            @Override
-            public void onResponse(Collection<String> userQueries) {
-                try {
-                    if (userQueries.isEmpty()) {
-                        LOGGER.warn("No queries found in {}", UBI_QUERIES_INDEX);
-                        future.complete(new HashMap<>());
-                        return;
-                    }
-                    Map<String, Integer> result = getQuerySet(userQueries);
-                    future.complete(result);
-                } catch (Exception e) {
-                    LOGGER.error("Error processing user queries", e);
-                    future.complete(new HashMap<>());
-                }
-            }
-
-            @Override
-            public void onFailure(Exception e) {
-                LOGGER.error("Failed to retrieve queries from {}: {}", UBI_QUERIES_INDEX, e.getMessage());
-                future.complete(new HashMap<>());
-            }
-        });
-
+        getRolledUpUntil(ActionListener.wrap(rolledUpUntil -> sample(rolledUpUntil != null, future), e -> sample(false, future)));
         return future;
-
     }
 
-    private Map<String, Integer> getQuerySet(Collection<String> userQueries) {
-        final Map<String, Long> weights = new HashMap<>();
-        final Map<String, Double> normalizedWeights = new HashMap<>();
-        final Map<String, Double> cumulativeWeights = new HashMap<>();
-        final Map<String, Integer> querySet = new HashMap<>();
-
-        // Increment the weight for each user query.
-        userQueries.forEach(query -> weights.merge(query, 1L, Long::sum));
-
-        // The total number of queries will be used to normalize the weights.
-        final long countOfQueries = userQueries.size();
-
-        // Calculate normalized weights
-        weights.forEach((query, weight) -> normalizedWeights.put(query, weight.doubleValue() / countOfQueries));
-
-        // Validate normalized weights
-        double sumOfNormalizedWeights = normalizedWeights.values().stream().mapToDouble(Double::doubleValue).sum();
-
-        if (!compareDouble(1.0, sumOfNormalizedWeights)) {
-            throw new IllegalStateException("Summed normalized weights do not equal 1.0: " + sumOfNormalizedWeights);
-        }
-
-        // Create weight "ranges" for each query.
-        double[] lastWeight = { 0.0 };
-        normalizedWeights.forEach((query, weight) -> {
-            lastWeight[0] += weight;
-            cumulativeWeights.put(query, lastWeight[0]);
-        });
-
-        // The last weight should be 1.0.
-        if (!compareDouble(lastWeight[0], 1.0)) {
-            throw new IllegalStateException("The sum of cumulative weights does not equal 1.0: " + lastWeight[0]);
-        }
-
-        final UniformRealDistribution uniform = new UniformRealDistribution(0, 1);
-
-        for (int i = 1; i <= getSize(); i++) {
-
-            final double r = uniform.sample();
-
-            for (final String userQuery : cumulativeWeights.keySet()) {
-
-                final double cumulativeWeight = cumulativeWeights.get(userQuery);
-                if (cumulativeWeight >= r) {
-                    // This ignores duplicate queries.
-                    querySet.put(userQuery, Math.toIntExact(weights.get(userQuery)));
-                    break;
+    private void sample(boolean fromRollup, CompletableFuture<Map<String, Integer>> future) {
+        String index = fromRollup ? UBI_ROLLUP_INDEX : UBI_QUERIES_INDEX;
+        getWeights(fromRollup, buildUserQueriesAggregation(fromRollup), null, new QueryWeights(), ActionListener.wrap(weights -> {
+            try {
+                if (weights.size() == 0) {
+                    LOGGER.warn("No queries found in {}", index);
+                    future.completeExceptionally(noQueriesFound(index));
+                    return;
                 }
-
+                future.complete(weights.sample(getSize(), new UniformRealDistribution(0, weights.total())));
+            } catch (Exception e) {
+                LOGGER.error("Error processing user queries", e);
+                future.completeExceptionally(e);
             }
+        }, e -> {
+            LOGGER.error("Failed to retrieve queries from {}: {}", index, e.getMessage());
+            future.completeExceptionally(e);
+        }));
+    }
 
+    /**
+     * Composite aggregation paging through the distinct user queries, summing the search counts of the UBI rollup
+     * or counting the documents of the UBI queries.
+     */
+    private CompositeAggregationBuilder buildUserQueriesAggregation(boolean fromRollup) {
+        String field = fromRollup ? UbiRollupService.USER_QUERY_FIELD : USER_QUERY_FIELD;
+        CompositeAggregationBuilder userQueries = AggregationBuilders.composite(
+            USER_QUERIES_AGGREGATION_NAME,
+            List.<CompositeValuesSourceBuilder<?>>of(new TermsValuesSourceBuilder(USER_QUERY_FIELD).field(field))
+        ).size(COMPOSITE_PAGE_SIZE);
+        if (fromRollup) {
+            userQueries.subAggregation(AggregationBuilders.sum(COUNT_AGGREGATION_NAME).field(UbiRollupService.COUNT_FIELD));
         }
-        return querySet;
+        return userQueries;
     }
 
-    private void getUserQueries(SearchSourceBuilder searchSourceBuilder, ActionListener<Collection<String>> listener) {
-        Collection<String> userQueries = new ArrayList<>();
-        scrollUserQueries(searchSourceBuilder, new Scroll(TimeValue.timeValueMinutes(10L)), userQueries, null, listener);
+    private BoolQueryBuilder buildQuery(boolean fromRollup) {
+        if (fromRollup) {
+            return QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termQuery(UbiRollupService.ACTION_NAME_FIELD, UbiRollupService.SEARCH_ACTION))
+                .mustNot(QueryBuilders.termQuery(UbiRollupService.USER_QUERY_FIELD, ""));
+        }
+        return QueryBuilders.boolQuery()
+            .filter(QueryBuilders.existsQuery(USER_QUERY_FIELD))
+            .mustNot(QueryBuilders.termQuery(USER_QUERY_FIELD, ""));
     }
 
-    private void scrollUserQueries(
-        SearchSourceBuilder searchSourceBuilder,
-        Scroll scroll,
-        Collection<String> accumulator,
-        String scrollId,
-        ActionListener<Collection<String>> listener
+    private void getWeights(
+        boolean fromRollup,
+        CompositeAggregationBuilder compositeAgg,
+        Map<String, Object> afterKey,
+        QueryWeights weights,
+        ActionListener<QueryWeights> listener
     ) {
-
-        try {
-            if (scrollId == null) {
-                // Initial search
-                SearchRequest searchRequest = new SearchRequest(UBI_QUERIES_INDEX).scroll(scroll).source(searchSourceBuilder);
-
-                getClient().search(
-                    searchRequest,
-                    ActionListener.wrap(
-                        searchResponse -> processSearchResponse(searchResponse, scroll, accumulator, listener),
-                        listener::onFailure
-                    )
-                );
+        if (afterKey != null) {
+            compositeAgg.aggregateAfter(afterKey);
+        }
+        SearchRequest searchRequest = new SearchRequest(fromRollup ? UBI_ROLLUP_INDEX : UBI_QUERIES_INDEX).source(
+            new SearchSourceBuilder().query(buildQuery(fromRollup)).size(0).aggregation(compositeAgg)
+        );
+        ActionListener<SearchResponse> pageListener = ActionListener.wrap(response -> {
+            CompositeAggregation buckets = response.getAggregations() == null
+                ? null
+                : response.getAggregations().get(USER_QUERIES_AGGREGATION_NAME);
+            if (buckets == null || buckets.getBuckets().isEmpty()) {
+                listener.onResponse(weights);
+                return;
+            }
+            for (CompositeAggregation.Bucket bucket : buckets.getBuckets()) {
+                long weight = fromRollup
+                    ? (long) ((Sum) bucket.getAggregations().get(COUNT_AGGREGATION_NAME)).getValue()
+                    : bucket.getDocCount();
+                weights.add(String.valueOf(bucket.getKey().get(USER_QUERY_FIELD)), weight);
+            }
+            if (buckets.afterKey() == null) {
+                listener.onResponse(weights);
             } else {
-                // Subsequent scroll requests
-                SearchScrollRequest scrollRequest = new SearchScrollRequest(scrollId).scroll(scroll);
-
-                getClient().searchScroll(
-                    scrollRequest,
-                    ActionListener.wrap(
-                        searchResponse -> processSearchResponse(searchResponse, scroll, accumulator, listener),
-                        listener::onFailure
-                    )
-                );
+                getWeights(fromRollup, compositeAgg, buckets.afterKey(), weights, listener);
             }
-        } catch (Exception e) {
-            listener.onFailure(e);
+        }, listener::onFailure);
+        if (fromRollup) {
+            // the rollup is a system index
+            StashedThreadContext.run(getClient(), () -> getClient().search(searchRequest, pageListener));
+        } else {
+            getClient().search(searchRequest, pageListener);
         }
     }
 
-    private void processSearchResponse(
-        SearchResponse searchResponse,
-        Scroll scroll,
-        Collection<String> accumulator,
-        ActionListener<Collection<String>> listener
-    ) {
-        try {
-            SearchHit[] hits = searchResponse.getHits().getHits();
+    /**
+     * Distinct user queries with the cumulative sums of their weights in primitive arrays.
+     */
+    static final class QueryWeights {
+        private String[] queries = new String[COMPOSITE_PAGE_SIZE];
+        private long[] cumulativeWeights = new long[COMPOSITE_PAGE_SIZE];
+        private int size;
 
-            if (hits == null || hits.length == 0) {
-                listener.onResponse(accumulator);
+        void add(String userQuery, long weight) {
+            if (weight <= 0) {
                 return;
             }
-
-            for (SearchHit hit : hits) {
-                Map<String, Object> fields = hit.getSourceAsMap();
-                String userQuery = fields.get("user_query").toString();
-                accumulator.add(userQuery);
-                LOGGER.debug("User queries count: {} user query: {}", accumulator.size(), userQuery);
+            if (size == queries.length) {
+                queries = Arrays.copyOf(queries, size * 2);
+                cumulativeWeights = Arrays.copyOf(cumulativeWeights, size * 2);
             }
+            cumulativeWeights[size] = total() + weight;
+            queries[size++] = userQuery;
+        }
 
-            // Continue scrolling
-            scrollUserQueries(null, scroll, accumulator, searchResponse.getScrollId(), listener);
-        } catch (Exception e) {
-            listener.onFailure(e);
+        int size() {
+            return size;
+        }
+
+        long total() {
+            return size == 0 ? 0 : cumulativeWeights[size - 1];
         }
-    }
 
-    private boolean compareDouble(double a, double b) {
-        return Math.abs(a - b) < EPSILON;
+        long weightOf(int index) {
+            return index == 0 ? cumulativeWeights[0] : cumulativeWeights[index] - cumulativeWeights[index - 1];
+        }
+
+        /**
+         * Index of the query whose weight range contains the point, i.e. the first cumulative weight above it.
+         */
+        int find(double point) {
+            int low = 0;
+            int high = size - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulativeWeights[mid] > point) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Draws the given number of queries with probability proportional to their weights, ignoring duplicates.
+         *
+         * @param draws - number of queries to draw
+         * @param uniform - distribution over [0, total weight)
+         * @return the drawn queries with their weights
+         */
+        Map<String, Integer> sample(int draws, UniformRealDistribution uniform) {
+            Map<String, Integer> querySet = new HashMap<>();
+            for (int i = 0; i < draws; i++) {
+                int index = find(uniform.sample());
+                querySet.put(queries[index], Math.toIntExact(weightOf(index)));
+            }
+            return querySet;
+        }
     }
 }
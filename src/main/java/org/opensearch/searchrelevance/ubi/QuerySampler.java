@@ -7,12 +7,26 @@
  */
 package org.opensearch.searchrelevance.ubi;
 
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_QUERIES_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.USER_QUERY_FIELD;
+
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.transport.client.Client;
 
@@ -20,12 +34,19 @@ import reactor.util.annotation.NonNull;
 
 public abstract class QuerySampler {
     private static final Logger LOGGER = LogManager.getLogger(QuerySampler.class);
+    private static final String AGGREGATION_NAME = "By_User_Query";
     private final Client client;
     private final int size;
+    private final UbiRollupService ubiRollupService;
 
     protected QuerySampler(int size, @NonNull Client client) {
+        this(size, client, null);
+    }
+
+    protected QuerySampler(int size, @NonNull Client client, UbiRollupService ubiRollupService) {
         this.client = client;
         this.size = size;
+        this.ubiRollupService = ubiRollupService;
     }
 
     protected Client getClient() {
@@ -36,13 +57,112 @@ public abstract class QuerySampler {
         return size;
     }
 
+    /**
+     * Gets the upper bound of the UBI rollup, so a sampler can count the searches per user query from the rollup.
+     * @param listener - receives the upper bound, or null if the sampler reads the UBI queries
+     */
+    protected void getRolledUpUntil(ActionListener<String> listener) {
+        if (ubiRollupService == null) {
+            listener.onResponse(null);
+            return;
+        }
+        ubiRollupService.getRolledUpUntil(ActionListener.wrap(listener::onResponse, e -> {
+            LOGGER.warn("Failed to read the UBI rollup state, sampling the UBI queries", e);
+            listener.onResponse(null);
+        }));
+    }
+
+    /**
+     * Samples user queries with their search counts.
+     * Sampling fails if the UBI queries cannot be read, so the query set is marked as failed instead of empty.
+     * @return completed exceptionally if the UBI queries cannot be read or none are found
+     */
     public abstract CompletableFuture<Map<String, Integer>> sample();
 
+    protected static SearchRelevanceException noQueriesFound(String index) {
+        return new SearchRelevanceException("No queries found in " + index, RestStatus.NOT_FOUND);
+    }
+
+    /**
+     * Counts the searches of all sampled user queries with a single terms aggregation restricted to them.
+     * The query set is built in the one response callback, so no concurrent callbacks share it.
+     * @param userQueries - the sampled user queries
+     * @param filter - restricts the counted UBI queries, e.g. to the date range the queries were sampled from
+     * @param future - completed with the sampled user queries and their counts
+     */
+    protected void countUserQueries(Set<String> userQueries, QueryBuilder filter, CompletableFuture<Map<String, Integer>> future) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery().filter(QueryBuilders.termsQuery(USER_QUERY_FIELD, userQueries)).filter(filter);
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(query)
+            .aggregation(AggregationBuilders.terms(AGGREGATION_NAME).field(USER_QUERY_FIELD).size(userQueries.size()))
+            .size(0);
+
+        SearchRequest searchRequest = new SearchRequest(UBI_QUERIES_INDEX).source(searchSourceBuilder);
+
+        getClient().search(searchRequest, new ActionListener<SearchResponse>() {
+            @Override
+            public void onResponse(SearchResponse searchResponse) {
+                Map<String, Long> counts = new HashMap<>();
+                Terms byUserQuery = searchResponse.getAggregations() == null
+                    ? null
+                    : searchResponse.getAggregations().get(AGGREGATION_NAME);
+                if (byUserQuery != null) {
+                    for (Terms.Bucket bucket : byUserQuery.getBuckets()) {
+                        counts.put(bucket.getKeyAsString(), bucket.getDocCount());
+                    }
+                }
+                future.complete(toQuerySet(userQueries, counts));
+            }
+
+            @Override
+            public void onFailure(Exception ex) {
+                LOGGER.error("Error getting user query counts: {}", ex.getMessage(), ex);
+                future.complete(toQuerySet(userQueries, Map.of()));
+            }
+        });
+    }
+
+    private Map<String, Integer> toQuerySet(Set<String> userQueries, Map<String, Long> counts) {
+        Map<String, Integer> querySet = new HashMap<>();
+        for (String userQuery : userQueries) {
+            long count = counts.getOrDefault(userQuery, 0L);
+            LOGGER.debug("Adding user query to query set: {} with frequency {}", userQuery, count);
+            querySet.put(userQuery, Math.toIntExact(count));
+        }
+        LOGGER.info("Created query set with {} queries", querySet.size());
+        return querySet;
+    }
+
     public static QuerySampler create(String name, int size, Client client) {
+        return create(name, size, client, null);
+    }
+
+    /**
+     * @param ubiRollupService - rollup the search counts are read from once it is maintained, null to read the UBI queries
+     */
+    public static QuerySampler create(String name, int size, Client client, UbiRollupService ubiRollupService) {
+        return create(name, size, client, ubiRollupService, UbiQueryFilter.NONE);
+    }
+
+    /**
+     * @param ubiRollupService - rollup the search counts are read from once it is maintained, null to read the UBI queries
+     * @param filter - date range and application to sample from, only supported by the reservoir sampler
+     */
+    public static QuerySampler create(String name, int size, Client client, UbiRollupService ubiRollupService, UbiQueryFilter filter) {
+        if (!filter.isEmpty() && !ReservoirQuerySampler.NAME.equals(name)) {
+            throw new SearchRelevanceException(
+                "Date range and application filters are only supported by the " + ReservoirQuerySampler.NAME + " sampler",
+                RestStatus.BAD_REQUEST
+            );
+        }
         return switch (name) {
-            case ProbabilityProportionalToSizeQuerySampler.NAME -> new ProbabilityProportionalToSizeQuerySampler(size, client);
+            case ProbabilityProportionalToSizeQuerySampler.NAME -> new ProbabilityProportionalToSizeQuerySampler(
+                size,
+                client,
+                ubiRollupService
+            );
             case RandomQuerySampler.NAME -> new RandomQuerySampler(size, client);
-            case TopNQuerySampler.NAME -> new TopNQuerySampler(size, client);
+            case TopNQuerySampler.NAME -> new TopNQuerySampler(size, client, ubiRollupService);
+            case ReservoirQuerySampler.NAME -> new ReservoirQuerySampler(size, client, filter);
             default -> throw new SearchRelevanceException("Unknown sampler type: " + name, RestStatus.BAD_REQUEST);
         };
     }
@@ -10,10 +10,10 @@ package org.opensearch.searchrelevance.ubi;
 import static org.opensearch.searchrelevance.common.PluginConstants.UBI_QUERIES_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.USER_QUERY_FIELD;
 
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,12 +32,10 @@ import org.opensearch.transport.client.Client;
 
 /**
  * Randomize Query Sampling method.
- * Swallow all exceptions for query sampler if users haven't onboarded with UBI.
  */
 public class RandomQuerySampler extends QuerySampler {
     public static final String NAME = "random";
     private static final Logger LOGGER = LogManager.getLogger(RandomQuerySampler.class);
-    private static final int SEARCH_TIMEOUT_SECONDS = 30;
 
     public RandomQuerySampler(int size, Client client) {
         super(size, client);
@@ -51,22 +49,19 @@ public class RandomQuerySampler extends QuerySampler {
         getClient().search(searchRequest, new ActionListener<SearchResponse>() {
             @Override
             public void onResponse(SearchResponse searchResponse) {
-                getQuerySet(searchResponse).thenAccept(result -> {
-                    if (result.isEmpty()) {
-                        LOGGER.warn("No queries found in the search response");
-                    }
-                    future.complete(result);
-                }).exceptionally(ex -> {
-                    LOGGER.error("Error processing query set: {}", ex.getMessage(), ex);
-                    future.complete(new HashMap<>());
-                    return null;
-                });
+                Set<String> userQueries = getUserQueries(searchResponse);
+                if (userQueries.isEmpty()) {
+                    LOGGER.warn("No queries found in the search response");
+                    future.completeExceptionally(noQueriesFound(UBI_QUERIES_INDEX));
+                    return;
+                }
+                countUserQueries(userQueries, QueryBuilders.matchAllQuery(), future);
             }
 
             @Override
             public void onFailure(Exception ex) {
                 LOGGER.error("Error executing search request: {}", ex.getMessage(), ex);
-                future.complete(new HashMap<>());
+                future.completeExceptionally(ex);
             }
         });
 
@@ -94,47 +89,14 @@ public class RandomQuerySampler extends QuerySampler {
         return new SearchRequest(UBI_QUERIES_INDEX).source(searchSourceBuilder);
     }
 
-    private CompletableFuture<Map<String, Integer>> getQuerySet(SearchResponse searchResponse) {
-        Map<String, Integer> querySet = new HashMap<>();
-        CompletableFuture<?>[] futures = new CompletableFuture[searchResponse.getHits().getHits().length];
-
-        int i = 0;
+    private Set<String> getUserQueries(SearchResponse searchResponse) {
+        Set<String> userQueries = new LinkedHashSet<>();
         for (SearchHit hit : searchResponse.getHits().getHits()) {
-            String userQuery = (String) hit.getSourceAsMap().get(USER_QUERY_FIELD);
-            futures[i++] = getUserQueryCount(userQuery).thenAccept(count -> {
-                LOGGER.info("Adding user query to query set: {} with frequency {}", userQuery, count);
-                querySet.put(userQuery, Math.toIntExact(count));
-            });
-        }
-
-        return CompletableFuture.allOf(futures).thenApply(v -> querySet);
-    }
-
-    private CompletableFuture<Long> getUserQueryCount(String userQuery) {
-        CompletableFuture<Long> future = new CompletableFuture<>();
-
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(QueryBuilders.termQuery(USER_QUERY_FIELD, userQuery))
-            .size(0)
-            .trackTotalHits(true);
-
-        SearchRequest searchRequest = new SearchRequest(UBI_QUERIES_INDEX).source(searchSourceBuilder);
-
-        getClient().search(searchRequest, new ActionListener<SearchResponse>() {
-            @Override
-            public void onResponse(SearchResponse searchResponse) {
-                future.complete(searchResponse.getHits().getTotalHits().value());
-            }
-
-            @Override
-            public void onFailure(Exception ex) {
-                LOGGER.error("Error getting user query count for {}: {}", userQuery, ex.getMessage(), ex);
-                future.complete(0L);
+            Object userQuery = hit.getSourceAsMap().get(USER_QUERY_FIELD);
+            if (userQuery != null) {
+                userQueries.add(userQuery.toString());
             }
-        });
-
-        return future.orTimeout(SEARCH_TIMEOUT_SECONDS, TimeUnit.SECONDS).exceptionally(ex -> {
-            LOGGER.error("Operation timed out or failed for query {}: {}", userQuery, ex.getMessage(), ex);
-            return 0L;
-        });
+        }
+        return userQueries;
     }
 }
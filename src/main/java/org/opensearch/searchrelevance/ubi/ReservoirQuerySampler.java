@@ -0,0 +1,158 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_QUERIES_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.USER_QUERY_FIELD;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.search.SearchHit;
+import org.opensearch.transport.client.Client;
+
+/**
+ * Weighted reservoir (A-Res) Query Sampling method.
+ * Streams the UBI queries matching the filter once with a sliced point in time read and keeps the size user queries
+ * with the largest keys. Every logged query draws a uniform key and a user query keeps the largest key of its logged
+ * queries. The largest of f uniform keys is distributed like u^(1/f), the A-Res key of a user query weighted by its
+ * frequency f, so the sample is frequency weighted while memory stays proportional to the sample size.
+ */
+public class ReservoirQuerySampler extends QuerySampler {
+    public static final String NAME = "reservoir";
+    private static final Logger LOGGER = LogManager.getLogger(ReservoirQuerySampler.class);
+
+    private final UbiQueryFilter filter;
+
+    public ReservoirQuerySampler(int size, Client client, UbiQueryFilter filter) {
+        super(size, client);
+        this.filter = filter;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Integer>> sample() {
+        CompletableFuture<Map<String, Integer>> future = new CompletableFuture<>();
+        new UbiSlicedReader(getClient()).read(
+            UBI_QUERIES_INDEX,
+            filter.toQuery(),
+            new String[] { USER_QUERY_FIELD },
+            () -> new Reservoir(getSize(), () -> ThreadLocalRandom.current().nextDouble()),
+            this::offer,
+            ActionListener.wrap(slices -> {
+                Set<String> userQueries = Reservoir.merge(slices, getSize()).userQueries();
+                if (userQueries.isEmpty()) {
+                    LOGGER.warn("No queries found in {}", UBI_QUERIES_INDEX);
+                    future.completeExceptionally(noQueriesFound(UBI_QUERIES_INDEX));
+                    return;
+                }
+                countUserQueries(userQueries, filter.toQuery(), future);
+            }, e -> {
+                LOGGER.error("Failed to retrieve queries from {}: {}", UBI_QUERIES_INDEX, e.getMessage());
+                future.completeExceptionally(e);
+            })
+        );
+        return future;
+    }
+
+    private void offer(Reservoir reservoir, SearchHit[] hits) {
+        for (SearchHit hit : hits) {
+            Object userQuery = hit.getSourceAsMap().get(USER_QUERY_FIELD);
+            if (userQuery != null && !userQuery.toString().isEmpty()) {
+                reservoir.offer(userQuery.toString());
+            }
+        }
+    }
+
+    /**
+     * The user queries with the largest keys seen by a slice, in a min heap to replace the smallest key in O(log k).
+     */
+    static final class Reservoir {
+        private final int capacity;
+        private final DoubleSupplier random;
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final PriorityQueue<Entry> heap = new PriorityQueue<>((a, b) -> Double.compare(a.key, b.key));
+
+        Reservoir(int capacity, DoubleSupplier random) {
+            this.capacity = capacity;
+            this.random = random;
+        }
+
+        /**
+         * Offers a logged user query with a new uniform key.
+         */
+        void offer(String userQuery) {
+            offer(userQuery, random.getAsDouble());
+        }
+
+        /**
+         * Keeps the key of the user query if it is among the largest keys. As the smallest key only grows, a user query
+         * dropped from the reservoir only returns with a key larger than all of its earlier keys.
+         */
+        void offer(String userQuery, double key) {
+            Entry entry = entries.get(userQuery);
+            if (entry != null) {
+                if (key > entry.key) {
+                    heap.remove(entry);
+                    entry.key = key;
+                    heap.add(entry);
+                }
+                return;
+            }
+            if (entries.size() < capacity) {
+                add(userQuery, key);
+            } else if (capacity > 0 && key > heap.peek().key) {
+                entries.remove(heap.poll().userQuery);
+                add(userQuery, key);
+            }
+        }
+
+        private void add(String userQuery, double key) {
+            Entry entry = new Entry(userQuery, key);
+            entries.put(userQuery, entry);
+            heap.add(entry);
+        }
+
+        Set<String> userQueries() {
+            return new LinkedHashSet<>(entries.keySet());
+        }
+
+        /**
+         * Merges the reservoirs of the slices. The largest key of a user query over all slices is its key in the
+         * reservoir of one slice, so the merged reservoir equals the reservoir of a single read.
+         */
+        static Reservoir merge(List<Reservoir> slices, int capacity) {
+            Reservoir merged = new Reservoir(capacity, () -> { throw new IllegalStateException("merged reservoirs draw no keys"); });
+            for (Reservoir slice : slices) {
+                for (Entry entry : slice.heap) {
+                    merged.offer(entry.userQuery, entry.key);
+                }
+            }
+            return merged;
+        }
+
+        private static final class Entry {
+            private final String userQuery;
+            private double key;
+
+            private Entry(String userQuery, double key) {
+                this.userQuery = userQuery;
+                this.key = key;
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@
 package org.opensearch.searchrelevance.ubi;
 
 import static org.opensearch.searchrelevance.common.PluginConstants.UBI_QUERIES_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_ROLLUP_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.USER_QUERY_FIELD;
 
 import java.util.HashMap;
@@ -24,56 +25,74 @@ import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.BucketOrder;
 import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.Sum;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.searchrelevance.shared.StashedThreadContext;
 import org.opensearch.transport.client.Client;
 
 /**
  * TopN Query Sampling method.
- * Swallow all exceptions for query sampler if users haven't onboarded with UBI.
  */
 public class TopNQuerySampler extends QuerySampler {
     public static final String NAME = "topn";
     private static final Logger LOGGER = LogManager.getLogger(TopNQuerySampler.class);
     private static final String AGGREGATION_NAME = "By_User_Query";
+    private static final String COUNT_AGGREGATION_NAME = "Search_Count";
 
     public TopNQuerySampler(int size, Client client) {
         super(size, client);
     }
 
+    public TopNQuerySampler(int size, Client client, UbiRollupService ubiRollupService) {
+        super(size, client, ubiRollupService);
+    }
+
     @Override
     public CompletableFuture<Map<String, Integer>> sample() {
         CompletableFuture<Map<String, Integer>> future = new CompletableFuture<>();
+        getRolledUpUntil(ActionListener.wrap(rolledUpUntil -> sample(rolledUpUntil != null, future), e -> sample(false, future)));
+        return future;
+    }
+
+    private void sample(boolean fromRollup, CompletableFuture<Map<String, Integer>> future) {
         try {
-            SearchRequest searchRequest = buildSearchRequest();
+            SearchRequest searchRequest = fromRollup ? buildRollupSearchRequest() : buildSearchRequest();
 
-            getClient().search(searchRequest, new ActionListener<SearchResponse>() {
+            ActionListener<SearchResponse> listener = new ActionListener<SearchResponse>() {
                 @Override
                 public void onResponse(SearchResponse searchResponse) {
                     try {
-                        Map<String, Integer> querySet = processSearchResponse(searchResponse);
+                        Map<String, Integer> querySet = processSearchResponse(searchResponse, fromRollup);
                         if (querySet.isEmpty()) {
                             LOGGER.warn("No queries found in the search response");
+                            future.completeExceptionally(noQueriesFound(searchRequest.indices()[0]));
+                            return;
                         }
                         future.complete(querySet);
                     } catch (Exception e) {
                         LOGGER.error("Error processing search response: {}", e.getMessage(), e);
-                        future.complete(new HashMap<>());
+                        future.completeExceptionally(e);
                     }
                 }
 
                 @Override
                 public void onFailure(Exception e) {
                     LOGGER.error("Search request failed: {}", e.getMessage(), e);
-                    future.complete(new HashMap<>());
+                    future.completeExceptionally(e);
                 }
-            });
+            };
+            if (fromRollup) {
+                // the rollup is a system index
+                StashedThreadContext.run(getClient(), () -> getClient().search(searchRequest, listener));
+            } else {
+                getClient().search(searchRequest, listener);
+            }
         } catch (Exception e) {
             LOGGER.error("Error creating search request: {}", e.getMessage(), e);
-            future.complete(new HashMap<>());
+            future.completeExceptionally(e);
         }
-
-        return future;
     }
 
     private SearchRequest buildSearchRequest() {
@@ -91,7 +110,25 @@ public class TopNQuerySampler extends QuerySampler {
         return new SearchRequest(UBI_QUERIES_INDEX).source(searchSourceBuilder);
     }
 
-    private Map<String, Integer> processSearchResponse(SearchResponse searchResponse) {
+    /**
+     * The most frequent user queries by their summed search counts in the UBI rollup.
+     */
+    private SearchRequest buildRollupSearchRequest() {
+        AggregationBuilder userQueryAggregation = AggregationBuilders.terms(AGGREGATION_NAME)
+            .field(UbiRollupService.USER_QUERY_FIELD)
+            .size(getSize())
+            .order(BucketOrder.aggregation(COUNT_AGGREGATION_NAME, false))
+            .subAggregation(AggregationBuilders.sum(COUNT_AGGREGATION_NAME).field(UbiRollupService.COUNT_FIELD));
+
+        BoolQueryBuilder boolQuery = QueryBuilders.boolQuery()
+            .filter(QueryBuilders.termQuery(UbiRollupService.ACTION_NAME_FIELD, UbiRollupService.SEARCH_ACTION))
+            .mustNot(QueryBuilders.termQuery(UbiRollupService.USER_QUERY_FIELD, ""));
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(boolQuery).aggregation(userQueryAggregation).size(0);
+        return new SearchRequest(UBI_ROLLUP_INDEX).source(searchSourceBuilder);
+    }
+
+    private Map<String, Integer> processSearchResponse(SearchResponse searchResponse, boolean fromRollup) {
         Map<String, Integer> querySet = new HashMap<>();
 
         Terms byUserQuery = searchResponse.getAggregations().get(AGGREGATION_NAME);
@@ -99,7 +136,7 @@ public class TopNQuerySampler extends QuerySampler {
 
         for (Terms.Bucket bucket : buckets) {
             String query = bucket.getKeyAsString();
-            long count = bucket.getDocCount();
+            long count = fromRollup ? (long) ((Sum) bucket.getAggregations().get(COUNT_AGGREGATION_NAME)).getValue() : bucket.getDocCount();
 
             if (query != null && !query.trim().isEmpty()) {
                 LOGGER.debug("Adding query to set: {} (count: {})", query, count);
@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import static org.opensearch.searchrelevance.common.PluginConstants.USER_QUERY_FIELD;
+
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+
+/**
+ * Restricts the UBI queries a query set is sampled from to a date range and an application.
+ * Empty values do not restrict the sampled queries.
+ */
+public class UbiQueryFilter {
+    public static final UbiQueryFilter NONE = new UbiQueryFilter("", "", "");
+    public static final String TIMESTAMP_FIELD = "timestamp";
+    public static final String APPLICATION_FIELD = "application";
+
+    private final String startDate;
+    private final String endDate;
+    private final String application;
+
+    /**
+     * @param startDate - first day of the sampled queries in yyyy-MM-dd format, empty for no lower bound
+     * @param endDate - last day of the sampled queries in yyyy-MM-dd format, empty for no upper bound
+     * @param application - application that logged the sampled queries, empty for all applications
+     */
+    public UbiQueryFilter(String startDate, String endDate, String application) {
+        this.startDate = startDate == null ? "" : startDate;
+        this.endDate = endDate == null ? "" : endDate;
+        this.application = application == null ? "" : application;
+    }
+
+    public boolean isEmpty() {
+        return startDate.isEmpty() && endDate.isEmpty() && application.isEmpty();
+    }
+
+    /**
+     * @return query matching the non-empty user queries in the date range of the application
+     */
+    public BoolQueryBuilder toQuery() {
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+            .filter(QueryBuilders.existsQuery(USER_QUERY_FIELD))
+            .mustNot(QueryBuilders.termQuery(USER_QUERY_FIELD, ""));
+        if (!startDate.isEmpty() || !endDate.isEmpty()) {
+            query.filter(
+                QueryBuilders.rangeQuery(TIMESTAMP_FIELD)
+                    .format("yyyy-MM-dd")
+                    .gte(startDate.isEmpty() ? null : startDate)
+                    .lte(endDate.isEmpty() ? null : endDate)
+            );
+        }
+        if (!application.isEmpty()) {
+            query.filter(QueryBuilders.termQuery(APPLICATION_FIELD, application));
+        }
+        return query;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public String getApplication() {
+        return application;
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_EVENTS_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_QUERIES_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_ROLLUP_INDEX;
+import static org.opensearch.searchrelevance.executors.SearchRelevanceExecutor.SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME;
+import static org.opensearch.searchrelevance.ubi.UbiValidator.checkUbiIndicesExist;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.StepListener;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.cluster.LocalNodeClusterManagerListener;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.DateHistogramValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndices;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettings;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+import org.opensearch.searchrelevance.shared.StashedThreadContext;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+/**
+ * Maintains the rollup of the UBI indices: the number of events per day, user_query, object_id, position and
+ * action_name, and the number of searches per day and user_query. The rollup runs periodically on the cluster manager
+ * node. A run recomputes the days from the day of the previous run's upper bound up to its own upper bound with
+ * composite aggregations over the raw events and overwrites their rollup documents, whose ids are derived from their
+ * keys, so a failed run is simply repeated by the next one.
+ * Click models and query samplers read the rollup instead of the raw events once a run completed, which shrinks their
+ * scan from the number of events to the number of distinct keys.
+ */
+public class UbiRollupService implements LocalNodeClusterManagerListener {
+    public static final String DAY_FIELD = "day";
+    public static final String USER_QUERY_FIELD = "user_query";
+    public static final String OBJECT_ID_FIELD = "object_id";
+    public static final String POSITION_FIELD = "position";
+    public static final String ACTION_NAME_FIELD = "action_name";
+    public static final String COUNT_FIELD = "count";
+    public static final String ROLLED_UP_UNTIL_FIELD = "rolled_up_until";
+    public static final String DAY_FORMAT = "yyyy-MM-dd";
+    /** action_name of the search counts rolled up from the UBI queries */
+    public static final String SEARCH_ACTION = "search";
+    // events are expected to be searchable this long after their timestamp
+    public static final TimeValue INGEST_LAG = TimeValue.timeValueMinutes(1);
+
+    private static final Logger LOGGER = LogManager.getLogger(UbiRollupService.class);
+    private static final String STATE_DOC_ID = "ubi_rollup_state";
+    private static final int COMPOSITE_PAGE_SIZE = 1000;
+    private static final String KEYS_AGG = "keys";
+
+    private final Client client;
+    private final ClusterService clusterService;
+    private final ThreadPool threadPool;
+    private final SearchRelevanceIndicesManager searchRelevanceIndicesManager;
+    private final SearchRelevanceSettingsAccessor settingsAccessor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Scheduler.Cancellable scheduledRollup;
+
+    public UbiRollupService(
+        Client client,
+        ClusterService clusterService,
+        ThreadPool threadPool,
+        SearchRelevanceIndicesManager searchRelevanceIndicesManager,
+        SearchRelevanceSettingsAccessor settingsAccessor
+    ) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.searchRelevanceIndicesManager = searchRelevanceIndicesManager;
+        this.settingsAccessor = settingsAccessor;
+        clusterService.addLocalNodeClusterManagerListener(this);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL, this::onIntervalChanged);
+    }
+
+    @Override
+    public void onClusterManager() {
+        schedule(settingsAccessor.getUbiRollupInterval());
+    }
+
+    @Override
+    public void offClusterManager() {
+        cancel();
+    }
+
+    private synchronized void onIntervalChanged(TimeValue interval) {
+        if (scheduledRollup != null) {
+            schedule(interval);
+        }
+    }
+
+    private synchronized void schedule(TimeValue interval) {
+        cancel();
+        LOGGER.debug("Scheduling UBI rollup every {}", interval);
+        scheduledRollup = threadPool.scheduleWithFixedDelay(this::runScheduledRollup, interval, SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME);
+    }
+
+    private synchronized void cancel() {
+        if (scheduledRollup != null) {
+            scheduledRollup.cancel();
+            scheduledRollup = null;
+        }
+    }
+
+    private void runScheduledRollup() {
+        if (!settingsAccessor.isUbiRollupEnabled() || !checkUbiIndicesExist(clusterService)) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.debug("Previous UBI rollup is still running, skipping this run");
+            return;
+        }
+        rollup(
+            ActionListener.runAfter(
+                ActionListener.wrap(
+                    rolledUpUntil -> LOGGER.info("Rolled up UBI events until {}", rolledUpUntil),
+                    e -> LOGGER.warn("Failed to roll up UBI events, the next run retries", e)
+                ),
+                () -> running.set(false)
+            )
+        );
+    }
+
+    /**
+     * Gets the upper bound of the event timestamps covered by the rollup.
+     * @param listener - receives the upper bound, or null if the rollup is disabled or has not completed a run yet
+     */
+    public void getRolledUpUntil(ActionListener<String> listener) {
+        if (!settingsAccessor.isUbiRollupEnabled()) {
+            listener.onResponse(null);
+            return;
+        }
+        readRolledUpUntil(listener);
+    }
+
+    private void readRolledUpUntil(ActionListener<String> listener) {
+        StashedThreadContext.run(client, () -> client.get(new GetRequest(UBI_ROLLUP_INDEX, STATE_DOC_ID), ActionListener.wrap(response -> {
+            Object rolledUpUntil = response.isExists() ? response.getSourceAsMap().get(ROLLED_UP_UNTIL_FIELD) : null;
+            listener.onResponse(rolledUpUntil == null ? null : rolledUpUntil.toString());
+        }, e -> {
+            if (e instanceof IndexNotFoundException) {
+                listener.onResponse(null);
+            } else {
+                listener.onFailure(e);
+            }
+        })));
+    }
+
+    /**
+     * Rolls up the events logged since the day of the previous upper bound.
+     * @param listener - receives the new upper bound of the event timestamps covered by the rollup
+     */
+    public void rollup(ActionListener<String> listener) {
+        String rolledUpUntil = Instant.now().minusMillis(INGEST_LAG.millis()).toString();
+        StepListener<Void> createIndexStep = new StepListener<>();
+        searchRelevanceIndicesManager.createIndexIfAbsent(SearchRelevanceIndices.UBI_ROLLUP, createIndexStep);
+        createIndexStep.whenComplete(created -> readRolledUpUntil(ActionListener.wrap(previous -> {
+            // the day of the previous upper bound was rolled up partially, it is recomputed as a whole
+            String fromDay = previous == null ? null : toDay(previous);
+            RangeQueryBuilder timestampRange = QueryBuilders.rangeQuery("timestamp")
+                .format("strict_date_optional_time")
+                .gte(fromDay)
+                .lte(rolledUpUntil);
+            LOGGER.debug("Rolling up UBI events from {} until {}", fromDay, rolledUpUntil);
+
+            CompositeAggregationBuilder events = AggregationBuilders.composite(
+                KEYS_AGG,
+                List.<CompositeValuesSourceBuilder<?>>of(
+                    daySource(),
+                    new TermsValuesSourceBuilder(USER_QUERY_FIELD).field("user_query"),
+                    new TermsValuesSourceBuilder(OBJECT_ID_FIELD).field("event_attributes.object.object_id"),
+                    new TermsValuesSourceBuilder(POSITION_FIELD).field("event_attributes.position.ordinal"),
+                    new TermsValuesSourceBuilder(ACTION_NAME_FIELD).field("action_name")
+                )
+            ).size(COMPOSITE_PAGE_SIZE);
+            CompositeAggregationBuilder searches = AggregationBuilders.composite(
+                KEYS_AGG,
+                List.<CompositeValuesSourceBuilder<?>>of(daySource(), new TermsValuesSourceBuilder(USER_QUERY_FIELD).field("user_query"))
+            ).size(COMPOSITE_PAGE_SIZE);
+
+            rollupPages(UBI_EVENTS_INDEX, timestampRange, events, null, ActionListener.wrap(eventKeys -> {
+                rollupPages(UBI_QUERIES_INDEX, timestampRange, searches, null, ActionListener.wrap(searchKeys -> {
+                    LOGGER.debug("Rolled up {} event keys and {} search keys", eventKeys, searchKeys);
+                    writeRolledUpUntil(rolledUpUntil, listener);
+                }, listener::onFailure));
+            }, listener::onFailure));
+        }, listener::onFailure)), listener::onFailure);
+    }
+
+    private static DateHistogramValuesSourceBuilder daySource() {
+        return new DateHistogramValuesSourceBuilder(DAY_FIELD).field("timestamp")
+            .calendarInterval(DateHistogramInterval.DAY)
+            .format(DAY_FORMAT);
+    }
+
+    /**
+     * Pages through the composite buckets of an UBI index and indexes a rollup document per bucket.
+     * @param listener - receives the number of rolled up keys
+     */
+    private void rollupPages(
+        String index,
+        QueryBuilder query,
+        CompositeAggregationBuilder compositeAgg,
+        Map<String, Object> afterKey,
+        ActionListener<Long> listener
+    ) {
+        if (afterKey != null) {
+            compositeAgg.aggregateAfter(afterKey);
+        }
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(query).size(0).aggregation(compositeAgg);
+        SearchRequest searchRequest = new SearchRequest(index).source(searchSourceBuilder);
+        client.search(searchRequest, ActionListener.wrap(response -> {
+            CompositeAggregation keys = response.getAggregations() == null ? null : response.getAggregations().get(KEYS_AGG);
+            if (keys == null || keys.getBuckets().isEmpty()) {
+                listener.onResponse(0L);
+                return;
+            }
+            BulkRequest bulkRequest = new BulkRequest();
+            for (CompositeAggregation.Bucket bucket : keys.getBuckets()) {
+                bulkRequest.add(new IndexRequest(UBI_ROLLUP_INDEX).id(rollupId(bucket.getKey())).source(toRollupDoc(bucket)));
+            }
+            StashedThreadContext.run(client, () -> client.bulk(bulkRequest, ActionListener.wrap(bulkResponse -> {
+                if (bulkResponse.hasFailures()) {
+                    listener.onFailure(new IllegalStateException("Failed to index UBI rollup: " + bulkResponse.buildFailureMessage()));
+                    return;
+                }
+                long pageKeys = keys.getBuckets().size();
+                if (keys.afterKey() == null) {
+                    listener.onResponse(pageKeys);
+                } else {
+                    ActionListener<Long> nextPages = ActionListener.wrap(n -> listener.onResponse(pageKeys + n), listener::onFailure);
+                    rollupPages(index, query, compositeAgg, keys.afterKey(), nextPages);
+                }
+            }, listener::onFailure)));
+        }, listener::onFailure));
+    }
+
+    private static Map<String, Object> toRollupDoc(CompositeAggregation.Bucket bucket) {
+        Map<String, Object> key = bucket.getKey();
+        Map<String, Object> doc = new HashMap<>();
+        doc.put(DAY_FIELD, toDay(key.get(DAY_FIELD)));
+        doc.put(USER_QUERY_FIELD, String.valueOf(key.get(USER_QUERY_FIELD)));
+        if (key.containsKey(OBJECT_ID_FIELD)) {
+            doc.put(OBJECT_ID_FIELD, String.valueOf(key.get(OBJECT_ID_FIELD)));
+            doc.put(POSITION_FIELD, ((Number) key.get(POSITION_FIELD)).intValue());
+            doc.put(ACTION_NAME_FIELD, String.valueOf(key.get(ACTION_NAME_FIELD)));
+        } else {
+            doc.put(ACTION_NAME_FIELD, SEARCH_ACTION);
+        }
+        doc.put(COUNT_FIELD, bucket.getDocCount());
+        return doc;
+    }
+
+    /**
+     * @return id of the rollup document of a key, the same key always gets the same id
+     */
+    static String rollupId(Map<String, Object> key) {
+        StringBuilder joined = new StringBuilder(toDay(key.get(DAY_FIELD)));
+        for (String field : new String[] { USER_QUERY_FIELD, OBJECT_ID_FIELD, POSITION_FIELD, ACTION_NAME_FIELD }) {
+            joined.append('\u0000').append(key.getOrDefault(field, ""));
+        }
+        return UUID.nameUUIDFromBytes(joined.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * @return day of a date histogram key or timestamp, formatted as {@link #DAY_FORMAT}
+     */
+    static String toDay(Object value) {
+        if (value instanceof Number) {
+            return Instant.ofEpochMilli(((Number) value).longValue()).atZone(ZoneOffset.UTC).toLocalDate().toString();
+        }
+        String text = String.valueOf(value);
+        return text.length() > DAY_FORMAT.length() ? text.substring(0, DAY_FORMAT.length()) : text;
+    }
+
+    private void writeRolledUpUntil(String rolledUpUntil, ActionListener<String> listener) {
+        IndexRequest indexRequest = new IndexRequest(UBI_ROLLUP_INDEX).id(STATE_DOC_ID)
+            .source(Map.of(ROLLED_UP_UNTIL_FIELD, rolledUpUntil));
+        StashedThreadContext.run(
+            client,
+            () -> client.index(indexRequest, ActionListener.wrap(response -> listener.onResponse(rolledUpUntil), listener::onFailure))
+        );
+    }
+}
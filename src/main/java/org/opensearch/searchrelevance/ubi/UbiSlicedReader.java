@@ -0,0 +1,187 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import static org.opensearch.searchrelevance.executors.SearchRelevanceExecutor.SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.slice.SliceBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.transport.client.Client;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Reads all hits of a UBI index with concurrent sliced search_after streams over a point in time.
+ * The point in time is sliced by shard, one slice per shard of the index, so each stream reads a single shard in
+ * _doc order and the streams run concurrently on the search relevance executor. Read time scales with the number of
+ * shards instead of being bounded by a single scroll.
+ * Each slice accumulates into its own state, the states of all slices are returned to be merged by the caller.
+ */
+@Log4j2
+public class UbiSlicedReader {
+    private static final TimeValue PIT_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+    private static final int PAGE_SIZE = 1000;
+
+    private final Client client;
+    private final Executor executor;
+
+    public UbiSlicedReader(Client client) {
+        this(client, client.threadPool().executor(SEARCH_RELEVANCE_EXEC_THREAD_POOL_NAME));
+    }
+
+    public UbiSlicedReader(Client client, Executor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * Read all hits of the index matching the query.
+     * @param index - UBI index to read
+     * @param query - query of the hits
+     * @param includes - source fields to fetch
+     * @param sliceStateSupplier - creates the accumulator of a slice
+     * @param pageConsumer - accumulates a page of hits into the state of its slice, pages of a slice are consumed in order
+     * @param listener - receives the states of all slices once every slice is read
+     */
+    public <T> void read(
+        String index,
+        QueryBuilder query,
+        String[] includes,
+        Supplier<T> sliceStateSupplier,
+        BiConsumer<T, SearchHit[]> pageConsumer,
+        ActionListener<List<T>> listener
+    ) {
+        client.createPit(new CreatePitRequest(PIT_KEEP_ALIVE, false, index), ActionListener.wrap(pitResponse -> {
+            String pitId = pitResponse.getId();
+            int slices = Math.max(1, pitResponse.getTotalShards());
+            log.debug("Reading {} with {} slices", index, slices);
+
+            List<T> states = new ArrayList<>(slices);
+            for (int i = 0; i < slices; i++) {
+                states.add(sliceStateSupplier.get());
+            }
+            SliceRead<T> sliceRead = new SliceRead<>(pitId, query, includes, slices, pageConsumer, states, listener);
+            for (int sliceId = 0; sliceId < slices; sliceId++) {
+                int slice = sliceId;
+                executor.execute(() -> readPage(sliceRead, slice, null));
+            }
+        }, e -> {
+            log.error("Failed to open point in time on {}", index, e);
+            listener.onFailure(e);
+        }));
+    }
+
+    private <T> void readPage(SliceRead<T> sliceRead, int sliceId, Object[] searchAfter) {
+        if (sliceRead.failure.get() != null) {
+            completeSlice(sliceRead);
+            return;
+        }
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().query(sliceRead.query)
+            .size(PAGE_SIZE)
+            .fetchSource(sliceRead.includes, null)
+            .sort("_doc", SortOrder.ASC)
+            .pointInTimeBuilder(new PointInTimeBuilder(sliceRead.pitId).setKeepAlive(PIT_KEEP_ALIVE));
+        if (sliceRead.slices > 1) {
+            // as many slices as shards, each slice matches the documents of a single shard
+            sourceBuilder.slice(new SliceBuilder(sliceId, sliceRead.slices));
+        }
+        if (searchAfter != null) {
+            sourceBuilder.searchAfter(searchAfter);
+        }
+
+        client.search(new SearchRequest().source(sourceBuilder), ActionListener.wrap(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            if (hits == null || hits.length == 0) {
+                completeSlice(sliceRead);
+                return;
+            }
+            executor.execute(() -> {
+                try {
+                    sliceRead.pageConsumer.accept(sliceRead.states.get(sliceId), hits);
+                } catch (Exception e) {
+                    failSlice(sliceRead, sliceId, e);
+                    return;
+                }
+                readPage(sliceRead, sliceId, hits[hits.length - 1].getSortValues());
+            });
+        }, e -> failSlice(sliceRead, sliceId, e)));
+    }
+
+    private <T> void failSlice(SliceRead<T> sliceRead, int sliceId, Exception e) {
+        log.error("Failed to read slice {} of point in time", sliceId, e);
+        sliceRead.failure.compareAndSet(null, e);
+        completeSlice(sliceRead);
+    }
+
+    private <T> void completeSlice(SliceRead<T> sliceRead) {
+        if (sliceRead.pendingSlices.decrementAndGet() > 0) {
+            return;
+        }
+        client.deletePits(new DeletePitRequest(sliceRead.pitId), ActionListener.wrap(r -> finish(sliceRead), e -> {
+            log.warn("Failed to delete point in time, it expires after {}", PIT_KEEP_ALIVE, e);
+            finish(sliceRead);
+        }));
+    }
+
+    private <T> void finish(SliceRead<T> sliceRead) {
+        Exception failure = sliceRead.failure.get();
+        if (failure != null) {
+            sliceRead.listener.onFailure(failure);
+        } else {
+            sliceRead.listener.onResponse(sliceRead.states);
+        }
+    }
+
+    private static final class SliceRead<T> {
+        private final String pitId;
+        private final QueryBuilder query;
+        private final String[] includes;
+        private final int slices;
+        private final BiConsumer<T, SearchHit[]> pageConsumer;
+        private final List<T> states;
+        private final ActionListener<List<T>> listener;
+        private final AtomicInteger pendingSlices;
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        private SliceRead(
+            String pitId,
+            QueryBuilder query,
+            String[] includes,
+            int slices,
+            BiConsumer<T, SearchHit[]> pageConsumer,
+            List<T> states,
+            ActionListener<List<T>> listener
+        ) {
+            this.pitId = pitId;
+            this.query = query;
+            this.includes = includes;
+            this.slices = slices;
+            this.pageConsumer = pageConsumer;
+            this.states = states;
+            this.listener = listener;
+            this.pendingSlices = new AtomicInteger(slices);
+        }
+    }
+}
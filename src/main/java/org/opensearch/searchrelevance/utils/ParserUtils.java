@@ -49,6 +49,11 @@ public class ParserUtils {
                                     parseSortObject(parser, builder);
                                 }
                                 break;
+                            case "search_after":
+                                if (token == XContentParser.Token.START_ARRAY) {
+                                    builder.searchAfter(parser.list());
+                                }
+                                break;
                         }
                     }
                 }
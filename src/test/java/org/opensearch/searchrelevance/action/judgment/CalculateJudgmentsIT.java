@@ -9,7 +9,6 @@ package org.opensearch.searchrelevance.action.judgment;
 
 import static org.opensearch.searchrelevance.common.PluginConstants.INITIALIZE_URL;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENTS_URL;
-import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.UBI_EVENTS_INDEX;
 
 import java.io.IOException;
@@ -77,7 +76,7 @@ public class CalculateJudgmentsIT extends BaseSearchRelevanceIT {
             // wait for completion of import action
             Thread.sleep(DEFAULT_INTERVAL_MS);
 
-            String getJudgmentsByIdUrl = String.join("/", JUDGMENT_INDEX, "_doc", judgmentsId);
+            String getJudgmentsByIdUrl = String.join("/", JUDGMENTS_URL, judgmentsId);
             Response getJudgmentsResponse = makeRequest(
                 adminClient(),
                 RestRequest.Method.GET.name(),
@@ -88,9 +87,11 @@ public class CalculateJudgmentsIT extends BaseSearchRelevanceIT {
             );
             Map<String, Object> getJudgmentsResultJson = entityAsMap(getJudgmentsResponse);
             assertNotNull(getJudgmentsResultJson);
-            assertEquals(judgmentsId, getJudgmentsResultJson.get("_id").toString());
+            Map<String, Object> hitsObj = (Map<String, Object>) getJudgmentsResultJson.get("hits");
+            Map<String, Object> hit = ((List<Map<String, Object>>) hitsObj.get("hits")).get(0);
+            assertEquals(judgmentsId, hit.get("_id").toString());
 
-            Map<String, Object> source = (Map<String, Object>) getJudgmentsResultJson.get("_source");
+            Map<String, Object> source = (Map<String, Object>) hit.get("_source");
             assertNotNull(source);
             assertNotNull(source.get("id"));
             assertNotNull(source.get("timestamp"));
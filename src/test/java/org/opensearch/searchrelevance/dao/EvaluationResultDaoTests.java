@@ -0,0 +1,222 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.dao;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EVALUATION_RESULT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EVALUATION_RESULT_BLOCK;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.lucene.search.TotalHits;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.ResourceNotFoundException;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.indices.IndexWriteTier;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.model.EvaluationResult;
+import org.opensearch.searchrelevance.model.EvaluationResultBlock;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class EvaluationResultDaoTests extends OpenSearchTestCase {
+    private static final String TIMESTAMP = "2025-03-01T10:00:00.000Z";
+
+    public void testCompactLayoutBuffersEvaluationResultsUntilFlush() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        ArgumentCaptor<Map<String, XContentBuilder>> docsCaptor = ArgumentCaptor.forClass(Map.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(3).onResponse(null);
+            return null;
+        }).when(indicesManager).bulkPutDocs(docsCaptor.capture(), eq(EVALUATION_RESULT_BLOCK), any(), any(ActionListener.class));
+        EvaluationResultDao evaluationResultDao = new EvaluationResultDao(indicesManager, settingsAccessor(true));
+        evaluationResultDao.startEvaluationResults("experiment1");
+
+        AtomicBoolean stored = new AtomicBoolean();
+        evaluationResultDao.putEvaluationResultEfficient(
+            evaluationResult("eval1", "laptop"),
+            ActionListener.wrap(response -> stored.set(true), e -> fail(e.getMessage()))
+        );
+        evaluationResultDao.putEvaluationResultEfficient(
+            evaluationResult("eval2", "phone"),
+            ActionListener.wrap(r -> {}, e -> fail(e.getMessage()))
+        );
+
+        assertTrue(stored.get());
+        verify(indicesManager, never()).putDoc(anyString(), any(), any(), any(ActionListener.class));
+        verify(indicesManager, never()).bulkPutDocs(any(), any(), any(), any(ActionListener.class));
+
+        AtomicBoolean flushed = new AtomicBoolean();
+        evaluationResultDao.flushEvaluationResults("experiment1", ActionListener.wrap(r -> flushed.set(true), e -> fail(e.getMessage())));
+
+        assertTrue(flushed.get());
+        Map<String, XContentBuilder> docs = docsCaptor.getValue();
+        assertEquals(1, docs.size());
+        Map<String, Object> source = toMap(docs.get(EvaluationResultBlock.id("experiment1", "config1", 0)));
+        assertEquals(List.of("eval1", "eval2"), source.get(EvaluationResultBlock.EVALUATION_IDS));
+        assertEquals(List.of("laptop", "phone"), source.get(EvaluationResultBlock.QUERY_TEXTS));
+    }
+
+    public void testFlushReportsFailedBlockWrites() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(3).onFailure(new IllegalStateException("bulk rejected"));
+            return null;
+        }).when(indicesManager).bulkPutDocs(any(), eq(EVALUATION_RESULT_BLOCK), any(), any(ActionListener.class));
+        EvaluationResultDao evaluationResultDao = new EvaluationResultDao(indicesManager, settingsAccessor(true));
+        evaluationResultDao.startEvaluationResults("experiment1");
+
+        for (int i = 0; i < EvaluationResultDao.BLOCK_SIZE; i++) {
+            evaluationResultDao.putEvaluationResultEfficient(
+                evaluationResult("eval" + i, "laptop"),
+                ActionListener.wrap(r -> {}, e -> fail(e.getMessage()))
+            );
+        }
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        evaluationResultDao.flushEvaluationResults("experiment1", ActionListener.wrap(r -> fail("flush must fail"), failure::set));
+
+        assertEquals("bulk rejected", failure.get().getMessage());
+    }
+
+    public void testCompactLayoutRejectsEvaluationResultsAfterFlush() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        EvaluationResultDao evaluationResultDao = new EvaluationResultDao(indicesManager, settingsAccessor(true));
+        evaluationResultDao.startEvaluationResults("experiment1");
+        evaluationResultDao.flushEvaluationResults("experiment1", ActionListener.wrap(r -> {}, e -> fail(e.getMessage())));
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        evaluationResultDao.putEvaluationResultEfficient(
+            evaluationResult("eval1", "laptop"),
+            ActionListener.wrap(r -> fail("late evaluation result must be rejected"), failure::set)
+        );
+
+        assertEquals(RestStatus.CONFLICT, ((SearchRelevanceException) failure.get()).status());
+        AtomicBoolean flushed = new AtomicBoolean();
+        evaluationResultDao.flushEvaluationResults("experiment1", ActionListener.wrap(r -> flushed.set(true), e -> fail(e.getMessage())));
+        assertTrue(flushed.get());
+        verify(indicesManager, never()).bulkPutDocs(any(), any(), any(), any(ActionListener.class));
+    }
+
+    public void testCompactLayoutRejectsEvaluationResultsAfterDiscard() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        EvaluationResultDao evaluationResultDao = new EvaluationResultDao(indicesManager, settingsAccessor(true));
+        evaluationResultDao.startEvaluationResults("experiment1");
+        evaluationResultDao.discardEvaluationResults("experiment1");
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        evaluationResultDao.putEvaluationResultEfficient(
+            evaluationResult("eval1", "laptop"),
+            ActionListener.wrap(r -> fail("late evaluation result must be rejected"), failure::set)
+        );
+
+        assertEquals(RestStatus.CONFLICT, ((SearchRelevanceException) failure.get()).status());
+    }
+
+    public void testGetEvaluationResultReadsRowOfBlock() throws Exception {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(2).onFailure(new ResourceNotFoundException("Document not found: eval2"));
+            return null;
+        }).when(indicesManager).getDocByDocId(eq("eval2"), eq(EVALUATION_RESULT), any(ActionListener.class));
+        EvaluationResultBlock block = EvaluationResultBlock.of(
+            EvaluationResultBlock.id("experiment1", "config1", 0),
+            List.of(evaluationResult("eval1", "laptop"), evaluationResult("eval2", "phone"))
+        );
+        SearchHit hit = new SearchHit(0, block.getId(), Map.of(), Map.of());
+        hit.sourceRef(BytesReference.bytes(block.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)));
+        SearchResponse blockResponse = mock(SearchResponse.class);
+        SearchHits hits = new SearchHits(new SearchHit[] { hit }, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f);
+        when(blockResponse.getHits()).thenReturn(hits);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(blockResponse);
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(any(), eq(EVALUATION_RESULT_BLOCK), any(ActionListener.class));
+
+        AtomicReference<SearchResponse> result = new AtomicReference<>();
+        new EvaluationResultDao(indicesManager, settingsAccessor(false)).getEvaluationResult(
+            "eval2",
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        SearchHit evaluationHit = result.get().getHits().getHits()[0];
+        assertEquals("eval2", evaluationHit.getId());
+        assertEquals("phone", evaluationHit.getSourceAsMap().get(EvaluationResult.SEARCH_TEXT));
+        assertEquals(List.of("doc1"), evaluationHit.getSourceAsMap().get(EvaluationResult.DOCUMENT_IDS));
+    }
+
+    public void testGetEvaluationResultIsNotFoundWithoutBlock() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(2).onFailure(new ResourceNotFoundException("Document not found: eval1"));
+            return null;
+        }).when(indicesManager).getDocByDocId(eq("eval1"), eq(EVALUATION_RESULT), any(ActionListener.class));
+        SearchResponse emptyResponse = mock(SearchResponse.class);
+        when(emptyResponse.getHits()).thenReturn(SearchHits.empty());
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(emptyResponse);
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(any(), eq(EVALUATION_RESULT_BLOCK), any(ActionListener.class));
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        new EvaluationResultDao(indicesManager, settingsAccessor(false)).getEvaluationResult(
+            "eval1",
+            ActionListener.wrap(r -> fail("evaluation result must not be found"), failure::set)
+        );
+
+        assertTrue(failure.get() instanceof ResourceNotFoundException);
+        assertEquals(RestStatus.NOT_FOUND, ((ResourceNotFoundException) failure.get()).status());
+    }
+
+    private static SearchRelevanceSettingsAccessor settingsAccessor(boolean compactLayout) {
+        SearchRelevanceSettingsAccessor settingsAccessor = mock(SearchRelevanceSettingsAccessor.class);
+        when(settingsAccessor.isEvaluationResultCompactLayout()).thenReturn(compactLayout);
+        when(settingsAccessor.getRefreshPolicy(IndexWriteTier.BULK)).thenReturn(WriteRequest.RefreshPolicy.NONE);
+        return settingsAccessor;
+    }
+
+    private static EvaluationResult evaluationResult(String id, String searchText) {
+        return new EvaluationResult(
+            id,
+            TIMESTAMP,
+            "config1",
+            searchText,
+            List.of("judgment1"),
+            List.of("doc1"),
+            List.of(Map.of("metric", "Precision@5", "value", 0.5)),
+            "experiment1",
+            "variant1",
+            null
+        );
+    }
+
+    private static Map<String, Object> toMap(XContentBuilder builder) {
+        return XContentHelper.convertToMap(BytesReference.bytes(builder), false, builder.contentType()).v2();
+    }
+}
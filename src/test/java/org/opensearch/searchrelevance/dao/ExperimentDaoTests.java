@@ -0,0 +1,168 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.dao;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EXPERIMENT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EXPERIMENT_RESULT;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.lucene.search.TotalHits;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndices;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.model.Experiment;
+import org.opensearch.searchrelevance.model.ExperimentQueryResults;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class ExperimentDaoTests extends OpenSearchTestCase {
+
+    public void testGetExperimentWithResultsReadsAPageOfQueryResults() throws Exception {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        mockExperiment(indicesManager, Map.of(Experiment.ID, "experiment1", Experiment.RESULTS, List.of()));
+        ArgumentCaptor<SearchSourceBuilder> sourceCaptor = ArgumentCaptor.forClass(SearchSourceBuilder.class);
+        doAnswer(invocation -> {
+            SearchResponse response = searchResponse(queryResults("laptop", 3), queryResults("phone", 4));
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(response);
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(sourceCaptor.capture(), eq(EXPERIMENT_RESULT), any(ActionListener.class));
+
+        AtomicReference<SearchResponse> result = new AtomicReference<>();
+        new ExperimentDao(indicesManager).getExperimentWithResults(
+            "experiment1",
+            new SearchSourceBuilder().size(2).searchAfter(new Object[] { 2 }),
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(2, sourceCaptor.getValue().size());
+        assertArrayEquals(new Object[] { 2 }, sourceCaptor.getValue().searchAfter());
+        Map<String, Object> source = result.get().getHits().getHits()[0].getSourceAsMap();
+        assertEquals(List.of(Map.of("queryText", "laptop"), Map.of("queryText", "phone")), source.get(Experiment.RESULTS));
+        assertEquals("4", source.get(Experiment.RESULTS_CURSOR));
+    }
+
+    public void testGetExperimentWithResultsSkipsExcludedResults() throws Exception {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        mockExperiment(indicesManager, Map.of(Experiment.ID, "experiment1", Experiment.STATUS, "COMPLETED", Experiment.RESULTS, List.of()));
+
+        AtomicReference<SearchResponse> result = new AtomicReference<>();
+        new ExperimentDao(indicesManager).getExperimentWithResults(
+            "experiment1",
+            new SearchSourceBuilder().fetchSource(new FetchSourceContext(true, null, new String[] { Experiment.RESULTS })),
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        Map<String, Object> source = result.get().getHits().getHits()[0].getSourceAsMap();
+        assertEquals(Map.of(Experiment.ID, "experiment1", Experiment.STATUS, "COMPLETED"), source);
+        verify(indicesManager, never()).listDocsBySearchRequest(any(), eq(EXPERIMENT_RESULT), any(ActionListener.class));
+    }
+
+    public void testGetExperimentWithResultsKeepsInlineResults() throws Exception {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        List<Map<String, Object>> inlineResults = List.of(Map.of("queryText", "laptop"));
+        mockExperiment(indicesManager, Map.of(Experiment.ID, "experiment1", Experiment.RESULTS, inlineResults));
+
+        AtomicReference<SearchResponse> result = new AtomicReference<>();
+        new ExperimentDao(indicesManager).getExperimentWithResults(
+            "experiment1",
+            new SearchSourceBuilder(),
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        Map<String, Object> source = result.get().getHits().getHits()[0].getSourceAsMap();
+        assertEquals(inlineResults, source.get(Experiment.RESULTS));
+        assertFalse(source.containsKey(Experiment.RESULTS_CURSOR));
+        verify(indicesManager, never()).listDocsBySearchRequest(any(), eq(EXPERIMENT_RESULT), any(ActionListener.class));
+    }
+
+    public void testDeleteExperimentDeletesChildrenInBackground() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        DeleteResponse deleteResponse = mock(DeleteResponse.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<DeleteResponse>>getArgument(2).onResponse(deleteResponse);
+            return null;
+        }).when(indicesManager).deleteDocByDocId(eq("experiment1"), eq(EXPERIMENT), any(ActionListener.class));
+        doAnswer(invocation -> {
+            SearchRelevanceIndices index = invocation.getArgument(1);
+            if (index == EXPERIMENT_RESULT) {
+                invocation.<ActionListener<Long>>getArgument(2).onFailure(new IllegalStateException("cancelled"));
+            } else {
+                invocation.<ActionListener<Long>>getArgument(2).onResponse(1L);
+            }
+            return null;
+        }).when(indicesManager).deleteDocsByQueryThrottled(any(), any(), any(ActionListener.class));
+
+        AtomicReference<DeleteResponse> result = new AtomicReference<>();
+        new ExperimentDao(indicesManager).deleteExperiment("experiment1", ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertSame(deleteResponse, result.get());
+        for (SearchRelevanceIndices index : ExperimentDao.EXPERIMENT_CHILD_INDICES) {
+            verify(indicesManager).deleteDocsByQueryThrottled(
+                eq(QueryBuilders.termQuery(ExperimentDao.EXPERIMENT_ID, "experiment1")),
+                eq(index),
+                any(ActionListener.class)
+            );
+        }
+    }
+
+    private static void mockExperiment(SearchRelevanceIndicesManager indicesManager, Map<String, Object> source) {
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(searchResponse(source));
+            return null;
+        }).when(indicesManager).getDocByDocId(eq("experiment1"), eq(EXPERIMENT), any(ActionListener.class));
+    }
+
+    private static Map<String, Object> queryResults(String queryText, int ordinal) {
+        return Map.of(
+            ExperimentQueryResults.EXPERIMENT_ID,
+            "experiment1",
+            ExperimentQueryResults.QUERY_TEXT,
+            queryText,
+            ExperimentQueryResults.ORDINAL,
+            ordinal,
+            ExperimentQueryResults.RESULTS,
+            List.of(Map.of("queryText", queryText))
+        );
+    }
+
+    @SafeVarargs
+    private static SearchResponse searchResponse(Map<String, Object>... sources) throws Exception {
+        SearchHit[] searchHits = new SearchHit[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            searchHits[i] = new SearchHit(i + 1, "doc" + i, Map.of(), Map.of());
+            searchHits[i].sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(sources[i])));
+            Object ordinal = sources[i].get(ExperimentQueryResults.ORDINAL);
+            if (ordinal != null) {
+                searchHits[i].sortValues(new Object[] { ordinal }, new DocValueFormat[] { DocValueFormat.RAW });
+            }
+        }
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(searchHits, new TotalHits(sources.length, TotalHits.Relation.EQUAL_TO), 1.0f));
+        return response;
+    }
+}
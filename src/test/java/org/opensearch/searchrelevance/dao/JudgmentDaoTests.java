@@ -0,0 +1,198 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.dao;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.JUDGMENT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.JUDGMENT_RATING;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.lucene.search.TotalHits;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.model.AsyncStatus;
+import org.opensearch.searchrelevance.model.Judgment;
+import org.opensearch.searchrelevance.model.JudgmentQueryRatings;
+import org.opensearch.searchrelevance.model.JudgmentType;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class JudgmentDaoTests extends OpenSearchTestCase {
+    private static final String TIMESTAMP = "2025-03-01T10:00:00.000Z";
+
+    public void testUpdateJudgmentStoresOneDocumentPerQuery() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        ArgumentCaptor<Map<String, XContentBuilder>> docsCaptor = ArgumentCaptor.forClass(Map.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(3).onResponse(null);
+            return null;
+        }).when(indicesManager).bulkPutDocs(docsCaptor.capture(), eq(JUDGMENT_RATING), any(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Long>>getArgument(2).onResponse(0L);
+            return null;
+        }).when(indicesManager).deleteDocsByQuery(any(), eq(JUDGMENT_RATING), any(ActionListener.class));
+        ArgumentCaptor<XContentBuilder> judgmentCaptor = ArgumentCaptor.forClass(XContentBuilder.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(3).onResponse(null);
+            return null;
+        }).when(indicesManager).updateDoc(eq("judgment1"), judgmentCaptor.capture(), eq(JUDGMENT), any(ActionListener.class));
+
+        AtomicReference<Object> result = new AtomicReference<>();
+        new JudgmentDao(indicesManager).updateJudgment(
+            judgment(List.of(queryRatings("laptop", "doc1", "3"), queryRatings("phone", "doc2", "1"))),
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        Map<String, XContentBuilder> docs = docsCaptor.getValue();
+        assertEquals(2, docs.size());
+        Map<String, Object> laptop = toMap(docs.get(JudgmentQueryRatings.id("judgment1", "laptop")));
+        assertEquals("judgment1", laptop.get(JudgmentQueryRatings.JUDGMENT_ID));
+        assertEquals(0, laptop.get(JudgmentQueryRatings.ORDINAL));
+        assertEquals(TIMESTAMP, laptop.get(JudgmentQueryRatings.TIME_STAMP));
+        assertEquals(List.of(Map.of("docId", "doc1", "rating", "3")), laptop.get(JudgmentQueryRatings.RATINGS));
+        assertEquals(1, toMap(docs.get(JudgmentQueryRatings.id("judgment1", "phone"))).get(JudgmentQueryRatings.ORDINAL));
+        assertEquals(List.of(), toMap(judgmentCaptor.getValue()).get(Judgment.JUDGMENT_RATINGS));
+    }
+
+    public void testPutQueryRatingsDoesNotRefresh() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        Map<String, Object> queryRatings = Map.of(
+            JudgmentQueryRatings.QUERY,
+            "laptop",
+            JudgmentQueryRatings.RATINGS,
+            List.of(Map.of("docId", "doc1", "rating", "3"))
+        );
+
+        new JudgmentDao(indicesManager).putQueryRatings("judgment1", 0, queryRatings, mock(ActionListener.class));
+
+        verify(indicesManager).putDocWithRefreshPolicy(
+            eq(JudgmentQueryRatings.id("judgment1", "laptop")),
+            any(XContentBuilder.class),
+            eq(JUDGMENT_RATING),
+            eq(WriteRequest.RefreshPolicy.NONE),
+            any(ActionListener.class)
+        );
+        verify(indicesManager, never()).putDoc(anyString(), any(), eq(JUDGMENT_RATING), any(ActionListener.class));
+    }
+
+    public void testGetJudgmentRatingsReadsOnlyRequestedQueries() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        Map<String, Object> laptop = Map.of(
+            JudgmentQueryRatings.JUDGMENT_ID,
+            "judgment1",
+            JudgmentQueryRatings.QUERY,
+            "laptop",
+            JudgmentQueryRatings.RATINGS,
+            List.of(Map.of("docId", "doc1", "rating", 3.0))
+        );
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(searchResponse(laptop));
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(any(), eq(JUDGMENT_RATING), any(ActionListener.class));
+
+        AtomicReference<Map<String, String>> result = new AtomicReference<>();
+        new JudgmentDao(indicesManager).getQueryRatings("judgment1", "laptop", ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertEquals(Map.of("doc1", "3.0"), result.get());
+        verify(indicesManager, never()).getDocByDocId(anyString(), eq(JUDGMENT), any(ActionListener.class));
+    }
+
+    public void testGetJudgmentRatingsFallsBackToInlineRatings() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(searchResponse());
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(any(), eq(JUDGMENT_RATING), any(ActionListener.class));
+        Map<String, Object> legacyJudgment = new HashMap<>();
+        legacyJudgment.put(Judgment.ID, "judgment1");
+        legacyJudgment.put(Judgment.JUDGMENT_RATINGS, List.of(queryRatings("laptop", "doc1", "3"), queryRatings("phone", "doc2", "1")));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(searchResponse(legacyJudgment));
+            return null;
+        }).when(indicesManager).getDocByDocId(eq("judgment1"), eq(JUDGMENT), any(ActionListener.class));
+
+        AtomicReference<Map<String, Map<String, String>>> result = new AtomicReference<>();
+        new JudgmentDao(indicesManager).getJudgmentRatings(
+            "judgment1",
+            List.of("phone", "tablet"),
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(Map.of("phone", Map.of("doc2", "1")), result.get());
+    }
+
+    public void testGetJudgmentWithQueryRatingsKeepsRequestedQueries() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        Map<String, Object> judgmentSource = Map.of(Judgment.ID, "judgment1", Judgment.NAME, "name");
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(searchResponse(judgmentSource));
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(any(), eq(JUDGMENT), any(ActionListener.class));
+        doAnswer(invocation -> {
+            SearchResponse ratingsResponse = searchResponse(queryRatings("phone", "doc2", "1"), queryRatings("laptop", "doc1", "3"));
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(ratingsResponse);
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(any(), eq(JUDGMENT_RATING), any(ActionListener.class));
+
+        AtomicReference<SearchResponse> result = new AtomicReference<>();
+        new JudgmentDao(indicesManager).getJudgmentWithQueryRatings(
+            "judgment1",
+            List.of("laptop", "phone"),
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        Map<String, Object> source = result.get().getHits().getHits()[0].getSourceAsMap();
+        assertEquals("name", source.get(Judgment.NAME));
+        List<Map<String, Object>> expectedRatings = List.of(queryRatings("laptop", "doc1", "3"), queryRatings("phone", "doc2", "1"));
+        assertEquals(expectedRatings, source.get(Judgment.JUDGMENT_RATINGS));
+        verify(indicesManager, never()).getDocByDocId(anyString(), eq(JUDGMENT), any(ActionListener.class));
+    }
+
+    private static Judgment judgment(List<Map<String, Object>> judgmentRatings) {
+        return new Judgment("judgment1", TIMESTAMP, "name", AsyncStatus.COMPLETED, JudgmentType.IMPORT_JUDGMENT, Map.of(), judgmentRatings);
+    }
+
+    private static Map<String, Object> queryRatings(String query, String docId, String rating) {
+        return Map.of("query", query, "ratings", List.of(Map.of("docId", docId, "rating", rating)));
+    }
+
+    private static Map<String, Object> toMap(XContentBuilder builder) {
+        return XContentHelper.convertToMap(BytesReference.bytes(builder), false, builder.contentType()).v2();
+    }
+
+    @SafeVarargs
+    private static SearchResponse searchResponse(Map<String, Object>... sources) throws Exception {
+        SearchHit[] searchHits = new SearchHit[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            searchHits[i] = new SearchHit(i + 1, "doc" + i, Map.of(), Map.of());
+            searchHits[i].sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(sources[i])));
+        }
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(searchHits, new TotalHits(sources.length, TotalHits.Relation.EQUAL_TO), 1.0f));
+        return response;
+    }
+}
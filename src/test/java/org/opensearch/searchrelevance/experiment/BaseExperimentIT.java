@@ -7,7 +7,7 @@
  */
 package org.opensearch.searchrelevance.experiment;
 
-import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENTS_URI;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENTS_URL;
 import static org.opensearch.searchrelevance.common.PluginConstants.QUERYSETS_URL;
 import static org.opensearch.searchrelevance.common.PluginConstants.SEARCH_CONFIGURATIONS_URL;
@@ -192,26 +192,12 @@ public abstract class BaseExperimentIT extends BaseSearchRelevanceIT {
 
     protected Map<String, Object> pollExperimentUntilCompleted(String experimentId) throws IOException {
         Map<String, Object> source = null;
-        String getExperimentByIdUrl = String.join("/", EXPERIMENT_INDEX, "_doc", experimentId);
 
         int retryCount = 0;
         String status = "PROCESSING";
 
         while (("PROCESSING".equals(status) || status == null) && retryCount < MAX_POLL_RETRIES) {
-            Response getExperimentResponse = makeRequest(
-                adminClient(),
-                RestRequest.Method.GET.name(),
-                getExperimentByIdUrl,
-                null,
-                null,
-                ImmutableList.of(new BasicHeader(HttpHeaders.USER_AGENT, DEFAULT_USER_AGENT))
-            );
-            Map<String, Object> getExperimentResultJson = entityAsMap(getExperimentResponse);
-            assertNotNull(getExperimentResultJson);
-            assertEquals(experimentId, getExperimentResultJson.get("_id").toString());
-
-            source = (Map<String, Object>) getExperimentResultJson.get("_source");
-            assertNotNull(source);
+            source = getExperimentSource(experimentId);
             status = (String) source.get("status");
 
             if ("PROCESSING".equals(status) || status == null) {
@@ -231,6 +217,31 @@ public abstract class BaseExperimentIT extends BaseSearchRelevanceIT {
         return source;
     }
 
+    /**
+     * Get an experiment through the experiments API, which puts the results stored per query back into the experiment
+     */
+    protected Map<String, Object> getExperimentSource(String experimentId) throws IOException {
+        Response getExperimentResponse = makeRequest(
+            adminClient(),
+            RestRequest.Method.GET.name(),
+            String.join("/", EXPERIMENTS_URI, experimentId),
+            null,
+            null,
+            ImmutableList.of(new BasicHeader(HttpHeaders.USER_AGENT, DEFAULT_USER_AGENT))
+        );
+        Map<String, Object> getExperimentResultJson = entityAsMap(getExperimentResponse);
+        assertNotNull(getExperimentResultJson);
+        List<Map<String, Object>> hits = (List<Map<String, Object>>) ((Map<String, Object>) getExperimentResultJson.get("hits")).get(
+            "hits"
+        );
+        assertEquals(1, hits.size());
+        assertEquals(experimentId, hits.get(0).get("_id").toString());
+
+        Map<String, Object> source = (Map<String, Object>) hits.get(0).get("_source");
+        assertNotNull(source);
+        return source;
+    }
+
     protected void assertListsHaveSameElements(List<String> expected, List<String> actual) {
         List<String> sortedExpected = new ArrayList<>(expected);
         List<String> sortedActual = new ArrayList<>(actual);
@@ -16,9 +16,10 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.message.BasicHeader;
@@ -38,8 +39,8 @@ import lombok.SneakyThrows;
 @OpenSearchIntegTestCase.ClusterScope(scope = OpenSearchIntegTestCase.Scope.SUITE)
 public class HybridOptimizerExperimentIT extends BaseExperimentIT {
 
-    // Expected number of variants per query for HYBRID_OPTIMIZER experiments
-    private static final int EXPECTED_VARIANTS_PER_QUERY = 66;
+    // Expected number of variants of a HYBRID_OPTIMIZER experiment, shared by all of its queries
+    private static final int EXPECTED_VARIANTS_PER_EXPERIMENT = 66;
     private static final String INDEX_NAME_ESCI = generateUniqueIndexName("hybridoptimizer");
 
     @SneakyThrows
@@ -124,32 +125,18 @@ public class HybridOptimizerExperimentIT extends BaseExperimentIT {
     }
 
     private void assertHybridOptimizerExperimentVariantsForQuery(String experimentId, String queryText) throws IOException {
-        // First get all evaluation results for this query text
-        List<String> evaluationIds = getEvaluationResultIdsForQuery(queryText);
+        // First get all evaluation results of the experiment for this query text
+        List<String> evaluationIds = getEvaluationResultIdsForQuery(experimentId, queryText);
 
         // We should have found some evaluation results
         assertFalse("Should have evaluation results for query: " + queryText, evaluationIds.isEmpty());
 
-        // Poll for experiment variants until we have the expected number or reach max retries
-        List<Map<String, Object>> variants = pollForExperimentVariants(experimentId, evaluationIds, queryText);
-
-        // We should have found some experiment variants
-        assertFalse("Should have experiment variants for query: " + queryText, variants.isEmpty());
-
-        // We should have multiple variants for the query
-        assertEquals(
-            "Expected " + EXPECTED_VARIANTS_PER_QUERY + " variants for query: " + queryText,
-            EXPECTED_VARIANTS_PER_QUERY,
-            variants.size()
-        );
-
-        // Verify structure of a few variants
-        int variantsToCheck = Math.min(3, variants.size());
-
-        for (int i = 0; i < variantsToCheck; i++) {
-            Map<String, Object> source = variants.get(i);
-            assertNotNull(source);
+        // Variants are stored once per experiment, poll until all of them are visible
+        List<Map<String, Object>> variants = pollForExperimentVariants(experimentId);
+        assertEquals("Expected " + EXPECTED_VARIANTS_PER_EXPERIMENT + " variants", EXPECTED_VARIANTS_PER_EXPERIMENT, variants.size());
 
+        Set<String> variantIds = new HashSet<>();
+        for (Map<String, Object> source : variants) {
             assertEquals(experimentId, source.get("experimentId"));
 
             // Parameters are nested in a "parameters" object
@@ -158,31 +145,33 @@ public class HybridOptimizerExperimentIT extends BaseExperimentIT {
             assertNotNull("Normalization should exist", parameters.get("normalization"));
             assertNotNull("Combination should exist", parameters.get("combination"));
             assertNotNull("Weights should exist", parameters.get("weights"));
+            variantIds.add((String) source.get("id"));
+        }
 
-            // Check results
-            Map<String, Object> results = (Map<String, Object>) source.get("results");
-            assertNotNull("Results should exist", results);
-            String evaluationResultId = (String) results.get("evaluationResultId");
-            assertNotNull("Evaluation result ID should exist", evaluationResultId);
-
-            // Verify the evaluation result exists and has the correct query text
-            verifyEvaluationResult(evaluationResultId, queryText);
+        // Evaluation results of the query refer to the stored variants by id
+        int evaluationsToCheck = Math.min(3, evaluationIds.size());
+        for (int i = 0; i < evaluationsToCheck; i++) {
+            Map<String, Object> evaluationSource = verifyEvaluationResult(evaluationIds.get(i), queryText);
+            assertEquals(experimentId, evaluationSource.get("experimentId"));
+            assertTrue(
+                "Evaluation result should refer to a stored variant",
+                variantIds.contains((String) evaluationSource.get("experimentVariantId"))
+            );
         }
     }
 
     /**
      * Poll for experiment variants until we have the expected number or reach max retries
      */
-    private List<Map<String, Object>> pollForExperimentVariants(String experimentId, List<String> evaluationIds, String queryText)
-        throws IOException {
+    private List<Map<String, Object>> pollForExperimentVariants(String experimentId) throws IOException {
         List<Map<String, Object>> variants = new ArrayList<>();
         int retryCount = 0;
 
-        while (variants.size() < EXPECTED_VARIANTS_PER_QUERY && retryCount < MAX_POLL_RETRIES) {
+        while (variants.size() < EXPECTED_VARIANTS_PER_EXPERIMENT && retryCount < MAX_POLL_RETRIES) {
             // Get the current experiment variants
-            variants = getExperimentVariantsForEvaluationIds(experimentId, evaluationIds);
+            variants = getExperimentVariants(experimentId);
 
-            if (variants.size() >= EXPECTED_VARIANTS_PER_QUERY) {
+            if (variants.size() >= EXPECTED_VARIANTS_PER_EXPERIMENT) {
                 // We have enough variants, break out of the loop
                 break;
             }
@@ -197,12 +186,12 @@ public class HybridOptimizerExperimentIT extends BaseExperimentIT {
         }
 
         // If we reached max polling iterations and still don't have enough variants, fail the test
-        if (variants.size() < EXPECTED_VARIANTS_PER_QUERY && retryCount >= MAX_POLL_RETRIES) {
+        if (variants.size() < EXPECTED_VARIANTS_PER_EXPERIMENT && retryCount >= MAX_POLL_RETRIES) {
             fail(
                 "Expected "
-                    + EXPECTED_VARIANTS_PER_QUERY
-                    + " variants for query '"
-                    + queryText
+                    + EXPECTED_VARIANTS_PER_EXPERIMENT
+                    + " variants for experiment '"
+                    + experimentId
                     + "' but only found "
                     + variants.size()
                     + " after "
@@ -214,9 +203,14 @@ public class HybridOptimizerExperimentIT extends BaseExperimentIT {
         return variants;
     }
 
-    private List<String> getEvaluationResultIdsForQuery(String queryText) throws IOException {
+    private List<String> getEvaluationResultIdsForQuery(String experimentId, String queryText) throws IOException {
         String getEvaluationResultsUrl = String.join("/", EVALUATION_RESULT_INDEX, "_search");
-        String evaluationResultsQuery = "{ \"size\": 100, \"query\": { \"term\": { \"searchText\": \"" + queryText + "\" } } }";
+        String evaluationResultsQuery = "{ \"size\": 100, \"query\": { \"bool\": { \"filter\": [ "
+            + "{ \"term\": { \"experimentId\": \""
+            + experimentId
+            + "\" } }, { \"term\": { \"searchText\": \""
+            + queryText
+            + "\" } } ] } } }";
 
         Response getEvaluationResponse = makeRequest(
             client(),
@@ -241,47 +235,16 @@ public class HybridOptimizerExperimentIT extends BaseExperimentIT {
         return evaluationIds;
     }
 
-    private List<Map<String, Object>> getExperimentVariantsForEvaluationIds(String experimentId, List<String> evaluationIds)
-        throws IOException {
-        if (evaluationIds.isEmpty()) {
-            return Collections.emptyList();
-        }
-
+    private List<Map<String, Object>> getExperimentVariants(String experimentId) throws IOException {
         String getVariantsUrl = String.join("/", EXPERIMENT_VARIANT_INDEX, "_search");
-
-        // Build the nested query for evaluationResultId
-        StringBuilder termsBuilder = new StringBuilder();
-        for (int i = 0; i < evaluationIds.size(); i++) {
-            termsBuilder.append("\"").append(evaluationIds.get(i)).append("\"");
-            if (i < evaluationIds.size() - 1) {
-                termsBuilder.append(", ");
-            }
-        }
-
-        // Use nested query for results.evaluationResultId
-        String nestedQuery = "{ \"size\": 100, \"query\": { \"bool\": { \"must\": [ "
-            + "  { \"term\": { \"experimentId\": \""
-            + experimentId
-            + "\" } }, "
-            + "  { \"nested\": { "
-            + "      \"path\": \"results\", "
-            + "      \"query\": { "
-            + "        \"terms\": { "
-            + "          \"results.evaluationResultId\": ["
-            + termsBuilder
-            + "]"
-            + "        } "
-            + "      } "
-            + "    } "
-            + "  } "
-            + "] } } }";
+        String variantsQuery = "{ \"size\": 100, \"query\": { \"term\": { \"experimentId\": \"" + experimentId + "\" } } }";
 
         Response getVariantsResponse = makeRequest(
             client(),
             RestRequest.Method.POST.name(),
             getVariantsUrl,
             null,
-            toHttpEntity(nestedQuery),
+            toHttpEntity(variantsQuery),
             ImmutableList.of(new BasicHeader(HttpHeaders.USER_AGENT, DEFAULT_USER_AGENT))
         );
 
@@ -298,7 +261,7 @@ public class HybridOptimizerExperimentIT extends BaseExperimentIT {
         return sources;
     }
 
-    private void verifyEvaluationResult(String evaluationResultId, String queryText) throws IOException {
+    private Map<String, Object> verifyEvaluationResult(String evaluationResultId, String queryText) throws IOException {
         String getEvaluationByIdUrl = String.join("/", EVALUATION_RESULT_INDEX, "_doc", evaluationResultId);
         Response getEvaluationResponse = makeRequest(
             client(),
@@ -334,5 +297,6 @@ public class HybridOptimizerExperimentIT extends BaseExperimentIT {
         List<String> documentIds = (List<String>) evaluationSource.get("documentIds");
         assertNotNull("Document IDs should exist", documentIds);
         assertFalse("Document IDs should not be empty", documentIds.isEmpty());
+        return evaluationSource;
     }
 }
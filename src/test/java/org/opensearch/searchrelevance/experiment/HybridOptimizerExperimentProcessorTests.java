@@ -0,0 +1,121 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.experiment;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.searchrelevance.dao.ExperimentVariantDao;
+import org.opensearch.searchrelevance.dao.JudgmentDao;
+import org.opensearch.searchrelevance.executors.ExperimentTaskManager;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
+import org.opensearch.searchrelevance.model.AsyncStatus;
+import org.opensearch.searchrelevance.model.ExperimentVariant;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+import lombok.SneakyThrows;
+
+/**
+ * Tests for HybridOptimizerExperimentProcessor
+ */
+public class HybridOptimizerExperimentProcessorTests extends OpenSearchTestCase {
+
+    @Mock
+    private JudgmentDao judgmentDao;
+
+    @Mock
+    private ExperimentVariantDao experimentVariantDao;
+
+    @Mock
+    private ExperimentTaskManager taskManager;
+
+    @Mock
+    private ThreadPool threadPool;
+
+    private HybridOptimizerExperimentProcessor processor;
+
+    @Before
+    @SneakyThrows
+    public void setUp() {
+        super.setUp();
+        MockitoAnnotations.openMocks(this);
+        processor = new HybridOptimizerExperimentProcessor(
+            experimentVariantDao,
+            taskManager,
+            new JudgmentProgressTracker(judgmentDao, threadPool)
+        );
+    }
+
+    public void testExperimentVariantIdsAreStablePerExperiment() {
+        List<ExperimentVariant> variants = processor.createExperimentVariants("experiment1");
+        List<ExperimentVariant> sameVariants = processor.createExperimentVariants("experiment1");
+        List<ExperimentVariant> otherVariants = processor.createExperimentVariants("experiment2");
+
+        Set<String> variantIds = new HashSet<>();
+        for (int i = 0; i < variants.size(); i++) {
+            assertEquals(variants.get(i).getId(), sameVariants.get(i).getId());
+            assertNotEquals(variants.get(i).getId(), otherVariants.get(i).getId());
+            variantIds.add(variants.get(i).getId());
+        }
+        assertEquals(66, variantIds.size());
+    }
+
+    public void testDefineExperimentVariantsStoresVariantsOnce() {
+        ArgumentCaptor<List<ExperimentVariant>> variantsCaptor = ArgumentCaptor.forClass(List.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(1).onResponse(null);
+            return null;
+        }).when(experimentVariantDao).putExperimentVariants(variantsCaptor.capture(), any(ActionListener.class));
+
+        AtomicReference<List<ExperimentVariant>> result = new AtomicReference<>();
+        processor.defineExperimentVariants("experiment1", ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        verify(experimentVariantDao, times(1)).putExperimentVariants(any(), any(ActionListener.class));
+        assertEquals(variantsCaptor.getValue(), result.get());
+        assertEquals(66, result.get().size());
+    }
+
+    public void testExperimentVariantsAreProcessingUntilStatusIsUpdated() {
+        ArgumentCaptor<List<ExperimentVariant>> variantsCaptor = ArgumentCaptor.forClass(List.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(1).onResponse(null);
+            return null;
+        }).when(experimentVariantDao).putExperimentVariants(variantsCaptor.capture(), any(ActionListener.class));
+
+        List<ExperimentVariant> variants = processor.createExperimentVariants("experiment1");
+        assertTrue(variants.stream().allMatch(variant -> variant.getStatus() == AsyncStatus.PROCESSING));
+
+        AtomicReference<List<ExperimentVariant>> result = new AtomicReference<>();
+        processor.updateExperimentVariantsStatus(
+            variants,
+            AsyncStatus.COMPLETED,
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(variantsCaptor.getValue(), result.get());
+        assertEquals(variants.size(), result.get().size());
+        for (int i = 0; i < variants.size(); i++) {
+            assertEquals(variants.get(i).getId(), result.get().get(i).getId());
+            assertEquals(variants.get(i).getParameters(), result.get().get(i).getParameters());
+            assertEquals(AsyncStatus.COMPLETED, result.get().get(i).getStatus());
+        }
+    }
+}
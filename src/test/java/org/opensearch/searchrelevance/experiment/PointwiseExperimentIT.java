@@ -9,7 +9,6 @@ package org.opensearch.searchrelevance.experiment;
 
 import static org.opensearch.searchrelevance.common.PluginConstants.EVALUATION_RESULT_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENTS_URI;
-import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_INDEX;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -100,21 +99,7 @@ public class PointwiseExperimentIT extends BaseExperimentIT {
         String searchConfigurationId,
         String querySetId
     ) {
-        String getExperimentByIdUrl = String.join("/", EXPERIMENT_INDEX, "_doc", experimentId);
-        Response getExperimentResponse = makeRequest(
-            adminClient(),
-            RestRequest.Method.GET.name(),
-            getExperimentByIdUrl,
-            null,
-            null,
-            ImmutableList.of(new BasicHeader(HttpHeaders.USER_AGENT, DEFAULT_USER_AGENT))
-        );
-        Map<String, Object> getExperimentResultJson = entityAsMap(getExperimentResponse);
-        assertNotNull(getExperimentResultJson);
-        assertEquals(experimentId, getExperimentResultJson.get("_id").toString());
-
-        Map<String, Object> source = (Map<String, Object>) getExperimentResultJson.get("_source");
-        assertNotNull(source);
+        Map<String, Object> source = getExperimentSource(experimentId);
         assertEquals("COMPLETED", source.get("status"));
 
         // Assert common experiment fields
@@ -9,8 +9,8 @@ package org.opensearch.searchrelevance.experiment;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,13 +26,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Before;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.opensearch.action.search.SearchResponse;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.searchrelevance.dao.JudgmentDao;
 import org.opensearch.searchrelevance.executors.ExperimentTaskManager;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
 import org.opensearch.searchrelevance.model.ExperimentType;
 import org.opensearch.searchrelevance.model.SearchConfigurationDetails;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
 
 import lombok.SneakyThrows;
 
@@ -47,6 +48,9 @@ public class PointwiseExperimentProcessorTests extends OpenSearchTestCase {
     @Mock
     private ExperimentTaskManager taskManager;
 
+    @Mock
+    private ThreadPool threadPool;
+
     private PointwiseExperimentProcessor processor;
 
     @Before
@@ -54,7 +58,7 @@ public class PointwiseExperimentProcessorTests extends OpenSearchTestCase {
     public void setUp() {
         super.setUp();
         MockitoAnnotations.openMocks(this);
-        processor = new PointwiseExperimentProcessor(judgmentDao, taskManager);
+        processor = new PointwiseExperimentProcessor(taskManager, new JudgmentProgressTracker(judgmentDao, threadPool));
     }
 
     @SneakyThrows
@@ -73,12 +77,10 @@ public class PointwiseExperimentProcessorTests extends OpenSearchTestCase {
 
         // Mock successful judgment response with actual judgment data
         doAnswer(invocation -> {
-            ActionListener<SearchResponse> listener = invocation.getArgument(1);
-            SearchResponse mockResponse = mock(SearchResponse.class);
-            when(mockResponse.getHits()).thenReturn(null);
-            listener.onResponse(mockResponse);
+            ActionListener<Map<String, String>> listener = invocation.getArgument(2);
+            listener.onResponse(Map.of("doc1", "3"));
             return null;
-        }).when(judgmentDao).getJudgment(anyString(), any(ActionListener.class));
+        }).when(judgmentDao).getQueryRatings(anyString(), anyString(), any(ActionListener.class));
 
         // Mock task manager response
         CompletableFuture<Map<String, Object>> mockFuture = CompletableFuture.completedFuture(
@@ -125,7 +127,7 @@ public class PointwiseExperimentProcessorTests extends OpenSearchTestCase {
         assertTrue("Async operation should complete within timeout", latch.await(5, TimeUnit.SECONDS));
 
         // Verify interactions
-        verify(judgmentDao).getJudgment(anyString(), any(ActionListener.class));
+        verify(judgmentDao).getQueryRatings(eq("judgment1"), eq(queryText), any(ActionListener.class));
     }
 
     @SneakyThrows
@@ -144,10 +146,10 @@ public class PointwiseExperimentProcessorTests extends OpenSearchTestCase {
 
         // Mock judgment failure
         doAnswer(invocation -> {
-            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            ActionListener<Map<String, String>> listener = invocation.getArgument(2);
             listener.onFailure(new RuntimeException("Judgment fetch failed"));
             return null;
-        }).when(judgmentDao).getJudgment(anyString(), any(ActionListener.class));
+        }).when(judgmentDao).getQueryRatings(anyString(), anyString(), any(ActionListener.class));
 
         // Mock ActionListener with CountDownLatch to wait for completion
         CountDownLatch latch = new CountDownLatch(1);
@@ -0,0 +1,163 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.indices;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EXPERIMENT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EXPERIMENT_RESULT;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.searchrelevance.dao.ExperimentDao;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+public class OrphanSweeperTests extends OpenSearchTestCase {
+
+    public void testChildIndicesCoverExperimentChildIndices() {
+        for (SearchRelevanceIndices index : ExperimentDao.EXPERIMENT_CHILD_INDICES) {
+            assertTrue(
+                OrphanSweeper.CHILD_INDICES.contains(new OrphanSweeper.ChildIndex(index, ExperimentDao.EXPERIMENT_ID, EXPERIMENT))
+            );
+        }
+    }
+
+    public void testSweepDeletesChildrenOfMissingParents() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        when(indicesManager.indexExists(any())).thenReturn(true);
+        AtomicInteger resultPages = new AtomicInteger();
+        doAnswer(invocation -> {
+            SearchRelevanceIndices index = invocation.getArgument(1);
+            SearchResponse response = index == EXPERIMENT_RESULT && resultPages.getAndIncrement() == 0
+                ? parentsResponse("experiment1", "experiment2")
+                : parentsResponse();
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(response);
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(any(), any(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(hitsResponse("experiment1"));
+            return null;
+        }).when(indicesManager).getDocsByDocIds(any(), eq(EXPERIMENT), any(ActionListener.class));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Long>>getArgument(2).onResponse(3L);
+            return null;
+        }).when(indicesManager).deleteDocsByQueryThrottled(any(), any(), any(ActionListener.class));
+
+        AtomicReference<Long> result = new AtomicReference<>();
+        newSweeper(indicesManager).sweep(ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertEquals(Long.valueOf(3L), result.get());
+        assertEquals(2, resultPages.get());
+        verify(indicesManager, times(1)).deleteDocsByQueryThrottled(any(), any(), any(ActionListener.class));
+        verify(indicesManager).deleteDocsByQueryThrottled(
+            eq(QueryBuilders.termsQuery(ExperimentDao.EXPERIMENT_ID, Set.of("experiment2"))),
+            eq(EXPERIMENT_RESULT),
+            any(ActionListener.class)
+        );
+    }
+
+    public void testSweepKeepsChildrenOfExistingParents() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        when(indicesManager.indexExists(any())).thenReturn(true);
+        AtomicInteger resultPages = new AtomicInteger();
+        doAnswer(invocation -> {
+            SearchRelevanceIndices index = invocation.getArgument(1);
+            SearchResponse response = index == EXPERIMENT_RESULT && resultPages.getAndIncrement() == 0
+                ? parentsResponse("experiment1")
+                : parentsResponse();
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(response);
+            return null;
+        }).when(indicesManager).listDocsBySearchRequest(any(), any(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(hitsResponse("experiment1"));
+            return null;
+        }).when(indicesManager).getDocsByDocIds(any(), eq(EXPERIMENT), any(ActionListener.class));
+
+        AtomicReference<Long> result = new AtomicReference<>();
+        newSweeper(indicesManager).sweep(ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertEquals(Long.valueOf(0L), result.get());
+        verify(indicesManager, never()).deleteDocsByQueryThrottled(any(), any(), any(ActionListener.class));
+    }
+
+    public void testSweepSkipsMissingIndices() {
+        SearchRelevanceIndicesManager indicesManager = mock(SearchRelevanceIndicesManager.class);
+        when(indicesManager.indexExists(any())).thenReturn(false);
+
+        AtomicReference<Long> result = new AtomicReference<>();
+        newSweeper(indicesManager).sweep(ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertEquals(Long.valueOf(0L), result.get());
+        verify(indicesManager, never()).listDocsBySearchRequest(any(), any(), any(ActionListener.class));
+        verify(indicesManager, never()).getDocsByDocIds(any(), any(), any(ActionListener.class));
+        verify(indicesManager, never()).deleteDocsByQueryThrottled(any(), any(), any(ActionListener.class));
+    }
+
+    private static OrphanSweeper newSweeper(SearchRelevanceIndicesManager indicesManager) {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(
+            new ClusterSettings(Settings.EMPTY, Set.of(SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL))
+        );
+        return new OrphanSweeper(clusterService, mock(ThreadPool.class), indicesManager, mock(SearchRelevanceSettingsAccessor.class));
+    }
+
+    private static SearchResponse parentsResponse(String... parentIds) {
+        SearchResponse response = mock(SearchResponse.class);
+        if (parentIds.length == 0) {
+            return response;
+        }
+        List<CompositeAggregation.Bucket> buckets = new ArrayList<>();
+        for (String parentId : parentIds) {
+            CompositeAggregation.Bucket bucket = mock(CompositeAggregation.Bucket.class);
+            when(bucket.getKey()).thenReturn(Map.of("parent_id", parentId));
+            buckets.add(bucket);
+        }
+        CompositeAggregation parents = mock(CompositeAggregation.class);
+        when(parents.getName()).thenReturn("parents");
+        doReturn(buckets).when(parents).getBuckets();
+        when(parents.afterKey()).thenReturn(Map.of("parent_id", parentIds[parentIds.length - 1]));
+        when(response.getAggregations()).thenReturn(new Aggregations(List.of(parents)));
+        return response;
+    }
+
+    private static SearchResponse hitsResponse(String... ids) {
+        SearchHit[] searchHits = new SearchHit[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            searchHits[i] = new SearchHit(i + 1, ids[i], Map.of(), Map.of());
+        }
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(searchHits, new TotalHits(ids.length, TotalHits.Relation.EQUAL_TO), 1.0f));
+        return response;
+    }
+}
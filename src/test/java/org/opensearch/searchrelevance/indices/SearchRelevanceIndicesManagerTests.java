@@ -8,15 +8,20 @@
 package org.opensearch.searchrelevance.indices;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.opensearch.index.seqno.SequenceNumbers.UNASSIGNED_PRIMARY_TERM;
+import static org.opensearch.index.seqno.SequenceNumbers.UNASSIGNED_SEQ_NO;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.EVALUATION_RESULT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.JUDGMENT_CACHE;
 import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.QUERY_SET;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,14 +37,22 @@ import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.delete.DeleteRequestBuilder;
 import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetResponse;
 import org.opensearch.action.index.IndexRequestBuilder;
+import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.WriteRequest;
+import org.opensearch.cluster.ClusterChangedEvent;
 import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
@@ -48,13 +61,18 @@ import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.get.GetResult;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.translog.Translog;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.sort.SortOrder;
 import org.opensearch.searchrelevance.exception.SearchRelevanceException;
 import org.opensearch.searchrelevance.model.QuerySet;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.AdminClient;
@@ -77,6 +95,8 @@ public class SearchRelevanceIndicesManagerTests extends OpenSearchTestCase {
     private ThreadPool threadPool;
     @Mock
     private IndicesAdminClient indicesAdminClient;
+    @Mock
+    private SearchRelevanceSettingsAccessor settingsAccessor;
 
     private AutoCloseable openMocks;
     private SearchRelevanceIndicesManager indicesManager;
@@ -99,7 +119,13 @@ public class SearchRelevanceIndicesManagerTests extends OpenSearchTestCase {
         when(client.admin()).thenReturn(adminClient);
         when(adminClient.indices()).thenReturn(indicesAdminClient);
 
-        indicesManager = new SearchRelevanceIndicesManager(clusterService, client);
+        when(settingsAccessor.getRefreshPolicy(IndexWriteTier.INTERACTIVE)).thenReturn(WriteRequest.RefreshPolicy.IMMEDIATE);
+        when(settingsAccessor.getRefreshPolicy(IndexWriteTier.BULK)).thenReturn(WriteRequest.RefreshPolicy.NONE);
+        when(settingsAccessor.getRefreshPolicy(IndexWriteTier.CACHE)).thenReturn(WriteRequest.RefreshPolicy.NONE);
+        when(settingsAccessor.getBulkRefreshInterval()).thenReturn(TimeValue.timeValueSeconds(5));
+        when(settingsAccessor.getCacheTranslogDurability()).thenReturn(Translog.Durability.ASYNC);
+
+        indicesManager = new SearchRelevanceIndicesManager(clusterService, client, settingsAccessor);
     }
 
     @Override
@@ -156,6 +182,83 @@ public class SearchRelevanceIndicesManagerTests extends OpenSearchTestCase {
         listenerCaptor.getValue().onFailure(exception);
     }
 
+    public void testCreateIndexIfAbsentCoalescesConcurrentCreations() {
+        when(metadata.hasIndex(QUERY_SET.getIndexName())).thenReturn(false);
+        StepListener<Void> firstListener = new StepListener<>();
+        StepListener<Void> secondListener = new StepListener<>();
+
+        indicesManager.createIndexIfAbsent(QUERY_SET, firstListener);
+        indicesManager.createIndexIfAbsent(QUERY_SET, secondListener);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ActionListener<CreateIndexResponse>> listenerCaptor = ArgumentCaptor.forClass(ActionListener.class);
+        verify(indicesAdminClient, times(1)).create(any(CreateIndexRequest.class), listenerCaptor.capture());
+        assertFalse(firstListener.asFuture().isDone());
+
+        listenerCaptor.getValue().onResponse(new CreateIndexResponse(true, true, QUERY_SET.getIndexName()));
+        assertTrue(firstListener.asFuture().isDone());
+        assertTrue(secondListener.asFuture().isDone());
+
+        // the created index is remembered, later callers neither create it nor look up the cluster state
+        StepListener<Void> laterListener = new StepListener<>();
+        indicesManager.createIndexIfAbsent(QUERY_SET, laterListener);
+        assertTrue(laterListener.asFuture().isDone());
+        verify(indicesAdminClient, times(1)).create(any(CreateIndexRequest.class), any());
+        verify(metadata, times(2)).hasIndex(QUERY_SET.getIndexName());
+    }
+
+    public void testClusterChangedTracksExistingIndices() {
+        Metadata changedMetadata = mock(Metadata.class);
+        when(changedMetadata.hasIndex(QUERY_SET.getIndexName())).thenReturn(true);
+        ClusterState changedState = mock(ClusterState.class);
+        when(changedState.metadata()).thenReturn(changedMetadata);
+        ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+        when(event.metadataChanged()).thenReturn(true);
+        when(event.state()).thenReturn(changedState);
+
+        indicesManager.clusterChanged(event);
+        StepListener<Void> stepListener = new StepListener<>();
+        indicesManager.createIndexIfAbsent(QUERY_SET, stepListener);
+
+        assertTrue(stepListener.asFuture().isDone());
+        verify(metadata, never()).hasIndex(any());
+        verify(indicesAdminClient, never()).create(any(CreateIndexRequest.class), any());
+
+        // a deleted index is created again
+        when(changedMetadata.hasIndex(QUERY_SET.getIndexName())).thenReturn(false);
+        indicesManager.clusterChanged(event);
+        indicesManager.createIndexIfAbsent(QUERY_SET, new StepListener<>());
+
+        verify(indicesAdminClient).create(any(CreateIndexRequest.class), any());
+    }
+
+    public void testIndexSettingsFollowWriteTier() {
+        assertTrue(indicesManager.indexSettings(QUERY_SET).isEmpty());
+        Settings bulkSettings = indicesManager.indexSettings(EVALUATION_RESULT);
+        assertEquals("5s", bulkSettings.get(IndexSettings.INDEX_REFRESH_INTERVAL_SETTING.getKey()));
+        assertNull(bulkSettings.get(IndexSettings.INDEX_TRANSLOG_DURABILITY_SETTING.getKey()));
+        Settings cacheSettings = indicesManager.indexSettings(JUDGMENT_CACHE);
+        assertEquals("5s", cacheSettings.get(IndexSettings.INDEX_REFRESH_INTERVAL_SETTING.getKey()));
+        assertEquals("async", cacheSettings.get(IndexSettings.INDEX_TRANSLOG_DURABILITY_SETTING.getKey()));
+    }
+
+    public void testPutDocOfBulkTierDoesNotRefresh() throws IOException {
+        XContentBuilder xContentBuilder = XContentFactory.jsonBuilder().startObject().field("id", "test_id").endObject();
+        IndexRequestBuilder indexRequestBuilder = mock(IndexRequestBuilder.class);
+        when(client.prepareIndex(EVALUATION_RESULT.getIndexName())).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setId("test_id")).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setOpType(DocWriteRequest.OpType.CREATE)).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setRefreshPolicy(any(WriteRequest.RefreshPolicy.class))).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setSource(xContentBuilder)).thenReturn(indexRequestBuilder);
+
+        @SuppressWarnings("unchecked")
+        ActionListener<SearchResponse> listener = mock(ActionListener.class);
+        indicesManager.putDoc("test_id", xContentBuilder, EVALUATION_RESULT, listener);
+
+        verify(indexRequestBuilder).setRefreshPolicy(WriteRequest.RefreshPolicy.NONE);
+        verify(indexRequestBuilder).execute(any(ActionListener.class));
+    }
+
     public void testPutDocWhenSucceeded() throws IOException {
         QuerySet querySet = new QuerySet("test_id", "test_name", "test_description", "test_timestamp", "test_sampling", List.of());
         XContentBuilder xContentBuilder = querySet.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
@@ -197,59 +300,87 @@ public class SearchRelevanceIndicesManagerTests extends OpenSearchTestCase {
         assertTrue(exception.getMessage().contains("Failed to store doc"));
     }
 
+    public void testUpdateDocIfUnchangedWritesOnlyReadVersion() throws IOException {
+        XContentBuilder xContentBuilder = XContentFactory.jsonBuilder().startObject().field("id", "test_id").endObject();
+        IndexRequestBuilder indexRequestBuilder = mockIndexRequestBuilder(xContentBuilder);
+        when(indexRequestBuilder.setIfSeqNo(5L)).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setIfPrimaryTerm(2L)).thenReturn(indexRequestBuilder);
+        doAnswer(invocation -> {
+            ActionListener<?> listener = invocation.getArgument(0);
+            listener.onFailure(new VersionConflictEngineException(new ShardId(QUERY_SET.getIndexName(), "_na_", 0), "test_id", "conflict"));
+            return null;
+        }).when(indexRequestBuilder).execute(any(ActionListener.class));
+
+        @SuppressWarnings("unchecked")
+        ActionListener<IndexResponse> listener = mock(ActionListener.class);
+        indicesManager.updateDocIfUnchanged("test_id", xContentBuilder, QUERY_SET, 5L, 2L, listener);
+
+        verify(indexRequestBuilder).setOpType(DocWriteRequest.OpType.INDEX);
+        verify(indexRequestBuilder).setIfSeqNo(5L);
+        verify(indexRequestBuilder).setIfPrimaryTerm(2L);
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(listener).onFailure(exceptionCaptor.capture());
+        assertEquals(RestStatus.CONFLICT, ((SearchRelevanceException) exceptionCaptor.getValue()).status());
+    }
+
+    public void testUpdateDocIfUnchangedCreatesUnreadDoc() throws IOException {
+        XContentBuilder xContentBuilder = XContentFactory.jsonBuilder().startObject().field("id", "test_id").endObject();
+        IndexRequestBuilder indexRequestBuilder = mockIndexRequestBuilder(xContentBuilder);
+
+        @SuppressWarnings("unchecked")
+        ActionListener<IndexResponse> listener = mock(ActionListener.class);
+        indicesManager.updateDocIfUnchanged("test_id", xContentBuilder, QUERY_SET, UNASSIGNED_SEQ_NO, UNASSIGNED_PRIMARY_TERM, listener);
+
+        verify(indexRequestBuilder).setOpType(DocWriteRequest.OpType.CREATE);
+        verify(indexRequestBuilder, never()).setIfSeqNo(anyLong());
+        verify(indexRequestBuilder).execute(any(ActionListener.class));
+    }
+
     public void testGetDocByDocIdWhenSucceeded() throws IOException {
         String docId = "test_id";
         QuerySet querySet = new QuerySet(docId, "test_name", "test_description", "test_timestamp", "test_sampling", List.of());
         XContentBuilder xContentBuilder = querySet.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
 
-        Map<String, Object> sourceMap = new HashMap<>();
-        sourceMap.put("id", docId);
-        sourceMap.put("name", "test_name");
-        sourceMap.put("description", "test_description");
-        SearchHit[] hits = new SearchHit[] { new SearchHit(1, docId, Map.of(), Map.of()).sourceRef(BytesReference.bytes(xContentBuilder)) };
-        SearchHits searchHits = new SearchHits(hits, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f);
-
-        SearchResponse searchResponse = mock(SearchResponse.class);
-        when(searchResponse.getHits()).thenReturn(searchHits);
-
+        GetResponse getResponse = getResponse(docId, BytesReference.bytes(xContentBuilder));
         doAnswer(invocation -> {
-            ActionListener<SearchResponse> listener = invocation.getArgument(1);
-            listener.onResponse(searchResponse);
+            ActionListener<GetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(getResponse);
             return null;
-        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        }).when(client).get(any(GetRequest.class), any(ActionListener.class));
 
         @SuppressWarnings("unchecked")
         ActionListener<SearchResponse> listener = mock(ActionListener.class);
         indicesManager.getDocByDocId(docId, QUERY_SET, listener);
 
-        ArgumentCaptor<SearchRequest> requestCaptor = ArgumentCaptor.forClass(SearchRequest.class);
-        verify(client).search(requestCaptor.capture(), any(ActionListener.class));
+        ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
+        verify(client).get(requestCaptor.capture(), any(ActionListener.class));
+        verify(client, never()).search(any(SearchRequest.class), any(ActionListener.class));
 
-        SearchRequest capturedRequest = requestCaptor.getValue();
-        assertEquals(QUERY_SET.getIndexName(), capturedRequest.indices()[0]);
-        assertEquals(QueryBuilders.termQuery("_id", docId).toString(), capturedRequest.source().query().toString());
+        GetRequest capturedRequest = requestCaptor.getValue();
+        assertEquals(QUERY_SET.getIndexName(), capturedRequest.index());
+        assertEquals(docId, capturedRequest.id());
+        assertTrue(capturedRequest.realtime());
 
         ArgumentCaptor<SearchResponse> responseCaptor = ArgumentCaptor.forClass(SearchResponse.class);
         verify(listener).onResponse(responseCaptor.capture());
 
         SearchResponse capturedResponse = responseCaptor.getValue();
-        assertEquals(searchResponse, capturedResponse);
+        assertEquals(1, capturedResponse.getHits().getTotalHits().value());
+        assertEquals(docId, capturedResponse.getHits().getHits()[0].getId());
+        assertEquals("test_name", capturedResponse.getHits().getHits()[0].getSourceAsMap().get("name"));
+        assertEquals(0, capturedResponse.getHits().getHits()[0].getSeqNo());
+        assertEquals(1, capturedResponse.getHits().getHits()[0].getPrimaryTerm());
     }
 
     public void testGetDocByDocIdWhenFailed() {
         String docId = "non_existent_id";
 
-        SearchHit[] emptyHits = new SearchHit[0];
-        SearchHits searchHits = new SearchHits(emptyHits, new TotalHits(0, TotalHits.Relation.EQUAL_TO), 0.0f);
-
-        SearchResponse emptyResponse = mock(SearchResponse.class);
-        when(emptyResponse.getHits()).thenReturn(searchHits);
-
+        GetResponse getResponse = getResponse(docId, null);
         doAnswer(invocation -> {
-            ActionListener<SearchResponse> listener = invocation.getArgument(1);
-            listener.onResponse(emptyResponse);
+            ActionListener<GetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(getResponse);
             return null;
-        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        }).when(client).get(any(GetRequest.class), any(ActionListener.class));
 
         @SuppressWarnings("unchecked")
         ActionListener<SearchResponse> listener = mock(ActionListener.class);
@@ -263,6 +394,40 @@ public class SearchRelevanceIndicesManagerTests extends OpenSearchTestCase {
         assertEquals("Document not found: " + docId, capturedException.getMessage());
     }
 
+    public void testGetDocsByDocIdsSkipsMissingDocs() throws IOException {
+        QuerySet querySet = new QuerySet("id1", "name1", "desc1", "timestamp1", "sampling1", List.of());
+        BytesReference source = BytesReference.bytes(querySet.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+        MultiGetResponse multiGetResponse = new MultiGetResponse(
+            new MultiGetItemResponse[] {
+                new MultiGetItemResponse(getResponse("id1", source), null),
+                new MultiGetItemResponse(getResponse("id2", null), null) }
+        );
+        doAnswer(invocation -> {
+            ActionListener<MultiGetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(multiGetResponse);
+            return null;
+        }).when(client).multiGet(any(MultiGetRequest.class), any(ActionListener.class));
+
+        @SuppressWarnings("unchecked")
+        ActionListener<SearchResponse> listener = mock(ActionListener.class);
+        indicesManager.getDocsByDocIds(List.of("id1", "id2", "id1"), QUERY_SET, listener);
+
+        ArgumentCaptor<MultiGetRequest> requestCaptor = ArgumentCaptor.forClass(MultiGetRequest.class);
+        verify(client).multiGet(requestCaptor.capture(), any(ActionListener.class));
+        List<MultiGetRequest.Item> items = requestCaptor.getValue().getItems();
+        assertEquals(2, items.size());
+        assertEquals(QUERY_SET.getIndexName(), items.get(0).index());
+        assertEquals("id1", items.get(0).id());
+        assertEquals("id2", items.get(1).id());
+
+        ArgumentCaptor<SearchResponse> responseCaptor = ArgumentCaptor.forClass(SearchResponse.class);
+        verify(listener).onResponse(responseCaptor.capture());
+        SearchHit[] hits = responseCaptor.getValue().getHits().getHits();
+        assertEquals(1, hits.length);
+        assertEquals("id1", hits[0].getId());
+        assertEquals("name1", hits[0].getSourceAsMap().get("name"));
+    }
+
     public void testListDocsWhenSucceeded() throws IOException {
         QuerySet querySet1 = new QuerySet("id1", "name1", "desc1", "timestamp1", "sampling1", List.of());
         QuerySet querySet2 = new QuerySet("id2", "name2", "desc2", "timestamp2", "sampling2", List.of());
@@ -414,4 +579,30 @@ public class SearchRelevanceIndicesManagerTests extends OpenSearchTestCase {
         assertEquals(RestStatus.INTERNAL_SERVER_ERROR, ((SearchRelevanceException) capturedException).status());
     }
 
+    private IndexRequestBuilder mockIndexRequestBuilder(XContentBuilder xContentBuilder) {
+        IndexRequestBuilder indexRequestBuilder = mock(IndexRequestBuilder.class);
+        when(client.prepareIndex(QUERY_SET.getIndexName())).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setId("test_id")).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setOpType(any(DocWriteRequest.OpType.class))).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setRefreshPolicy(any(WriteRequest.RefreshPolicy.class))).thenReturn(indexRequestBuilder);
+        when(indexRequestBuilder.setSource(xContentBuilder)).thenReturn(indexRequestBuilder);
+        return indexRequestBuilder;
+    }
+
+    private static GetResponse getResponse(String docId, BytesReference source) {
+        boolean exists = source != null;
+        return new GetResponse(
+            new GetResult(
+                QUERY_SET.getIndexName(),
+                docId,
+                exists ? 0 : UNASSIGNED_SEQ_NO,
+                exists ? 1 : UNASSIGNED_PRIMARY_TERM,
+                exists ? 1 : -1,
+                exists,
+                source,
+                null,
+                null
+            )
+        );
+    }
 }
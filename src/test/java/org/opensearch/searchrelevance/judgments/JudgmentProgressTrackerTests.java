@@ -0,0 +1,177 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mockito.ArgumentCaptor;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.dao.JudgmentDao;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.model.AsyncStatus;
+import org.opensearch.searchrelevance.model.Judgment;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+public class JudgmentProgressTrackerTests extends OpenSearchTestCase {
+
+    private static final List<Map<String, String>> RATINGS = List.of(Map.of("docId", "doc1", "rating", "0.8"));
+
+    private final JudgmentDao judgmentDao = mock(JudgmentDao.class);
+    private final ThreadPool threadPool = mock(ThreadPool.class);
+
+    public void testSubscribeToUnknownJudgment() {
+        JudgmentProgressTracker tracker = newTracker();
+        assertNull(tracker.subscribe("judgment1", "apple"));
+    }
+
+    public void testSubscriptionCompletesWhenQueryIsPublished() throws Exception {
+        JudgmentProgressTracker tracker = newTracker();
+        tracker.start("judgment1");
+
+        CompletableFuture<List<Map<String, String>>> subscription = tracker.subscribe("judgment1", "apple");
+        assertFalse(subscription.isDone());
+
+        tracker.publish("judgment1", Map.of("query", "apple", "ratings", RATINGS));
+        assertEquals(RATINGS, subscription.get());
+        assertEquals(RATINGS, tracker.subscribe("judgment1", "apple").get());
+    }
+
+    public void testSubscriptionCompletesWithNullWhenJudgmentCompletes() throws Exception {
+        JudgmentProgressTracker tracker = newTracker();
+        tracker.start("judgment1");
+
+        CompletableFuture<List<Map<String, String>>> subscription = tracker.subscribe("judgment1", "apple");
+        tracker.complete("judgment1");
+
+        assertNull(subscription.get());
+        assertFalse(tracker.isRunning("judgment1"));
+        assertNull(tracker.subscribe("judgment1", "apple"));
+    }
+
+    public void testSubscriptionFailsWhenJudgmentFails() {
+        JudgmentProgressTracker tracker = newTracker();
+        tracker.start("judgment1");
+
+        CompletableFuture<List<Map<String, String>>> subscription = tracker.subscribe("judgment1", "apple");
+        tracker.fail("judgment1", new IllegalStateException("model unavailable"));
+
+        ExecutionException e = expectThrows(ExecutionException.class, subscription::get);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    public void testPublishStoresQueryRatings() {
+        JudgmentProgressTracker tracker = newTracker();
+        tracker.start("judgment1");
+
+        Map<String, Object> queryResult = Map.of("query", "apple", "ratings", RATINGS);
+        tracker.publish("judgment1", queryResult);
+
+        verify(judgmentDao).putQueryRatings(eq("judgment1"), eq(0), eq(queryResult), any(ActionListener.class));
+    }
+
+    public void testLoadQueryRatingsWaitsForJudgmentRunningOnAnotherNode() throws Exception {
+        runScheduledTasks();
+        AtomicInteger reads = new AtomicInteger();
+        doAnswer(invocation -> {
+            Map<String, String> ratings = reads.getAndIncrement() == 0 ? Map.of() : Map.of("doc1", "0.8");
+            invocation.<ActionListener<Map<String, String>>>getArgument(2).onResponse(ratings);
+            return null;
+        }).when(judgmentDao).getQueryRatings(eq("judgment1"), eq("apple"), any(ActionListener.class));
+        mockJudgmentStatus(AsyncStatus.PROCESSING);
+
+        CompletableFuture<Map<String, String>> ratings = newTracker().loadQueryRatings("judgment1", "apple");
+
+        assertEquals(Map.of("doc1", "0.8"), ratings.get());
+        assertEquals(2, reads.get());
+    }
+
+    public void testLoadQueryRatingsFailsWhenJudgmentFailed() {
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Map<String, String>>>getArgument(2).onResponse(Map.of());
+            return null;
+        }).when(judgmentDao).getQueryRatings(eq("judgment1"), eq("apple"), any(ActionListener.class));
+        mockJudgmentStatus(AsyncStatus.ERROR);
+
+        CompletableFuture<Map<String, String>> ratings = newTracker().loadQueryRatings("judgment1", "apple");
+
+        ExecutionException e = expectThrows(ExecutionException.class, ratings::get);
+        assertTrue(e.getCause() instanceof SearchRelevanceException);
+    }
+
+    public void testLoadQueryRatingsTimesOutWhileJudgmentIsRunning() {
+        runScheduledTasks();
+        JudgmentProgressTracker tracker = newTracker();
+        tracker.start("judgment1");
+
+        CompletableFuture<Map<String, String>> ratings = tracker.loadQueryRatings("judgment1", "apple");
+
+        ExecutionException e = expectThrows(ExecutionException.class, ratings::get);
+        assertEquals(RestStatus.REQUEST_TIMEOUT, ((SearchRelevanceException) e.getCause()).status());
+    }
+
+    public void testLoadQueryRatingsCancelsTimeoutWhenRatingsArePublished() throws Exception {
+        Scheduler.ScheduledCancellable timeoutTask = mock(Scheduler.ScheduledCancellable.class);
+        ArgumentCaptor<TimeValue> delay = ArgumentCaptor.forClass(TimeValue.class);
+        when(threadPool.schedule(any(Runnable.class), delay.capture(), anyString())).thenReturn(timeoutTask);
+        JudgmentProgressTracker tracker = newTracker();
+        tracker.start("judgment1");
+
+        CompletableFuture<Map<String, String>> ratings = tracker.loadQueryRatings("judgment1", "apple");
+        assertFalse(ratings.isDone());
+        assertTrue(delay.getValue().nanos() <= JudgmentProgressTracker.PROGRESS_TIMEOUT.nanos());
+
+        tracker.publish("judgment1", Map.of("query", "apple", "ratings", RATINGS));
+
+        assertEquals(Map.of("doc1", "0.8"), ratings.get());
+        verify(timeoutTask).cancel();
+    }
+
+    private JudgmentProgressTracker newTracker() {
+        return new JudgmentProgressTracker(judgmentDao, threadPool);
+    }
+
+    private void runScheduledTasks() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return mock(Scheduler.ScheduledCancellable.class);
+        }).when(threadPool).schedule(any(Runnable.class), any(TimeValue.class), anyString());
+    }
+
+    private void mockJudgmentStatus(AsyncStatus status) {
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(1).onResponse(judgmentResponse(status));
+            return null;
+        }).when(judgmentDao).getJudgment(eq("judgment1"), any(ActionListener.class));
+    }
+
+    private static SearchResponse judgmentResponse(AsyncStatus status) throws IOException {
+        BytesReference source = BytesReference.bytes(XContentFactory.jsonBuilder().map(Map.of(Judgment.STATUS, status.name())));
+        return SearchRelevanceIndicesManager.toSearchResponse(Map.of("judgment1", source));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+public class ClickSessionsTests extends OpenSearchTestCase {
+
+    public void testGroupsEventsIntoSessions() {
+        ClickSessions.Builder builder = new ClickSessions.Builder(3);
+        builder.add("q1", "laptop", "doc2", "impression", 1);
+        builder.add("q1", "laptop", "doc1", "impression", 0);
+        builder.add("q2", "laptop", "doc1", "impression", 2);
+        builder.add("q1", "laptop", "doc2", "Click", 1);
+        // another object at an occupied rank, a rank beyond the max rank and another action are ignored
+        builder.add("q1", "laptop", "doc3", "click", 0);
+        builder.add("q1", "laptop", "doc4", "impression", 3);
+        builder.add("q2", "laptop", "doc1", "hover", 2);
+        ClickSessions sessions = builder.build();
+
+        assertEquals(2, sessions.sessionCount());
+        assertEquals(3, sessions.itemCount());
+        assertEquals(2, sessions.pairCount());
+
+        assertEquals(2, sessions.sessionEnd(0) - sessions.sessionStart(0));
+        assertEquals(0, sessions.itemRank(sessions.sessionStart(0)));
+        assertEquals("doc1", sessions.pairObject(sessions.itemPair(sessions.sessionStart(0))));
+        assertEquals(1, sessions.itemRank(sessions.sessionStart(0) + 1));
+        assertEquals("doc2", sessions.pairObject(sessions.itemPair(sessions.sessionStart(0) + 1)));
+        assertEquals(0b10L, sessions.clickMask(0));
+
+        assertEquals(1, sessions.sessionEnd(1) - sessions.sessionStart(1));
+        assertEquals(2, sessions.itemRank(sessions.sessionStart(1)));
+        assertEquals(0L, sessions.clickMask(1));
+
+        int doc1 = sessions.itemPair(sessions.sessionStart(0));
+        assertEquals("laptop", sessions.pairQuery(doc1));
+        assertEquals(2, sessions.pairItemEnd(doc1) - sessions.pairItemStart(doc1));
+        for (int index = sessions.pairItemStart(doc1); index < sessions.pairItemEnd(doc1); index++) {
+            assertEquals(doc1, sessions.itemPair(sessions.pairItem(index)));
+        }
+    }
+
+    public void testMergesSessionsSplitAcrossBuilders() {
+        ClickSessions.Builder first = new ClickSessions.Builder(5);
+        first.add("q1", "phone", "doc1", "impression", 0);
+        ClickSessions.Builder second = new ClickSessions.Builder(5);
+        second.add("q2", "phone", "doc2", "impression", 0);
+        second.add("q1", "phone", "doc2", "impression", 1);
+        second.add("q1", "phone", "doc1", "click", 0);
+        first.merge(second);
+        ClickSessions sessions = first.build();
+
+        assertEquals(4, first.size());
+        assertEquals(2, sessions.sessionCount());
+        assertEquals(3, sessions.itemCount());
+        assertEquals(2, sessions.pairCount());
+        assertEquals(0b01L, sessions.clickMask(0));
+        assertEquals(2, sessions.sessionEnd(0) - sessions.sessionStart(0));
+    }
+
+    public void testGrowsBeyondInitialCapacity() {
+        ClickSessions.Builder builder = new ClickSessions.Builder(10);
+        for (int session = 0; session < 500; session++) {
+            for (int rank = 0; rank < 10; rank++) {
+                builder.add("q" + session, "query" + (session % 7), "doc" + rank, "impression", rank);
+            }
+            builder.add("q" + session, "query" + (session % 7), "doc9", "click", 9);
+        }
+        ClickSessions sessions = builder.build();
+
+        assertEquals(500, sessions.sessionCount());
+        assertEquals(5000, sessions.itemCount());
+        assertEquals(70, sessions.pairCount());
+        for (int session = 0; session < sessions.sessionCount(); session++) {
+            assertEquals(1L << 9, sessions.clickMask(session));
+        }
+    }
+
+    public void testRejectsMaxRankBeyondClickMask() {
+        expectThrows(IllegalArgumentException.class, () -> new ClickSessions.Builder(ClickSessions.MAX_SESSION_LENGTH + 1));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.core.common.breaker.CircuitBreaker;
+import org.opensearch.core.common.breaker.CircuitBreakingException;
+import org.opensearch.core.common.breaker.NoopCircuitBreaker;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class PairCountSpillTests extends OpenSearchTestCase {
+
+    public void testMergesSpilledRunsIntoSameCountsAsOnHeap() throws Exception {
+        Path tempDirectory = createTempDir();
+        UbiEventAggregator expected = new UbiEventAggregator();
+        UbiEventAggregator merged = new UbiEventAggregator();
+        try (PairCountSpill spill = new PairCountSpill(1024, tempDirectory, new NoopCircuitBreaker("test"))) {
+            List<PairCountSpill.Slice> slices = List.of(spill.newSlice(), spill.newSlice());
+            for (int page = 0; page < 20; page++) {
+                for (int event = 0; event < 100; event++) {
+                    PairCountSpill.Slice slice = slices.get(event % 2);
+                    String userQuery = "query" + (event % 7);
+                    String objectId = "doc" + ((page + event) % 13);
+                    String action = event % 3 == 0 ? "click" : "impression";
+                    int rank = (page + event) % 5;
+                    slice.aggregator().add(userQuery, objectId, action, rank);
+                    expected.add(userQuery, objectId, action, rank);
+                }
+                slices.forEach(spill::afterPage);
+            }
+            spill.mergeInto(slices, merged);
+            assertTrue(spill.spilledRuns() > 0);
+        }
+
+        assertEquals(expected.size(), merged.size());
+        assertEquals(countsOf(expected), countsOf(merged));
+        try (var files = Files.list(tempDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    public void testMergesOnHeapWithinBudget() throws Exception {
+        UbiEventAggregator merged = new UbiEventAggregator();
+        try (PairCountSpill spill = new PairCountSpill(Long.MAX_VALUE, createTempDir(), new NoopCircuitBreaker("test"))) {
+            PairCountSpill.Slice first = spill.newSlice();
+            PairCountSpill.Slice second = spill.newSlice();
+            first.aggregator().add("laptop", "doc1", "click", 1);
+            second.aggregator().add("laptop", "doc1", "impression", 0);
+            spill.afterPage(first);
+            spill.afterPage(second);
+            spill.mergeInto(List.of(first, second), merged);
+            assertEquals(0, spill.spilledRuns());
+        }
+
+        assertEquals(Map.of("laptop/doc1", "1/1/0"), countsOf(merged));
+    }
+
+    public void testTrippedBreakerFailsTheCalculation() {
+        CircuitBreaker breaker = mock(CircuitBreaker.class);
+        when(breaker.addEstimateBytesAndMaybeBreak(anyLong(), anyString())).thenThrow(
+            new CircuitBreakingException("over limit", CircuitBreaker.Durability.TRANSIENT)
+        );
+        PairCountSpill spill = new PairCountSpill(Long.MAX_VALUE, createTempDir(), breaker);
+        PairCountSpill.Slice slice = spill.newSlice();
+        slice.aggregator().add("laptop", "doc1", "click", 1);
+
+        expectThrows(CircuitBreakingException.class, () -> spill.afterPage(slice));
+    }
+
+    private static Map<String, String> countsOf(UbiEventAggregator aggregator) {
+        Map<String, String> counts = new HashMap<>();
+        aggregator.forEachPair(
+            (userQuery, objectId, clicks, impressions, minRank) -> counts.put(
+                userQuery + "/" + objectId,
+                clicks + "/" + impressions + "/" + minRank
+            )
+        );
+        return counts;
+    }
+}
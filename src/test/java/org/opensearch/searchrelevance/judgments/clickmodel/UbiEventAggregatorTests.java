@@ -0,0 +1,107 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.searchrelevance.model.ClickthroughRate;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class UbiEventAggregatorTests extends OpenSearchTestCase {
+
+    public void testAggregatesClicksImpressionsAndMinRank() {
+        UbiEventAggregator aggregator = new UbiEventAggregator();
+        aggregator.add("laptop", "doc1", "impression", 3);
+        aggregator.add("laptop", "doc1", "Click", 2);
+        aggregator.add("laptop", "doc1", "impression", 5);
+        aggregator.add("laptop", "doc2", "hover", 0);
+        aggregator.add("phone", "doc1", "click", 1);
+
+        assertEquals(3, aggregator.size());
+        assertEquals(2, aggregator.queryCount());
+
+        Map<String, Set<ClickthroughRate>> rates = aggregator.toClickthroughRates();
+        ClickthroughRate laptopDoc1 = find(rates.get("laptop"), "doc1");
+        assertEquals(1, laptopDoc1.getClicks());
+        assertEquals(2, laptopDoc1.getImpressions());
+        assertEquals(2, laptopDoc1.getRank());
+
+        ClickthroughRate laptopDoc2 = find(rates.get("laptop"), "doc2");
+        assertEquals(0, laptopDoc2.getClicks());
+        assertEquals(Integer.MAX_VALUE, laptopDoc2.getRank());
+
+        ClickthroughRate phoneDoc1 = find(rates.get("phone"), "doc1");
+        assertEquals(1, phoneDoc1.getClicks());
+        assertEquals(1, phoneDoc1.getRank());
+    }
+
+    public void testAggregatesBeyondInitialCapacity() {
+        UbiEventAggregator aggregator = new UbiEventAggregator();
+        int queries = 200;
+        int objects = 50;
+        for (int round = 0; round < 2; round++) {
+            for (int q = 0; q < queries; q++) {
+                for (int o = 0; o < objects; o++) {
+                    aggregator.add("query" + q, "doc" + o, "impression", o % 10);
+                }
+            }
+        }
+
+        assertEquals(queries * objects, aggregator.size());
+        aggregator.forEachPair((userQuery, objectId, clicks, impressions, minRank) -> {
+            assertEquals(0, clicks);
+            assertEquals(2, impressions);
+            assertEquals(Integer.parseInt(objectId.substring(3)) % 10, minRank);
+        });
+    }
+
+    public void testVisitsPairsSortedByQueryAndObject() {
+        UbiEventAggregator aggregator = new UbiEventAggregator();
+        aggregator.add("phone", "doc2", "click", 1);
+        aggregator.add("laptop", "doc9", "impression", 0);
+        aggregator.add("phone", "doc1", "impression", 2);
+        aggregator.add("laptop", "doc10", "impression", 1);
+
+        List<String> pairs = new ArrayList<>();
+        aggregator.forEachPairSorted((userQuery, objectId, clicks, impressions, minRank) -> pairs.add(userQuery + "/" + objectId));
+
+        assertEquals(List.of("laptop/doc10", "laptop/doc9", "phone/doc1", "phone/doc2"), pairs);
+        assertTrue(aggregator.ramBytesUsed() > 0);
+    }
+
+    public void testReadEventFields() throws Exception {
+        String source = "{\"application\":\"shop\",\"action_name\":\"click\",\"query_id\":\"q1\",\"user_query\":\"laptop\","
+            + "\"message\":null,\"event_attributes\":{\"session_id\":\"s1\",\"object\":{\"object_id\":\"doc1\","
+            + "\"description\":{\"name\":\"ignored\"}},\"position\":{\"ordinal\":4,\"x\":1}},\"timestamp\":\"2025-01-01\"}";
+        UbiEventReader reader = new UbiEventReader();
+
+        assertTrue(reader.read(new BytesArray(source)));
+        assertTrue(reader.hasQueryAndObject());
+        assertEquals("click", reader.getActionName());
+        assertEquals("q1", reader.getQueryId());
+        assertEquals("laptop", reader.getUserQuery());
+        assertEquals("s1", reader.getSessionId());
+        assertEquals("doc1", reader.getObjectId());
+        assertEquals(4, reader.getPosition());
+        assertEquals("2025-01-01", reader.getTimestamp());
+
+        assertTrue(reader.read(new BytesArray("{\"action_name\":\"impression\",\"user_query\":\"phone\"}")));
+        assertEquals("impression", reader.getActionName());
+        assertNull(reader.getObjectId());
+        assertEquals(UbiEventReader.MISSING_POSITION, reader.getPosition());
+        assertFalse(reader.hasQueryAndObject());
+    }
+
+    private ClickthroughRate find(Set<ClickthroughRate> rates, String objectId) {
+        return rates.stream().filter(rate -> rate.getObjectId().equals(objectId)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.coec;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.search.aggregations.Aggregation;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.filter.Filter;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.Min;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+public class CoecClickModelTests extends OpenSearchTestCase {
+    private static final int MAX_RANK = 3;
+
+    public void testCompositeAggregationMergesPagesUntilAfterKeyIsNull() {
+        List<String> requests = new ArrayList<>();
+        Client client = mockClient(
+            requests,
+            rankCountsResponse(Map.of(0, 2L), Map.of(0, 4L)),
+            pairsPage(
+                Map.of("user_query", "laptop", "object_id", "doc2"),
+                pair("laptop", "doc1", 1, 2, 1),
+                pair("laptop", "doc2", 0, 3, 0)
+            ),
+            pairsPage(null, pair("laptop", "doc1", 2, 3, 0), pair("phone", "doc3", 0, 0, Double.POSITIVE_INFINITY))
+        );
+
+        CoecClickStatistics statistics = collectStatistics(client);
+
+        // the rank counts and two composite pages, no page is requested after a null after key
+        assertEquals(3, requests.size());
+        assertFalse(requests.get(1).contains("\"after\""));
+        assertTrue(requests.get(2).contains("\"after\""));
+        assertTrue(requests.get(2).contains("doc2"));
+
+        Map<String, int[]> counts = pairCounts(statistics);
+        assertEquals(3, counts.size());
+        assertArrayEquals(new int[] { 3, 5, 0 }, counts.get("laptop/doc1"));
+        assertArrayEquals(new int[] { 0, 3, 0 }, counts.get("laptop/doc2"));
+        // a pair without clicks or impressions has an infinite min rank
+        assertArrayEquals(new int[] { 0, 0, Integer.MAX_VALUE }, counts.get("phone/doc3"));
+        assertEquals(2, statistics.getPairs().queryCount());
+    }
+
+    public void testCompositeAggregationStopsOnEmptyPage() {
+        List<String> requests = new ArrayList<>();
+        Client client = mockClient(
+            requests,
+            rankCountsResponse(Map.of(), Map.of()),
+            pairsPage(Map.of("user_query", "laptop", "object_id", "doc1"), pair("laptop", "doc1", 1, 1, 0)),
+            pairsPage(Map.of("user_query", "laptop", "object_id", "doc1"))
+        );
+
+        CoecClickStatistics statistics = collectStatistics(client);
+
+        assertEquals(3, requests.size());
+        assertEquals(1, statistics.getPairs().size());
+    }
+
+    public void testCompositeAggregationFiltersByMaxRank() {
+        List<SearchRequest> searchRequests = new ArrayList<>();
+        Client client = mockClient(
+            new ArrayList<>(),
+            searchRequests,
+            rankCountsResponse(Map.of(0, 2L, MAX_RANK, 5L), Map.of(0, 4L, MAX_RANK, 10L)),
+            pairsPage(null, pair("laptop", "doc1", 2, 4, 0))
+        );
+
+        CoecClickStatistics statistics = collectStatistics(client);
+
+        // counts at ranks beyond the max rank are dropped from the rank aggregated click-through
+        assertEquals(MAX_RANK, statistics.getRankAggregatedClickThrough().size());
+        assertEquals(0.5, statistics.getRankAggregatedClickThrough().get(0), 0.0001);
+        assertNull(statistics.getRankAggregatedClickThrough().get(MAX_RANK));
+
+        // the events of the pairs are filtered by rank on the cluster
+        assertEquals(2, searchRequests.size());
+        RangeQueryBuilder rankFilter = positionFilter(searchRequests.get(1).source().query());
+        assertNotNull(rankFilter);
+        assertEquals(MAX_RANK, rankFilter.to());
+    }
+
+    private static CoecClickStatistics collectStatistics(Client client) {
+        CoecClickModel clickModel = new CoecClickModel(client, new CoecClickModelParameters(MAX_RANK, "", "", true));
+        AtomicReference<CoecClickStatistics> result = new AtomicReference<>();
+        clickModel.collectStatistics(ActionListener.wrap(result::set, e -> {
+            throw new AssertionError("collecting statistics failed", e);
+        }));
+        assertNotNull(result.get());
+        return result.get();
+    }
+
+    private static Client mockClient(List<String> requests, SearchResponse... responses) {
+        return mockClient(requests, new ArrayList<>(), responses);
+    }
+
+    /**
+     * Answers the searches with the responses in order, recording each request source as sent since the
+     * composite aggregation is reused across pages.
+     */
+    @SuppressWarnings("unchecked")
+    private static Client mockClient(List<String> requests, List<SearchRequest> searchRequests, SearchResponse... responses) {
+        Deque<SearchResponse> pending = new ArrayDeque<>(List.of(responses));
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            SearchRequest searchRequest = invocation.getArgument(0);
+            requests.add(searchRequest.source().toString());
+            searchRequests.add(searchRequest);
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(pending.pop());
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        return client;
+    }
+
+    private static RangeQueryBuilder positionFilter(QueryBuilder query) {
+        for (QueryBuilder clause : ((BoolQueryBuilder) query).must()) {
+            if (clause instanceof RangeQueryBuilder range && "event_attributes.position.ordinal".equals(range.fieldName())) {
+                return range;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, int[]> pairCounts(CoecClickStatistics statistics) {
+        Map<String, int[]> counts = new HashMap<>();
+        statistics.getPairs().forEachPair((userQuery, objectId, clicks, impressions, minRank) -> {
+            counts.put(userQuery + "/" + objectId, new int[] { clicks, impressions, minRank });
+        });
+        return counts;
+    }
+
+    private static SearchResponse rankCountsResponse(Map<Integer, Long> clicks, Map<Integer, Long> impressions) {
+        Terms actions = mock(Terms.class);
+        when(actions.getName()).thenReturn("actions");
+        doReturn(List.of(actionBucket("click", clicks), actionBucket("impression", impressions))).when(actions).getBuckets();
+        return response(actions);
+    }
+
+    private static Terms.Bucket actionBucket(String action, Map<Integer, Long> countsByPosition) {
+        List<Terms.Bucket> positionBuckets = new ArrayList<>();
+        for (Map.Entry<Integer, Long> count : countsByPosition.entrySet()) {
+            Terms.Bucket positionBucket = mock(Terms.Bucket.class);
+            when(positionBucket.getKeyAsString()).thenReturn(String.valueOf(count.getKey()));
+            when(positionBucket.getDocCount()).thenReturn(count.getValue());
+            positionBuckets.add(positionBucket);
+        }
+        Terms positions = mock(Terms.class);
+        when(positions.getName()).thenReturn("positions");
+        doReturn(positionBuckets).when(positions).getBuckets();
+
+        Terms.Bucket actionBucket = mock(Terms.Bucket.class);
+        when(actionBucket.getKeyAsString()).thenReturn(action);
+        when(actionBucket.getAggregations()).thenReturn(new Aggregations(List.of(positions)));
+        return actionBucket;
+    }
+
+    private static SearchResponse pairsPage(Map<String, Object> afterKey, CompositeAggregation.Bucket... buckets) {
+        CompositeAggregation queryDocPairs = mock(CompositeAggregation.class);
+        when(queryDocPairs.getName()).thenReturn("query_doc_pairs");
+        doReturn(List.of(buckets)).when(queryDocPairs).getBuckets();
+        when(queryDocPairs.afterKey()).thenReturn(afterKey);
+        return response(queryDocPairs);
+    }
+
+    private static CompositeAggregation.Bucket pair(String userQuery, String objectId, long clicks, long impressions, double minRank) {
+        Min min = mock(Min.class);
+        when(min.getName()).thenReturn("min_rank");
+        when(min.getValue()).thenReturn(minRank);
+        Filter interactions = filter("interactions", clicks + impressions);
+        when(interactions.getAggregations()).thenReturn(new Aggregations(List.of(min)));
+
+        CompositeAggregation.Bucket bucket = mock(CompositeAggregation.Bucket.class);
+        when(bucket.getKey()).thenReturn(Map.of("user_query", userQuery, "object_id", objectId));
+        when(bucket.getAggregations()).thenReturn(
+            new Aggregations(List.of(filter("clicks", clicks), filter("impressions", impressions), interactions))
+        );
+        return bucket;
+    }
+
+    private static Filter filter(String name, long docCount) {
+        Filter filter = mock(Filter.class);
+        when(filter.getName()).thenReturn(name);
+        when(filter.getDocCount()).thenReturn(docCount);
+        return filter;
+    }
+
+    private static SearchResponse response(Aggregation aggregation) {
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getAggregations()).thenReturn(new Aggregations(List.of(aggregation)));
+        return response;
+    }
+}
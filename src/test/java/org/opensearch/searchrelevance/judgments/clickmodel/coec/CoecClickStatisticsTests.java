@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.coec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.searchrelevance.model.ClickthroughRate;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class CoecClickStatisticsTests extends OpenSearchTestCase {
+
+    public void testMergeAddsCountsAndKeepsLowestRank() {
+        CoecClickStatistics stored = new CoecClickStatistics(3);
+        stored.addRankCount("impression", 0, 10);
+        stored.addRankCount("click", 0, 2);
+        stored.getPairs().add("laptop", "doc1", "impression", 2);
+        stored.getPairs().add("laptop", "doc1", "click", 2);
+
+        CoecClickStatistics newer = new CoecClickStatistics(3);
+        newer.addRankCount("impression", 0, 10);
+        newer.addRankCount("Click", 0, 3);
+        newer.addRankCount("impression", 5, 100);
+        newer.getPairs().add("laptop", "doc1", "impression", 1);
+        newer.getPairs().add("phone", "doc2", "impression", 0);
+
+        stored.merge(newer);
+
+        assertEquals(0.25, stored.getRankAggregatedClickThrough().get(0), 0.0001);
+        assertEquals(0.0, stored.getRankAggregatedClickThrough().get(1), 0.0001);
+        assertEquals(3, stored.getRankAggregatedClickThrough().size());
+
+        Map<String, Set<ClickthroughRate>> rates = stored.getPairs().toClickthroughRates();
+        ClickthroughRate laptopDoc1 = rates.get("laptop").iterator().next();
+        assertEquals(1, laptopDoc1.getClicks());
+        assertEquals(2, laptopDoc1.getImpressions());
+        assertEquals(1, laptopDoc1.getRank());
+        assertEquals(1, rates.get("phone").iterator().next().getImpressions());
+    }
+
+    public void testMergeRejectsDifferentMaxRank() {
+        expectThrows(IllegalArgumentException.class, () -> new CoecClickStatistics(3).merge(new CoecClickStatistics(5)));
+    }
+
+    public void testRoundTripThroughSource() throws Exception {
+        CoecClickStatistics statistics = new CoecClickStatistics(2);
+        statistics.setWatermark("2025-01-02T03:04:05.678Z");
+        statistics.addRankCount("impression", 1, 4);
+        statistics.addRankCount("click", 1, 1);
+        statistics.getPairs().add("laptop", "doc1", "click", 1);
+        statistics.getPairs().add("laptop", "doc2", "hover", 0);
+
+        Map<String, Object> source = toMap(statistics.toXContent("judgment1", XContentFactory.jsonBuilder()));
+        assertEquals("judgment1", source.get(CoecClickStatistics.JUDGMENT_ID));
+        assertFalse(source.containsKey(CoecClickStatistics.PAIRS));
+        CoecClickStatistics restored = CoecClickStatistics.fromSource(source);
+        for (XContentBuilder queryDocument : statistics.toQueryDocuments("judgment1", statistics.queries()).values()) {
+            restored.addQueryDocument(toMap(queryDocument));
+        }
+
+        assertEquals("2025-01-02T03:04:05.678Z", restored.getWatermark());
+        assertEquals(2, restored.getMaxRank());
+        assertEquals(statistics.getRankAggregatedClickThrough(), restored.getRankAggregatedClickThrough());
+        assertEquals(2, restored.getPairs().size());
+        restored.getPairs().forEachPair((userQuery, objectId, clicks, impressions, minRank) -> {
+            if ("doc1".equals(objectId)) {
+                assertEquals(1, clicks);
+                assertEquals(1, minRank);
+            } else {
+                assertEquals(0, clicks);
+                assertEquals(Integer.MAX_VALUE, minRank);
+            }
+        });
+    }
+
+    public void testQueryDocumentsContainOnlyChangedQueries() throws Exception {
+        CoecClickStatistics statistics = new CoecClickStatistics(2);
+        statistics.getPairs().add("laptop", "doc1", "click", 1);
+        statistics.getPairs().add("laptop", "doc2", "impression", 0);
+        statistics.getPairs().add("phone", "doc3", "impression", 0);
+        assertEquals(Set.of("laptop", "phone"), statistics.queries());
+
+        Map<String, XContentBuilder> documents = statistics.toQueryDocuments("judgment1", Set.of("phone"));
+
+        assertEquals(Set.of(CoecClickStatistics.queryDocumentId("judgment1", "phone")), documents.keySet());
+        Map<String, Object> source = toMap(documents.values().iterator().next());
+        assertEquals("judgment1", source.get(CoecClickStatistics.JUDGMENT_ID));
+        assertEquals("phone", source.get(CoecClickStatistics.QUERY));
+        assertEquals(1, ((List<?>) source.get(CoecClickStatistics.PAIRS)).size());
+        assertNotEquals(
+            CoecClickStatistics.queryDocumentId("judgment1", "phone"),
+            CoecClickStatistics.queryDocumentId("judgment1", "laptop")
+        );
+    }
+
+    private static Map<String, Object> toMap(XContentBuilder builder) {
+        return XContentHelper.convertToMap(BytesReference.bytes(builder), false, XContentType.JSON).v2();
+    }
+}
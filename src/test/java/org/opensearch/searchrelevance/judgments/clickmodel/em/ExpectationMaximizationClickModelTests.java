@@ -0,0 +1,136 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.judgments.clickmodel.em;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.searchrelevance.executors.SearchRelevanceExecutor;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickSessions;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+
+public class ExpectationMaximizationClickModelTests extends OpenSearchTestCase {
+    private static final int MAX_RANK = 5;
+    private static final double[] ATTRACTIVENESS = { 0.9, 0.7, 0.5, 0.3, 0.1 };
+    private static final double[] EXAMINATION = { 1.0, 0.8, 0.6, 0.4, 0.2 };
+
+    private ThreadPool threadPool;
+
+    @Before
+    public void setUpExecutor() {
+        threadPool = new TestThreadPool(getTestName(), SearchRelevanceExecutor.getExecutorBuilder(Settings.EMPTY));
+        SearchRelevanceExecutor.initialize(threadPool);
+    }
+
+    @After
+    public void tearDownExecutor() {
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    public void testPositionBasedModelRanksByAttractiveness() {
+        ClickSessions sessions = positionBasedSessions(new Random(random().nextLong()), 20000);
+        double[] ratings = new PositionBasedClickModel(null, parameters(4)).fit(sessions);
+        assertRankedByAttractiveness(sessions, ratings);
+    }
+
+    public void testUserBrowsingModelRanksByAttractiveness() {
+        ClickSessions sessions = positionBasedSessions(new Random(random().nextLong()), 20000);
+        double[] ratings = new UserBrowsingClickModel(null, parameters(4)).fit(sessions);
+        assertRankedByAttractiveness(sessions, ratings);
+    }
+
+    public void testDynamicBayesianNetworkModelRanksByRelevance() {
+        Random random = new Random(random().nextLong());
+        ClickSessions.Builder builder = new ClickSessions.Builder(MAX_RANK);
+        for (int session = 0; session < 20000; session++) {
+            List<Integer> docs = shuffledDocs(random);
+            boolean examined = true;
+            for (int rank = 0; rank < MAX_RANK; rank++) {
+                int doc = docs.get(rank);
+                builder.add("s" + session, "laptop", "doc" + doc, "impression", rank);
+                if (examined && random.nextDouble() < ATTRACTIVENESS[doc]) {
+                    builder.add("s" + session, "laptop", "doc" + doc, "click", rank);
+                    // satisfaction equal to attractiveness keeps the order of the relevance
+                    examined = random.nextDouble() >= ATTRACTIVENESS[doc] && random.nextDouble() < 0.9;
+                } else {
+                    examined = examined && random.nextDouble() < 0.9;
+                }
+            }
+        }
+        ClickSessions sessions = builder.build();
+        double[] ratings = new DynamicBayesianNetworkClickModel(null, parameters(4)).fit(sessions);
+        assertRankedByAttractiveness(sessions, ratings);
+    }
+
+    public void testTrainingIsIndependentOfParallelism() {
+        ClickSessions sessions = positionBasedSessions(new Random(random().nextLong()), 10000);
+        double[] sequential = new DynamicBayesianNetworkClickModel(null, parameters(1)).fit(sessions);
+        double[] parallel = new DynamicBayesianNetworkClickModel(null, parameters(4)).fit(sessions);
+        assertArrayEquals(sequential, parallel, 1e-9);
+    }
+
+    public void testStopsAtMaxIterations() {
+        ClickSessions sessions = positionBasedSessions(new Random(random().nextLong()), 1000);
+        double[] oneIteration = new PositionBasedClickModel(null, new EmClickModelParameters(MAX_RANK, "", "", 1, 0, 2)).fit(sessions);
+        double[] converged = new PositionBasedClickModel(null, parameters(2)).fit(sessions);
+        assertEquals(sessions.pairCount(), oneIteration.length);
+        assertFalse(Arrays.equals(oneIteration, converged));
+    }
+
+    private static EmClickModelParameters parameters(int parallelism) {
+        return new EmClickModelParameters(MAX_RANK, "", "", 200, 1e-6, parallelism);
+    }
+
+    /**
+     * Sessions of a single query showing the documents in random order, clicked as the position-based model predicts.
+     */
+    private static ClickSessions positionBasedSessions(Random random, int sessionCount) {
+        ClickSessions.Builder builder = new ClickSessions.Builder(MAX_RANK);
+        for (int session = 0; session < sessionCount; session++) {
+            List<Integer> docs = shuffledDocs(random);
+            for (int rank = 0; rank < MAX_RANK; rank++) {
+                int doc = docs.get(rank);
+                builder.add("s" + session, "laptop", "doc" + doc, "impression", rank);
+                if (random.nextDouble() < ATTRACTIVENESS[doc] * EXAMINATION[rank]) {
+                    builder.add("s" + session, "laptop", "doc" + doc, "click", rank);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static List<Integer> shuffledDocs(Random random) {
+        List<Integer> docs = new ArrayList<>();
+        for (int doc = 0; doc < ATTRACTIVENESS.length; doc++) {
+            docs.add(doc);
+        }
+        Collections.shuffle(docs, random);
+        return docs;
+    }
+
+    private static void assertRankedByAttractiveness(ClickSessions sessions, double[] ratings) {
+        Map<String, Double> docRatings = new HashMap<>();
+        for (int pair = 0; pair < sessions.pairCount(); pair++) {
+            docRatings.put(sessions.pairObject(pair), ratings[pair]);
+        }
+        for (int doc = 1; doc < ATTRACTIVENESS.length; doc++) {
+            assertTrue(docRatings.toString(), docRatings.get("doc" + (doc - 1)) > docRatings.get("doc" + doc));
+        }
+    }
+}
@@ -9,6 +9,7 @@ package org.opensearch.searchrelevance.metrics;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -25,10 +26,8 @@ import org.mockito.ArgumentCaptor;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.cluster.service.ClusterService;
-import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesArray;
-import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.searchrelevance.dao.EvaluationResultDao;
@@ -222,13 +221,12 @@ public class MetricsHelperTests extends OpenSearchTestCase {
         Map<String, List<String>> indexAndQueries = new HashMap<>();
         indexAndQueries.put("config1", Arrays.asList("index1", "{\"query\":{\"match\":{\"title\":\"%SearchText%\"}}}", "pipeline1"));
 
-        // Mock judgment response
-        SearchResponse judgmentResponse = createMockJudgmentResponse(queryText);
+        // Mock judgment ratings of the query
         doAnswer(invocation -> {
-            ActionListener<SearchResponse> listener = invocation.getArgument(1);
-            listener.onResponse(judgmentResponse);
+            ActionListener<Map<String, String>> listener = invocation.getArgument(2);
+            listener.onResponse(Map.of("doc1", "5", "doc2", "3"));
             return null;
-        }).when(judgmentDao).getJudgment(any(String.class), any(ActionListener.class));
+        }).when(judgmentDao).getQueryRatings(any(String.class), eq(queryText), any(ActionListener.class));
 
         // Mock search response
         SearchResponse mockResponse = createMockSearchResponse("doc1", "doc2");
@@ -269,13 +267,12 @@ public class MetricsHelperTests extends OpenSearchTestCase {
         Map<String, List<String>> indexAndQueries = new HashMap<>();
         indexAndQueries.put("config1", Arrays.asList("index1", "{\"query\":{\"match\":{\"title\":\"%SearchText%\"}}}", ""));
 
-        // Mock judgment response
-        SearchResponse judgmentResponse = createMockJudgmentResponse(queryText);
+        // Mock judgment ratings of the query
         doAnswer(invocation -> {
-            ActionListener<SearchResponse> listener = invocation.getArgument(1);
-            listener.onResponse(judgmentResponse);
+            ActionListener<Map<String, String>> listener = invocation.getArgument(2);
+            listener.onResponse(Map.of("doc1", "5", "doc2", "3"));
             return null;
-        }).when(judgmentDao).getJudgment(any(String.class), any(ActionListener.class));
+        }).when(judgmentDao).getQueryRatings(any(String.class), eq(queryText), any(ActionListener.class));
 
         // Mock search response
         SearchResponse mockResponse = createMockSearchResponse("doc1", "doc2");
@@ -321,32 +318,4 @@ public class MetricsHelperTests extends OpenSearchTestCase {
         when(response.getHits()).thenReturn(hits);
         return response;
     }
-
-    private SearchResponse createMockJudgmentResponse(String queryText) {
-        SearchResponse response = mock(SearchResponse.class);
-
-        Map<String, Object> sourceMap = new HashMap<>();
-        List<Map<String, Object>> judgmentRatings = Arrays.asList(
-            Map.of(
-                "query",
-                queryText,
-                "ratings",
-                Arrays.asList(Map.of("docId", "doc1", "rating", "5"), Map.of("docId", "doc2", "rating", "3"))
-            )
-        );
-        sourceMap.put("judgmentRatings", judgmentRatings);
-
-        SearchHit hit = new SearchHit(1, "judgment1", Map.of(), Map.of());
-        try {
-            BytesReference sourceBytes = BytesReference.bytes(XContentFactory.jsonBuilder().map(sourceMap));
-            hit.sourceRef(sourceBytes);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create judgment response", e);
-        }
-
-        SearchHits hits = new SearchHits(new SearchHit[] { hit }, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f);
-
-        when(response.getHits()).thenReturn(hits);
-        return response;
-    }
 }
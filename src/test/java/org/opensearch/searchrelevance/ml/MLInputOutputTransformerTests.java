@@ -0,0 +1,118 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ml;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+public class MLInputOutputTransformerTests extends OpenSearchTestCase {
+
+    private final MLInputOutputTransformer transformer = new MLInputOutputTransformer();
+
+    public void testParseRatings() {
+        String response = "[{\"id\":\"index::1\",\"rating_score\":0.8},{\"id\":\"index::2\",\"rating_score\":0}]";
+        Map<String, Double> ratings = transformer.parseRatings(response, Set.of("index::1", "index::2"));
+        assertEquals(Map.of("index::1", 0.8, "index::2", 0.0), ratings);
+    }
+
+    public void testParseRatingsWithCodeFence() {
+        String response = "```json\n[{\"id\":\"index::1\",\"rating_score\":\"0.5\"}]\n```";
+        Map<String, Double> ratings = transformer.parseRatings(response, Set.of("index::1"));
+        assertEquals(Map.of("index::1", 0.5), ratings);
+    }
+
+    public void testParseRatingsSalvagesTruncatedResponse() {
+        String response = "[{\"id\":\"index::1\",\"rating_score\":0.9}, {\"id\":\"index::2\",\"rating_score\":0.4}, "
+            + "{\"id\":\"index::3\",\"rat";
+        Map<String, Double> ratings = transformer.parseRatings(response, Set.of("index::1", "index::2", "index::3"));
+        assertEquals(Map.of("index::1", 0.9, "index::2", 0.4), ratings);
+    }
+
+    public void testParseRatingsSkipsMalformedEntries() {
+        String response = "Here are the ratings: {\"id\":\"index::1\",\"rating_score\":0.7} "
+            + "{\"id\":\"index::2\",\"rating_score\":\"high\"} "
+            + "{\"id\":\"index::{3}\",\"rating_score\":0.1} {\"id\":\"unknown\",\"rating_score\":1.0} {broken}";
+        Map<String, Double> ratings = transformer.parseRatings(response, Set.of("index::1", "index::2", "index::{3}"));
+        assertEquals(Map.of("index::1", 0.7, "index::{3}", 0.1), ratings);
+    }
+
+    public void testParseRatingsWithUnparseableResponse() {
+        assertTrue(transformer.parseRatings("I cannot rate these documents.", Set.of("index::1")).isEmpty());
+        assertTrue(transformer.parseRatings(null, Set.of("index::1")).isEmpty());
+    }
+
+    public void testBuildRatingsJsonRoundTrip() {
+        Map<String, Double> ratings = Map.of("index::1", 0.8, "index::2", 0.3);
+        assertEquals(ratings, transformer.parseRatings(transformer.buildRatingsJson(ratings), ratings.keySet()));
+    }
+
+    public void testCreateChunksKeepsAllHits() {
+        Map<String, String> hits = Map.of("index::1", "{\"title\":\"apple\"}", "index::2", "{\"title\":\"banana\"}");
+        List<Map<String, String>> chunks = transformer.createChunks(4000, "fruit", null, hits);
+        assertEquals(1, chunks.size());
+        assertEquals(hits, chunks.get(0));
+        assertEquals(1, transformer.createMLInputs(4000, "fruit", null, hits).size());
+    }
+
+    public void testCreateChunksReusesContextCache() {
+        DocumentContextCache contextCache = new DocumentContextCache(List.of("title"));
+        Map<String, String> hits = Map.of("index::1", "{\"title\":\"apple\"}", "index::2", "{\"title\":\"banana\"}");
+        transformer.createChunks(4000, "fruit", null, hits, contextCache);
+        transformer.createChunks(4000, "yellow fruit", null, Map.of("index::2", "{\"title\":\"banana\"}"), contextCache);
+        assertEquals(2, contextCache.size());
+    }
+
+    public void testContextCacheEvictsBeyondWeightLimit() {
+        DocumentContextCache contextCache = new DocumentContextCache(List.of("title"), 10);
+        contextCache.getOrCompute("index::1", key -> new DocumentContextCache.DocumentContext("apples", 1, 1));
+        contextCache.getOrCompute("index::2", key -> new DocumentContextCache.DocumentContext("banana", 1, 1));
+        assertEquals(1, contextCache.size());
+        DocumentContextCache.DocumentContext cached = contextCache.getOrCompute("index::2", key -> {
+            throw new AssertionError("cached context is rendered again");
+        });
+        assertEquals("banana", cached.getContext());
+    }
+
+    public void testCreateChunksSplitsByTokenLimit() {
+        Map<String, String> hits = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            hits.put("index::" + i, "{\"description\":\"" + "lorem ipsum dolor sit amet ".repeat(10) + i + "\"}");
+        }
+        int tokenLimit = 1000;
+        List<Map<String, String>> chunks = transformer.createChunks(tokenLimit, "lorem", null, hits);
+        assertTrue(chunks.size() > 1);
+        assertEquals(hits.size(), chunks.stream().mapToInt(Map::size).sum());
+        for (Map<String, String> chunk : chunks) {
+            assertTrue(TokenizerUtil.countTokens(transformer.formatMessages("lorem", null, chunk)) <= tokenLimit);
+        }
+    }
+
+    public void testCreateChunksTruncatesOversizedHit() {
+        String largeSource = "{\"description\":\"" + "lorem ipsum dolor sit amet ".repeat(500) + "\"}";
+        List<Map<String, String>> chunks = transformer.createChunks(1000, "lorem", null, Map.of("index::1", largeSource));
+        assertEquals(1, chunks.size());
+        assertTrue(chunks.get(0).get("index::1").length() < largeSource.length());
+    }
+
+    public void testEstimateTokensOfOversizedHitIsCappedAtTokenLimit() {
+        String largeSource = "{\"description\":\"" + "lorem ipsum dolor sit amet ".repeat(500) + "\"}";
+        DocumentContextCache contextCache = new DocumentContextCache(List.of("description"));
+        int tokenLimit = 1000;
+        Map<String, String> hits = Map.of("index::1", largeSource);
+        List<Map<String, String>> chunks = transformer.createChunks(tokenLimit, "lorem", null, hits, contextCache);
+        assertEquals(1, chunks.size());
+
+        int estimatedTokens = transformer.estimateTokens(tokenLimit, "lorem", null, chunks.get(0), contextCache);
+        // the truncated hit fills the rest of the limit instead of being charged its full size
+        assertEquals(tokenLimit, estimatedTokens);
+    }
+}
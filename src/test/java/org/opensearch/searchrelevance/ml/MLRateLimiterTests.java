@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ml;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class MLRateLimiterTests extends OpenSearchTestCase {
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private SearchRelevanceSettingsAccessor settingsAccessor;
+    private MLRateLimiter rateLimiter;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        settingsAccessor = mock(SearchRelevanceSettingsAccessor.class);
+        rateLimiter = new MLRateLimiter(settingsAccessor, clock::get, random());
+    }
+
+    public void testUnlimitedByDefault() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, rateLimiter.reserve("model", 10_000));
+        }
+    }
+
+    public void testRequestsPerMinute() {
+        when(settingsAccessor.getLlmRequestsPerMinute()).thenReturn(60);
+        for (int i = 0; i < 60; i++) {
+            assertEquals(0, rateLimiter.reserve("model", 1));
+        }
+        // bucket is empty, next requests are queued one second apart
+        assertEquals(1000, rateLimiter.reserve("model", 1));
+        assertEquals(2000, rateLimiter.reserve("model", 1));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, rateLimiter.reserve("model", 1));
+    }
+
+    public void testTokensPerMinute() {
+        when(settingsAccessor.getLlmTokensPerMinute()).thenReturn(6000);
+        assertEquals(0, rateLimiter.reserve("model", 6000));
+        // 3000 tokens refill in 30 seconds
+        assertEquals(30_000, rateLimiter.reserve("model", 3000));
+    }
+
+    public void testRequestLargerThanTokenBudget() {
+        when(settingsAccessor.getLlmTokensPerMinute()).thenReturn(1000);
+        assertEquals(0, rateLimiter.reserve("model", 5000));
+        assertEquals(60_000, rateLimiter.reserve("model", 5000));
+    }
+
+    public void testBudgetsArePerModel() {
+        when(settingsAccessor.getLlmRequestsPerMinute()).thenReturn(1);
+        assertEquals(0, rateLimiter.reserve("model1", 1));
+        assertEquals(0, rateLimiter.reserve("model2", 1));
+        assertEquals(60_000, rateLimiter.reserve("model1", 1));
+    }
+
+    public void testThrottlingPausesModel() {
+        long backoff = rateLimiter.onThrottled("model", 0);
+        assertTrue(backoff >= MLRateLimiter.THROTTLE_BASE_DELAY_MS / 2);
+        assertTrue(backoff <= MLRateLimiter.THROTTLE_BASE_DELAY_MS);
+
+        assertEquals(backoff, rateLimiter.reserve("model", 1));
+        assertEquals(0, rateLimiter.reserve("otherModel", 1));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(backoff));
+        assertEquals(0, rateLimiter.reserve("model", 1));
+    }
+
+    public void testThrottlingBackoffIsCapped() {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            long backoff = rateLimiter.onThrottled("model", attempt);
+            assertTrue(backoff <= MLRateLimiter.THROTTLE_MAX_DELAY_MS);
+        }
+    }
+
+    public void testIsThrottlingError() {
+        assertTrue(MLRateLimiter.isThrottlingError(new OpenSearchStatusException("throttled", RestStatus.TOO_MANY_REQUESTS)));
+        assertTrue(MLRateLimiter.isThrottlingError(new RuntimeException("Error from remote service: Rate limit reached for requests")));
+        assertTrue(MLRateLimiter.isThrottlingError(new RuntimeException("wrapped", new IllegalStateException("HTTP 429"))));
+        assertFalse(MLRateLimiter.isThrottlingError(new OpenSearchStatusException("bad input", RestStatus.BAD_REQUEST)));
+        assertFalse(MLRateLimiter.isThrottlingError(new IllegalArgumentException("invalid model")));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.model;
+
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class EvaluationResultBlockTests extends OpenSearchTestCase {
+    private static final String TIMESTAMP = "2025-03-01T10:00:00.000Z";
+
+    public void testRowsRoundTripThroughSource() throws Exception {
+        List<EvaluationResult> evaluationResults = List.of(
+            evaluationResult(
+                "eval1",
+                "laptop",
+                "variant1",
+                List.of("doc1", "doc2"),
+                List.of(metric("Precision@5", 0.4), metric("NDCG@5", 0.67))
+            ),
+            evaluationResult("eval2", "phone", "variant1", List.of(), List.of(metric("Precision@5", 0.2))),
+            evaluationResult("eval3", "laptop", "variant2", List.of("doc2", "döc3"), List.of(metric("NDCG@5", 1.0)))
+        );
+
+        EvaluationResultBlock block = EvaluationResultBlock.of(EvaluationResultBlock.id("experiment1", "config1", 0), evaluationResults);
+        XContentBuilder builder = block.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
+        Map<String, Object> source = XContentHelper.convertToMap(BytesReference.bytes(builder), false, builder.contentType()).v2();
+        EvaluationResultBlock parsed = EvaluationResultBlock.fromSource(source);
+
+        assertEquals("experiment1_config1_0", parsed.getId());
+        assertEquals(List.of("laptop", "phone"), parsed.getQueryTexts());
+        assertEquals(List.of(0, 1, 0), parsed.getQueryOrdinals());
+        assertEquals(List.of("Precision@5", "NDCG@5"), parsed.getMetricNames());
+        assertEquals(3, parsed.size());
+        assertEquals(2, parsed.indexOf("eval3"));
+        assertEquals(-1, parsed.indexOf("eval4"));
+
+        List<EvaluationResult> rows = parsed.rows();
+        for (int i = 0; i < evaluationResults.size(); i++) {
+            assertEquals(toMap(evaluationResults.get(i)), toMap(rows.get(i)));
+        }
+        assertEquals(toMap(evaluationResults.get(1)), toMap(parsed.row(1)));
+    }
+
+    private static EvaluationResult evaluationResult(
+        String id,
+        String searchText,
+        String variantId,
+        List<String> documentIds,
+        List<Map<String, Object>> metrics
+    ) {
+        return new EvaluationResult(
+            id,
+            TIMESTAMP,
+            "config1",
+            searchText,
+            List.of("judgment1"),
+            documentIds,
+            metrics,
+            "experiment1",
+            variantId,
+            "{\"normalization\":\"min_max\"}"
+        );
+    }
+
+    private static Map<String, Object> metric(String name, double value) {
+        return Map.of("metric", name, "value", value);
+    }
+
+    private static Map<String, Object> toMap(EvaluationResult evaluationResult) throws Exception {
+        XContentBuilder builder = evaluationResult.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
+        return XContentHelper.convertToMap(BytesReference.bytes(builder), false, builder.contentType()).v2();
+    }
+}
@@ -9,10 +9,26 @@ package org.opensearch.searchrelevance.plugin;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.opensearch.searchrelevance.common.PluginConstants.CLICK_STATISTICS_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.EXPERIMENT_INDEX;
 import static org.opensearch.searchrelevance.common.PluginConstants.JUDGMENT_CACHE_INDEX;
+import static org.opensearch.searchrelevance.common.PluginConstants.UBI_ROLLUP_INDEX;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_BREAKER_LIMIT;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_BULK_REFRESH_POLICY;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL;
 import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_QUERY_SET_MAX_LIMIT;
 import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_STATS_ENABLED;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL;
 import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_WORKBENCH_ENABLED;
 
 import java.util.Arrays;
@@ -31,16 +47,19 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.env.Environment;
 import org.opensearch.env.NodeEnvironment;
 import org.opensearch.indices.SystemIndexDescriptor;
+import org.opensearch.indices.breaker.BreakerSettings;
 import org.opensearch.plugins.ActionPlugin;
 import org.opensearch.plugins.SystemIndexPlugin;
 import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.script.ScriptService;
+import org.opensearch.searchrelevance.dao.ClickStatisticsDao;
 import org.opensearch.searchrelevance.dao.EvaluationResultDao;
 import org.opensearch.searchrelevance.dao.ExperimentDao;
 import org.opensearch.searchrelevance.dao.ExperimentVariantDao;
@@ -49,7 +68,10 @@ import org.opensearch.searchrelevance.dao.JudgmentDao;
 import org.opensearch.searchrelevance.dao.QuerySetDao;
 import org.opensearch.searchrelevance.dao.SearchConfigurationDao;
 import org.opensearch.searchrelevance.executors.ExperimentTaskManager;
+import org.opensearch.searchrelevance.indices.OrphanSweeper;
 import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
+import org.opensearch.searchrelevance.judgments.clickmodel.ClickModelMemoryBudget;
 import org.opensearch.searchrelevance.metrics.MetricsHelper;
 import org.opensearch.searchrelevance.ml.MLAccessor;
 import org.opensearch.searchrelevance.stats.info.InfoStatsManager;
@@ -63,6 +85,7 @@ import org.opensearch.searchrelevance.transport.queryset.PutQuerySetAction;
 import org.opensearch.searchrelevance.transport.searchConfiguration.DeleteSearchConfigurationAction;
 import org.opensearch.searchrelevance.transport.searchConfiguration.GetSearchConfigurationAction;
 import org.opensearch.searchrelevance.transport.searchConfiguration.PutSearchConfigurationAction;
+import org.opensearch.searchrelevance.ubi.UbiRollupService;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
@@ -95,7 +118,12 @@ public class SearchRelevancePluginTests extends OpenSearchTestCase {
     private NodeEnvironment nodeEnvironment;
     private SearchRelevancePlugin plugin;
 
-    public static final Set<String> SUPPORTED_SYSTEM_INDEX_PATTERN = Set.of(EXPERIMENT_INDEX, JUDGMENT_CACHE_INDEX);
+    public static final Set<String> SUPPORTED_SYSTEM_INDEX_PATTERN = Set.of(
+        EXPERIMENT_INDEX,
+        JUDGMENT_CACHE_INDEX,
+        CLICK_STATISTICS_INDEX,
+        UBI_ROLLUP_INDEX
+    );
 
     private final Set<Class> SUPPORTED_COMPONENTS = Set.of(
         SearchRelevanceIndicesManager.class,
@@ -106,10 +134,15 @@ public class SearchRelevancePluginTests extends OpenSearchTestCase {
         JudgmentDao.class,
         EvaluationResultDao.class,
         JudgmentCacheDao.class,
+        ClickStatisticsDao.class,
         MLAccessor.class,
         MetricsHelper.class,
         InfoStatsManager.class,
-        ExperimentTaskManager.class
+        ExperimentTaskManager.class,
+        JudgmentProgressTracker.class,
+        UbiRollupService.class,
+        OrphanSweeper.class,
+        ClickModelMemoryBudget.class
     );
 
     @Override
@@ -131,7 +164,24 @@ public class SearchRelevancePluginTests extends OpenSearchTestCase {
             new ClusterSettings(
                 settings,
                 new HashSet<>(
-                    Arrays.asList(SEARCH_RELEVANCE_WORKBENCH_ENABLED, SEARCH_RELEVANCE_STATS_ENABLED, SEARCH_RELEVANCE_QUERY_SET_MAX_LIMIT)
+                    Arrays.asList(
+                        SEARCH_RELEVANCE_WORKBENCH_ENABLED,
+                        SEARCH_RELEVANCE_STATS_ENABLED,
+                        SEARCH_RELEVANCE_QUERY_SET_MAX_LIMIT,
+                        SEARCH_RELEVANCE_LLM_REQUESTS_PER_MINUTE,
+                        SEARCH_RELEVANCE_LLM_TOKENS_PER_MINUTE,
+                        SEARCH_RELEVANCE_UBI_ROLLUP_ENABLED,
+                        SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL,
+                        SEARCH_RELEVANCE_CLICK_MODEL_MEMORY_BUDGET,
+                        SEARCH_RELEVANCE_INTERACTIVE_REFRESH_POLICY,
+                        SEARCH_RELEVANCE_BULK_REFRESH_POLICY,
+                        SEARCH_RELEVANCE_BULK_REFRESH_INTERVAL,
+                        SEARCH_RELEVANCE_CACHE_TRANSLOG_DURABILITY,
+                        SEARCH_RELEVANCE_EVALUATION_RESULT_COMPACT_LAYOUT,
+                        SEARCH_RELEVANCE_CLEANUP_REQUESTS_PER_SECOND,
+                        SEARCH_RELEVANCE_ORPHAN_SWEEPER_ENABLED,
+                        SEARCH_RELEVANCE_ORPHAN_SWEEPER_INTERVAL
+                    )
                 )
             )
         );
@@ -182,7 +232,7 @@ public class SearchRelevancePluginTests extends OpenSearchTestCase {
     }
 
     public void testTotalRestHandlers() {
-        assertEquals(14, plugin.getRestHandlers(Settings.EMPTY, null, null, null, null, null, null).size());
+        assertEquals(15, plugin.getRestHandlers(Settings.EMPTY, null, null, null, null, null, null).size());
     }
 
     public void testQuerySetTransportIsAdded() {
@@ -210,7 +260,7 @@ public class SearchRelevancePluginTests extends OpenSearchTestCase {
 
     public void testGetSettings() {
         List<Setting<?>> settings = plugin.getSettings();
-        assertEquals(3, settings.size());
+        assertEquals(17, settings.size());
 
         Setting<?> setting0 = settings.get(0);
         assertEquals("plugins.search_relevance.workbench_enabled", setting0.getKey());
@@ -223,5 +273,37 @@ public class SearchRelevancePluginTests extends OpenSearchTestCase {
         Setting<?> setting2 = settings.get(2);
         assertEquals("plugins.search_relevance.query_set.maximum", setting2.getKey());
         assertEquals(1000, setting2.get(Settings.EMPTY));
+
+        Setting<?> setting3 = settings.get(3);
+        assertEquals("plugins.search_relevance.llm.requests_per_minute", setting3.getKey());
+        assertEquals(0, setting3.get(Settings.EMPTY));
+
+        Setting<?> setting4 = settings.get(4);
+        assertEquals("plugins.search_relevance.llm.tokens_per_minute", setting4.getKey());
+        assertEquals(0, setting4.get(Settings.EMPTY));
+
+        Setting<?> setting5 = settings.get(5);
+        assertEquals("plugins.search_relevance.ubi_rollup.enabled", setting5.getKey());
+        assertEquals(false, setting5.get(Settings.EMPTY));
+
+        Setting<?> setting6 = settings.get(6);
+        assertEquals("plugins.search_relevance.ubi_rollup.interval", setting6.getKey());
+        assertEquals(TimeValue.timeValueMinutes(10), setting6.get(Settings.EMPTY));
+
+        Setting<?> setting7 = settings.get(7);
+        assertEquals("plugins.search_relevance.click_model.memory_budget", setting7.getKey());
+        assertTrue(setting7.isDynamic());
+
+        Setting<?> setting8 = settings.get(8);
+        assertEquals("plugins.search_relevance.breaker.limit", setting8.getKey());
+        assertFalse(setting8.isDynamic());
+    }
+
+    public void testGetCircuitBreaker() {
+        BreakerSettings breakerSettings = plugin.getCircuitBreaker(
+            Settings.builder().put(SEARCH_RELEVANCE_BREAKER_LIMIT.getKey(), "64mb").build()
+        );
+        assertEquals(ClickModelMemoryBudget.BREAKER_NAME, breakerSettings.getName());
+        assertEquals(64 * 1024 * 1024, breakerSettings.getLimit());
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.rest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.searchrelevance.common.PluginConstants.DOCUMENT_ID;
+import static org.opensearch.searchrelevance.common.PluginConstants.QUERY_TEXT;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mockito.ArgumentCaptor;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.plugin.SearchRelevanceRestTestCase;
+import org.opensearch.searchrelevance.transport.judgment.GetJudgmentRatingsAction;
+import org.opensearch.searchrelevance.transport.judgment.GetJudgmentRatingsRequest;
+import org.opensearch.test.rest.FakeRestRequest;
+
+public class RestGetJudgmentActionTests extends SearchRelevanceRestTestCase {
+
+    private RestGetJudgmentAction restGetJudgmentAction;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        restGetJudgmentAction = new RestGetJudgmentAction(settingsAccessor);
+        when(channel.newBuilder()).thenReturn(JsonXContent.contentBuilder());
+        when(channel.newErrorBuilder()).thenReturn(JsonXContent.contentBuilder());
+        when(settingsAccessor.isWorkbenchEnabled()).thenReturn(true);
+    }
+
+    public void testGetRatingsOfQueryText() throws Exception {
+        RestRequest request = createGetRestRequestWithParams(
+            "judgments",
+            "judgment1",
+            Map.of(DOCUMENT_ID, "judgment1", QUERY_TEXT, "laptop")
+        );
+        when(channel.request()).thenReturn(request);
+        ArgumentCaptor<GetJudgmentRatingsRequest> requestCaptor = mockRatingsResponse();
+
+        restGetJudgmentAction.handleRequest(request, channel, client);
+
+        assertEquals("judgment1", requestCaptor.getValue().getJudgmentId());
+        assertEquals(List.of("laptop"), requestCaptor.getValue().getQueryTexts());
+        verify(channel).sendResponse(any(BytesRestResponse.class));
+    }
+
+    public void testPostRatingsOfQueryTexts() throws Exception {
+        RestRequest request = createPostRatingsRequest("{\"queryTexts\": [\"laptop\", \"red, shoes\"]}");
+        when(channel.request()).thenReturn(request);
+        ArgumentCaptor<GetJudgmentRatingsRequest> requestCaptor = mockRatingsResponse();
+
+        restGetJudgmentAction.handleRequest(request, channel, client);
+
+        assertEquals("judgment1", requestCaptor.getValue().getJudgmentId());
+        assertEquals(List.of("laptop", "red, shoes"), requestCaptor.getValue().getQueryTexts());
+    }
+
+    public void testPostRatingsWithoutQueryTexts() throws Exception {
+        RestRequest request = createPostRatingsRequest("{\"queryTexts\": []}");
+        when(channel.request()).thenReturn(request);
+
+        SearchRelevanceException exception = expectThrows(
+            SearchRelevanceException.class,
+            () -> restGetJudgmentAction.handleRequest(request, channel, client)
+        );
+
+        assertEquals(RestStatus.BAD_REQUEST, exception.status());
+        verify(client, never()).execute(eq(GetJudgmentRatingsAction.INSTANCE), any(), any());
+    }
+
+    public void testPostRatingsRejectsQueryTextParam() throws Exception {
+        RestRequest request = createPostRatingsRequest(
+            "{\"queryTexts\": [\"laptop\"]}",
+            Map.of(DOCUMENT_ID, "judgment1", QUERY_TEXT, "phone")
+        );
+        when(channel.request()).thenReturn(request);
+
+        SearchRelevanceException exception = expectThrows(
+            SearchRelevanceException.class,
+            () -> restGetJudgmentAction.handleRequest(request, channel, client)
+        );
+
+        assertEquals(RestStatus.BAD_REQUEST, exception.status());
+        verify(client, never()).execute(eq(GetJudgmentRatingsAction.INSTANCE), any(), any());
+    }
+
+    public void testGetRatingsRejectsQueryTextInBody() throws Exception {
+        BytesArray content = new BytesArray("{\"query_text\": \"phone\"}");
+        RestRequest request = new FakeRestRequest.Builder(NamedXContentRegistry.EMPTY).withContent(content, XContentType.JSON)
+            .withParams(new HashMap<>(Map.of(DOCUMENT_ID, "judgment1", QUERY_TEXT, "laptop")))
+            .withMethod(RestRequest.Method.GET)
+            .withPath("/_plugins/_search_relevance/judgments/judgment1")
+            .build();
+        when(channel.request()).thenReturn(request);
+
+        SearchRelevanceException exception = expectThrows(
+            SearchRelevanceException.class,
+            () -> restGetJudgmentAction.handleRequest(request, channel, client)
+        );
+
+        assertEquals(RestStatus.BAD_REQUEST, exception.status());
+        verify(client, never()).execute(eq(GetJudgmentRatingsAction.INSTANCE), any(), any());
+    }
+
+    private ArgumentCaptor<GetJudgmentRatingsRequest> mockRatingsResponse() {
+        SearchResponse mockResponse = mock(SearchResponse.class);
+        when(mockResponse.status()).thenReturn(RestStatus.OK);
+        ArgumentCaptor<GetJudgmentRatingsRequest> requestCaptor = ArgumentCaptor.forClass(GetJudgmentRatingsRequest.class);
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(2);
+            listener.onResponse(mockResponse);
+            return null;
+        }).when(client).execute(eq(GetJudgmentRatingsAction.INSTANCE), requestCaptor.capture(), any());
+        return requestCaptor;
+    }
+
+    private static RestRequest createPostRatingsRequest(String content) {
+        return createPostRatingsRequest(content, Map.of(DOCUMENT_ID, "judgment1"));
+    }
+
+    private static RestRequest createPostRatingsRequest(String content, Map<String, String> params) {
+        return new FakeRestRequest.Builder(NamedXContentRegistry.EMPTY).withContent(new BytesArray(content), XContentType.JSON)
+            .withParams(new HashMap<>(params))
+            .withMethod(RestRequest.Method.POST)
+            .withPath("/_plugins/_search_relevance/judgments/judgment1/_ratings")
+            .build();
+    }
+}
@@ -8,6 +8,7 @@
 package org.opensearch.searchrelevance.transport.experiment;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -16,7 +17,9 @@ import static org.mockito.Mockito.when;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.lucene.search.TotalHits;
 import org.junit.Before;
@@ -30,16 +33,22 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
+import org.opensearch.searchrelevance.dao.EvaluationResultDao;
 import org.opensearch.searchrelevance.dao.ExperimentDao;
+import org.opensearch.searchrelevance.dao.ExperimentVariantDao;
 import org.opensearch.searchrelevance.dao.JudgmentDao;
 import org.opensearch.searchrelevance.dao.QuerySetDao;
 import org.opensearch.searchrelevance.dao.SearchConfigurationDao;
 import org.opensearch.searchrelevance.executors.ExperimentTaskManager;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
 import org.opensearch.searchrelevance.metrics.MetricsHelper;
 import org.opensearch.searchrelevance.model.AsyncStatus;
 import org.opensearch.searchrelevance.model.Experiment;
+import org.opensearch.searchrelevance.model.ExperimentQueryResults;
 import org.opensearch.searchrelevance.model.ExperimentType;
+import org.opensearch.searchrelevance.model.SearchConfiguration;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 
 public class PutExperimentTransportActionTests extends OpenSearchTestCase {
@@ -51,6 +60,10 @@ public class PutExperimentTransportActionTests extends OpenSearchTestCase {
     @Mock
     private ExperimentDao experimentDao;
     @Mock
+    private EvaluationResultDao evaluationResultDao;
+    @Mock
+    private ExperimentVariantDao experimentVariantDao;
+    @Mock
     private QuerySetDao querySetDao;
     @Mock
     private SearchConfigurationDao searchConfigurationDao;
@@ -70,11 +83,13 @@ public class PutExperimentTransportActionTests extends OpenSearchTestCase {
             transportService,
             actionFilters,
             experimentDao,
+            evaluationResultDao,
+            experimentVariantDao,
             querySetDao,
             searchConfigurationDao,
             metricsHelper,
-            judgmentDao,
-            experimentTaskManager
+            experimentTaskManager,
+            new JudgmentProgressTracker(judgmentDao, mock(ThreadPool.class))
         );
     }
 
@@ -110,20 +125,110 @@ public class PutExperimentTransportActionTests extends OpenSearchTestCase {
             return null;
         }).when(querySetDao).getQuerySet(eq("test-queryset-id"), any(ActionListener.class));
 
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(1);
+            listener.onResponse(null);
+            return null;
+        }).when(evaluationResultDao).flushEvaluationResults(any(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(0);
+            listener.onResponse(null);
+            return null;
+        }).when(experimentDao).refreshExperimentResults(any(ActionListener.class));
+
         ActionListener<IndexResponse> responseListener = mock(ActionListener.class);
         transportAction.doExecute(null, request, responseListener);
 
         verify(responseListener).onResponse(mockIndexResponse);
 
         ArgumentCaptor<Experiment> experimentCaptor = ArgumentCaptor.forClass(Experiment.class);
+        verify(evaluationResultDao).flushEvaluationResults(any(), any(ActionListener.class));
+        verify(experimentDao).refreshExperimentResults(any(ActionListener.class));
         verify(experimentDao).updateExperiment(experimentCaptor.capture(), any(ActionListener.class));
 
         Experiment finalExperiment = experimentCaptor.getValue();
         assertEquals(AsyncStatus.COMPLETED, finalExperiment.status());
         assertTrue(finalExperiment.results().isEmpty());
+        assertEquals(Map.of(Experiment.QUERY_COUNT, 0, Experiment.RESULT_COUNT, 0), finalExperiment.summary());
         assertEquals(request.getJudgmentList(), finalExperiment.judgmentList());
     }
 
+    public void testQueryResultsAreStoredPerQuery() {
+        PutExperimentRequest request = new PutExperimentRequest(
+            ExperimentType.PAIRWISE_COMPARISON,
+            "test-queryset-id",
+            List.of("config1", "config2"),
+            List.of(),
+            10
+        );
+
+        doAnswer(invocation -> {
+            invocation.<ActionListener<IndexResponse>>getArgument(1).onResponse(mock(IndexResponse.class));
+            return null;
+        }).when(experimentDao).putExperiment(any(Experiment.class), any(ActionListener.class));
+
+        SearchHit searchHit = new SearchHit(0, "test-queryset-id", null, null);
+        String jsonSource =
+            "{\"id\":\"test-queryset-id\",\"querySetQueries\":[{\"queryText\":\"laptop\"},{\"queryText\":\"phone\"}]}";
+        searchHit.sourceRef(BytesReference.fromByteBuffer(ByteBuffer.wrap(jsonSource.getBytes(StandardCharsets.UTF_8))));
+        SearchResponse querySetResponse = mock(SearchResponse.class);
+        when(querySetResponse.getHits()).thenReturn(
+            new SearchHits(new SearchHit[] { searchHit }, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f)
+        );
+        doAnswer(invocation -> {
+            invocation.<ActionListener<SearchResponse>>getArgument(1).onResponse(querySetResponse);
+            return null;
+        }).when(querySetDao).getQuerySet(eq("test-queryset-id"), any(ActionListener.class));
+
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Map<String, SearchConfiguration>>>getArgument(1)
+                .onResponse(
+                    Map.of(
+                        "config1",
+                        new SearchConfiguration("config1", "name1", "2025-01-01T00:00:00Z", "index", "{}", null),
+                        "config2",
+                        new SearchConfiguration("config2", "name2", "2025-01-01T00:00:00Z", "index", "{}", null)
+                    )
+                );
+            return null;
+        }).when(searchConfigurationDao).getSearchConfigurations(any(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Map<String, Object>>>getArgument(3).onResponse(new HashMap<>(Map.of("metrics", List.of())));
+            return null;
+        }).when(metricsHelper).processPairwiseMetrics(any(), any(), anyInt(), any(ActionListener.class));
+
+        ArgumentCaptor<ExperimentQueryResults> queryResultsCaptor = ArgumentCaptor.forClass(ExperimentQueryResults.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<IndexResponse>>getArgument(1).onResponse(mock(IndexResponse.class));
+            return null;
+        }).when(experimentDao).putExperimentQueryResults(queryResultsCaptor.capture(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Void>>getArgument(1).onResponse(null);
+            return null;
+        }).when(evaluationResultDao).flushEvaluationResults(any(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Void>>getArgument(0).onResponse(null);
+            return null;
+        }).when(experimentDao).refreshExperimentResults(any(ActionListener.class));
+
+        transportAction.doExecute(null, request, mock(ActionListener.class));
+
+        List<ExperimentQueryResults> queryResults = queryResultsCaptor.getAllValues();
+        assertEquals(2, queryResults.size());
+        assertEquals("laptop", queryResults.get(0).getQueryText());
+        assertEquals(0, queryResults.get(0).getOrdinal());
+        assertEquals("laptop", queryResults.get(0).getResults().get(0).get("queryText"));
+        assertEquals("phone", queryResults.get(1).getQueryText());
+        assertEquals(1, queryResults.get(1).getOrdinal());
+
+        ArgumentCaptor<Experiment> experimentCaptor = ArgumentCaptor.forClass(Experiment.class);
+        verify(experimentDao).updateExperiment(experimentCaptor.capture(), any(ActionListener.class));
+        Experiment finalExperiment = experimentCaptor.getValue();
+        assertEquals(AsyncStatus.COMPLETED, finalExperiment.status());
+        assertTrue(finalExperiment.results().isEmpty());
+        assertEquals(Map.of(Experiment.QUERY_COUNT, 2, Experiment.RESULT_COUNT, 2), finalExperiment.summary());
+    }
+
     public void testNullRequestReturnsError() {
         ActionListener<IndexResponse> responseListener = mock(ActionListener.class);
         transportAction.doExecute(null, null, responseListener);
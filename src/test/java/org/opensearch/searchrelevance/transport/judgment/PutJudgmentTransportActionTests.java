@@ -0,0 +1,106 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.transport.judgment;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.JUDGMENT;
+import static org.opensearch.searchrelevance.indices.SearchRelevanceIndices.JUDGMENT_RATING;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.searchrelevance.dao.JudgmentDao;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.judgments.ImportJudgmentsProcessor;
+import org.opensearch.searchrelevance.judgments.JudgmentProgressTracker;
+import org.opensearch.searchrelevance.judgments.JudgmentsProcessorFactory;
+import org.opensearch.searchrelevance.model.JudgmentType;
+import org.opensearch.searchrelevance.util.TestUtils;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+
+public class PutJudgmentTransportActionTests extends OpenSearchTestCase {
+
+    private SearchRelevanceIndicesManager indicesManager;
+    private PutJudgmentTransportAction transportAction;
+
+    @Before
+    public void setup() {
+        TestUtils.initializeEventStatsManager();
+        indicesManager = mock(SearchRelevanceIndicesManager.class);
+        JudgmentsProcessorFactory judgmentsProcessorFactory = mock(JudgmentsProcessorFactory.class);
+        when(judgmentsProcessorFactory.getProcessor(JudgmentType.IMPORT_JUDGMENT)).thenReturn(
+            new ImportJudgmentsProcessor(mock(Client.class))
+        );
+        transportAction = new PutJudgmentTransportAction(
+            mock(ClusterService.class),
+            mock(TransportService.class),
+            mock(ActionFilters.class),
+            new JudgmentDao(indicesManager),
+            judgmentsProcessorFactory,
+            mock(JudgmentProgressTracker.class)
+        );
+    }
+
+    public void testImportedRatingsAreNotStoredInJudgmentDocument() {
+        ArgumentCaptor<XContentBuilder> initialJudgment = ArgumentCaptor.forClass(XContentBuilder.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<IndexResponse>>getArgument(3).onResponse(mock(IndexResponse.class));
+            return null;
+        }).when(indicesManager).putDoc(anyString(), initialJudgment.capture(), eq(JUDGMENT), any(ActionListener.class));
+        ArgumentCaptor<Map<String, XContentBuilder>> ratingDocs = ArgumentCaptor.forClass(Map.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(3).onResponse(null);
+            return null;
+        }).when(indicesManager).bulkPutDocs(ratingDocs.capture(), eq(JUDGMENT_RATING), any(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Long>>getArgument(2).onResponse(0L);
+            return null;
+        }).when(indicesManager).deleteDocsByQuery(any(), eq(JUDGMENT_RATING), any(ActionListener.class));
+        ArgumentCaptor<XContentBuilder> finalJudgment = ArgumentCaptor.forClass(XContentBuilder.class);
+        doAnswer(invocation -> {
+            invocation.<ActionListener<Object>>getArgument(3).onResponse(null);
+            return null;
+        }).when(indicesManager).updateDoc(anyString(), finalJudgment.capture(), eq(JUDGMENT), any(ActionListener.class));
+
+        List<Map<String, Object>> judgmentRatings = List.of(
+            Map.of("query", "laptop", "ratings", List.of(Map.of("docId", "imported-doc", "rating", "3")))
+        );
+        ActionListener<IndexResponse> listener = mock(ActionListener.class);
+        transportAction.doExecute(
+            null,
+            new PutImportJudgmentRequest(JudgmentType.IMPORT_JUDGMENT, "imported", "description", judgmentRatings),
+            listener
+        );
+
+        verify(listener).onResponse(any(IndexResponse.class));
+        assertFalse(toJson(initialJudgment.getValue()).contains("imported-doc"));
+        assertFalse(toJson(finalJudgment.getValue()).contains("imported-doc"));
+        assertEquals(1, ratingDocs.getValue().size());
+        assertTrue(toJson(ratingDocs.getValue().values().iterator().next()).contains("imported-doc"));
+    }
+
+    private static String toJson(XContentBuilder builder) {
+        return BytesReference.bytes(builder).utf8ToString();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.transport.queryset;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.searchrelevance.dao.QuerySetDao;
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.searchrelevance.model.AsyncStatus;
+import org.opensearch.searchrelevance.model.QuerySet;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+
+public class PostQuerySetTransportActionTests extends OpenSearchTestCase {
+
+    @Mock
+    private ClusterService clusterService;
+    @Mock
+    private TransportService transportService;
+    @Mock
+    private ActionFilters actionFilters;
+    @Mock
+    private Client client;
+    @Mock
+    private QuerySetDao querySetDao;
+
+    private PostQuerySetTransportAction transportAction;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        ClusterState clusterState = mock(ClusterState.class);
+        Metadata metadata = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(clusterState);
+        when(clusterState.metadata()).thenReturn(metadata);
+        when(metadata.hasIndex(anyString())).thenReturn(true);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.executor(anyString())).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(client.threadPool()).thenReturn(threadPool);
+        transportAction = new PostQuerySetTransportAction(clusterService, transportService, actionFilters, client, querySetDao, null);
+    }
+
+    public void testRespondsWithProcessingQuerySetAndUpdatesItInBackground() {
+        IndexResponse indexResponse = mock(IndexResponse.class);
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> listener = invocation.getArgument(1);
+            listener.onResponse(indexResponse);
+            return null;
+        }).when(querySetDao).putQuerySet(any(QuerySet.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ActionListener<?> listener = invocation.getArgument(1);
+            listener.onFailure(new IllegalStateException("no UBI queries"));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+
+        ActionListener<IndexResponse> listener = mock(ActionListener.class);
+        transportAction.doExecute(null, new PostQuerySetRequest("sampled", "description", "topn", 10), listener);
+
+        verify(listener).onResponse(indexResponse);
+        ArgumentCaptor<QuerySet> initialQuerySet = ArgumentCaptor.forClass(QuerySet.class);
+        verify(querySetDao).putQuerySet(initialQuerySet.capture(), any(ActionListener.class));
+        assertEquals(AsyncStatus.PROCESSING, initialQuerySet.getValue().status());
+        assertTrue(initialQuerySet.getValue().querySetQueries().isEmpty());
+
+        ArgumentCaptor<QuerySet> finalQuerySet = ArgumentCaptor.forClass(QuerySet.class);
+        verify(querySetDao).updateQuerySet(finalQuerySet.capture(), any(ActionListener.class));
+        assertEquals(initialQuerySet.getValue().id(), finalQuerySet.getValue().id());
+        assertEquals(AsyncStatus.ERROR, finalQuerySet.getValue().status());
+    }
+
+    public void testRandomSamplingFailureMarksQuerySetError() {
+        mockSearchFailure();
+        assertSamplingMarksQuerySetError("random");
+    }
+
+    public void testTopNSamplingFailureMarksQuerySetError() {
+        mockSearchFailure();
+        assertSamplingMarksQuerySetError("topn");
+    }
+
+    public void testProbabilityProportionalToSizeSamplingFailureMarksQuerySetError() {
+        mockSearchFailure();
+        assertSamplingMarksQuerySetError("pptss");
+    }
+
+    public void testReservoirSamplingFailureMarksQuerySetError() {
+        doAnswer(invocation -> {
+            ActionListener<?> listener = invocation.getArgument(1);
+            listener.onFailure(new IllegalStateException("no UBI queries"));
+            return null;
+        }).when(client).createPit(any(CreatePitRequest.class), any(ActionListener.class));
+        assertSamplingMarksQuerySetError("reservoir");
+    }
+
+    public void testRejectsEmptyNameBeforeStoringQuerySet() {
+        ActionListener<IndexResponse> listener = mock(ActionListener.class);
+        transportAction.doExecute(null, new PostQuerySetRequest(" ", "description", "topn", 10), listener);
+
+        verify(listener).onFailure(any(SearchRelevanceException.class));
+        verify(querySetDao, never()).putQuerySet(any(QuerySet.class), any(ActionListener.class));
+    }
+
+    private void mockSearchFailure() {
+        doAnswer(invocation -> {
+            ActionListener<?> listener = invocation.getArgument(1);
+            listener.onFailure(new IllegalStateException("no UBI queries"));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+    }
+
+    private void assertSamplingMarksQuerySetError(String sampling) {
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> listener = invocation.getArgument(1);
+            listener.onResponse(mock(IndexResponse.class));
+            return null;
+        }).when(querySetDao).putQuerySet(any(QuerySet.class), any(ActionListener.class));
+
+        transportAction.doExecute(null, new PostQuerySetRequest("sampled", "description", sampling, 10), mock(ActionListener.class));
+
+        ArgumentCaptor<QuerySet> finalQuerySet = ArgumentCaptor.forClass(QuerySet.class);
+        verify(querySetDao).updateQuerySet(finalQuerySet.capture(), any(ActionListener.class));
+        assertEquals(AsyncStatus.ERROR, finalQuerySet.getValue().status());
+        assertTrue(finalQuerySet.getValue().querySetQueries().isEmpty());
+    }
+}
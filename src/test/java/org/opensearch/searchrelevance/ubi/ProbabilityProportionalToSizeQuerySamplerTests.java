@@ -0,0 +1,48 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import java.util.Map;
+
+import org.apache.commons.math3.distribution.UniformRealDistribution;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class ProbabilityProportionalToSizeQuerySamplerTests extends OpenSearchTestCase {
+
+    public void testFindsQueryByCumulativeWeight() {
+        ProbabilityProportionalToSizeQuerySampler.QueryWeights weights = new ProbabilityProportionalToSizeQuerySampler.QueryWeights();
+        weights.add("laptop", 3);
+        weights.add("ignored", 0);
+        weights.add("phone", 1);
+        weights.add("tablet", 6);
+
+        assertEquals(3, weights.size());
+        assertEquals(10, weights.total());
+        assertEquals(0, weights.find(0.0));
+        assertEquals(0, weights.find(2.9));
+        assertEquals(1, weights.find(3.0));
+        assertEquals(2, weights.find(4.0));
+        assertEquals(2, weights.find(9.9));
+        assertEquals(6, weights.weightOf(2));
+    }
+
+    public void testSamplesProportionallyToWeights() {
+        ProbabilityProportionalToSizeQuerySampler.QueryWeights weights = new ProbabilityProportionalToSizeQuerySampler.QueryWeights();
+        for (int i = 0; i < 5000; i++) {
+            weights.add("rare" + i, 1);
+        }
+        weights.add("frequent", 1_000_000);
+
+        UniformRealDistribution uniform = new UniformRealDistribution(0, weights.total());
+        uniform.reseedRandomGenerator(random().nextLong());
+        Map<String, Integer> querySet = weights.sample(10, uniform);
+
+        assertEquals(Integer.valueOf(1_000_000), querySet.get("frequent"));
+        assertTrue(querySet.size() <= 10);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+public class QuerySamplerTests extends OpenSearchTestCase {
+
+    public void testCountUserQueriesMapsBucketCountsToFrequencies() throws Exception {
+        AtomicReference<SearchRequest> searchRequest = new AtomicReference<>();
+        Client client = mockClient(searchRequest, countsResponse(Map.of("laptop", 7L, "phone", 2L)));
+
+        CompletableFuture<Map<String, Integer>> future = new CompletableFuture<>();
+        newSampler(client).countUserQueries(Set.of("laptop", "phone", "tablet"), QueryBuilders.matchAllQuery(), future);
+
+        // a sampled query without a bucket was not searched in the counted range
+        assertEquals(Map.of("laptop", 7, "phone", 2, "tablet", 0), future.get());
+    }
+
+    public void testCountUserQueriesCapsAggregationAtSampledQueries() throws Exception {
+        Set<String> userQueries = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            userQueries.add("query" + i);
+        }
+        AtomicReference<SearchRequest> searchRequest = new AtomicReference<>();
+        Client client = mockClient(searchRequest, countsResponse(Map.of("query0", 3L)));
+
+        CompletableFuture<Map<String, Integer>> future = new CompletableFuture<>();
+        newSampler(client).countUserQueries(userQueries, QueryBuilders.matchAllQuery(), future);
+
+        assertEquals(0, searchRequest.get().source().size());
+        List<AggregationBuilder> aggregations = new ArrayList<>(searchRequest.get().source().aggregations().getAggregatorFactories());
+        assertEquals(1, aggregations.size());
+        assertEquals(userQueries.size(), ((TermsAggregationBuilder) aggregations.get(0)).size());
+        assertEquals(userQueries.size(), future.get().size());
+        assertEquals(Integer.valueOf(3), future.get().get("query0"));
+    }
+
+    public void testCountUserQueriesKeepsQueriesWhenCountingFails() throws Exception {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new RuntimeException("search failed"));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        CompletableFuture<Map<String, Integer>> future = new CompletableFuture<>();
+        newSampler(client).countUserQueries(Set.of("laptop"), QueryBuilders.matchAllQuery(), future);
+
+        assertEquals(Map.of("laptop", 0), future.get());
+    }
+
+    private static QuerySampler newSampler(Client client) {
+        return new QuerySampler(10, client) {
+            @Override
+            public CompletableFuture<Map<String, Integer>> sample() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static Client mockClient(AtomicReference<SearchRequest> searchRequest, SearchResponse response) {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            searchRequest.set(invocation.getArgument(0));
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(response);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        return client;
+    }
+
+    private static SearchResponse countsResponse(Map<String, Long> counts) {
+        List<Terms.Bucket> buckets = new ArrayList<>();
+        for (Map.Entry<String, Long> count : counts.entrySet()) {
+            Terms.Bucket bucket = mock(Terms.Bucket.class);
+            when(bucket.getKeyAsString()).thenReturn(count.getKey());
+            when(bucket.getDocCount()).thenReturn(count.getValue());
+            buckets.add(bucket);
+        }
+        Terms byUserQuery = mock(Terms.class);
+        when(byUserQuery.getName()).thenReturn("By_User_Query");
+        doReturn(buckets).when(byUserQuery).getBuckets();
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getAggregations()).thenReturn(new Aggregations(List.of(byUserQuery)));
+        return response;
+    }
+}
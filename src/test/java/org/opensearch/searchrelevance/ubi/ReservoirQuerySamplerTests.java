@@ -0,0 +1,77 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.opensearch.searchrelevance.exception.SearchRelevanceException;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+public class ReservoirQuerySamplerTests extends OpenSearchTestCase {
+
+    public void testKeepsUserQueriesWithLargestKeys() {
+        ReservoirQuerySampler.Reservoir reservoir = new ReservoirQuerySampler.Reservoir(2, () -> 0);
+        reservoir.offer("laptop", 0.2);
+        reservoir.offer("phone", 0.5);
+        reservoir.offer("tablet", 0.1);
+        reservoir.offer("laptop", 0.9);
+        reservoir.offer("tv", 0.6);
+
+        assertEquals(Set.of("laptop", "tv"), reservoir.userQueries());
+    }
+
+    public void testMergedSlicesEqualSingleRead() {
+        Random random = new Random(random().nextLong());
+        ReservoirQuerySampler.Reservoir single = new ReservoirQuerySampler.Reservoir(10, () -> 0);
+        List<ReservoirQuerySampler.Reservoir> slices = new ArrayList<>();
+        for (int slice = 0; slice < 3; slice++) {
+            slices.add(new ReservoirQuerySampler.Reservoir(10, () -> 0));
+        }
+        for (int i = 0; i < 5000; i++) {
+            String userQuery = "query" + random.nextInt(200);
+            double key = random.nextDouble();
+            single.offer(userQuery, key);
+            slices.get(random.nextInt(slices.size())).offer(userQuery, key);
+        }
+
+        assertEquals(single.userQueries(), ReservoirQuerySampler.Reservoir.merge(slices, 10).userQueries());
+    }
+
+    public void testSamplesProportionallyToFrequency() {
+        Random random = new Random(random().nextLong());
+        int frequentSampled = 0;
+        for (int round = 0; round < 200; round++) {
+            ReservoirQuerySampler.Reservoir reservoir = new ReservoirQuerySampler.Reservoir(1, random::nextDouble);
+            for (int i = 0; i < 90; i++) {
+                reservoir.offer("frequent");
+            }
+            for (int i = 0; i < 10; i++) {
+                reservoir.offer("rare" + i);
+            }
+            if (reservoir.userQueries().contains("frequent")) {
+                frequentSampled++;
+            }
+        }
+        // sampled with probability 0.9, far above the probability 1/11 of a sample of distinct queries
+        assertTrue("frequent sampled " + frequentSampled + " times", frequentSampled > 150);
+    }
+
+    public void testFiltersAreOnlySupportedByReservoirSampler() {
+        Client client = mock(Client.class);
+        UbiQueryFilter filter = new UbiQueryFilter("2025-01-01", "", "shop");
+
+        assertTrue(QuerySampler.create(ReservoirQuerySampler.NAME, 10, client, null, filter) instanceof ReservoirQuerySampler);
+        expectThrows(SearchRelevanceException.class, () -> QuerySampler.create(TopNQuerySampler.NAME, 10, client, null, filter));
+    }
+}
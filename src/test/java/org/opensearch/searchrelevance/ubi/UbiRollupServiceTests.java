@@ -0,0 +1,143 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.searchrelevance.settings.SearchRelevanceSettings.SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.searchrelevance.indices.SearchRelevanceIndicesManager;
+import org.opensearch.searchrelevance.settings.SearchRelevanceSettingsAccessor;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+public class UbiRollupServiceTests extends OpenSearchTestCase {
+
+    public void testToDay() {
+        assertEquals("2025-03-01", UbiRollupService.toDay(1740787200000L));
+        assertEquals("2025-03-01", UbiRollupService.toDay("2025-03-01T23:59:00.000Z"));
+        assertEquals("2025-03-01", UbiRollupService.toDay("2025-03-01"));
+    }
+
+    public void testRollupIdIsDeterministic() {
+        Map<String, Object> key = Map.of(
+            UbiRollupService.DAY_FIELD,
+            1740787200000L,
+            UbiRollupService.USER_QUERY_FIELD,
+            "laptop",
+            UbiRollupService.OBJECT_ID_FIELD,
+            "doc1",
+            UbiRollupService.POSITION_FIELD,
+            1L,
+            UbiRollupService.ACTION_NAME_FIELD,
+            "click"
+        );
+        Map<String, Object> sameDay = Map.of(
+            UbiRollupService.DAY_FIELD,
+            "2025-03-01",
+            UbiRollupService.USER_QUERY_FIELD,
+            "laptop",
+            UbiRollupService.OBJECT_ID_FIELD,
+            "doc1",
+            UbiRollupService.POSITION_FIELD,
+            1L,
+            UbiRollupService.ACTION_NAME_FIELD,
+            "click"
+        );
+        Map<String, Object> search = Map.of(UbiRollupService.DAY_FIELD, "2025-03-01", UbiRollupService.USER_QUERY_FIELD, "laptop");
+
+        assertEquals(UbiRollupService.rollupId(key), UbiRollupService.rollupId(sameDay));
+        assertNotEquals(UbiRollupService.rollupId(key), UbiRollupService.rollupId(search));
+    }
+
+    public void testRolledUpUntilIsNullWhenDisabled() {
+        Client client = mock(Client.class);
+        SearchRelevanceSettingsAccessor settingsAccessor = mock(SearchRelevanceSettingsAccessor.class);
+        when(settingsAccessor.isUbiRollupEnabled()).thenReturn(false);
+
+        AtomicReference<String> result = new AtomicReference<>("unset");
+        newService(client, settingsAccessor).getRolledUpUntil(ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertNull(result.get());
+        verify(client, never()).get(any(GetRequest.class), any());
+    }
+
+    public void testRolledUpUntilIsReadFromStateDocument() {
+        Client client = clientWithThreadContext();
+        SearchRelevanceSettingsAccessor settingsAccessor = mock(SearchRelevanceSettingsAccessor.class);
+        when(settingsAccessor.isUbiRollupEnabled()).thenReturn(true);
+        GetResponse getResponse = mock(GetResponse.class);
+        when(getResponse.isExists()).thenReturn(true);
+        when(getResponse.getSourceAsMap()).thenReturn(Map.of(UbiRollupService.ROLLED_UP_UNTIL_FIELD, "2025-03-01T10:00:00Z"));
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> listener = invocation.getArgument(1);
+            listener.onResponse(getResponse);
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        AtomicReference<String> result = new AtomicReference<>();
+        newService(client, settingsAccessor).getRolledUpUntil(ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertEquals("2025-03-01T10:00:00Z", result.get());
+    }
+
+    public void testRolledUpUntilIsNullWithoutRollupIndex() {
+        Client client = clientWithThreadContext();
+        SearchRelevanceSettingsAccessor settingsAccessor = mock(SearchRelevanceSettingsAccessor.class);
+        when(settingsAccessor.isUbiRollupEnabled()).thenReturn(true);
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new IndexNotFoundException("rollup"));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        AtomicReference<String> result = new AtomicReference<>("unset");
+        newService(client, settingsAccessor).getRolledUpUntil(ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertNull(result.get());
+    }
+
+    private static UbiRollupService newService(Client client, SearchRelevanceSettingsAccessor settingsAccessor) {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(
+            new ClusterSettings(Settings.EMPTY, Set.of(SEARCH_RELEVANCE_UBI_ROLLUP_INTERVAL))
+        );
+        return new UbiRollupService(
+            client,
+            clusterService,
+            mock(ThreadPool.class),
+            mock(SearchRelevanceIndicesManager.class),
+            settingsAccessor
+        );
+    }
+
+    private static Client clientWithThreadContext() {
+        Client client = mock(Client.class);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        when(client.threadPool()).thenReturn(threadPool);
+        return client;
+    }
+}
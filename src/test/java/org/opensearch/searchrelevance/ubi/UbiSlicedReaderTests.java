@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.searchrelevance.ubi;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.CreatePitResponse;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+public class UbiSlicedReaderTests extends OpenSearchTestCase {
+
+    public void testReadsAllSlicesAndDeletesPit() {
+        Client client = mock(Client.class);
+        CreatePitResponse pitResponse = mock(CreatePitResponse.class);
+        when(pitResponse.getId()).thenReturn("pit-id");
+        when(pitResponse.getTotalShards()).thenReturn(2);
+        doAnswer(invocation -> {
+            ActionListener<CreatePitResponse> listener = invocation.getArgument(1);
+            listener.onResponse(pitResponse);
+            return null;
+        }).when(client).createPit(any(CreatePitRequest.class), any());
+
+        // each slice returns one page with a hit of its own, then an empty page
+        Map<Integer, Integer> pagesPerSlice = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            assertEquals("pit-id", request.source().pointInTimeBuilder().getId());
+            int sliceId = request.source().slice().getId();
+            int page = pagesPerSlice.merge(sliceId, 1, Integer::sum);
+            listener.onResponse(searchResponse(page == 1 ? new SearchHit[] { hit("doc" + sliceId) } : new SearchHit[0]));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<?> listener = invocation.getArgument(1);
+            listener.onResponse(null);
+            return null;
+        }).when(client).deletePits(any(DeletePitRequest.class), any());
+
+        AtomicReference<List<List<String>>> result = new AtomicReference<>();
+        new UbiSlicedReader(client, Runnable::run).read(
+            "ubi_events",
+            QueryBuilders.matchAllQuery(),
+            new String[] { "user_query" },
+            ArrayList::new,
+            (List<String> ids, SearchHit[] hits) -> {
+                for (SearchHit hit : hits) {
+                    ids.add(hit.getId());
+                }
+            },
+            ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(List.of(List.of("doc0"), List.of("doc1")), result.get());
+        verify(client).deletePits(any(DeletePitRequest.class), any());
+    }
+
+    public void testSliceFailureFailsRead() {
+        Client client = mock(Client.class);
+        CreatePitResponse pitResponse = mock(CreatePitResponse.class);
+        when(pitResponse.getId()).thenReturn("pit-id");
+        when(pitResponse.getTotalShards()).thenReturn(1);
+        doAnswer(invocation -> {
+            ActionListener<CreatePitResponse> listener = invocation.getArgument(1);
+            listener.onResponse(pitResponse);
+            return null;
+        }).when(client).createPit(any(CreatePitRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new IllegalStateException("shard failure"));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<?> listener = invocation.getArgument(1);
+            listener.onResponse(null);
+            return null;
+        }).when(client).deletePits(any(DeletePitRequest.class), any());
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        new UbiSlicedReader(client, Runnable::run).read(
+            "ubi_events",
+            QueryBuilders.matchAllQuery(),
+            new String[] { "user_query" },
+            ArrayList<String>::new,
+            (ids, hits) -> {},
+            ActionListener.wrap(r -> fail("read should fail"), failure::set)
+        );
+
+        assertTrue(failure.get() instanceof IllegalStateException);
+        verify(client).deletePits(any(DeletePitRequest.class), any());
+    }
+
+    private SearchHit hit(String id) {
+        SearchHit hit = new SearchHit(0, id, Map.of(), Map.of());
+        hit.sortValues(new Object[] { 0 }, new DocValueFormat[] { DocValueFormat.RAW });
+        return hit;
+    }
+
+    private SearchResponse searchResponse(SearchHit[] hits) {
+        SearchHits searchHits = mock(SearchHits.class);
+        when(searchHits.getHits()).thenReturn(hits);
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(searchHits);
+        return response;
+    }
+}